@@ -0,0 +1,64 @@
+package com.wallet.benchmark;
+
+import com.wallet.enums.UserRole;
+import com.wallet.security.JwtProperties;
+import com.wallet.security.JwtTokenProvider;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/** Raw {@link JwtTokenProvider} throughput: issuing tokens at login and validating them. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+  private JwtTokenProvider tokenProvider;
+  private Authentication authentication;
+  private String token;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    JwtProperties properties = new JwtProperties();
+    properties.setIssuer("wallet-app");
+    properties.setAccessTokenValidityMs(TimeUnit.HOURS.toMillis(1));
+    properties.setRefreshTokenValidityMs(TimeUnit.HOURS.toMillis(2));
+    properties.setSecret("7b9d7a08d5014dbebc7d473c5c40708c93da222b5961dce0836a8e30d594ec5f");
+    tokenProvider = new JwtTokenProvider(properties);
+    authentication =
+        new UsernamePasswordAuthenticationToken(
+            "10000000012", null, List.of(new SimpleGrantedAuthority("CUSTOMER")));
+    token = tokenProvider.generateAccessToken(authentication);
+  }
+
+  @Benchmark
+  public String generateAccessToken() {
+    return tokenProvider.generateAccessToken(authentication);
+  }
+
+  @Benchmark
+  public boolean validate() {
+    return tokenProvider.validate(token);
+  }
+
+  @Benchmark
+  public UserRole extractRole() {
+    return tokenProvider.extractRole(token);
+  }
+}
@@ -0,0 +1,87 @@
+package com.wallet.benchmark;
+
+import com.wallet.security.JwtProperties;
+import com.wallet.security.JwtTokenProvider;
+import com.wallet.security.JwtVerificationService;
+import com.wallet.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Cost of authenticating one bearer token. {@code rebuildPerCall} reproduces the old filter path
+ * (derive key, build parser, parse twice), {@code prebuiltParser} parses once with the shared
+ * parser, and {@code cachedVerify} goes through {@link JwtVerificationService} with a warm cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+  private JwtProperties properties;
+  private JwtTokenProvider tokenProvider;
+  private JwtVerificationService cachedService;
+  private String token;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    properties = new JwtProperties();
+    properties.setIssuer("wallet-app");
+    properties.setAccessTokenValidityMs(TimeUnit.HOURS.toMillis(1));
+    properties.setRefreshTokenValidityMs(TimeUnit.HOURS.toMillis(2));
+    properties.setSecret("7b9d7a08d5014dbebc7d473c5c40708c93da222b5961dce0836a8e30d594ec5f");
+    properties.setVerificationCacheSize(10_000);
+    tokenProvider = new JwtTokenProvider(properties);
+    cachedService =
+        new JwtVerificationService(tokenProvider, properties, new SimpleMeterRegistry());
+    token =
+        tokenProvider.generateAccessToken(
+            new UsernamePasswordAuthenticationToken(
+                "10000000012", null, List.of(new SimpleGrantedAuthority("CUSTOMER"))));
+    cachedService.verify(token);
+  }
+
+  @Benchmark
+  public String rebuildPerCall() {
+    byte[] secret = properties.getSecret().getBytes(StandardCharsets.UTF_8);
+    Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(secret)).build().parseClaimsJws(token);
+    Claims claims =
+        Jwts.parserBuilder()
+            .setSigningKey(Keys.hmacShaKeyFor(secret))
+            .build()
+            .parseClaimsJws(token)
+            .getBody();
+    return claims.getSubject();
+  }
+
+  @Benchmark
+  public String prebuiltParser() {
+    return tokenProvider.parseClaims(token).getSubject();
+  }
+
+  @Benchmark
+  public Optional<VerifiedToken> cachedVerify() {
+    return cachedService.verify(token);
+  }
+}
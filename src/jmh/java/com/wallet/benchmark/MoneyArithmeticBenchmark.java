@@ -0,0 +1,80 @@
+package com.wallet.benchmark;
+
+import com.wallet.model.Money;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The balance math of one approved withdraw (usable-balance check, negated amount, both balances
+ * updated) over a run of operations, with {@link BigDecimal} as the strategies used to do it and
+ * with {@link Money}. Run with {@code -prof gc} to see the allocation difference.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+  @Param({"1", "100"})
+  public int operations;
+
+  private BigDecimal decimalOpening;
+  private BigDecimal decimalAmount;
+  private Money moneyOpening;
+  private Money moneyAmount;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    decimalOpening = new BigDecimal("1000000.00");
+    decimalAmount = new BigDecimal("12.34");
+    moneyOpening = Money.of(decimalOpening);
+    moneyAmount = Money.of(decimalAmount);
+  }
+
+  @Benchmark
+  public void bigDecimal(Blackhole blackhole) {
+    BigDecimal balance = decimalOpening;
+    BigDecimal usableBalance = decimalOpening;
+    for (int i = 0; i < operations; i++) {
+      if (usableBalance.compareTo(decimalAmount) < 0) {
+        throw new IllegalStateException();
+      }
+      BigDecimal delta = decimalAmount.negate();
+      balance = balance.add(delta);
+      usableBalance = usableBalance.add(delta);
+    }
+    blackhole.consume(balance);
+    blackhole.consume(usableBalance);
+  }
+
+  @Benchmark
+  public void money(Blackhole blackhole) {
+    Money balance = moneyOpening;
+    Money usableBalance = moneyOpening;
+    for (int i = 0; i < operations; i++) {
+      if (usableBalance.isLessThan(moneyAmount)) {
+        throw new IllegalStateException();
+      }
+      Money delta = moneyAmount.negate();
+      balance = balance.plus(delta);
+      usableBalance = usableBalance.plus(delta);
+    }
+    blackhole.consume(balance);
+    blackhole.consume(usableBalance);
+  }
+}
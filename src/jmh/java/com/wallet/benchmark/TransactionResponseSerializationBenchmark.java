@@ -0,0 +1,84 @@
+package com.wallet.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * JSON encoding of {@link TransactionResponse} with the same mapper settings Spring Boot applies,
+ * for a single transaction and for a history page of {@code pageSize} items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionResponseSerializationBenchmark {
+
+  @Param({"50", "500"})
+  public int pageSize;
+
+  private ObjectMapper objectMapper;
+  private TransactionResponse single;
+  private List<TransactionResponse> page;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    objectMapper =
+        Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    LocalDateTime now = LocalDateTime.now();
+    page =
+        LongStream.rangeClosed(1, pageSize)
+            .mapToObj(
+                id ->
+                    new TransactionResponse(
+                        id,
+                        1L,
+                        TransactionType.DEPOSIT,
+                        TransactionStatus.APPROVED,
+                        new BigDecimal("125.50"),
+                        OppositePartyType.IBAN,
+                        "TR330006100519786457841326",
+                        now.minusMinutes(id),
+                        now.minusMinutes(id),
+                        2L,
+                        null))
+            .toList();
+    single = page.get(0);
+  }
+
+  @Benchmark
+  public byte[] single() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(single);
+  }
+
+  @Benchmark
+  public byte[] page() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(page);
+  }
+}
@@ -0,0 +1,85 @@
+package com.wallet.benchmark;
+
+import com.wallet.benchmark.support.TransactionStack;
+import com.wallet.dto.request.ApproveTransactionRequest;
+import com.wallet.dto.request.DepositRequest;
+import com.wallet.dto.request.WithdrawRequest;
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.service.TransactionService;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end cost of the {@link TransactionService} write paths. {@code backend=stub} runs the
+ * service over in-memory repositories, {@code backend=h2} runs the Spring bean against H2; the
+ * difference between the two is persistence and framework overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionServiceBenchmark {
+
+  private static final ApproveTransactionRequest APPROVE =
+      new ApproveTransactionRequest(TransactionStatus.APPROVED);
+
+  @Param({"stub", "h2"})
+  public String backend;
+
+  private TransactionStack stack;
+  private TransactionService transactionService;
+  private DepositRequest deposit;
+  private DepositRequest pendingDeposit;
+  private WithdrawRequest withdraw;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    stack = TransactionStack.create(backend);
+    transactionService = stack.transactionService();
+    Long walletId = stack.walletId();
+    deposit = new DepositRequest(walletId, new BigDecimal("10.00"), "TR01", OppositePartyType.IBAN);
+    pendingDeposit =
+        new DepositRequest(walletId, new BigDecimal("1500.00"), "TR01", OppositePartyType.IBAN);
+    withdraw =
+        new WithdrawRequest(walletId, new BigDecimal("1.00"), "SHOP", OppositePartyType.PAYMENT);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    stack.close();
+  }
+
+  @Benchmark
+  public TransactionResponse deposit() {
+    return transactionService.deposit(deposit);
+  }
+
+  @Benchmark
+  public TransactionResponse withdraw() {
+    return transactionService.withdraw(withdraw);
+  }
+
+  /** Deposits above the approval threshold, then approves it, so each op is independent. */
+  @Benchmark
+  public TransactionResponse depositThenApprove() {
+    TransactionResponse pending = transactionService.deposit(pendingDeposit);
+    return transactionService.approveOrDeny(pending.id(), APPROVE);
+  }
+}
@@ -0,0 +1,81 @@
+package com.wallet.benchmark;
+
+import com.wallet.enums.Currency;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.model.Money;
+import com.wallet.model.Wallet;
+import com.wallet.model.WalletTransaction;
+import com.wallet.service.strategy.BalanceDelta;
+import com.wallet.service.strategy.DepositTransactionStrategy;
+import com.wallet.service.strategy.TransactionRequestContext;
+import com.wallet.service.strategy.TransactionStrategy;
+import com.wallet.service.strategy.WithdrawTransactionStrategy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pure wallet math of each {@link TransactionStrategy}: validation plus delta computation for a new
+ * transaction and for an approval. Strategies touch no repositories, so there is no H2 variant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionStrategyBenchmark {
+
+  @Param({"DEPOSIT", "WITHDRAW"})
+  public TransactionType type;
+
+  private TransactionStrategy strategy;
+  private TransactionRequestContext context;
+  private WalletTransaction pending;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    strategy =
+        type == TransactionType.DEPOSIT
+            ? new DepositTransactionStrategy()
+            : new WithdrawTransactionStrategy();
+    Wallet wallet = new Wallet();
+    wallet.setId(1L);
+    wallet.setCurrency(Currency.TRY);
+    wallet.setActiveForShopping(true);
+    wallet.setActiveForWithdraw(true);
+    wallet.setBalance(Money.of(5000));
+    wallet.setUsableBalance(Money.of(5000));
+    context =
+        new TransactionRequestContext(
+            wallet, Money.of(250), OppositePartyType.IBAN, "TR01", false);
+    pending = new WalletTransaction();
+    pending.setWallet(wallet);
+    pending.setType(type);
+    pending.setStatus(TransactionStatus.PENDING);
+    pending.setAmount(Money.of(1500));
+  }
+
+  @Benchmark
+  public BalanceDelta create() {
+    strategy.validate(context);
+    return strategy.deltaOnCreate(context, TransactionStatus.APPROVED);
+  }
+
+  @Benchmark
+  public BalanceDelta approve() {
+    return strategy.deltaOnStatusChange(pending, TransactionStatus.APPROVED);
+  }
+}
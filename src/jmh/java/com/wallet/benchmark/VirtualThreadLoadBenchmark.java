@@ -0,0 +1,149 @@
+package com.wallet.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.WalletApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * HTTP load test of {@code POST /transactions/deposit} with the server on platform threads versus
+ * virtual threads. Sixty-four client threads each deposit into their own wallet; read the {@code
+ * p0.99} rows of the sample-time output. Tomcat is capped at {@code tomcatThreads} platform threads
+ * so the platform run actually queues, as it does in production under load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class VirtualThreadLoadBenchmark {
+
+  private static final ObjectMapper JSON = new ObjectMapper();
+
+  @Param({"platform", "virtual"})
+  public String threading;
+
+  @Param({"32"})
+  public int tomcatThreads;
+
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private String baseUrl;
+  private String token;
+
+  @Setup(Level.Trial)
+  public void startServer() {
+    context =
+        new SpringApplicationBuilder(WalletApplication.class)
+            .properties(
+                "server.port=0",
+                "server.tomcat.threads.max=" + tomcatThreads,
+                "spring.threads.virtual.enabled=" + threading.equals("virtual"),
+                "spring.datasource.url=jdbc:h2:mem:load-"
+                    + UUID.randomUUID()
+                    + ";DB_CLOSE_DELAY=-1",
+                "spring.devtools.restart.enabled=false",
+                "logging.level.root=WARN")
+            .run();
+    baseUrl =
+        "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1";
+    client = HttpClient.newHttpClient();
+    try {
+      token =
+          post("/auth/login", null, Map.of("tckn", "10000000012", "password", "Customer123!"))
+              .get("accessToken")
+              .asText();
+    } catch (IOException | InterruptedException e) {
+      throw new IllegalStateException("Login failed", e);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void stopServer() {
+    context.close();
+  }
+
+  /** One wallet per client thread, so threads never contend on a wallet's version. */
+  @State(Scope.Thread)
+  public static class Session {
+
+    String depositBody;
+
+    @Setup(Level.Trial)
+    public void createWallet(VirtualThreadLoadBenchmark benchmark) throws Exception {
+      JsonNode wallet =
+          benchmark.post(
+              "/wallets",
+              benchmark.token,
+              Map.of(
+                  "walletName", "load-" + UUID.randomUUID(),
+                  "currency", "TRY",
+                  "activeForShopping", true,
+                  "activeForWithdraw", true));
+      depositBody =
+          JSON.writeValueAsString(
+              Map.of(
+                  "walletId", wallet.get("id").asLong(),
+                  "amount", 10,
+                  "source", "TR01",
+                  "sourceType", "IBAN"));
+    }
+  }
+
+  @Benchmark
+  public int deposit(Session session) throws Exception {
+    HttpResponse<Void> response =
+        client.send(
+            request("/transactions/deposit", token, session.depositBody),
+            HttpResponse.BodyHandlers.discarding());
+    return response.statusCode();
+  }
+
+  private JsonNode post(String path, String token, Map<String, Object> body)
+      throws IOException, InterruptedException {
+    HttpResponse<String> response =
+        client.send(
+            request(path, token, JSON.writeValueAsString(body)),
+            HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() >= 300) {
+      throw new IllegalStateException(path + " returned " + response.statusCode());
+    }
+    return JSON.readTree(response.body());
+  }
+
+  private HttpRequest request(String path, String token, String body) {
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+    if (token != null) {
+      builder.header("Authorization", "Bearer " + token);
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,96 @@
+package com.wallet.benchmark;
+
+import com.wallet.service.concurrency.StripedWalletLockManager;
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Lock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of concurrent balance updates spread over 1, 10 or 1000 hot wallets. {@code
+ * optimisticRetry} models the {@code @Version} check as a compare-and-set that re-reads and
+ * retries on conflict (what a client has to do after a 409), {@code stripedLock} queues writers on
+ * the {@link StripedWalletLockManager} stripes. Both simulate the time a writer spends inside the
+ * database transaction with {@link Blackhole#consumeCPU(long)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class WalletLockContentionBenchmark {
+
+  private static final BigDecimal AMOUNT = BigDecimal.ONE;
+  private static final long WORK_TOKENS = 500;
+
+  @Param({"1", "10", "1000"})
+  private int hotWallets;
+
+  private StripedWalletLockManager lockManager;
+  private AtomicReferenceArray<VersionedBalance> balances;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    lockManager = new StripedWalletLockManager(1024, 5000);
+    balances = new AtomicReferenceArray<>(hotWallets);
+    for (int i = 0; i < hotWallets; i++) {
+      balances.set(i, new VersionedBalance(0, BigDecimal.ZERO));
+    }
+  }
+
+  @Benchmark
+  public int optimisticRetry() {
+    int wallet = pickWallet();
+    int attempts = 0;
+    while (true) {
+      attempts++;
+      VersionedBalance current = balances.get(wallet);
+      Blackhole.consumeCPU(WORK_TOKENS);
+      VersionedBalance next =
+          new VersionedBalance(current.version() + 1, current.balance().add(AMOUNT));
+      if (balances.compareAndSet(wallet, current, next)) {
+        return attempts;
+      }
+    }
+  }
+
+  @Benchmark
+  public BigDecimal stripedLock() {
+    int wallet = pickWallet();
+    Lock lock = lockManager.stripeFor((long) wallet);
+    lock.lock();
+    try {
+      VersionedBalance current = balances.get(wallet);
+      Blackhole.consumeCPU(WORK_TOKENS);
+      VersionedBalance next =
+          new VersionedBalance(current.version() + 1, current.balance().add(AMOUNT));
+      balances.set(wallet, next);
+      return next.balance();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private int pickWallet() {
+    return ThreadLocalRandom.current().nextInt(hotWallets);
+  }
+
+  private record VersionedBalance(long version, BigDecimal balance) {}
+}
@@ -0,0 +1,82 @@
+package com.wallet.benchmark.support;
+
+import com.wallet.WalletApplication;
+import com.wallet.enums.Currency;
+import com.wallet.model.Customer;
+import com.wallet.model.Money;
+import com.wallet.model.Wallet;
+import com.wallet.repository.CustomerRepository;
+import com.wallet.repository.WalletRepository;
+import com.wallet.security.CustomUserDetailsService;
+import com.wallet.service.TransactionService;
+import java.util.UUID;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * The full application context against a private in-memory H2 database: transaction proxies, the
+ * audit aspect, Hibernate and JDBC are all on the measured path.
+ */
+final class H2TransactionStack implements TransactionStack {
+
+  private static final String EMPLOYEE_TCKN = "10000000001";
+
+  private final ConfigurableApplicationContext context;
+  private final TransactionService transactionService;
+  private final Long walletId;
+
+  H2TransactionStack() {
+    context =
+        new SpringApplicationBuilder(WalletApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:bench-"
+                    + UUID.randomUUID()
+                    + ";DB_CLOSE_DELAY=-1",
+                "spring.devtools.restart.enabled=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "logging.level.root=WARN")
+            .run();
+    transactionService = context.getBean(TransactionService.class);
+
+    CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+    Customer employee = customerRepository.findByTckn(EMPLOYEE_TCKN).orElseThrow();
+    Wallet wallet = new Wallet();
+    wallet.setCustomer(employee);
+    wallet.setWalletName("bench");
+    wallet.setCurrency(Currency.TRY);
+    wallet.setActiveForShopping(true);
+    wallet.setActiveForWithdraw(true);
+    wallet.setBalance(Money.of(1_000_000_000_000L));
+    wallet.setUsableBalance(Money.of(1_000_000_000_000L));
+    walletId = context.getBean(WalletRepository.class).save(wallet).getId();
+
+    UserDetails principal =
+        context.getBean(CustomUserDetailsService.class).loadUserByUsername(EMPLOYEE_TCKN);
+    // Benchmark threads are not request threads, so share one context across all of them.
+    SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(
+                principal, null, principal.getAuthorities()));
+  }
+
+  @Override
+  public TransactionService transactionService() {
+    return transactionService;
+  }
+
+  @Override
+  public Long walletId() {
+    return walletId;
+  }
+
+  @Override
+  public void close() {
+    SecurityContextHolder.clearContext();
+    context.close();
+  }
+}
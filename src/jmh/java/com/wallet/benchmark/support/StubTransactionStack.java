@@ -0,0 +1,200 @@
+package com.wallet.benchmark.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.config.BulkTransactionProperties;
+import com.wallet.config.OutboxProperties;
+import com.wallet.config.WalletCacheProperties;
+import com.wallet.enums.Currency;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.UserRole;
+import com.wallet.model.Customer;
+import com.wallet.model.Money;
+import com.wallet.model.Wallet;
+import com.wallet.model.WalletDailySnapshot;
+import com.wallet.model.WalletTransaction;
+import com.wallet.repository.CustomerRepository;
+import com.wallet.repository.OutboxEventRepository;
+import com.wallet.repository.WalletDailySnapshotRepository;
+import com.wallet.repository.WalletRepository;
+import com.wallet.repository.WalletTransactionRepository;
+import com.wallet.security.CustomUserDetails;
+import com.wallet.service.CurrentCustomerService;
+import com.wallet.service.CustomerService;
+import com.wallet.service.TransactionService;
+import com.wallet.service.WalletService;
+import com.wallet.service.cache.WalletCache;
+import com.wallet.service.concurrency.EntityWalletBalanceWriter;
+import com.wallet.service.concurrency.OptimisticWalletLockManager;
+import com.wallet.service.metrics.TransactionMetrics;
+import com.wallet.service.outbox.OutboxRecorder;
+import com.wallet.service.policy.WalletAccessPolicy;
+import com.wallet.service.snapshot.WalletSnapshotRecorder;
+import com.wallet.service.strategy.DepositTransactionStrategy;
+import com.wallet.service.strategy.WithdrawTransactionStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Plain objects and in-memory repositories: no Spring context, no proxies, no SQL. Whatever this
+ * stack costs is the service and strategy code itself.
+ */
+final class StubTransactionStack implements TransactionStack {
+
+  private static final Long WALLET_ID = 1L;
+
+  private final TransactionService transactionService;
+
+  StubTransactionStack() {
+    Customer customer = new Customer();
+    customer.setId(1L);
+    customer.setName("Bench");
+    customer.setSurname("Mark");
+    customer.setTckn("10000000012");
+    customer.setPassword("n/a");
+    customer.setRole(UserRole.EMPLOYEE);
+
+    Wallet wallet = new Wallet();
+    wallet.setId(WALLET_ID);
+    wallet.setCustomer(customer);
+    wallet.setWalletName("bench");
+    wallet.setCurrency(Currency.TRY);
+    wallet.setActiveForShopping(true);
+    wallet.setActiveForWithdraw(true);
+    wallet.setBalance(Money.of(1_000_000_000_000L));
+    wallet.setUsableBalance(Money.of(1_000_000_000_000L));
+
+    WalletRepository walletRepository =
+        Stubs.of(
+            WalletRepository.class,
+            Map.of(
+                "findById", args -> Optional.of(wallet),
+                "findBalancesById", args -> Optional.of(balancesOf(wallet)),
+                "save", args -> args[0]));
+
+    Map<LocalDate, WalletDailySnapshot> snapshots = new ConcurrentHashMap<>();
+    WalletDailySnapshotRepository snapshotRepository =
+        Stubs.of(
+            WalletDailySnapshotRepository.class,
+            Map.of(
+                "findForUpdate", args -> Optional.ofNullable(snapshots.get((LocalDate) args[1])),
+                "save",
+                args -> {
+                  WalletDailySnapshot snapshot = (WalletDailySnapshot) args[0];
+                  snapshots.put(snapshot.getSnapshotDate(), snapshot);
+                  return snapshot;
+                }));
+    // Stands in for the recorder's INSERT that opens a day.
+    JdbcTemplate snapshotInserts =
+        new JdbcTemplate() {
+          @Override
+          public int update(String sql, Object... args) {
+            WalletDailySnapshot snapshot = new WalletDailySnapshot();
+            snapshot.setWalletId((Long) args[0]);
+            snapshot.setSnapshotDate((LocalDate) args[1]);
+            snapshot.setOpeningBalance((BigDecimal) args[2]);
+            snapshot.setOpeningUsableBalance((BigDecimal) args[3]);
+            snapshot.setClosingBalance((BigDecimal) args[4]);
+            snapshot.setClosingUsableBalance((BigDecimal) args[5]);
+            return snapshots.putIfAbsent(snapshot.getSnapshotDate(), snapshot) == null ? 1 : 0;
+          }
+        };
+
+    AtomicLong ids = new AtomicLong();
+    Map<Long, WalletTransaction> pending = new ConcurrentHashMap<>();
+    WalletTransactionRepository transactionRepository =
+        Stubs.of(
+            WalletTransactionRepository.class,
+            Map.of(
+                "save",
+                args -> {
+                  WalletTransaction transaction = (WalletTransaction) args[0];
+                  if (transaction.getId() == null) {
+                    transaction.setId(ids.incrementAndGet());
+                    transaction.setCreatedAt(LocalDateTime.now());
+                  }
+                  // Only keep rows that can still be approved, so memory stays flat.
+                  if (transaction.getStatus() == TransactionStatus.PENDING) {
+                    pending.put(transaction.getId(), transaction);
+                  } else {
+                    pending.remove(transaction.getId());
+                  }
+                  return transaction;
+                },
+                "findById", args -> Optional.ofNullable(pending.get((Long) args[0])),
+                "findWalletIdById", args -> Optional.of(WALLET_ID)));
+
+    CustomerRepository customerRepository = Stubs.of(CustomerRepository.class, Map.of());
+    CurrentCustomerService currentCustomerService = new CurrentCustomerService(customerRepository);
+    WalletAccessPolicy accessPolicy = new WalletAccessPolicy();
+    WalletService walletService =
+        new WalletService(
+            walletRepository,
+            currentCustomerService,
+            accessPolicy,
+            new CustomerService(customerRepository, currentCustomerService, accessPolicy),
+            new WalletCache(new WalletCacheProperties(), new SimpleMeterRegistry()));
+    transactionService =
+        new TransactionService(
+            walletService,
+            new EntityWalletBalanceWriter(walletRepository),
+            transactionRepository,
+            currentCustomerService,
+            new OptimisticWalletLockManager(),
+            new BulkTransactionProperties(),
+            new WalletSnapshotRecorder(snapshotRepository, walletRepository, snapshotInserts),
+            new TransactionMetrics(new SimpleMeterRegistry()),
+            new OutboxRecorder(
+                Stubs.of(OutboxEventRepository.class, Map.of("saveAll", args -> args[0])),
+                new ObjectMapper().findAndRegisterModules(),
+                new OutboxProperties()),
+            Optional.empty(),
+            Optional.empty(),
+            List.of(new DepositTransactionStrategy(), new WithdrawTransactionStrategy()));
+
+    CustomUserDetails principal = new CustomUserDetails(customer);
+    SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(
+                principal, null, principal.getAuthorities()));
+  }
+
+  private static WalletRepository.Balances balancesOf(Wallet wallet) {
+    return new WalletRepository.Balances() {
+      @Override
+      public Money getBalance() {
+        return wallet.getBalance();
+      }
+
+      @Override
+      public Money getUsableBalance() {
+        return wallet.getUsableBalance();
+      }
+    };
+  }
+
+  @Override
+  public TransactionService transactionService() {
+    return transactionService;
+  }
+
+  @Override
+  public Long walletId() {
+    return WALLET_ID;
+  }
+
+  @Override
+  public void close() {
+    SecurityContextHolder.clearContext();
+  }
+}
@@ -0,0 +1,36 @@
+package com.wallet.benchmark.support;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Dynamic-proxy stubs for Spring Data repositories. Only the methods named in {@code handlers} are
+ * implemented; anything else fails loudly so a benchmark never silently measures a no-op.
+ */
+public final class Stubs {
+
+  private Stubs() {}
+
+  @SuppressWarnings("unchecked")
+  public static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> handlers) {
+    return (T)
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> {
+              Function<Object[], Object> handler = handlers.get(method.getName());
+              if (handler != null) {
+                return handler.apply(args);
+              }
+              return switch (method.getName()) {
+                case "toString" -> "Stub(" + type.getSimpleName() + ")";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default ->
+                    throw new UnsupportedOperationException(
+                        type.getSimpleName() + "." + method.getName() + " is not stubbed");
+              };
+            });
+  }
+}
@@ -0,0 +1,22 @@
+package com.wallet.benchmark.support;
+
+import com.wallet.service.TransactionService;
+
+/** A {@link TransactionService} wired against some persistence backend, plus a funded wallet. */
+public interface TransactionStack extends AutoCloseable {
+
+  TransactionService transactionService();
+
+  Long walletId();
+
+  static TransactionStack create(String backend) {
+    return switch (backend) {
+      case "stub" -> new StubTransactionStack();
+      case "h2" -> new H2TransactionStack();
+      default -> throw new IllegalArgumentException("Unknown backend " + backend);
+    };
+  }
+
+  @Override
+  void close();
+}
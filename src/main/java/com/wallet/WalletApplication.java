@@ -1,12 +1,38 @@
 package com.wallet;
 
+import com.wallet.config.ApprovalQueueProperties;
+import com.wallet.config.ArchiveProperties;
+import com.wallet.config.AuditProperties;
+import com.wallet.config.BulkTransactionProperties;
+import com.wallet.config.IdempotencyProperties;
+import com.wallet.config.LedgerProperties;
+import com.wallet.config.OutboxProperties;
+import com.wallet.config.RateLimitProperties;
+import com.wallet.config.ReplicaProperties;
+import com.wallet.config.WalletCacheProperties;
+import com.wallet.config.WalletConcurrencyProperties;
 import com.wallet.security.JwtProperties;
+import com.wallet.security.PrincipalCacheProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({
+  JwtProperties.class,
+  WalletConcurrencyProperties.class,
+  AuditProperties.class,
+  PrincipalCacheProperties.class,
+  BulkTransactionProperties.class,
+  ApprovalQueueProperties.class,
+  IdempotencyProperties.class,
+  WalletCacheProperties.class,
+  OutboxProperties.class,
+  LedgerProperties.class,
+  ReplicaProperties.class,
+  ArchiveProperties.class,
+  RateLimitProperties.class
+})
 public class WalletApplication {
 
   public static void main(String[] args) {
@@ -0,0 +1,19 @@
+package com.wallet.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "wallet.approval-queue")
+public class ApprovalQueueProperties {
+
+  /** How long a claimed transaction stays reserved for its approver. */
+  private Duration lease = Duration.ofMinutes(5);
+
+  public Duration getLease() {
+    return lease;
+  }
+
+  public void setLease(Duration lease) {
+    this.lease = lease;
+  }
+}
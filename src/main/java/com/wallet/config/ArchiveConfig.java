@@ -0,0 +1,51 @@
+package com.wallet.config;
+
+import com.wallet.repository.ArchiveSegmentRepository;
+import com.wallet.service.archive.TransactionArchive;
+import com.wallet.service.archive.TransactionArchiver;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.archive", name = "enabled", havingValue = "true")
+public class ArchiveConfig {
+
+  @Bean
+  public TransactionArchive transactionArchive(
+      ArchiveProperties properties,
+      ArchiveSegmentRepository segmentRepository,
+      MeterRegistry meterRegistry) {
+    return new TransactionArchive(
+        Path.of(properties.getDirectory()),
+        segmentRepository,
+        properties.getCachedFiles(),
+        properties.getRefreshInterval(),
+        properties.getHorizon(),
+        meterRegistry);
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "wallet.archive", name = "job-enabled", matchIfMissing = true)
+  public TransactionArchiver transactionArchiver(
+      ArchiveProperties properties,
+      TransactionArchive archive,
+      ArchiveSegmentRepository segmentRepository,
+      JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      MeterRegistry meterRegistry) {
+    return new TransactionArchiver(
+        archive,
+        segmentRepository,
+        jdbcTemplate,
+        transactionTemplate,
+        properties.getHorizon(),
+        properties.getInterval(),
+        properties.getBatchSize(),
+        meterRegistry);
+  }
+}
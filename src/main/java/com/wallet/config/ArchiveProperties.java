@@ -0,0 +1,97 @@
+package com.wallet.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Archival of cold transaction history to local files, on when {@code enabled}. */
+@ConfigurationProperties(prefix = "wallet.archive")
+public class ArchiveProperties {
+
+  /** Archive old rows and serve reads from the archive. Keep it on once rows have been moved. */
+  private boolean enabled = false;
+
+  /** Run the archival job on this instance; reads use the archive either way. */
+  private boolean jobEnabled = true;
+
+  /** Directory holding one sub-directory per table and month. */
+  private String directory = "transaction-archive";
+
+  /** Finalized transactions and audit entries older than this are moved to the archive. */
+  private Duration horizon = Duration.ofDays(365);
+
+  /** How often the job looks for rows past the horizon. */
+  private Duration interval = Duration.ofHours(1);
+
+  /** Most rows written to one archive file. */
+  private int batchSize = 10_000;
+
+  /** Decoded archive files kept in memory for reads. */
+  private int cachedFiles = 16;
+
+  /** How often reads look for files the job recorded, possibly on another instance. */
+  private Duration refreshInterval = Duration.ofSeconds(30);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public boolean isJobEnabled() {
+    return jobEnabled;
+  }
+
+  public void setJobEnabled(boolean jobEnabled) {
+    this.jobEnabled = jobEnabled;
+  }
+
+  public String getDirectory() {
+    return directory;
+  }
+
+  public void setDirectory(String directory) {
+    this.directory = directory;
+  }
+
+  public Duration getHorizon() {
+    return horizon;
+  }
+
+  public void setHorizon(Duration horizon) {
+    this.horizon = horizon;
+  }
+
+  public Duration getInterval() {
+    return interval;
+  }
+
+  public void setInterval(Duration interval) {
+    this.interval = interval;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public int getCachedFiles() {
+    return cachedFiles;
+  }
+
+  public void setCachedFiles(int cachedFiles) {
+    this.cachedFiles = cachedFiles;
+  }
+
+  public Duration getRefreshInterval() {
+    return refreshInterval;
+  }
+
+  public void setRefreshInterval(Duration refreshInterval) {
+    this.refreshInterval = refreshInterval;
+  }
+}
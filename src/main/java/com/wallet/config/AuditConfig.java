@@ -0,0 +1,48 @@
+package com.wallet.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.repository.TransactionAuditLogRepository;
+import com.wallet.service.audit.AuditLogWriter;
+import com.wallet.service.audit.BatchingAuditLogWriter;
+import com.wallet.service.audit.SyncAuditLogWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class AuditConfig {
+
+  @Bean
+  public AuditLogWriter auditLogWriter(
+      AuditProperties properties,
+      TransactionAuditLogRepository auditLogRepository,
+      JdbcTemplate jdbcTemplate,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      Environment environment) {
+    if (properties.getMode() == AuditProperties.Mode.SYNC) {
+      return new SyncAuditLogWriter(auditLogRepository);
+    }
+    Path spillFile =
+        properties.getMode() == AuditProperties.Mode.ASYNC_SPILL
+            ? Path.of(properties.getSpillFile())
+            : null;
+    return new BatchingAuditLogWriter(
+        jdbcTemplate,
+        objectMapper,
+        meterRegistry,
+        properties.getQueueCapacity(),
+        properties.getBatchSize(),
+        properties.getFlushIntervalMs(),
+        properties.getOfferTimeoutMs(),
+        spillFile,
+        // Follows spring.threads.virtual.enabled like Tomcat and the task executors do.
+        Threading.VIRTUAL.isActive(environment)
+            ? Thread.ofVirtual().name("audit-writer").factory()
+            : Thread.ofPlatform().name("audit-writer").daemon(true).factory());
+  }
+}
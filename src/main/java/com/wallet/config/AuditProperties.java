@@ -0,0 +1,68 @@
+package com.wallet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "wallet.audit")
+public class AuditProperties {
+
+  public enum Mode {
+    SYNC,
+    ASYNC,
+    ASYNC_SPILL
+  }
+
+  private Mode mode = Mode.SYNC;
+  private int queueCapacity = 10_000;
+  private int batchSize = 200;
+  private long flushIntervalMs = 200;
+  private long offerTimeoutMs = 50;
+  private String spillFile = "audit-spill.ndjson";
+
+  public Mode getMode() {
+    return mode;
+  }
+
+  public void setMode(Mode mode) {
+    this.mode = mode;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public long getFlushIntervalMs() {
+    return flushIntervalMs;
+  }
+
+  public void setFlushIntervalMs(long flushIntervalMs) {
+    this.flushIntervalMs = flushIntervalMs;
+  }
+
+  public long getOfferTimeoutMs() {
+    return offerTimeoutMs;
+  }
+
+  public void setOfferTimeoutMs(long offerTimeoutMs) {
+    this.offerTimeoutMs = offerTimeoutMs;
+  }
+
+  public String getSpillFile() {
+    return spillFile;
+  }
+
+  public void setSpillFile(String spillFile) {
+    this.spillFile = spillFile;
+  }
+}
@@ -0,0 +1,36 @@
+package com.wallet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "wallet.bulk")
+public class BulkTransactionProperties {
+
+  /** What a failing item does to the rest of a bulk request. */
+  public enum FailureMode {
+    /** Any failure rolls back the whole request. */
+    ALL_OR_NOTHING,
+    /** A failure skips every item of the same wallet; other wallets still commit. */
+    PER_WALLET,
+    /** Only the failing item is skipped. */
+    PER_ITEM
+  }
+
+  private FailureMode failureMode = FailureMode.ALL_OR_NOTHING;
+  private int maxItems = 1000;
+
+  public FailureMode getFailureMode() {
+    return failureMode;
+  }
+
+  public void setFailureMode(FailureMode failureMode) {
+    this.failureMode = failureMode;
+  }
+
+  public int getMaxItems() {
+    return maxItems;
+  }
+
+  public void setMaxItems(int maxItems) {
+    this.maxItems = maxItems;
+  }
+}
@@ -0,0 +1,61 @@
+package com.wallet.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "wallet.idempotency")
+public class IdempotencyProperties {
+
+  /** Stored responses kept in memory; older keys are still answered from the database. */
+  private long cacheSize = 10_000;
+
+  private Duration cacheTtl = Duration.ofHours(1);
+
+  /** How long a duplicate waits for the first request with the same key before giving up. */
+  private Duration inFlightTimeout = Duration.ofSeconds(10);
+
+  /** How long a stored response is kept; a retry after that runs as a new request. */
+  private Duration retention = Duration.ofDays(1);
+
+  private Duration purgeInterval = Duration.ofMinutes(10);
+
+  public long getCacheSize() {
+    return cacheSize;
+  }
+
+  public void setCacheSize(long cacheSize) {
+    this.cacheSize = cacheSize;
+  }
+
+  public Duration getCacheTtl() {
+    return cacheTtl;
+  }
+
+  public void setCacheTtl(Duration cacheTtl) {
+    this.cacheTtl = cacheTtl;
+  }
+
+  public Duration getInFlightTimeout() {
+    return inFlightTimeout;
+  }
+
+  public void setInFlightTimeout(Duration inFlightTimeout) {
+    this.inFlightTimeout = inFlightTimeout;
+  }
+
+  public Duration getRetention() {
+    return retention;
+  }
+
+  public void setRetention(Duration retention) {
+    this.retention = retention;
+  }
+
+  public Duration getPurgeInterval() {
+    return purgeInterval;
+  }
+
+  public void setPurgeInterval(Duration purgeInterval) {
+    this.purgeInterval = purgeInterval;
+  }
+}
@@ -0,0 +1,67 @@
+package com.wallet.config;
+
+import com.wallet.model.WalletTransaction;
+import com.wallet.repository.LedgerCheckpointRepository;
+import com.wallet.repository.WalletRepository;
+import com.wallet.repository.WalletTransactionRepository;
+import com.wallet.service.audit.PooledLoIdAllocator;
+import com.wallet.service.cache.WalletCache;
+import com.wallet.service.ledger.LedgerEngine;
+import com.wallet.service.ledger.LedgerSnapshotWriter;
+import com.wallet.service.metrics.TransactionMetrics;
+import com.wallet.service.outbox.OutboxRecorder;
+import com.wallet.service.snapshot.WalletSnapshotRecorder;
+import com.wallet.service.strategy.TransactionStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.concurrency", name = "mode", havingValue = "ledger")
+public class LedgerConfig {
+
+  @Bean
+  public LedgerSnapshotWriter ledgerSnapshotWriter(
+      TransactionTemplate transactionTemplate,
+      JdbcTemplate jdbcTemplate,
+      LedgerCheckpointRepository checkpointRepository,
+      WalletSnapshotRecorder snapshotRecorder,
+      TransactionMetrics transactionMetrics,
+      OutboxRecorder outboxRecorder,
+      WalletCache walletCache) {
+    return new LedgerSnapshotWriter(
+        transactionTemplate,
+        jdbcTemplate,
+        checkpointRepository,
+        snapshotRecorder,
+        transactionMetrics,
+        outboxRecorder,
+        walletCache);
+  }
+
+  @Bean
+  public LedgerEngine ledgerEngine(
+      LedgerProperties properties,
+      List<TransactionStrategy> strategies,
+      WalletRepository walletRepository,
+      WalletTransactionRepository transactionRepository,
+      LedgerSnapshotWriter snapshotWriter,
+      JdbcTemplate jdbcTemplate,
+      MeterRegistry meterRegistry) {
+    PooledLoIdAllocator transactionIds =
+        new PooledLoIdAllocator(
+            jdbcTemplate, WalletTransaction.ID_SEQUENCE, WalletTransaction.ID_ALLOCATION_SIZE);
+    return new LedgerEngine(
+        properties,
+        strategies,
+        walletRepository,
+        transactionRepository,
+        snapshotWriter,
+        transactionIds::nextId,
+        meterRegistry);
+  }
+}
@@ -0,0 +1,74 @@
+package com.wallet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/** Settings of the in-memory ledger used when {@code wallet.concurrency.mode=ledger}. */
+@ConfigurationProperties(prefix = "wallet.ledger")
+public class LedgerProperties {
+
+  /** Wallets are spread over this many single-writer shards by id. */
+  private int shards = 4;
+
+  /** Directory holding the write-ahead log segments of every shard. */
+  private String walDirectory = "ledger-wal";
+
+  private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+  /** Most commands a shard applies before it forces the log once for all of them. */
+  private int maxBatch = 512;
+
+  /** How often logged changes are written back to the database tables. */
+  private long snapshotIntervalMs = 200;
+
+  /** How long a command may wait in its shard's queue before the request gives up on it. */
+  private long commandTimeoutMs = 5000;
+
+  public int getShards() {
+    return shards;
+  }
+
+  public void setShards(int shards) {
+    this.shards = shards;
+  }
+
+  public String getWalDirectory() {
+    return walDirectory;
+  }
+
+  public void setWalDirectory(String walDirectory) {
+    this.walDirectory = walDirectory;
+  }
+
+  public DataSize getSegmentSize() {
+    return segmentSize;
+  }
+
+  public void setSegmentSize(DataSize segmentSize) {
+    this.segmentSize = segmentSize;
+  }
+
+  public int getMaxBatch() {
+    return maxBatch;
+  }
+
+  public void setMaxBatch(int maxBatch) {
+    this.maxBatch = maxBatch;
+  }
+
+  public long getSnapshotIntervalMs() {
+    return snapshotIntervalMs;
+  }
+
+  public void setSnapshotIntervalMs(long snapshotIntervalMs) {
+    this.snapshotIntervalMs = snapshotIntervalMs;
+  }
+
+  public long getCommandTimeoutMs() {
+    return commandTimeoutMs;
+  }
+
+  public void setCommandTimeoutMs(long commandTimeoutMs) {
+    this.commandTimeoutMs = commandTimeoutMs;
+  }
+}
@@ -0,0 +1,49 @@
+package com.wallet.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.service.outbox.NdjsonFileOutboxSink;
+import com.wallet.service.outbox.OutboxEventSink;
+import com.wallet.service.outbox.OutboxRelay;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class OutboxConfig {
+
+  @Bean
+  @ConditionalOnProperty(prefix = "wallet.outbox", name = "file")
+  public NdjsonFileOutboxSink ndjsonFileOutboxSink(
+      OutboxProperties properties, ObjectMapper objectMapper) {
+    return new NdjsonFileOutboxSink(Path.of(properties.getFile()), objectMapper);
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "wallet.outbox", name = "relay-enabled", matchIfMissing = true)
+  public OutboxRelay outboxRelay(
+      OutboxProperties properties,
+      JdbcTemplate jdbcTemplate,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      List<OutboxEventSink> sinks,
+      Environment environment) {
+    return new OutboxRelay(
+        jdbcTemplate,
+        objectMapper,
+        meterRegistry,
+        sinks,
+        properties.getBatchSize(),
+        properties.getPollIntervalMs(),
+        properties.getRetention(),
+        // Follows spring.threads.virtual.enabled like the audit writer does.
+        Threading.VIRTUAL.isActive(environment)
+            ? Thread.ofVirtual().name("outbox-relay").factory()
+            : Thread.ofPlatform().name("outbox-relay").daemon(true).factory());
+  }
+}
@@ -0,0 +1,92 @@
+package com.wallet.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "wallet.outbox")
+public class OutboxProperties {
+
+  /** Whether transaction services write outbox rows at all. */
+  private boolean enabled = true;
+
+  /** Run the relay on this instance. Keep it on exactly one instance to preserve ordering. */
+  private boolean relayEnabled = true;
+
+  private long pollIntervalMs = 200;
+  private int batchSize = 200;
+
+  /** Published rows older than this are deleted by the relay. */
+  private Duration retention = Duration.ofDays(7);
+
+  /** NDJSON file the file sink appends to; the sink is off when unset. */
+  private String file;
+
+  private Duration sseTimeout = Duration.ofMinutes(30);
+
+  /** Events queued for one stream client; a client that falls further behind is disconnected. */
+  private int sseBuffer = 1000;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public boolean isRelayEnabled() {
+    return relayEnabled;
+  }
+
+  public void setRelayEnabled(boolean relayEnabled) {
+    this.relayEnabled = relayEnabled;
+  }
+
+  public long getPollIntervalMs() {
+    return pollIntervalMs;
+  }
+
+  public void setPollIntervalMs(long pollIntervalMs) {
+    this.pollIntervalMs = pollIntervalMs;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public Duration getRetention() {
+    return retention;
+  }
+
+  public void setRetention(Duration retention) {
+    this.retention = retention;
+  }
+
+  public String getFile() {
+    return file;
+  }
+
+  public void setFile(String file) {
+    this.file = file;
+  }
+
+  public Duration getSseTimeout() {
+    return sseTimeout;
+  }
+
+  public void setSseTimeout(Duration sseTimeout) {
+    this.sseTimeout = sseTimeout;
+  }
+
+  public int getSseBuffer() {
+    return sseBuffer;
+  }
+
+  public void setSseBuffer(int sseBuffer) {
+    this.sseBuffer = sseBuffer;
+  }
+}
@@ -0,0 +1,60 @@
+package com.wallet.config;
+
+import com.wallet.service.CurrentCustomerService;
+import com.wallet.service.ratelimit.BucketLimit;
+import com.wallet.service.ratelimit.InMemoryRateLimitStore;
+import com.wallet.service.ratelimit.RateLimitInterceptor;
+import com.wallet.service.ratelimit.RateLimitStore;
+import com.wallet.service.ratelimit.RequestRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.stream.Stream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitConfig {
+
+  /** Replaced by any other {@link RateLimitStore} bean, such as one backed by a shared store. */
+  @Bean
+  @ConditionalOnMissingBean(RateLimitStore.class)
+  public InMemoryRateLimitStore inMemoryRateLimitStore(RateLimitProperties properties) {
+    long slowestRefill =
+        Stream.of(properties.getCustomer(), properties.getWallet())
+            .flatMap(scope -> Stream.of(scope.getRead(), scope.getWrite()))
+            .map(RateLimitProperties.Bucket::toLimit)
+            .mapToLong(BucketLimit::refillNanos)
+            .max()
+            .orElseThrow();
+    return new InMemoryRateLimitStore(
+        properties.getMaxKeys(), Duration.ofNanos(slowestRefill), System::nanoTime);
+  }
+
+  @Bean
+  public RequestRateLimiter requestRateLimiter(
+      RateLimitStore store,
+      CurrentCustomerService currentCustomerService,
+      RateLimitProperties properties,
+      MeterRegistry meterRegistry) {
+    return new RequestRateLimiter(store, currentCustomerService, properties, meterRegistry);
+  }
+
+  @Bean
+  public WebMvcConfigurer rateLimitInterceptorConfigurer(RequestRateLimiter limiter) {
+    RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter);
+    return new WebMvcConfigurer() {
+      @Override
+      public void addInterceptors(InterceptorRegistry registry) {
+        registry
+            .addInterceptor(interceptor)
+            .addPathPatterns("/api/**")
+            .excludePathPatterns("/api/v1/auth/**");
+      }
+    };
+  }
+}
@@ -0,0 +1,120 @@
+package com.wallet.config;
+
+import com.wallet.service.ratelimit.BucketLimit;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Token buckets checked before a request reaches the services, one per customer and one per wallet,
+ * each with separate read (GET) and write limits.
+ */
+@ConfigurationProperties(prefix = "wallet.rate-limit")
+public class RateLimitProperties {
+
+  private boolean enabled = false;
+
+  private Scope customer = new Scope(new Bucket(100, 50), new Bucket(40, 20));
+
+  private Scope wallet = new Scope(new Bucket(100, 50), new Bucket(20, 10));
+
+  /** Most buckets kept by the in-memory store; idle buckets are dropped once full again. */
+  private int maxKeys = 100_000;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public Scope getCustomer() {
+    return customer;
+  }
+
+  public void setCustomer(Scope customer) {
+    this.customer = customer;
+  }
+
+  public Scope getWallet() {
+    return wallet;
+  }
+
+  public void setWallet(Scope wallet) {
+    this.wallet = wallet;
+  }
+
+  public int getMaxKeys() {
+    return maxKeys;
+  }
+
+  public void setMaxKeys(int maxKeys) {
+    this.maxKeys = maxKeys;
+  }
+
+  public static class Scope {
+
+    private Bucket read;
+    private Bucket write;
+
+    public Scope() {
+      this(new Bucket(), new Bucket());
+    }
+
+    Scope(Bucket read, Bucket write) {
+      this.read = read;
+      this.write = write;
+    }
+
+    public Bucket getRead() {
+      return read;
+    }
+
+    public void setRead(Bucket read) {
+      this.read = read;
+    }
+
+    public Bucket getWrite() {
+      return write;
+    }
+
+    public void setWrite(Bucket write) {
+      this.write = write;
+    }
+  }
+
+  public static class Bucket {
+
+    /** Requests that may arrive at once after a quiet period. */
+    private long capacity = 1;
+
+    /** Sustained requests per second. */
+    private double refillPerSecond = 1;
+
+    public Bucket() {}
+
+    Bucket(long capacity, double refillPerSecond) {
+      this.capacity = capacity;
+      this.refillPerSecond = refillPerSecond;
+    }
+
+    public long getCapacity() {
+      return capacity;
+    }
+
+    public void setCapacity(long capacity) {
+      this.capacity = capacity;
+    }
+
+    public double getRefillPerSecond() {
+      return refillPerSecond;
+    }
+
+    public void setRefillPerSecond(double refillPerSecond) {
+      this.refillPerSecond = refillPerSecond;
+    }
+
+    public BucketLimit toLimit() {
+      return BucketLimit.of(capacity, refillPerSecond);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.wallet.config;
+
+import com.wallet.service.replica.H2ReplicationStandIn;
+import com.wallet.service.replica.ReplicaRoutingDataSource;
+import com.wallet.service.replica.ReplicationTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Replaces the single datasource with a primary pool, a replica pool and a routing datasource in
+ * front of them. The routing datasource is wrapped in a {@link LazyConnectionDataSourceProxy} so
+ * JPA transactions take their physical connection only once their read-only flag is set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.replica", name = "enabled", havingValue = "true")
+public class ReplicaConfig {
+
+  @Bean
+  public ReplicationTracker replicationTracker(
+      ReplicaProperties properties, MeterRegistry meterRegistry) {
+    return new ReplicationTracker(properties.getMaxLag(), meterRegistry);
+  }
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  public HikariDataSource replicaDataSource(ReplicaProperties properties) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl(properties.getUrl());
+    dataSource.setUsername(properties.getUsername());
+    dataSource.setPassword(properties.getPassword());
+    dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+    dataSource.setPoolName("wallet-replica");
+    return dataSource;
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica,
+      ReplicationTracker tracker,
+      MeterRegistry meterRegistry) {
+    return new LazyConnectionDataSourceProxy(
+        new ReplicaRoutingDataSource(primary, replica, tracker, meterRegistry));
+  }
+
+  @Bean
+  @ConditionalOnProperty(
+      prefix = "wallet.replica",
+      name = "stand-in",
+      havingValue = "true",
+      matchIfMissing = true)
+  public H2ReplicationStandIn h2ReplicationStandIn(
+      @Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica,
+      DataSourceProperties dataSourceProperties,
+      ReplicationTracker tracker,
+      ReplicaProperties properties) {
+    return new H2ReplicationStandIn(
+        primary,
+        replica,
+        dataSourceProperties.determineUrl(),
+        dataSourceProperties.determineUsername(),
+        dataSourceProperties.determinePassword(),
+        tracker,
+        properties.getReplicationInterval());
+  }
+}
@@ -0,0 +1,95 @@
+package com.wallet.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Read replica used by {@code @ReplicaRead} service methods when {@code enabled}. */
+@ConfigurationProperties(prefix = "wallet.replica")
+public class ReplicaProperties {
+
+  private boolean enabled = false;
+
+  private String url = "jdbc:h2:mem:walletdb-replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+  private String username = "sa";
+
+  private String password = "";
+
+  private int maximumPoolSize = 20;
+
+  /**
+   * Keep the replica in step with the local H2 stand-in; turn off when the database replicates on
+   * its own.
+   */
+  private boolean standIn = true;
+
+  /** Replica reads fall back to the primary once the last refresh is older than this. */
+  private Duration maxLag = Duration.ofSeconds(5);
+
+  /** How often the local H2 stand-in copies the primary into the replica. */
+  private Duration replicationInterval = Duration.ofMillis(100);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public void setUrl(String url) {
+    this.url = url;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  public String getPassword() {
+    return password;
+  }
+
+  public void setPassword(String password) {
+    this.password = password;
+  }
+
+  public int getMaximumPoolSize() {
+    return maximumPoolSize;
+  }
+
+  public void setMaximumPoolSize(int maximumPoolSize) {
+    this.maximumPoolSize = maximumPoolSize;
+  }
+
+  public boolean isStandIn() {
+    return standIn;
+  }
+
+  public void setStandIn(boolean standIn) {
+    this.standIn = standIn;
+  }
+
+  public Duration getMaxLag() {
+    return maxLag;
+  }
+
+  public void setMaxLag(Duration maxLag) {
+    this.maxLag = maxLag;
+  }
+
+  public Duration getReplicationInterval() {
+    return replicationInterval;
+  }
+
+  public void setReplicationInterval(Duration replicationInterval) {
+    this.replicationInterval = replicationInterval;
+  }
+}
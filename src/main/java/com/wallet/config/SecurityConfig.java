@@ -2,6 +2,7 @@ package com.wallet.config;
 
 import com.wallet.security.CustomUserDetailsService;
 import com.wallet.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -36,13 +37,20 @@ public class SecurityConfig {
             session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(
             auth ->
-                auth.requestMatchers(
+                // Async re-dispatches (NDJSON streaming) were already authorized on the way in.
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll()
+                    .requestMatchers(
                         "/api/v1/auth/**",
-                        "/actuator/**",
+                        "/actuator/health/**",
+                        "/actuator/info",
                         "/v3/api-docs/**",
                         "/swagger-ui/**",
                         "/swagger-ui.html")
                     .permitAll()
+                    // Metrics reveal money volumes and internals: scrape with an employee token.
+                    .requestMatchers("/actuator/**")
+                    .hasAuthority("EMPLOYEE")
                     .anyRequest()
                     .authenticated());
     http.authenticationProvider(authenticationProvider());
@@ -0,0 +1,40 @@
+package com.wallet.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "wallet.cache")
+public class WalletCacheProperties {
+
+  private boolean enabled = true;
+
+  /** Upper bound for cached wallets and, separately, for cached customer wallet lists. */
+  private long maxSize = 10_000;
+
+  /** Safety net for writes made by another instance, which this cache never hears about. */
+  private Duration ttl = Duration.ofMinutes(1);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public Duration getTtl() {
+    return ttl;
+  }
+
+  public void setTtl(Duration ttl) {
+    this.ttl = ttl;
+  }
+}
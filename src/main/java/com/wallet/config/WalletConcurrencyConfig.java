@@ -0,0 +1,42 @@
+package com.wallet.config;
+
+import com.wallet.repository.WalletRepository;
+import com.wallet.service.cache.WalletCache;
+import com.wallet.service.concurrency.AtomicWalletBalanceWriter;
+import com.wallet.service.concurrency.EntityWalletBalanceWriter;
+import com.wallet.service.concurrency.OptimisticWalletLockManager;
+import com.wallet.service.concurrency.PessimisticWalletLockManager;
+import com.wallet.service.concurrency.StripedWalletLockManager;
+import com.wallet.service.concurrency.WalletBalanceWriter;
+import com.wallet.service.concurrency.WalletLockManager;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WalletConcurrencyConfig {
+
+  @Bean
+  public WalletLockManager walletLockManager(
+      WalletConcurrencyProperties properties, EntityManager entityManager) {
+    return switch (properties.getMode()) {
+        // The ledger serializes each wallet on its shard thread; there is nothing to lock.
+      case OPTIMISTIC, ATOMIC, LEDGER -> new OptimisticWalletLockManager();
+      case STRIPED ->
+          new StripedWalletLockManager(properties.getStripes(), properties.getLockTimeoutMs());
+      case PESSIMISTIC ->
+          new PessimisticWalletLockManager(entityManager, properties.getLockTimeoutMs());
+    };
+  }
+
+  @Bean
+  public WalletBalanceWriter walletBalanceWriter(
+      WalletConcurrencyProperties properties,
+      WalletRepository walletRepository,
+      WalletCache walletCache) {
+    if (properties.getMode() == WalletConcurrencyProperties.Mode.ATOMIC) {
+      return new AtomicWalletBalanceWriter(walletRepository, walletCache);
+    }
+    return new EntityWalletBalanceWriter(walletRepository);
+  }
+}
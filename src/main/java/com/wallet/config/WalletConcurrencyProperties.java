@@ -0,0 +1,44 @@
+package com.wallet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "wallet.concurrency")
+public class WalletConcurrencyProperties {
+
+  public enum Mode {
+    OPTIMISTIC,
+    STRIPED,
+    PESSIMISTIC,
+    ATOMIC,
+    /** Single-instance in-memory ledger with a write-ahead log, see {@code LedgerEngine}. */
+    LEDGER
+  }
+
+  private Mode mode = Mode.OPTIMISTIC;
+  private int stripes = 1024;
+  private long lockTimeoutMs = 5000;
+
+  public Mode getMode() {
+    return mode;
+  }
+
+  public void setMode(Mode mode) {
+    this.mode = mode;
+  }
+
+  public int getStripes() {
+    return stripes;
+  }
+
+  public void setStripes(int stripes) {
+    this.stripes = stripes;
+  }
+
+  public long getLockTimeoutMs() {
+    return lockTimeoutMs;
+  }
+
+  public void setLockTimeoutMs(long lockTimeoutMs) {
+    this.lockTimeoutMs = lockTimeoutMs;
+  }
+}
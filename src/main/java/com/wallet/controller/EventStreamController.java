@@ -0,0 +1,27 @@
+package com.wallet.controller;
+
+import com.wallet.service.outbox.SseOutboxSink;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/events")
+public class EventStreamController {
+
+  private final SseOutboxSink sseOutboxSink;
+
+  public EventStreamController(SseOutboxSink sseOutboxSink) {
+    this.sseOutboxSink = sseOutboxSink;
+  }
+
+  @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @PreAuthorize("hasAuthority('EMPLOYEE')")
+  public SseEmitter stream(@RequestParam(name = "walletId", required = false) Long walletId) {
+    return sseOutboxSink.subscribe(walletId);
+  }
+}
@@ -1,41 +1,108 @@
 package com.wallet.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wallet.dto.request.ApproveTransactionRequest;
+import com.wallet.dto.request.BulkStatusChangeRequest;
+import com.wallet.dto.request.BulkTransactionRequest;
 import com.wallet.dto.request.DepositRequest;
+import com.wallet.dto.request.PendingQueueFilter;
+import com.wallet.dto.request.TransferRequest;
 import com.wallet.dto.request.WithdrawRequest;
+import com.wallet.dto.response.BulkTransactionResponse;
+import com.wallet.dto.response.CursorPageResponse;
+import com.wallet.dto.response.PendingTransactionResponse;
 import com.wallet.dto.response.TransactionResponse;
+import com.wallet.dto.response.TransferResponse;
+import com.wallet.enums.TransactionType;
+import com.wallet.service.ApprovalQueueService;
 import com.wallet.service.TransactionService;
+import com.wallet.service.idempotency.IdempotencyService;
+import com.wallet.service.idempotency.IdempotentResult;
 import jakarta.validation.Valid;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/transactions")
 public class TransactionController {
 
+  private static final int STREAM_FLUSH_INTERVAL = 500;
+  static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
   private final TransactionService transactionService;
+  private final ApprovalQueueService approvalQueueService;
+  private final IdempotencyService idempotencyService;
+  private final ObjectMapper objectMapper;
 
-  public TransactionController(TransactionService transactionService) {
+  public TransactionController(
+      TransactionService transactionService,
+      ApprovalQueueService approvalQueueService,
+      IdempotencyService idempotencyService,
+      ObjectMapper objectMapper) {
     this.transactionService = transactionService;
+    this.approvalQueueService = approvalQueueService;
+    this.idempotencyService = idempotencyService;
+    this.objectMapper = objectMapper;
   }
 
   @PostMapping("/deposit")
-  public ResponseEntity<TransactionResponse> deposit(@Valid @RequestBody DepositRequest request) {
-    return ResponseEntity.status(HttpStatus.OK).body(transactionService.deposit(request));
+  public ResponseEntity<TransactionResponse> deposit(
+      @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+      @Valid @RequestBody DepositRequest request) {
+    IdempotentResult result =
+        idempotencyService.execute(
+            idempotencyKey,
+            TransactionType.DEPOSIT,
+            request,
+            () -> transactionService.deposit(request));
+    return idempotent(HttpStatus.OK, result);
   }
 
   @PostMapping("/withdraw")
-  public ResponseEntity<TransactionResponse> withdraw(@Valid @RequestBody WithdrawRequest request) {
-    return ResponseEntity.status(HttpStatus.ACCEPTED).body(transactionService.withdraw(request));
+  public ResponseEntity<TransactionResponse> withdraw(
+      @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+      @Valid @RequestBody WithdrawRequest request) {
+    IdempotentResult result =
+        idempotencyService.execute(
+            idempotencyKey,
+            TransactionType.WITHDRAW,
+            request,
+            () -> transactionService.withdraw(request));
+    return idempotent(HttpStatus.ACCEPTED, result);
+  }
+
+  @PostMapping("/transfer")
+  public ResponseEntity<TransferResponse> transfer(@Valid @RequestBody TransferRequest request) {
+    return ResponseEntity.ok(transactionService.transfer(request));
+  }
+
+  @PostMapping("/bulk")
+  public ResponseEntity<BulkTransactionResponse> bulk(
+      @Valid @RequestBody BulkTransactionRequest request) {
+    return ResponseEntity.ok(transactionService.applyBulk(request));
+  }
+
+  @PostMapping("/status")
+  @PreAuthorize("hasAuthority('EMPLOYEE')")
+  public ResponseEntity<BulkTransactionResponse> updateStatuses(
+      @Valid @RequestBody BulkStatusChangeRequest request) {
+    return ResponseEntity.ok(transactionService.approveOrDenyBulk(request));
   }
 
   @GetMapping
@@ -43,6 +110,61 @@ public class TransactionController {
     return ResponseEntity.ok(transactionService.listTransactions(walletId));
   }
 
+  @GetMapping("/page")
+  public ResponseEntity<CursorPageResponse<TransactionResponse>> page(
+      @RequestParam("walletId") Long walletId,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "limit", defaultValue = "50") int limit) {
+    return ResponseEntity.ok(transactionService.listTransactionsPage(walletId, cursor, limit));
+  }
+
+  @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> stream(@RequestParam("walletId") Long walletId) {
+    Stream<TransactionResponse> rows = transactionService.streamTransactions(walletId);
+    StreamingResponseBody body =
+        out -> {
+          try (rows) {
+            Iterator<TransactionResponse> iterator = rows.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+              out.write(objectMapper.writeValueAsBytes(iterator.next()));
+              out.write('\n');
+              if (++written % STREAM_FLUSH_INTERVAL == 0) {
+                out.flush();
+              }
+            }
+            out.flush();
+          }
+        };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  @GetMapping("/pending")
+  @PreAuthorize("hasAuthority('EMPLOYEE')")
+  public ResponseEntity<CursorPageResponse<PendingTransactionResponse>> pending(
+      @Valid PendingQueueFilter filter,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "limit", defaultValue = "50") int limit,
+      @RequestParam(name = "includeClaimed", defaultValue = "false") boolean includeClaimed) {
+    return ResponseEntity.ok(
+        approvalQueueService.listPending(filter, cursor, limit, includeClaimed));
+  }
+
+  @PostMapping("/pending/claim")
+  @PreAuthorize("hasAuthority('EMPLOYEE')")
+  public ResponseEntity<List<PendingTransactionResponse>> claim(
+      @Valid PendingQueueFilter filter,
+      @RequestParam(name = "limit", defaultValue = "10") int limit) {
+    return ResponseEntity.ok(approvalQueueService.claimNext(filter, limit));
+  }
+
+  @DeleteMapping("/{transactionId}/claim")
+  @PreAuthorize("hasAuthority('EMPLOYEE')")
+  public ResponseEntity<Void> releaseClaim(@PathVariable("transactionId") Long transactionId) {
+    approvalQueueService.release(transactionId);
+    return ResponseEntity.noContent().build();
+  }
+
   @GetMapping("/{transactionId}")
   public ResponseEntity<TransactionResponse> get(
       @PathVariable("transactionId") Long transactionId) {
@@ -56,4 +178,13 @@ public class TransactionController {
       @Valid @RequestBody ApproveTransactionRequest request) {
     return ResponseEntity.ok(transactionService.approveOrDeny(transactionId, request));
   }
+
+  private static ResponseEntity<TransactionResponse> idempotent(
+      HttpStatus status, IdempotentResult result) {
+    ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+    if (result.replayed()) {
+      builder.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+    }
+    return builder.body(result.response());
+  }
 }
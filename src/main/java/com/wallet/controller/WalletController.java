@@ -1,15 +1,23 @@
 package com.wallet.controller;
 
 import com.wallet.dto.request.WalletCreateRequest;
+import com.wallet.dto.request.WalletSearchFilter;
 import com.wallet.dto.request.WalletSettingsRequest;
+import com.wallet.dto.response.PageResponse;
 import com.wallet.dto.response.WalletResponse;
+import com.wallet.dto.response.WalletStatementResponse;
 import com.wallet.enums.Currency;
+import com.wallet.enums.WalletSearchSort;
+import com.wallet.service.StatementService;
 import com.wallet.service.WalletService;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -24,9 +32,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class WalletController {
 
   private final WalletService walletService;
+  private final StatementService statementService;
 
-  public WalletController(WalletService walletService) {
+  public WalletController(WalletService walletService, StatementService statementService) {
     this.walletService = walletService;
+    this.statementService = statementService;
   }
 
   @PostMapping
@@ -42,11 +52,30 @@ public class WalletController {
         walletService.listWallets(Optional.ofNullable(customerId), Optional.ofNullable(currency)));
   }
 
+  @GetMapping("/search")
+  @PreAuthorize("hasAuthority('EMPLOYEE')")
+  public ResponseEntity<PageResponse<WalletResponse>> search(
+      @Valid WalletSearchFilter filter,
+      @RequestParam(name = "sort", defaultValue = "CREATED_AT_DESC") WalletSearchSort sort,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      @RequestParam(name = "size", defaultValue = "50") int size,
+      @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal) {
+    return ResponseEntity.ok(walletService.searchWallets(filter, sort, cursor, size, includeTotal));
+  }
+
   @GetMapping("/{walletId}")
   public ResponseEntity<WalletResponse> get(@PathVariable("walletId") Long walletId) {
     return ResponseEntity.ok(walletService.getWallet(walletId));
   }
 
+  @GetMapping("/{walletId}/statement")
+  public ResponseEntity<WalletStatementResponse> statement(
+      @PathVariable("walletId") Long walletId,
+      @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return ResponseEntity.ok(statementService.statement(walletId, from, to));
+  }
+
   @PutMapping("/{walletId}/settings")
   public ResponseEntity<WalletResponse> update(
       @PathVariable("walletId") Long walletId, @Valid @RequestBody WalletSettingsRequest request) {
@@ -0,0 +1,16 @@
+package com.wallet.dto.request;
+
+import com.wallet.config.BulkTransactionProperties.FailureMode;
+import com.wallet.enums.TransactionStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * Approves or denies every listed transaction. Results are reported per id, in request order;
+ * {@code failureMode} overrides {@code wallet.bulk.failure-mode} for this request when set.
+ */
+public record BulkStatusChangeRequest(
+    @NotEmpty List<@NotNull Long> transactionIds,
+    @NotNull TransactionStatus status,
+    FailureMode failureMode) {}
@@ -0,0 +1,16 @@
+package com.wallet.dto.request;
+
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+/** One deposit or withdraw of a bulk request; the opposite party is the source or destination. */
+public record BulkTransactionItem(
+    @NotNull TransactionType type,
+    @NotNull Long walletId,
+    @NotNull @DecimalMin(value = "0.01") BigDecimal amount,
+    @NotBlank String oppositeParty,
+    @NotNull OppositePartyType oppositePartyType) {}
@@ -0,0 +1,10 @@
+package com.wallet.dto.request;
+
+import com.wallet.config.BulkTransactionProperties.FailureMode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+/** {@code failureMode} overrides {@code wallet.bulk.failure-mode} for this request when set. */
+public record BulkTransactionRequest(
+    @NotEmpty List<@Valid BulkTransactionItem> items, FailureMode failureMode) {}
@@ -0,0 +1,13 @@
+package com.wallet.dto.request;
+
+import com.wallet.enums.Currency;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+
+/** Optional filters of the approval queue; {@code minAgeMinutes} skips rows younger than that. */
+public record PendingQueueFilter(
+    Currency currency,
+    @DecimalMin(value = "0") BigDecimal minAmount,
+    @DecimalMin(value = "0") BigDecimal maxAmount,
+    @PositiveOrZero Integer minAgeMinutes) {}
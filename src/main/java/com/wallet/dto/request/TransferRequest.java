@@ -0,0 +1,10 @@
+package com.wallet.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+public record TransferRequest(
+    @NotNull Long sourceWalletId,
+    @NotNull Long targetWalletId,
+    @NotNull @DecimalMin(value = "0.01") BigDecimal amount) {}
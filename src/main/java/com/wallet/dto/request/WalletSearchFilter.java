@@ -0,0 +1,17 @@
+package com.wallet.dto.request;
+
+import com.wallet.enums.Currency;
+import jakarta.validation.constraints.DecimalMin;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/** Optional filters of the employee wallet search; absent fields match every wallet. */
+public record WalletSearchFilter(
+    Long customerId,
+    Currency currency,
+    @DecimalMin(value = "0") BigDecimal minBalance,
+    @DecimalMin(value = "0") BigDecimal maxBalance,
+    Boolean activeForShopping,
+    Boolean activeForWithdraw,
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter) {}
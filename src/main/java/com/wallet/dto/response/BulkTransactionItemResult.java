@@ -0,0 +1,11 @@
+package com.wallet.dto.response;
+
+public record BulkTransactionItemResult(
+    int index, Outcome outcome, TransactionResponse transaction, String error) {
+
+  public enum Outcome {
+    APPLIED,
+    FAILED,
+    SKIPPED
+  }
+}
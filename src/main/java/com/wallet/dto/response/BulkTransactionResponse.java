@@ -0,0 +1,21 @@
+package com.wallet.dto.response;
+
+import java.util.List;
+
+public record BulkTransactionResponse(
+    int applied, int failed, int skipped, List<BulkTransactionItemResult> results) {
+
+  public static BulkTransactionResponse of(List<BulkTransactionItemResult> results) {
+    int applied = 0;
+    int failed = 0;
+    int skipped = 0;
+    for (BulkTransactionItemResult result : results) {
+      switch (result.outcome()) {
+        case APPLIED -> applied++;
+        case FAILED -> failed++;
+        case SKIPPED -> skipped++;
+      }
+    }
+    return new BulkTransactionResponse(applied, failed, skipped, results);
+  }
+}
@@ -0,0 +1,5 @@
+package com.wallet.dto.response;
+
+import java.util.List;
+
+public record CursorPageResponse<T>(List<T> items, String nextCursor, boolean hasNext) {}
@@ -0,0 +1,15 @@
+package com.wallet.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyBalanceResponse(
+    LocalDate date,
+    BigDecimal openingBalance,
+    BigDecimal openingUsableBalance,
+    BigDecimal closingBalance,
+    BigDecimal closingUsableBalance,
+    TransactionTotalsResponse deposits,
+    TransactionTotalsResponse withdrawals,
+    TransactionTotalsResponse transfersOut,
+    TransactionTotalsResponse transfersIn) {}
@@ -0,0 +1,11 @@
+package com.wallet.dto.response;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated search, like {@link CursorPageResponse} plus an optional total.
+ * {@code totalElements} is only filled in when the caller asked for it, since counting a large
+ * match set costs as much as scanning it.
+ */
+public record PageResponse<T>(
+    List<T> items, String nextCursor, boolean hasNext, Long totalElements) {}
@@ -0,0 +1,60 @@
+package com.wallet.dto.response;
+
+import com.wallet.enums.Currency;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionType;
+import com.wallet.model.Money;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record PendingTransactionResponse(
+    Long id,
+    Long walletId,
+    Currency currency,
+    TransactionType type,
+    BigDecimal amount,
+    OppositePartyType oppositePartyType,
+    String oppositeParty,
+    LocalDateTime createdAt,
+    Long claimedBy,
+    LocalDateTime claimExpiresAt) {
+
+  /** Used by the JPQL constructor expression, which selects the amount as stored. */
+  public PendingTransactionResponse(
+      Long id,
+      Long walletId,
+      Currency currency,
+      TransactionType type,
+      Money amount,
+      OppositePartyType oppositePartyType,
+      String oppositeParty,
+      LocalDateTime createdAt,
+      Long claimedBy,
+      LocalDateTime claimExpiresAt) {
+    this(
+        id,
+        walletId,
+        currency,
+        type,
+        amount.toBigDecimal(),
+        oppositePartyType,
+        oppositeParty,
+        createdAt,
+        claimedBy,
+        claimExpiresAt);
+  }
+
+  public PendingTransactionResponse withClaim(Long approverId, LocalDateTime expiresAt) {
+    return new PendingTransactionResponse(
+        id,
+        walletId,
+        currency,
+        type,
+        amount,
+        oppositePartyType,
+        oppositeParty,
+        createdAt,
+        approverId,
+        expiresAt);
+  }
+}
@@ -3,6 +3,8 @@ package com.wallet.dto.response;
 import com.wallet.enums.OppositePartyType;
 import com.wallet.enums.TransactionStatus;
 import com.wallet.enums.TransactionType;
+import com.wallet.model.Money;
+import com.wallet.model.WalletTransaction;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -16,4 +18,48 @@ public record TransactionResponse(
     String oppositeParty,
     LocalDateTime createdAt,
     LocalDateTime processedAt,
-    Long processedBy) {}
+    Long processedBy,
+    Long linkedTransactionId) {
+
+  /** Used by JPQL constructor expressions, which select the amount as stored. */
+  public TransactionResponse(
+      Long id,
+      Long walletId,
+      TransactionType type,
+      TransactionStatus status,
+      Money amount,
+      OppositePartyType oppositePartyType,
+      String oppositeParty,
+      LocalDateTime createdAt,
+      LocalDateTime processedAt,
+      Long processedBy,
+      Long linkedTransactionId) {
+    this(
+        id,
+        walletId,
+        type,
+        status,
+        amount.toBigDecimal(),
+        oppositePartyType,
+        oppositeParty,
+        createdAt,
+        processedAt,
+        processedBy,
+        linkedTransactionId);
+  }
+
+  public static TransactionResponse of(WalletTransaction transaction) {
+    return new TransactionResponse(
+        transaction.getId(),
+        transaction.getWallet().getId(),
+        transaction.getType(),
+        transaction.getStatus(),
+        transaction.getAmount().toBigDecimal(),
+        transaction.getOppositePartyType(),
+        transaction.getOppositeParty(),
+        transaction.getCreatedAt(),
+        transaction.getProcessedAt(),
+        transaction.getProcessedBy(),
+        transaction.getLinkedTransactionId());
+  }
+}
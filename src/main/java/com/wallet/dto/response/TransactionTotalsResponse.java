@@ -0,0 +1,23 @@
+package com.wallet.dto.response;
+
+import com.wallet.model.TransactionTotals;
+import java.math.BigDecimal;
+
+public record TransactionTotalsResponse(
+    int approvedCount,
+    BigDecimal approvedAmount,
+    int pendingCount,
+    BigDecimal pendingAmount,
+    int deniedCount,
+    BigDecimal deniedAmount) {
+
+  public static TransactionTotalsResponse of(TransactionTotals totals) {
+    return new TransactionTotalsResponse(
+        totals.getApprovedCount(),
+        totals.getApprovedAmount(),
+        totals.getPendingCount(),
+        totals.getPendingAmount(),
+        totals.getDeniedCount(),
+        totals.getDeniedAmount());
+  }
+}
@@ -0,0 +1,4 @@
+package com.wallet.dto.response;
+
+/** Both legs of a transfer; each row's {@code oppositeParty} is the other wallet's id. */
+public record TransferResponse(TransactionResponse debit, TransactionResponse credit) {}
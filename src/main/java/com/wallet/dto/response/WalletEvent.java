@@ -0,0 +1,15 @@
+package com.wallet.dto.response;
+
+import com.wallet.enums.WalletEventType;
+import java.time.LocalDateTime;
+
+/**
+ * A published change. {@code id} increases per wallet in commit order. Delivery is at least once,
+ * so consumers should skip ids they have already seen.
+ */
+public record WalletEvent(
+    Long id,
+    WalletEventType type,
+    Long walletId,
+    LocalDateTime occurredAt,
+    TransactionResponse transaction) {}
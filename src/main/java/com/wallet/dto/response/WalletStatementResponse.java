@@ -0,0 +1,24 @@
+package com.wallet.dto.response;
+
+import com.wallet.enums.Currency;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Balances at the start of {@code from} and the end of {@code to}; {@code days} skips idle days.
+ */
+public record WalletStatementResponse(
+    Long walletId,
+    Currency currency,
+    LocalDate from,
+    LocalDate to,
+    BigDecimal openingBalance,
+    BigDecimal openingUsableBalance,
+    BigDecimal closingBalance,
+    BigDecimal closingUsableBalance,
+    TransactionTotalsResponse deposits,
+    TransactionTotalsResponse withdrawals,
+    TransactionTotalsResponse transfersOut,
+    TransactionTotalsResponse transfersIn,
+    List<DailyBalanceResponse> days) {}
@@ -1,7 +1,18 @@
 package com.wallet.enums;
 
 public enum Currency {
-  TRY,
-  USD,
-  EUR
+  TRY(2),
+  USD(2),
+  EUR(2);
+
+  private final int minorUnits;
+
+  Currency(int minorUnits) {
+    this.minorUnits = minorUnits;
+  }
+
+  /** Decimal places of the currency's smallest unit. */
+  public int minorUnits() {
+    return minorUnits;
+  }
 }
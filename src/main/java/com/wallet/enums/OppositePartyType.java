@@ -2,5 +2,6 @@ package com.wallet.enums;
 
 public enum OppositePartyType {
   IBAN,
-  PAYMENT
+  PAYMENT,
+  WALLET
 }
@@ -3,5 +3,6 @@ package com.wallet.enums;
 public enum TransactionAuditAction {
   DEPOSIT_CREATED,
   WITHDRAW_CREATED,
+  TRANSFER_CREATED,
   STATUS_CHANGED
 }
@@ -2,5 +2,7 @@ package com.wallet.enums;
 
 public enum TransactionType {
   DEPOSIT,
-  WITHDRAW
+  WITHDRAW,
+  TRANSFER_OUT,
+  TRANSFER_IN
 }
@@ -0,0 +1,6 @@
+package com.wallet.enums;
+
+public enum WalletEventType {
+  TRANSACTION_CREATED,
+  TRANSACTION_STATUS_CHANGED
+}
@@ -0,0 +1,10 @@
+package com.wallet.enums;
+
+/** Orderings of the wallet search. Every one ends with the wallet id, so pages are stable. */
+public enum WalletSearchSort {
+  CREATED_AT_DESC,
+  CREATED_AT_ASC,
+  BALANCE_DESC,
+  BALANCE_ASC,
+  ID_ASC
+}
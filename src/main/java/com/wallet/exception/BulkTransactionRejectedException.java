@@ -0,0 +1,18 @@
+package com.wallet.exception;
+
+import com.wallet.dto.response.BulkTransactionResponse;
+
+/** Rolls back an all-or-nothing bulk request while still reporting every item's outcome. */
+public class BulkTransactionRejectedException extends RuntimeException {
+
+  private final transient BulkTransactionResponse response;
+
+  public BulkTransactionRejectedException(BulkTransactionResponse response) {
+    super("Bulk request rejected: " + response.failed() + " item(s) failed");
+    this.response = response;
+  }
+
+  public BulkTransactionResponse getResponse() {
+    return response;
+  }
+}
@@ -1,8 +1,11 @@
 package com.wallet.exception;
 
+import com.wallet.dto.response.BulkTransactionResponse;
 import com.wallet.dto.response.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -11,6 +14,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -26,13 +30,30 @@ public class GlobalExceptionHandler {
     return buildResponse(HttpStatus.BAD_REQUEST, message, request.getRequestURI());
   }
 
+  @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+  public ResponseEntity<ErrorResponse> handleTypeMismatch(
+      MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+    return buildResponse(
+        HttpStatus.BAD_REQUEST,
+        ex.getName() + " has an invalid value: " + ex.getValue(),
+        request.getRequestURI());
+  }
+
   @ExceptionHandler({WalletNotFoundException.class, CustomerNotFoundException.class})
   public ResponseEntity<ErrorResponse> handleNotFound(
       RuntimeException ex, HttpServletRequest request) {
     return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI());
   }
 
-  @ExceptionHandler({InsufficientBalanceException.class, InvalidTransactionStatusException.class})
+  @ExceptionHandler({
+    InsufficientBalanceException.class,
+    InvalidTransactionStatusException.class,
+    InvalidTransferException.class,
+    InvalidCursorException.class,
+    InvalidStatementRangeException.class,
+    InvalidIdempotencyKeyException.class,
+    InvalidAmountException.class
+  })
   public ResponseEntity<ErrorResponse> handleBusiness(
       RuntimeException ex, HttpServletRequest request) {
     return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
@@ -50,6 +71,49 @@ public class GlobalExceptionHandler {
     return buildResponse(HttpStatus.FORBIDDEN, ex.getMessage(), request.getRequestURI());
   }
 
+  @ExceptionHandler({WalletLockTimeoutException.class, ConcurrencyFailureException.class})
+  public ResponseEntity<ErrorResponse> handleConflict(
+      RuntimeException ex, HttpServletRequest request) {
+    return buildResponse(
+        HttpStatus.CONFLICT,
+        "Wallet was modified concurrently, please retry",
+        request.getRequestURI());
+  }
+
+  @ExceptionHandler(TransactionClaimedException.class)
+  public ResponseEntity<ErrorResponse> handleClaimed(
+      TransactionClaimedException ex, HttpServletRequest request) {
+    return buildResponse(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI());
+  }
+
+  @ExceptionHandler(IdempotencyKeyInProgressException.class)
+  public ResponseEntity<ErrorResponse> handleIdempotencyInProgress(
+      IdempotencyKeyInProgressException ex, HttpServletRequest request) {
+    return buildResponse(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI());
+  }
+
+  @ExceptionHandler(IdempotencyKeyReusedException.class)
+  public ResponseEntity<ErrorResponse> handleIdempotencyReused(
+      IdempotencyKeyReusedException ex, HttpServletRequest request) {
+    return buildResponse(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage(), request.getRequestURI());
+  }
+
+  @ExceptionHandler(RateLimitExceededException.class)
+  public ResponseEntity<ErrorResponse> handleRateLimited(
+      RateLimitExceededException ex, HttpServletRequest request) {
+    ResponseEntity<ErrorResponse> response =
+        buildResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), request.getRequestURI());
+    return ResponseEntity.status(response.getStatusCode())
+        .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+        .body(response.getBody());
+  }
+
+  @ExceptionHandler(BulkTransactionRejectedException.class)
+  public ResponseEntity<BulkTransactionResponse> handleBulkRejected(
+      BulkTransactionRejectedException ex) {
+    return ResponseEntity.unprocessableEntity().body(ex.getResponse());
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<ErrorResponse> handleGeneric(Exception ex, HttpServletRequest request) {
     return buildResponse(
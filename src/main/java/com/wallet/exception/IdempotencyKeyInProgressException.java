@@ -0,0 +1,9 @@
+package com.wallet.exception;
+
+/** A request with the same key is still running and did not finish within the wait timeout. */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+  public IdempotencyKeyInProgressException(String key) {
+    super("A request with this Idempotency-Key is still being processed: " + key);
+  }
+}
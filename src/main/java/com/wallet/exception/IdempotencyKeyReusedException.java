@@ -0,0 +1,9 @@
+package com.wallet.exception;
+
+/** The key was already used for a different request body or operation. */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+  public IdempotencyKeyReusedException(String key) {
+    super("Idempotency-Key was already used with a different request: " + key);
+  }
+}
@@ -0,0 +1,8 @@
+package com.wallet.exception;
+
+public class InvalidStatementRangeException extends RuntimeException {
+
+  public InvalidStatementRangeException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,18 @@
+package com.wallet.exception;
+
+import java.time.Duration;
+
+public class RateLimitExceededException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public RateLimitExceededException(String scope, Duration retryAfter) {
+    super("Too many requests for this " + scope + ", please retry later");
+    this.retryAfter = retryAfter;
+  }
+
+  /** Whole seconds until a retry can succeed, as sent in {@code Retry-After}. */
+  public long getRetryAfterSeconds() {
+    return Math.max(1, (retryAfter.toNanos() + 999_999_999) / 1_000_000_000);
+  }
+}
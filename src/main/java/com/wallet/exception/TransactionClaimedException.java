@@ -0,0 +1,8 @@
+package com.wallet.exception;
+
+public class TransactionClaimedException extends RuntimeException {
+
+  public TransactionClaimedException(Long transactionId) {
+    super("Transaction is claimed by another approver: " + transactionId);
+  }
+}
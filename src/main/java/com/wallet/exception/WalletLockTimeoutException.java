@@ -0,0 +1,8 @@
+package com.wallet.exception;
+
+public class WalletLockTimeoutException extends RuntimeException {
+
+  public WalletLockTimeoutException(Long walletId) {
+    super("Wallet is busy, please retry: " + walletId);
+  }
+}
@@ -0,0 +1,43 @@
+package com.wallet.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An archive file whose rows have left their table. It is written in the same transaction that
+ * deletes those rows, so a file without an entry is left over from a run that did not commit.
+ */
+@Entity
+@Table(name = "archive_segments")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchiveSegment {
+
+  /** Path of the file relative to the archive directory. */
+  @Id
+  @Column(length = 200)
+  private String file;
+
+  @Column(nullable = false, name = "table_name")
+  private String tableName;
+
+  @Column(nullable = false)
+  private int rowCount;
+
+  @Column(nullable = false)
+  private LocalDateTime archivedAt;
+
+  public ArchiveSegment(String file, String tableName, int rowCount, LocalDateTime archivedAt) {
+    this.file = file;
+    this.tableName = tableName;
+    this.rowCount = rowCount;
+    this.archivedAt = archivedAt;
+  }
+}
@@ -1,8 +1,10 @@
 package com.wallet.model;
 
 import com.wallet.enums.UserRole;
+import com.wallet.security.PrincipalCacheInvalidationListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -10,6 +12,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
@@ -17,6 +20,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(PrincipalCacheInvalidationListener.class)
 @Table(
     name = "customers",
     uniqueConstraints = {@UniqueConstraint(name = "uk_customer_tckn", columnNames = "tckn")})
@@ -25,7 +29,8 @@ import lombok.Setter;
 public class Customer {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+  @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
@@ -0,0 +1,68 @@
+package com.wallet.model;
+
+import com.wallet.enums.TransactionType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Response of a deposit/withdraw that carried an {@code Idempotency-Key}, committed together with
+ * the transaction it describes. The unique {@code (customer_id, idempotency_key)} constraint is
+ * both the lookup index and what stops two nodes from executing the same key twice.
+ */
+@Entity
+@Table(
+    name = "idempotency_records",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_idempotency_customer_key",
+            columnNames = {"customer_id", "idempotency_key"}))
+@Getter
+@Setter
+public class IdempotencyRecord {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_records_seq")
+  @SequenceGenerator(
+      name = "idempotency_records_seq",
+      sequenceName = "idempotency_records_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Column(name = "customer_id", nullable = false)
+  private Long customerId;
+
+  @Column(name = "idempotency_key", nullable = false)
+  private String idempotencyKey;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private TransactionType operation;
+
+  /** SHA-256 of the operation and request body, to reject a key reused for another request. */
+  @Column(nullable = false, length = 64)
+  private String requestHash;
+
+  /** The {@code TransactionResponse} as JSON. */
+  @Column(nullable = false, length = 4000)
+  private String responseBody;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  @PrePersist
+  public void onCreate() {
+    createdAt = LocalDateTime.now();
+  }
+}
@@ -0,0 +1,32 @@
+package com.wallet.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Highest log sequence number of a ledger shard whose change is in the database tables. It is
+ * written in the same transaction as those changes, so recovery replays exactly the records after
+ * it.
+ */
+@Entity
+@Table(name = "ledger_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+public class LedgerCheckpoint {
+
+  @Id private Integer shard;
+
+  @Column(nullable = false)
+  private long lsn;
+
+  public LedgerCheckpoint(Integer shard, long lsn) {
+    this.shard = shard;
+    this.lsn = lsn;
+  }
+}
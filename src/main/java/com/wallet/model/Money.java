@@ -0,0 +1,126 @@
+package com.wallet.model;
+
+import com.wallet.enums.Currency;
+import com.wallet.exception.InvalidAmountException;
+import java.math.BigDecimal;
+
+/**
+ * An amount of money as a count of minor units (hundredths) in a {@code long}, so balance checks
+ * and updates are plain integer operations instead of {@link BigDecimal} allocations. Every
+ * supported currency has two minor units; amounts are converted exactly at the API and reporting
+ * edges, and arithmetic that would leave the {@code long} range fails instead of wrapping.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+  public static final int SCALE = 2;
+
+  public static final Money ZERO = new Money(0);
+
+  public static Money ofMinorUnits(long minorUnits) {
+    return minorUnits == 0 ? ZERO : new Money(minorUnits);
+  }
+
+  /** Converts {@code amount} exactly; more than two decimals or too large an amount is rejected. */
+  public static Money of(BigDecimal amount) {
+    BigDecimal scaled;
+    try {
+      scaled = amount.setScale(SCALE);
+    } catch (ArithmeticException e) {
+      throw new InvalidAmountException(
+          "Amount " + amount.toPlainString() + " has more than " + SCALE + " decimals");
+    }
+    try {
+      return ofMinorUnits(scaled.unscaledValue().longValueExact());
+    } catch (ArithmeticException e) {
+      throw outOfRange();
+    }
+  }
+
+  /** Like {@link #of(BigDecimal)}, checking the decimals against {@code currency}'s minor units. */
+  public static Money of(BigDecimal amount, Currency currency) {
+    if (amount.stripTrailingZeros().scale() > currency.minorUnits()) {
+      throw new InvalidAmountException(
+          "Amount " + amount.toPlainString() + " has more decimals than " + currency + " allows");
+    }
+    return of(amount);
+  }
+
+  /** {@link #of(BigDecimal)} for optional filter bounds. */
+  public static Money ofNullable(BigDecimal amount) {
+    return amount == null ? null : of(amount);
+  }
+
+  public static Money of(long units) {
+    try {
+      return ofMinorUnits(Math.multiplyExact(units, 100L));
+    } catch (ArithmeticException e) {
+      throw outOfRange();
+    }
+  }
+
+  public Money plus(Money other) {
+    try {
+      return ofMinorUnits(Math.addExact(minorUnits, other.minorUnits));
+    } catch (ArithmeticException e) {
+      throw outOfRange();
+    }
+  }
+
+  public Money minus(Money other) {
+    try {
+      return ofMinorUnits(Math.subtractExact(minorUnits, other.minorUnits));
+    } catch (ArithmeticException e) {
+      throw outOfRange();
+    }
+  }
+
+  public Money negate() {
+    try {
+      return ofMinorUnits(Math.negateExact(minorUnits));
+    } catch (ArithmeticException e) {
+      throw outOfRange();
+    }
+  }
+
+  public int signum() {
+    return Long.signum(minorUnits);
+  }
+
+  public boolean isZero() {
+    return minorUnits == 0;
+  }
+
+  public boolean isNegative() {
+    return minorUnits < 0;
+  }
+
+  public boolean isLessThan(Money other) {
+    return minorUnits < other.minorUnits;
+  }
+
+  public boolean isGreaterThan(Money other) {
+    return minorUnits > other.minorUnits;
+  }
+
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(minorUnits, SCALE);
+  }
+
+  public double doubleValue() {
+    return minorUnits / 100.0;
+  }
+
+  @Override
+  public int compareTo(Money other) {
+    return Long.compare(minorUnits, other.minorUnits);
+  }
+
+  @Override
+  public String toString() {
+    return toBigDecimal().toPlainString();
+  }
+
+  private static InvalidAmountException outOfRange() {
+    return new InvalidAmountException("Amount is outside the supported range");
+  }
+}
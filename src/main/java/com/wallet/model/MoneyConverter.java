@@ -0,0 +1,19 @@
+package com.wallet.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/** Stores {@link Money} as a {@code BIGINT} count of minor units. */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, Long> {
+
+  @Override
+  public Long convertToDatabaseColumn(Money money) {
+    return money == null ? null : money.minorUnits();
+  }
+
+  @Override
+  public Money convertToEntityAttribute(Long minorUnits) {
+    return minorUnits == null ? null : Money.ofMinorUnits(minorUnits);
+  }
+}
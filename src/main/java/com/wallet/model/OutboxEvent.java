@@ -0,0 +1,67 @@
+package com.wallet.model;
+
+import com.wallet.enums.WalletEventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A wallet change waiting to be published, committed together with the change itself. The relay
+ * publishes in id order and stamps {@code publishedAt} once every sink has accepted the event.
+ *
+ * <p>Ids use an allocation size of 1, so each id is drawn from the database sequence while the
+ * wallet is locked. Per wallet, id order is therefore commit order even with several app instances,
+ * which pooled per-instance blocks would not guarantee.
+ */
+@Entity
+@Table(
+    name = "outbox_events",
+    indexes = @Index(name = "idx_outbox_unpublished", columnList = "published_at, id"))
+@Getter
+@Setter
+public class OutboxEvent {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+  @SequenceGenerator(
+      name = "outbox_events_seq",
+      sequenceName = "outbox_events_seq",
+      allocationSize = 1)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private WalletEventType eventType;
+
+  @Column(name = "wallet_id", nullable = false)
+  private Long walletId;
+
+  @Column(name = "transaction_id", nullable = false)
+  private Long transactionId;
+
+  /** The transaction as a {@code TransactionResponse} in JSON, as of the commit. */
+  @Column(nullable = false, length = 4000)
+  private String payload;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "published_at")
+  private LocalDateTime publishedAt;
+
+  @PrePersist
+  public void onCreate() {
+    createdAt = LocalDateTime.now();
+  }
+}
@@ -8,20 +8,33 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "transaction_audit_logs")
+@Table(
+    name = "transaction_audit_logs",
+    indexes = @Index(name = "idx_transaction_audit_logs_created", columnList = "created_at, id"))
 @Getter
 @Setter
 public class TransactionAuditLog {
 
+  /** Shared with the JDBC audit writer, which allocates ids from the same pooled-lo sequence. */
+  public static final String ID_SEQUENCE = "transaction_audit_logs_seq";
+
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(
+      name = ID_SEQUENCE,
+      sequenceName = ID_SEQUENCE,
+      allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
   @Column(nullable = false, name = "transaction_id")
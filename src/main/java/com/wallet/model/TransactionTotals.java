@@ -0,0 +1,63 @@
+package com.wallet.model;
+
+import com.wallet.enums.TransactionStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Count and amount of one transaction type per status a row reached that day. A deposit created
+ * {@code PENDING} on Monday and approved on Tuesday counts as pending on Monday and approved on
+ * Tuesday.
+ */
+@Embeddable
+@Getter
+@Setter
+public class TransactionTotals {
+
+  @Column(nullable = false)
+  private int approvedCount;
+
+  @Column(nullable = false)
+  private BigDecimal approvedAmount = BigDecimal.ZERO;
+
+  @Column(nullable = false)
+  private int pendingCount;
+
+  @Column(nullable = false)
+  private BigDecimal pendingAmount = BigDecimal.ZERO;
+
+  @Column(nullable = false)
+  private int deniedCount;
+
+  @Column(nullable = false)
+  private BigDecimal deniedAmount = BigDecimal.ZERO;
+
+  public void add(TransactionStatus status, BigDecimal amount) {
+    switch (status) {
+      case APPROVED -> {
+        approvedCount++;
+        approvedAmount = approvedAmount.add(amount);
+      }
+      case PENDING -> {
+        pendingCount++;
+        pendingAmount = pendingAmount.add(amount);
+      }
+      case DENIED -> {
+        deniedCount++;
+        deniedAmount = deniedAmount.add(amount);
+      }
+    }
+  }
+
+  public void addAll(TransactionTotals other) {
+    approvedCount += other.approvedCount;
+    approvedAmount = approvedAmount.add(other.approvedAmount);
+    pendingCount += other.pendingCount;
+    pendingAmount = pendingAmount.add(other.pendingAmount);
+    deniedCount += other.deniedCount;
+    deniedAmount = deniedAmount.add(other.deniedAmount);
+  }
+}
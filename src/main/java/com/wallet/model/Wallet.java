@@ -1,33 +1,45 @@
 package com.wallet.model;
 
 import com.wallet.enums.Currency;
+import com.wallet.service.cache.WalletCacheInvalidationListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "wallets")
+@EntityListeners(WalletCacheInvalidationListener.class)
+@Table(
+    name = "wallets",
+    indexes = {
+      @Index(name = "idx_wallets_customer", columnList = "customer_id, id"),
+      @Index(name = "idx_wallets_created", columnList = "created_at, id"),
+      @Index(name = "idx_wallets_currency_created", columnList = "currency, created_at, id"),
+      @Index(name = "idx_wallets_currency_balance", columnList = "currency, balance, id")
+    })
 @Getter
 @Setter
 public class Wallet {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wallets_seq")
+  @SequenceGenerator(name = "wallets_seq", sequenceName = "wallets_seq", allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -48,10 +60,10 @@ public class Wallet {
   private boolean activeForWithdraw;
 
   @Column(nullable = false)
-  private BigDecimal balance = BigDecimal.ZERO;
+  private Money balance = Money.ZERO;
 
   @Column(nullable = false)
-  private BigDecimal usableBalance = BigDecimal.ZERO;
+  private Money usableBalance = Money.ZERO;
 
   @Column(nullable = false)
   private LocalDateTime createdAt;
@@ -64,10 +76,10 @@ public class Wallet {
   @PrePersist
   public void prePersist() {
     if (balance == null) {
-      balance = BigDecimal.ZERO;
+      balance = Money.ZERO;
     }
     if (usableBalance == null) {
-      usableBalance = BigDecimal.ZERO;
+      usableBalance = Money.ZERO;
     }
     createdAt = LocalDateTime.now();
     updatedAt = createdAt;
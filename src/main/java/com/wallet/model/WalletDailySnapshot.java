@@ -0,0 +1,135 @@
+package com.wallet.model;
+
+import com.wallet.enums.TransactionType;
+import jakarta.persistence.AttributeOverride;
+import jakarta.persistence.AttributeOverrides;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Running aggregate of one wallet's activity on one day, maintained in the same database
+ * transaction as the balance change it describes. The {@code (wallet_id, snapshot_date)} primary
+ * key doubles as the index statement range queries walk. Days without activity have no row.
+ */
+@Entity
+@Table(name = "wallet_daily_snapshots")
+@IdClass(WalletDailySnapshot.Key.class)
+@Getter
+@Setter
+public class WalletDailySnapshot {
+
+  @Id
+  @Column(name = "wallet_id")
+  private Long walletId;
+
+  @Id
+  @Column(name = "snapshot_date")
+  private LocalDate snapshotDate;
+
+  @Column(nullable = false)
+  private BigDecimal openingBalance;
+
+  @Column(nullable = false)
+  private BigDecimal openingUsableBalance;
+
+  @Column(nullable = false)
+  private BigDecimal closingBalance;
+
+  @Column(nullable = false)
+  private BigDecimal closingUsableBalance;
+
+  @Embedded
+  @AttributeOverrides({
+    @AttributeOverride(name = "approvedCount", column = @Column(name = "deposit_approved_count")),
+    @AttributeOverride(name = "approvedAmount", column = @Column(name = "deposit_approved_amount")),
+    @AttributeOverride(name = "pendingCount", column = @Column(name = "deposit_pending_count")),
+    @AttributeOverride(name = "pendingAmount", column = @Column(name = "deposit_pending_amount")),
+    @AttributeOverride(name = "deniedCount", column = @Column(name = "deposit_denied_count")),
+    @AttributeOverride(name = "deniedAmount", column = @Column(name = "deposit_denied_amount"))
+  })
+  private TransactionTotals deposits = new TransactionTotals();
+
+  @Embedded
+  @AttributeOverrides({
+    @AttributeOverride(name = "approvedCount", column = @Column(name = "withdraw_approved_count")),
+    @AttributeOverride(
+        name = "approvedAmount",
+        column = @Column(name = "withdraw_approved_amount")),
+    @AttributeOverride(name = "pendingCount", column = @Column(name = "withdraw_pending_count")),
+    @AttributeOverride(name = "pendingAmount", column = @Column(name = "withdraw_pending_amount")),
+    @AttributeOverride(name = "deniedCount", column = @Column(name = "withdraw_denied_count")),
+    @AttributeOverride(name = "deniedAmount", column = @Column(name = "withdraw_denied_amount"))
+  })
+  private TransactionTotals withdrawals = new TransactionTotals();
+
+  @Embedded
+  @AttributeOverrides({
+    @AttributeOverride(
+        name = "approvedCount",
+        column = @Column(name = "transfer_out_approved_count")),
+    @AttributeOverride(
+        name = "approvedAmount",
+        column = @Column(name = "transfer_out_approved_amount")),
+    @AttributeOverride(
+        name = "pendingCount",
+        column = @Column(name = "transfer_out_pending_count")),
+    @AttributeOverride(
+        name = "pendingAmount",
+        column = @Column(name = "transfer_out_pending_amount")),
+    @AttributeOverride(name = "deniedCount", column = @Column(name = "transfer_out_denied_count")),
+    @AttributeOverride(name = "deniedAmount", column = @Column(name = "transfer_out_denied_amount"))
+  })
+  private TransactionTotals transfersOut = new TransactionTotals();
+
+  @Embedded
+  @AttributeOverrides({
+    @AttributeOverride(
+        name = "approvedCount",
+        column = @Column(name = "transfer_in_approved_count")),
+    @AttributeOverride(
+        name = "approvedAmount",
+        column = @Column(name = "transfer_in_approved_amount")),
+    @AttributeOverride(name = "pendingCount", column = @Column(name = "transfer_in_pending_count")),
+    @AttributeOverride(
+        name = "pendingAmount",
+        column = @Column(name = "transfer_in_pending_amount")),
+    @AttributeOverride(name = "deniedCount", column = @Column(name = "transfer_in_denied_count")),
+    @AttributeOverride(name = "deniedAmount", column = @Column(name = "transfer_in_denied_amount"))
+  })
+  private TransactionTotals transfersIn = new TransactionTotals();
+
+  /** Null until persisted, which is how Spring Data tells a new row from an existing one. */
+  @Version private Long version;
+
+  public TransactionTotals totalsFor(TransactionType type) {
+    return switch (type) {
+      case DEPOSIT -> deposits;
+      case WITHDRAW -> withdrawals;
+      case TRANSFER_OUT -> transfersOut;
+      case TRANSFER_IN -> transfersIn;
+    };
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private Long walletId;
+    private LocalDate snapshotDate;
+  }
+}
@@ -11,23 +11,39 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-import java.math.BigDecimal;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "transactions")
+@Table(
+    name = "transactions",
+    indexes = {
+      @Index(name = "idx_transactions_wallet_created", columnList = "wallet_id, created_at, id"),
+      @Index(name = "idx_transactions_status_created", columnList = "status, created_at, id")
+    })
 @Getter
 @Setter
 public class WalletTransaction {
 
+  /** Shared with the ledger engine, which allocates ids from the same pooled-lo sequence. */
+  public static final String ID_SEQUENCE = "transactions_seq";
+
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(
+      name = ID_SEQUENCE,
+      sequenceName = ID_SEQUENCE,
+      allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -35,7 +51,7 @@ public class WalletTransaction {
   private Wallet wallet;
 
   @Column(nullable = false)
-  private BigDecimal amount;
+  private Money amount;
 
   @Enumerated(EnumType.STRING)
   @Column(nullable = false)
@@ -59,6 +75,17 @@ public class WalletTransaction {
 
   private Long processedBy;
 
+  /** Employee currently working this pending transaction, until {@link #claimExpiresAt}. */
+  private Long claimedBy;
+
+  private LocalDateTime claimExpiresAt;
+
+  /** For transfers, the id of the other leg of the pair. */
+  @Column(name = "linked_transaction_id")
+  private Long linkedTransactionId;
+
+  @Version private Long version;
+
   @PrePersist
   public void prePersist() {
     createdAt = LocalDateTime.now();
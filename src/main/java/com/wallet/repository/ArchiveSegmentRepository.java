@@ -0,0 +1,12 @@
+package com.wallet.repository;
+
+import com.wallet.model.ArchiveSegment;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchiveSegmentRepository extends JpaRepository<ArchiveSegment, String> {
+
+  List<ArchiveSegment> findByTableName(String tableName);
+
+  long countByTableName(String tableName);
+}
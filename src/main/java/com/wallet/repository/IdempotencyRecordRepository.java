@@ -0,0 +1,11 @@
+package com.wallet.repository;
+
+import com.wallet.model.IdempotencyRecord;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+  Optional<IdempotencyRecord> findByCustomerIdAndIdempotencyKey(
+      Long customerId, String idempotencyKey);
+}
@@ -0,0 +1,6 @@
+package com.wallet.repository;
+
+import com.wallet.model.LedgerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface LedgerCheckpointRepository extends JpaRepository<LedgerCheckpoint, Integer> {}
@@ -0,0 +1,7 @@
+package com.wallet.repository;
+
+import com.wallet.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/** Write side of the outbox; the relay reads and stamps rows with plain JDBC. */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {}
@@ -0,0 +1,30 @@
+package com.wallet.repository;
+
+import com.wallet.model.WalletDailySnapshot;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface WalletDailySnapshotRepository
+    extends JpaRepository<WalletDailySnapshot, WalletDailySnapshot.Key> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+      "select s from WalletDailySnapshot s where s.walletId = :walletId and s.snapshotDate = :date")
+  Optional<WalletDailySnapshot> findForUpdate(
+      @Param("walletId") Long walletId, @Param("date") LocalDate date);
+
+  List<WalletDailySnapshot> findByWalletIdAndSnapshotDateBetweenOrderBySnapshotDate(
+      Long walletId, LocalDate from, LocalDate to);
+
+  Optional<WalletDailySnapshot> findFirstByWalletIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(
+      Long walletId, LocalDate date);
+
+  Optional<WalletDailySnapshot> findFirstByWalletIdAndSnapshotDateGreaterThanOrderBySnapshotDate(
+      Long walletId, LocalDate date);
+}
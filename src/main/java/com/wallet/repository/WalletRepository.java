@@ -1,13 +1,65 @@
 package com.wallet.repository;
 
-import com.wallet.enums.Currency;
+import com.wallet.model.Money;
 import com.wallet.model.Wallet;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface WalletRepository extends JpaRepository<Wallet, Long> {
+public interface WalletRepository extends JpaRepository<Wallet, Long>, WalletSearchRepository {
 
-  List<Wallet> findByCustomerId(Long customerId);
+  /** Constructor expression shared by the read-only queries below. */
+  String VIEW =
+      "new com.wallet.repository.WalletView(w.id, w.customer.id, w.walletName, w.currency,"
+          + " w.activeForShopping, w.activeForWithdraw, w.balance, w.usableBalance, w.version)";
 
-  List<Wallet> findByCustomerIdAndCurrency(Long customerId, Currency currency);
+  @Query("select " + VIEW + " from Wallet w where w.id = :id")
+  Optional<WalletView> findViewById(@Param("id") Long id);
+
+  @Query("select " + VIEW + " from Wallet w where w.customer.id = :customerId order by w.id")
+  List<WalletView> findViewsByCustomerId(@Param("customerId") Long customerId);
+
+  @Query("select " + VIEW + " from Wallet w order by w.id")
+  List<WalletView> findAllViews();
+
+  /**
+   * Reads the balances as the database sees them after flushing pending changes, which stays
+   * correct when the atomic balance writer has left the loaded entity stale.
+   */
+  Optional<Balances> findBalancesById(Long id);
+
+  @Query("select w.version from Wallet w where w.id = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  /**
+   * Adds both deltas in place. Returns 0 when the wallet is missing or the change would drive
+   * {@code usableBalance} below zero, which callers treat as insufficient funds.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      nativeQuery = true,
+      value =
+          """
+          UPDATE wallets
+          SET balance = balance + :balanceDelta,
+              usable_balance = usable_balance + :usableDelta,
+              version = version + 1,
+              updated_at = :now
+          WHERE id = :id AND usable_balance + :usableDelta >= 0
+          """)
+  int applyBalanceDelta(
+      @Param("id") Long id,
+      @Param("balanceDelta") long balanceDelta,
+      @Param("usableDelta") long usableDelta,
+      @Param("now") LocalDateTime now);
+
+  interface Balances {
+    Money getBalance();
+
+    Money getUsableBalance();
+  }
 }
@@ -0,0 +1,36 @@
+package com.wallet.repository;
+
+import com.wallet.dto.request.WalletSearchFilter;
+import com.wallet.enums.WalletSearchSort;
+import com.wallet.model.Money;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Employee wallet search. The query holds a condition only for each filter that is set, so the
+ * planner sees the real shape of the request, and pages by keyset instead of by offset.
+ */
+public interface WalletSearchRepository {
+
+  /**
+   * Up to {@code limit} matches in {@code sort} order, starting right after {@code after}, or from
+   * the first match when it is null.
+   */
+  List<Match> search(WalletSearchFilter filter, WalletSearchSort sort, Position after, int limit);
+
+  long countMatches(WalletSearchFilter filter);
+
+  /**
+   * A row's place in a search order. {@code createdAt} and {@code balance} are only read by the
+   * sorts that use them; every sort ends with {@code id}.
+   */
+  record Position(LocalDateTime createdAt, Money balance, Long id) {}
+
+  /** A matching wallet, with the creation time the cursor of a date sort needs. */
+  record Match(WalletView wallet, LocalDateTime createdAt) {
+
+    public Position position() {
+      return new Position(createdAt, wallet.balance(), wallet.id());
+    }
+  }
+}
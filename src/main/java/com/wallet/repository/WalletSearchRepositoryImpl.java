@@ -0,0 +1,146 @@
+package com.wallet.repository;
+
+import com.wallet.dto.request.WalletSearchFilter;
+import com.wallet.enums.Currency;
+import com.wallet.enums.WalletSearchSort;
+import com.wallet.model.Money;
+import com.wallet.model.Wallet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link WalletSearchRepository}, mixed into {@link WalletRepository}.
+ */
+class WalletSearchRepositoryImpl implements WalletSearchRepository {
+
+  private final EntityManager entityManager;
+
+  WalletSearchRepositoryImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public List<Match> search(
+      WalletSearchFilter filter, WalletSearchSort sort, Position after, int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<Wallet> w = query.from(Wallet.class);
+    List<Predicate> conditions = conditions(cb, w, filter);
+    if (after != null) {
+      conditions.add(after(cb, w, sort, after));
+    }
+    query
+        .multiselect(
+            w.get("id"),
+            w.get("customer").get("id"),
+            w.get("walletName"),
+            w.get("currency"),
+            w.get("activeForShopping"),
+            w.get("activeForWithdraw"),
+            w.get("balance"),
+            w.get("usableBalance"),
+            w.get("version"),
+            w.get("createdAt"))
+        .where(conditions.toArray(Predicate[]::new))
+        .orderBy(order(cb, w, sort));
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList().stream()
+        .map(WalletSearchRepositoryImpl::toMatch)
+        .toList();
+  }
+
+  @Override
+  public long countMatches(WalletSearchFilter filter) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> query = cb.createQuery(Long.class);
+    Root<Wallet> w = query.from(Wallet.class);
+    query.select(cb.count(w)).where(conditions(cb, w, filter).toArray(Predicate[]::new));
+    return entityManager.createQuery(query).getSingleResult();
+  }
+
+  private static List<Predicate> conditions(
+      CriteriaBuilder cb, Root<Wallet> w, WalletSearchFilter filter) {
+    List<Predicate> conditions = new ArrayList<>();
+    if (filter.customerId() != null) {
+      conditions.add(cb.equal(w.get("customer").get("id"), filter.customerId()));
+    }
+    if (filter.currency() != null) {
+      conditions.add(cb.equal(w.get("currency"), filter.currency()));
+    }
+    if (filter.minBalance() != null) {
+      conditions.add(cb.greaterThanOrEqualTo(w.get("balance"), Money.of(filter.minBalance())));
+    }
+    if (filter.maxBalance() != null) {
+      conditions.add(cb.lessThanOrEqualTo(w.get("balance"), Money.of(filter.maxBalance())));
+    }
+    if (filter.activeForShopping() != null) {
+      conditions.add(cb.equal(w.get("activeForShopping"), filter.activeForShopping()));
+    }
+    if (filter.activeForWithdraw() != null) {
+      conditions.add(cb.equal(w.get("activeForWithdraw"), filter.activeForWithdraw()));
+    }
+    if (filter.createdAfter() != null) {
+      conditions.add(cb.greaterThan(w.get("createdAt"), filter.createdAfter()));
+    }
+    return conditions;
+  }
+
+  /** Rows past {@code position} in {@code sort} order, which the sort's index can seek to. */
+  private static Predicate after(
+      CriteriaBuilder cb, Root<Wallet> w, WalletSearchSort sort, Position position) {
+    Path<Long> id = w.get("id");
+    return switch (sort) {
+      case CREATED_AT_DESC -> before(cb, w.get("createdAt"), position.createdAt(), id, position);
+      case CREATED_AT_ASC -> beyond(cb, w.get("createdAt"), position.createdAt(), id, position);
+      case BALANCE_DESC -> before(cb, w.get("balance"), position.balance(), id, position);
+      case BALANCE_ASC -> beyond(cb, w.get("balance"), position.balance(), id, position);
+      case ID_ASC -> cb.greaterThan(id, position.id());
+    };
+  }
+
+  private static <K extends Comparable<? super K>> Predicate before(
+      CriteriaBuilder cb, Path<K> key, K value, Path<Long> id, Position position) {
+    return cb.or(
+        cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lessThan(id, position.id())));
+  }
+
+  private static <K extends Comparable<? super K>> Predicate beyond(
+      CriteriaBuilder cb, Path<K> key, K value, Path<Long> id, Position position) {
+    return cb.or(
+        cb.greaterThan(key, value),
+        cb.and(cb.equal(key, value), cb.greaterThan(id, position.id())));
+  }
+
+  private static List<Order> order(CriteriaBuilder cb, Root<Wallet> w, WalletSearchSort sort) {
+    return switch (sort) {
+      case CREATED_AT_DESC -> List.of(cb.desc(w.get("createdAt")), cb.desc(w.get("id")));
+      case CREATED_AT_ASC -> List.of(cb.asc(w.get("createdAt")), cb.asc(w.get("id")));
+      case BALANCE_DESC -> List.of(cb.desc(w.get("balance")), cb.desc(w.get("id")));
+      case BALANCE_ASC -> List.of(cb.asc(w.get("balance")), cb.asc(w.get("id")));
+      case ID_ASC -> List.of(cb.asc(w.get("id")));
+    };
+  }
+
+  private static Match toMatch(Tuple row) {
+    WalletView wallet =
+        new WalletView(
+            row.get(0, Long.class),
+            row.get(1, Long.class),
+            row.get(2, String.class),
+            row.get(3, Currency.class),
+            row.get(4, Boolean.class),
+            row.get(5, Boolean.class),
+            row.get(6, Money.class),
+            row.get(7, Money.class),
+            row.get(8, Long.class));
+    return new Match(wallet, row.get(9, LocalDateTime.class));
+  }
+}
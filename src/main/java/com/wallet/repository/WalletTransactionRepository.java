@@ -1,10 +1,130 @@
 package com.wallet.repository;
 
+import com.wallet.dto.response.PendingTransactionResponse;
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.enums.Currency;
+import com.wallet.model.Money;
 import com.wallet.model.WalletTransaction;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface WalletTransactionRepository extends JpaRepository<WalletTransaction, Long> {
 
-  List<WalletTransaction> findByWalletIdOrderByCreatedAtDesc(Long walletId);
+  /**
+   * Constructor expression for read-only listings. {@code t.wallet.id} resolves to the foreign key
+   * column, so neither the wallet nor a managed transaction entity is loaded.
+   */
+  String RESPONSE =
+      "new com.wallet.dto.response.TransactionResponse(t.id, t.wallet.id, t.type, t.status,"
+          + " t.amount, t.oppositePartyType, t.oppositeParty, t.createdAt, t.processedAt,"
+          + " t.processedBy, t.linkedTransactionId)";
+
+  @Query("select " + RESPONSE + " from WalletTransaction t where t.id = :id")
+  Optional<TransactionResponse> findResponseById(@Param("id") Long id);
+
+  @Query(
+      "select "
+          + RESPONSE
+          + " from WalletTransaction t where t.wallet.id = :walletId"
+          + " order by t.createdAt desc, t.id desc")
+  List<TransactionResponse> findResponsesByWalletId(@Param("walletId") Long walletId);
+
+  @Query("select t.wallet.id from WalletTransaction t where t.id = :id")
+  Optional<Long> findWalletIdById(@Param("id") Long id);
+
+  @Query("select distinct t.wallet.id from WalletTransaction t where t.id in :ids")
+  List<Long> findWalletIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+  /** Loads a batch of transactions with their wallets in one round trip. */
+  @Query("select t from WalletTransaction t join fetch t.wallet where t.id in :ids")
+  List<WalletTransaction> findAllWithWalletByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query(
+      "select "
+          + RESPONSE
+          + " from WalletTransaction t where t.wallet.id = :walletId"
+          + " order by t.createdAt desc, t.id desc")
+  List<TransactionResponse> findFirstPage(@Param("walletId") Long walletId, Limit limit);
+
+  @Query(
+      "select "
+          + RESPONSE
+          + " from WalletTransaction t where t.wallet.id = :walletId"
+          + " and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id))"
+          + " order by t.createdAt desc, t.id desc")
+  List<TransactionResponse> findPageAfter(
+      @Param("walletId") Long walletId,
+      @Param("createdAt") LocalDateTime createdAt,
+      @Param("id") Long id,
+      Limit limit);
+
+  /**
+   * Oldest-first page of the approval queue, walking {@code idx_transactions_status_created}. Rows
+   * leased to another approver are hidden unless {@code includeClaimed} is set.
+   */
+  @Query(
+      """
+      select new com.wallet.dto.response.PendingTransactionResponse(
+        t.id, w.id, w.currency, t.type, t.amount, t.oppositePartyType, t.oppositeParty,
+        t.createdAt, t.claimedBy, t.claimExpiresAt)
+      from WalletTransaction t join t.wallet w
+      where t.status = com.wallet.enums.TransactionStatus.PENDING
+        and (t.createdAt > :createdAt or (t.createdAt = :createdAt and t.id > :id))
+        and t.createdAt <= :createdBefore
+        and (:currency is null or w.currency = :currency)
+        and (:minAmount is null or t.amount >= :minAmount)
+        and (:maxAmount is null or t.amount <= :maxAmount)
+        and (:includeClaimed = true or t.claimedBy is null or t.claimedBy = :approverId
+          or t.claimExpiresAt < :now)
+      order by t.createdAt asc, t.id asc
+      """)
+  List<PendingTransactionResponse> findPendingPage(
+      @Param("createdAt") LocalDateTime createdAt,
+      @Param("id") Long id,
+      @Param("createdBefore") LocalDateTime createdBefore,
+      @Param("currency") Currency currency,
+      @Param("minAmount") Money minAmount,
+      @Param("maxAmount") Money maxAmount,
+      @Param("includeClaimed") boolean includeClaimed,
+      @Param("approverId") Long approverId,
+      @Param("now") LocalDateTime now,
+      Limit limit);
+
+  /**
+   * Leases a pending row to {@code approverId} unless another approver holds an unexpired lease.
+   * Runs in its own short transaction so concurrent approvers race on the row, not on a page.
+   */
+  @Transactional
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      """
+      update WalletTransaction t
+      set t.claimedBy = :approverId, t.claimExpiresAt = :expiresAt, t.version = t.version + 1
+      where t.id = :id
+        and t.status = com.wallet.enums.TransactionStatus.PENDING
+        and (t.claimedBy is null or t.claimedBy = :approverId or t.claimExpiresAt < :now)
+      """)
+  int claim(
+      @Param("id") Long id,
+      @Param("approverId") Long approverId,
+      @Param("expiresAt") LocalDateTime expiresAt,
+      @Param("now") LocalDateTime now);
+
+  @Transactional
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(
+      """
+      update WalletTransaction t
+      set t.claimedBy = null, t.claimExpiresAt = null, t.version = t.version + 1
+      where t.id = :id and t.claimedBy = :approverId
+      """)
+  int release(@Param("id") Long id, @Param("approverId") Long approverId);
 }
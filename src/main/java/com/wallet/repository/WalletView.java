@@ -0,0 +1,33 @@
+package com.wallet.repository;
+
+import com.wallet.dto.response.WalletResponse;
+import com.wallet.enums.Currency;
+import com.wallet.model.Money;
+
+/**
+ * Column projection of a wallet for read-only paths. It carries the {@code @Version} the wallet
+ * cache needs, without materializing a managed entity or touching its customer.
+ */
+public record WalletView(
+    Long id,
+    Long customerId,
+    String walletName,
+    Currency currency,
+    boolean activeForShopping,
+    boolean activeForWithdraw,
+    Money balance,
+    Money usableBalance,
+    Long version) {
+
+  public WalletResponse toResponse() {
+    return new WalletResponse(
+        id,
+        customerId,
+        walletName,
+        currency,
+        activeForShopping,
+        activeForWithdraw,
+        balance.toBigDecimal(),
+        usableBalance.toBigDecimal());
+  }
+}
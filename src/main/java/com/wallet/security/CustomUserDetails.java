@@ -8,27 +8,44 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+/**
+ * Immutable snapshot of the customer row. Instances are shared across requests through the {@link
+ * PrincipalCache}, so it deliberately keeps copies of the fields rather than the managed entity and
+ * does not implement {@code CredentialsContainer} (erasing the password would corrupt the cache).
+ */
 public class CustomUserDetails implements UserDetails {
 
-  private final Customer customer;
+  private final Long customerId;
+  private final String name;
+  private final String surname;
+  private final String tckn;
+  private final String password;
+  private final UserRole role;
+  private final List<GrantedAuthority> authorities;
 
   public CustomUserDetails(Customer customer) {
-    this.customer = customer;
+    this.customerId = customer.getId();
+    this.name = customer.getName();
+    this.surname = customer.getSurname();
+    this.tckn = customer.getTckn();
+    this.password = customer.getPassword();
+    this.role = customer.getRole();
+    this.authorities = List.of(new SimpleGrantedAuthority(role.name()));
   }
 
   @Override
   public Collection<? extends GrantedAuthority> getAuthorities() {
-    return List.of(new SimpleGrantedAuthority(customer.getRole().name()));
+    return authorities;
   }
 
   @Override
   public String getPassword() {
-    return customer.getPassword();
+    return password;
   }
 
   @Override
   public String getUsername() {
-    return customer.getTckn();
+    return tckn;
   }
 
   @Override
@@ -52,10 +69,22 @@ public class CustomUserDetails implements UserDetails {
   }
 
   public Long getCustomerId() {
-    return customer.getId();
+    return customerId;
   }
 
   public UserRole getRole() {
-    return customer.getRole();
+    return role;
+  }
+
+  /** Detached copy of the customer, enough for ownership checks and profile responses. */
+  public Customer toCustomer() {
+    Customer customer = new Customer();
+    customer.setId(customerId);
+    customer.setName(name);
+    customer.setSurname(surname);
+    customer.setTckn(tckn);
+    customer.setPassword(password);
+    customer.setRole(role);
+    return customer;
   }
 }
@@ -11,13 +11,20 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
   private final CustomerRepository customerRepository;
+  private final PrincipalCache principalCache;
 
-  public CustomUserDetailsService(CustomerRepository customerRepository) {
+  public CustomUserDetailsService(
+      CustomerRepository customerRepository, PrincipalCache principalCache) {
     this.customerRepository = customerRepository;
+    this.principalCache = principalCache;
   }
 
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+    return principalCache.get(username, this::loadFromDatabase);
+  }
+
+  private CustomUserDetails loadFromDatabase(String username) {
     Customer customer =
         customerRepository
             .findByTckn(username)
@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Optional;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,12 +17,12 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-  private final JwtTokenProvider tokenProvider;
+  private final JwtVerificationService verificationService;
   private final CustomUserDetailsService userDetailsService;
 
   public JwtAuthenticationFilter(
-      JwtTokenProvider tokenProvider, CustomUserDetailsService userDetailsService) {
-    this.tokenProvider = tokenProvider;
+      JwtVerificationService verificationService, CustomUserDetailsService userDetailsService) {
+    this.verificationService = verificationService;
     this.userDetailsService = userDetailsService;
   }
 
@@ -30,9 +31,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
     String jwt = resolveToken(request);
-    if (StringUtils.hasText(jwt) && tokenProvider.validate(jwt)) {
-      String username = tokenProvider.extractUsername(jwt);
-      UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+    Optional<VerifiedToken> token =
+        StringUtils.hasText(jwt) ? verificationService.verify(jwt) : Optional.empty();
+    if (token.isPresent()) {
+      UserDetails userDetails = userDetailsService.loadUserByUsername(token.get().subject());
       UsernamePasswordAuthenticationToken authentication =
           new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
       authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -9,6 +9,7 @@ public class JwtProperties {
   private long accessTokenValidityMs;
   private long refreshTokenValidityMs;
   private String secret;
+  private long verificationCacheSize = 10_000;
 
   public String getIssuer() {
     return issuer;
@@ -41,4 +42,12 @@ public class JwtProperties {
   public void setSecret(String secret) {
     this.secret = secret;
   }
+
+  public long getVerificationCacheSize() {
+    return verificationCacheSize;
+  }
+
+  public void setVerificationCacheSize(long verificationCacheSize) {
+    this.verificationCacheSize = verificationCacheSize;
+  }
 }
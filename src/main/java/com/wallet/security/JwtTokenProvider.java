@@ -2,6 +2,8 @@ package com.wallet.security;
 
 import com.wallet.enums.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -16,9 +18,15 @@ import org.springframework.stereotype.Component;
 public class JwtTokenProvider {
 
   private final JwtProperties properties;
+  private final Key signingKey;
+  private final JwtParser parser;
 
   public JwtTokenProvider(JwtProperties properties) {
     this.properties = properties;
+    // Key derivation and parser construction are the expensive parts; both are immutable and
+    // thread-safe, so they are built once instead of per call.
+    this.signingKey = Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8));
+    this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
   }
 
   public String generateAccessToken(Authentication authentication) {
@@ -37,19 +45,24 @@ public class JwtTokenProvider {
 
   public boolean validate(String token) {
     try {
-      Jwts.parserBuilder().setSigningKey(signingKey()).build().parseClaimsJws(token);
+      parseClaims(token);
       return true;
     } catch (Exception e) {
       return false;
     }
   }
 
+  /** Verifies the signature and expiry and returns the claims; throws {@link JwtException}. */
+  public Claims parseClaims(String token) {
+    return parser.parseClaimsJws(token).getBody();
+  }
+
   public String extractUsername(String token) {
-    return claims(token).getSubject();
+    return parseClaims(token).getSubject();
   }
 
   public UserRole extractRole(String token) {
-    String role = claims(token).get("role", String.class);
+    String role = parseClaims(token).get("role", String.class);
     return UserRole.valueOf(role);
   }
 
@@ -62,18 +75,10 @@ public class JwtTokenProvider {
         .setIssuer(properties.getIssuer())
         .setIssuedAt(now)
         .setExpiration(expiry)
-        .signWith(signingKey(), SignatureAlgorithm.HS256)
+        .signWith(signingKey, SignatureAlgorithm.HS256)
         .compact();
   }
 
-  private Claims claims(String token) {
-    return Jwts.parserBuilder().setSigningKey(signingKey()).build().parseClaimsJws(token).getBody();
-  }
-
-  private Key signingKey() {
-    return Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8));
-  }
-
   private String extractRole(Authentication authentication) {
     return authentication.getAuthorities().stream()
         .map(GrantedAuthority::getAuthority)
@@ -0,0 +1,91 @@
+package com.wallet.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.wallet.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.stereotype.Service;
+
+/**
+ * Parses each bearer token exactly once per request and hands the result to the filter. Recently
+ * verified tokens are remembered (keyed by the full compact token, signature included) until they
+ * expire, so hot tokens skip the base64 decode, JSON parse and HMAC check altogether. Set {@code
+ * jwt.verification-cache-size} to 0 to always verify.
+ */
+@Service
+public class JwtVerificationService {
+
+  private final JwtTokenProvider tokenProvider;
+  private final Cache<String, VerifiedToken> verified;
+
+  public JwtVerificationService(
+      JwtTokenProvider tokenProvider, JwtProperties properties, MeterRegistry meterRegistry) {
+    this.tokenProvider = tokenProvider;
+    long cacheSize = properties.getVerificationCacheSize();
+    this.verified =
+        cacheSize > 0
+            ? Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build()
+            : null;
+    if (verified != null) {
+      CaffeineCacheMetrics.monitor(meterRegistry, verified, "verified-tokens");
+    }
+  }
+
+  public Optional<VerifiedToken> verify(String token) {
+    if (verified != null) {
+      VerifiedToken cached = verified.getIfPresent(token);
+      if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+        return Optional.of(cached);
+      }
+    }
+    VerifiedToken parsed;
+    try {
+      parsed = toVerifiedToken(tokenProvider.parseClaims(token));
+    } catch (JwtException | IllegalArgumentException e) {
+      return Optional.empty();
+    }
+    if (verified != null) {
+      verified.put(token, parsed);
+    }
+    return Optional.of(parsed);
+  }
+
+  private VerifiedToken toVerifiedToken(Claims claims) {
+    String role = claims.get("role", String.class);
+    return new VerifiedToken(
+        claims.getSubject(),
+        role == null ? UserRole.CUSTOMER : UserRole.valueOf(role),
+        claims.getExpiration().toInstant());
+  }
+
+  private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+    @Override
+    public long expireAfterCreate(String token, VerifiedToken value, long currentTime) {
+      return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String token, VerifiedToken value, long currentTime, long currentDuration) {
+      return expireAfterCreate(token, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String token, VerifiedToken value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.wallet.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, expiring cache of authenticated principals keyed by TCKN. Every authenticated request
+ * resolves its principal here instead of querying {@code customers}; entries are dropped on expiry
+ * or explicitly through {@link #invalidate(String)} whenever a customer row changes. A load that
+ * overlaps an invalidation is returned but not cached, since it may have read the old row.
+ */
+@Component
+public class PrincipalCache {
+
+  private final boolean enabled;
+  private final Cache<String, CustomUserDetails> cache;
+  private final AtomicLong generation = new AtomicLong();
+
+  public PrincipalCache(PrincipalCacheProperties properties, MeterRegistry meterRegistry) {
+    this.enabled = properties.isEnabled();
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfterWrite(properties.getTtl())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+  }
+
+  public CustomUserDetails get(String tckn, Function<String, CustomUserDetails> loader) {
+    if (!enabled) {
+      return loader.apply(tckn);
+    }
+    // Load outside the cache: Caffeine's compute-style get runs the loader while holding a map
+    // lock, which would pin a virtual thread to its carrier for the whole customers query.
+    CustomUserDetails cached = cache.getIfPresent(tckn);
+    if (cached != null) {
+      return cached;
+    }
+    long loadedAt = generation.get();
+    CustomUserDetails loaded = loader.apply(tckn);
+    // Runs under the key's lock, which invalidate() also takes after bumping the generation.
+    cache.asMap().compute(tckn, (key, current) -> generation.get() == loadedAt ? loaded : current);
+    return loaded;
+  }
+
+  public void invalidate(String tckn) {
+    generation.incrementAndGet();
+    cache.invalidate(tckn);
+  }
+
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    cache.invalidateAll();
+  }
+}
@@ -0,0 +1,39 @@
+package com.wallet.security;
+
+import com.wallet.model.Customer;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts a customer's cached principal whenever the row is updated or deleted, which covers role
+ * and password changes. Eviction waits for the commit so a concurrent request cannot re-cache the
+ * old row in between.
+ */
+@Component
+public class PrincipalCacheInvalidationListener {
+
+  private final PrincipalCache principalCache;
+
+  public PrincipalCacheInvalidationListener(PrincipalCache principalCache) {
+    this.principalCache = principalCache;
+  }
+
+  @PostUpdate
+  @PostRemove
+  public void onChange(Customer customer) {
+    String tckn = customer.getTckn();
+    principalCache.invalidate(tckn);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              principalCache.invalidate(tckn);
+            }
+          });
+    }
+  }
+}
@@ -0,0 +1,6 @@
+package com.wallet.security;
+
+import com.wallet.enums.UserRole;
+import java.time.Instant;
+
+public record VerifiedToken(String subject, UserRole role, Instant expiresAt) {}
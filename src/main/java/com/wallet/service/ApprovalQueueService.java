@@ -0,0 +1,114 @@
+package com.wallet.service;
+
+import com.wallet.config.ApprovalQueueProperties;
+import com.wallet.dto.request.PendingQueueFilter;
+import com.wallet.dto.response.CursorPageResponse;
+import com.wallet.dto.response.PendingTransactionResponse;
+import com.wallet.exception.InvalidTransactionStatusException;
+import com.wallet.model.Money;
+import com.wallet.repository.WalletTransactionRepository;
+import com.wallet.service.pagination.KeysetCursor;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+/**
+ * Employee inbox of {@code PENDING} transactions, oldest first. Approvers may claim rows for a
+ * lease period so several of them can work the queue without picking up the same transaction;
+ * claims are conditional updates, so exactly one approver wins each row.
+ */
+@Service
+public class ApprovalQueueService {
+
+  private static final int MAX_PAGE_SIZE = 200;
+  private static final KeysetCursor QUEUE_START =
+      new KeysetCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+  private final WalletTransactionRepository transactionRepository;
+  private final CurrentCustomerService currentCustomerService;
+  private final ApprovalQueueProperties properties;
+
+  public ApprovalQueueService(
+      WalletTransactionRepository transactionRepository,
+      CurrentCustomerService currentCustomerService,
+      ApprovalQueueProperties properties) {
+    this.transactionRepository = transactionRepository;
+    this.currentCustomerService = currentCustomerService;
+    this.properties = properties;
+  }
+
+  public CursorPageResponse<PendingTransactionResponse> listPending(
+      PendingQueueFilter filter, String cursor, int limit, boolean includeClaimed) {
+    Long approverId = currentCustomerService.getCurrentCustomer().getId();
+    int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    KeysetCursor after = cursor == null ? QUEUE_START : KeysetCursor.decode(cursor);
+    // One extra row tells us whether another page exists without issuing a COUNT(*).
+    List<PendingTransactionResponse> rows =
+        fetch(filter, after, pageSize + 1, includeClaimed, approverId, LocalDateTime.now());
+    boolean hasNext = rows.size() > pageSize;
+    List<PendingTransactionResponse> items = hasNext ? rows.subList(0, pageSize) : rows;
+    String nextCursor = hasNext ? cursorAfter(items.get(items.size() - 1)).encode() : null;
+    return new CursorPageResponse<>(List.copyOf(items), nextCursor, hasNext);
+  }
+
+  /**
+   * Claims up to {@code limit} of the oldest unclaimed rows matching {@code filter}. Rows another
+   * approver wins in the meantime are skipped and the scan moves on.
+   */
+  public List<PendingTransactionResponse> claimNext(PendingQueueFilter filter, int limit) {
+    Long approverId = currentCustomerService.getCurrentCustomer().getId();
+    int wanted = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    List<PendingTransactionResponse> claimed = new ArrayList<>(wanted);
+    KeysetCursor after = QUEUE_START;
+    while (claimed.size() < wanted) {
+      LocalDateTime now = LocalDateTime.now();
+      List<PendingTransactionResponse> candidates =
+          fetch(filter, after, wanted - claimed.size(), false, approverId, now);
+      if (candidates.isEmpty()) {
+        break;
+      }
+      LocalDateTime expiresAt = now.plus(properties.getLease());
+      for (PendingTransactionResponse candidate : candidates) {
+        if (transactionRepository.claim(candidate.id(), approverId, expiresAt, now) == 1) {
+          claimed.add(candidate.withClaim(approverId, expiresAt));
+        }
+      }
+      after = cursorAfter(candidates.get(candidates.size() - 1));
+    }
+    return claimed;
+  }
+
+  public void release(Long transactionId) {
+    Long approverId = currentCustomerService.getCurrentCustomer().getId();
+    if (transactionRepository.release(transactionId, approverId) == 0) {
+      throw new InvalidTransactionStatusException("Transaction is not claimed by you");
+    }
+  }
+
+  private List<PendingTransactionResponse> fetch(
+      PendingQueueFilter filter,
+      KeysetCursor after,
+      int limit,
+      boolean includeClaimed,
+      Long approverId,
+      LocalDateTime now) {
+    int minAge = filter.minAgeMinutes() == null ? 0 : filter.minAgeMinutes();
+    return transactionRepository.findPendingPage(
+        after.createdAt(),
+        after.id(),
+        now.minusMinutes(minAge),
+        filter.currency(),
+        Money.ofNullable(filter.minAmount()),
+        Money.ofNullable(filter.maxAmount()),
+        includeClaimed,
+        approverId,
+        now,
+        Limit.of(limit));
+  }
+
+  private static KeysetCursor cursorAfter(PendingTransactionResponse row) {
+    return new KeysetCursor(row.createdAt(), row.id());
+  }
+}
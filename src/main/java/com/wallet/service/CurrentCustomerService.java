@@ -3,6 +3,8 @@ package com.wallet.service;
 import com.wallet.exception.UnauthorizedOperationException;
 import com.wallet.model.Customer;
 import com.wallet.repository.CustomerRepository;
+import com.wallet.security.CustomUserDetails;
+import java.util.Optional;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,14 +19,32 @@ public class CurrentCustomerService {
     this.customerRepository = customerRepository;
   }
 
+  /**
+   * Returns the caller as a detached {@link Customer}. Principals produced by the JWT filter
+   * already carry the customer's id and role, so no query is issued for them; other {@link
+   * UserDetails} implementations fall back to a lookup by username.
+   */
   public Customer getCurrentCustomer() {
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
     if (authentication == null
         || !(authentication.getPrincipal() instanceof UserDetails userDetails)) {
       throw new UnauthorizedOperationException("No authenticated customer");
     }
+    if (userDetails instanceof CustomUserDetails customUserDetails) {
+      return customUserDetails.toCustomer();
+    }
     return customerRepository
         .findByTckn(userDetails.getUsername())
         .orElseThrow(() -> new UnauthorizedOperationException("Customer not found"));
   }
+
+  /** Id of the authenticated caller, read from the principal without touching the database. */
+  public Optional<Long> findCurrentCustomerId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null
+        && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+      return Optional.ofNullable(userDetails.getCustomerId());
+    }
+    return Optional.empty();
+  }
 }
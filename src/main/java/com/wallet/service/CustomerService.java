@@ -6,6 +6,7 @@ import com.wallet.exception.UnauthorizedOperationException;
 import com.wallet.model.Customer;
 import com.wallet.repository.CustomerRepository;
 import com.wallet.service.policy.WalletAccessPolicy;
+import com.wallet.service.replica.ReplicaRead;
 import java.util.List;
 import org.springframework.stereotype.Service;
 
@@ -25,11 +26,13 @@ public class CustomerService {
     this.walletAccessPolicy = walletAccessPolicy;
   }
 
+  @ReplicaRead
   public CustomerResponse getCurrentCustomerProfile() {
     Customer current = currentCustomerService.getCurrentCustomer();
     return toResponse(current);
   }
 
+  @ReplicaRead
   public List<CustomerResponse> getCustomers() {
     Customer current = currentCustomerService.getCurrentCustomer();
     if (!walletAccessPolicy.canViewAll(current)) {
@@ -0,0 +1,119 @@
+package com.wallet.service;
+
+import com.wallet.dto.response.DailyBalanceResponse;
+import com.wallet.dto.response.TransactionTotalsResponse;
+import com.wallet.dto.response.WalletStatementResponse;
+import com.wallet.exception.InvalidStatementRangeException;
+import com.wallet.model.TransactionTotals;
+import com.wallet.model.Wallet;
+import com.wallet.model.WalletDailySnapshot;
+import com.wallet.repository.WalletDailySnapshotRepository;
+import com.wallet.service.replica.ReplicaRead;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.stereotype.Service;
+
+/**
+ * Builds statements from {@link WalletDailySnapshot} rows only: at most one row per active day in
+ * the range plus one neighbour lookup, so the cost does not grow with the wallet's history. Today's
+ * row is maintained by the transaction that changed the balance, so it already covers everything
+ * committed so far today.
+ */
+@Service
+public class StatementService {
+
+  private static final long MAX_RANGE_DAYS = 366;
+
+  private final WalletService walletService;
+  private final WalletDailySnapshotRepository snapshotRepository;
+
+  public StatementService(
+      WalletService walletService, WalletDailySnapshotRepository snapshotRepository) {
+    this.walletService = walletService;
+    this.snapshotRepository = snapshotRepository;
+  }
+
+  @ReplicaRead
+  public WalletStatementResponse statement(Long walletId, LocalDate from, LocalDate to) {
+    if (from.isAfter(to)) {
+      throw new InvalidStatementRangeException("from must not be after to");
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+      throw new InvalidStatementRangeException(
+          "Statement range must not exceed " + MAX_RANGE_DAYS + " days");
+    }
+    Wallet wallet = walletService.requireWalletAccess(walletId);
+    List<WalletDailySnapshot> days =
+        snapshotRepository.findByWalletIdAndSnapshotDateBetweenOrderBySnapshotDate(
+            walletId, from, to);
+
+    BigDecimal openingBalance;
+    BigDecimal openingUsableBalance;
+    Optional<WalletDailySnapshot> before =
+        snapshotRepository.findFirstByWalletIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(
+            walletId, from);
+    if (before.isPresent()) {
+      openingBalance = before.get().getClosingBalance();
+      openingUsableBalance = before.get().getClosingUsableBalance();
+    } else {
+      // Nothing happened before the range, so its first active day (inside or after it) opened
+      // with the balance the wallet had at `from`; with no activity at all that is today's.
+      Optional<WalletDailySnapshot> firstActive =
+          days.isEmpty()
+              ? snapshotRepository.findFirstByWalletIdAndSnapshotDateGreaterThanOrderBySnapshotDate(
+                  walletId, to)
+              : Optional.of(days.get(0));
+      openingBalance =
+          firstActive
+              .map(WalletDailySnapshot::getOpeningBalance)
+              .orElse(wallet.getBalance().toBigDecimal());
+      openingUsableBalance =
+          firstActive
+              .map(WalletDailySnapshot::getOpeningUsableBalance)
+              .orElse(wallet.getUsableBalance().toBigDecimal());
+    }
+
+    TransactionTotals deposits = new TransactionTotals();
+    TransactionTotals withdrawals = new TransactionTotals();
+    TransactionTotals transfersOut = new TransactionTotals();
+    TransactionTotals transfersIn = new TransactionTotals();
+    days.forEach(
+        day -> {
+          deposits.addAll(day.getDeposits());
+          withdrawals.addAll(day.getWithdrawals());
+          transfersOut.addAll(day.getTransfersOut());
+          transfersIn.addAll(day.getTransfersIn());
+        });
+    WalletDailySnapshot last = days.isEmpty() ? null : days.get(days.size() - 1);
+    return new WalletStatementResponse(
+        walletId,
+        wallet.getCurrency(),
+        from,
+        to,
+        openingBalance,
+        openingUsableBalance,
+        last == null ? openingBalance : last.getClosingBalance(),
+        last == null ? openingUsableBalance : last.getClosingUsableBalance(),
+        TransactionTotalsResponse.of(deposits),
+        TransactionTotalsResponse.of(withdrawals),
+        TransactionTotalsResponse.of(transfersOut),
+        TransactionTotalsResponse.of(transfersIn),
+        days.stream().map(StatementService::toResponse).toList());
+  }
+
+  private static DailyBalanceResponse toResponse(WalletDailySnapshot day) {
+    return new DailyBalanceResponse(
+        day.getSnapshotDate(),
+        day.getOpeningBalance(),
+        day.getOpeningUsableBalance(),
+        day.getClosingBalance(),
+        day.getClosingUsableBalance(),
+        TransactionTotalsResponse.of(day.getDeposits()),
+        TransactionTotalsResponse.of(day.getWithdrawals()),
+        TransactionTotalsResponse.of(day.getTransfersOut()),
+        TransactionTotalsResponse.of(day.getTransfersIn()));
+  }
+}
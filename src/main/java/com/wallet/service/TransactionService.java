@@ -1,27 +1,66 @@
 package com.wallet.service;
 
+import com.wallet.config.BulkTransactionProperties;
+import com.wallet.config.BulkTransactionProperties.FailureMode;
 import com.wallet.dto.request.ApproveTransactionRequest;
+import com.wallet.dto.request.BulkStatusChangeRequest;
+import com.wallet.dto.request.BulkTransactionItem;
+import com.wallet.dto.request.BulkTransactionRequest;
 import com.wallet.dto.request.DepositRequest;
+import com.wallet.dto.request.TransferRequest;
 import com.wallet.dto.request.WithdrawRequest;
+import com.wallet.dto.response.BulkTransactionItemResult;
+import com.wallet.dto.response.BulkTransactionItemResult.Outcome;
+import com.wallet.dto.response.BulkTransactionResponse;
+import com.wallet.dto.response.CursorPageResponse;
 import com.wallet.dto.response.TransactionResponse;
+import com.wallet.dto.response.TransferResponse;
+import com.wallet.dto.response.WalletResponse;
 import com.wallet.enums.OppositePartyType;
 import com.wallet.enums.TransactionStatus;
 import com.wallet.enums.TransactionType;
+import com.wallet.enums.WalletEventType;
+import com.wallet.exception.BulkTransactionRejectedException;
+import com.wallet.exception.InsufficientBalanceException;
+import com.wallet.exception.InvalidAmountException;
 import com.wallet.exception.InvalidTransactionStatusException;
+import com.wallet.exception.InvalidTransferException;
+import com.wallet.exception.TransactionClaimedException;
+import com.wallet.exception.UnauthorizedOperationException;
+import com.wallet.exception.WalletNotFoundException;
 import com.wallet.model.Customer;
+import com.wallet.model.Money;
 import com.wallet.model.Wallet;
 import com.wallet.model.WalletTransaction;
-import com.wallet.repository.WalletRepository;
 import com.wallet.repository.WalletTransactionRepository;
+import com.wallet.service.archive.TransactionArchive;
+import com.wallet.service.concurrency.WalletBalanceWriter;
+import com.wallet.service.concurrency.WalletLockManager;
+import com.wallet.service.ledger.LedgerEngine;
+import com.wallet.service.metrics.TransactionMetrics;
+import com.wallet.service.outbox.OutboxRecorder;
+import com.wallet.service.pagination.KeysetCursor;
+import com.wallet.service.replica.ReplicaRead;
+import com.wallet.service.snapshot.WalletSnapshotRecorder;
+import com.wallet.service.strategy.BalanceDelta;
 import com.wallet.service.strategy.TransactionRequestContext;
 import com.wallet.service.strategy.TransactionStrategy;
 import jakarta.transaction.Transactional;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 /**
@@ -31,24 +70,49 @@ import org.springframework.stereotype.Service;
 @Service
 public class TransactionService {
 
-  private static final BigDecimal APPROVAL_THRESHOLD = BigDecimal.valueOf(1000);
+  private static final Money APPROVAL_THRESHOLD = Money.of(1000);
+  private static final int MAX_PAGE_SIZE = 500;
+  private static final int STREAM_PAGE_SIZE = 500;
 
   private final WalletService walletService;
-  private final WalletRepository walletRepository;
+  private final WalletBalanceWriter balanceWriter;
   private final WalletTransactionRepository transactionRepository;
   private final CurrentCustomerService currentCustomerService;
+  private final WalletLockManager walletLockManager;
+  private final BulkTransactionProperties bulkProperties;
+  private final WalletSnapshotRecorder snapshotRecorder;
+  private final TransactionMetrics transactionMetrics;
+  private final OutboxRecorder outboxRecorder;
+  // Present only in ledger mode, where deposits, withdraws and approvals bypass the database.
+  private final LedgerEngine ledgerEngine;
+  // Present when old finalized transactions are archived; reads then merge the archive in.
+  private final TransactionArchive archive;
   private final Map<TransactionType, TransactionStrategy> strategies;
 
   public TransactionService(
       WalletService walletService,
-      WalletRepository walletRepository,
+      WalletBalanceWriter balanceWriter,
       WalletTransactionRepository transactionRepository,
       CurrentCustomerService currentCustomerService,
+      WalletLockManager walletLockManager,
+      BulkTransactionProperties bulkProperties,
+      WalletSnapshotRecorder snapshotRecorder,
+      TransactionMetrics transactionMetrics,
+      OutboxRecorder outboxRecorder,
+      Optional<LedgerEngine> ledgerEngine,
+      Optional<TransactionArchive> archive,
       List<TransactionStrategy> strategies) {
     this.walletService = walletService;
-    this.walletRepository = walletRepository;
+    this.balanceWriter = balanceWriter;
     this.transactionRepository = transactionRepository;
     this.currentCustomerService = currentCustomerService;
+    this.walletLockManager = walletLockManager;
+    this.bulkProperties = bulkProperties;
+    this.snapshotRecorder = snapshotRecorder;
+    this.transactionMetrics = transactionMetrics;
+    this.outboxRecorder = outboxRecorder;
+    this.ledgerEngine = ledgerEngine.orElse(null);
+    this.archive = archive.orElse(null);
     this.strategies =
         strategies.stream()
             .collect(
@@ -57,74 +121,232 @@ public class TransactionService {
 
   @Transactional
   public TransactionResponse deposit(DepositRequest request) {
+    if (ledgerEngine != null) {
+      WalletResponse target = walletService.getWallet(request.walletId());
+      Money amount = Money.of(request.amount(), target.currency());
+      return ledgerEngine.create(
+          target,
+          TransactionType.DEPOSIT,
+          amount,
+          request.sourceType(),
+          request.source(),
+          false,
+          determineStatus(amount));
+    }
     TransactionStrategy strategy = strategyFor(TransactionType.DEPOSIT);
+    // Checked before locking, so nobody can hold a wallet they may not use.
+    walletService.requireReadAccess(request.walletId());
+    walletLockManager.lock(request.walletId());
     Wallet wallet = walletService.requireWalletAccess(request.walletId());
-    TransactionStatus status = determineStatus(request.amount());
+    Money amount = Money.of(request.amount(), wallet.getCurrency());
+    TransactionStatus status = determineStatus(amount);
     TransactionRequestContext context =
         new TransactionRequestContext(
-            wallet, request.amount(), request.sourceType(), request.source(), false);
+            wallet, amount, request.sourceType(), request.source(), false);
     strategy.validate(context);
-    strategy.applyOnCreate(context, status);
-    WalletTransaction transaction = new WalletTransaction();
-    transaction.setWallet(wallet);
-    transaction.setAmount(request.amount());
-    transaction.setType(TransactionType.DEPOSIT);
-    transaction.setStatus(status);
-    transaction.setOppositeParty(request.source());
-    transaction.setOppositePartyType(request.sourceType());
-    if (status == TransactionStatus.APPROVED) {
-      transaction.setProcessedAt(LocalDateTime.now());
-      transaction.setProcessedBy(wallet.getCustomer().getId());
-    }
-    walletRepository.save(wallet);
+    BalanceDelta delta = strategy.deltaOnCreate(context, status);
+    balanceWriter.apply(wallet, delta);
+    WalletTransaction transaction =
+        newTransaction(
+            wallet,
+            TransactionType.DEPOSIT,
+            amount,
+            request.sourceType(),
+            request.source(),
+            status);
     WalletTransaction saved = transactionRepository.save(transaction);
+    recordSettlement(wallet.getId(), delta, List.of(saved), WalletEventType.TRANSACTION_CREATED);
     return toResponse(saved);
   }
 
   @Transactional
   public TransactionResponse withdraw(WithdrawRequest request) {
+    if (ledgerEngine != null) {
+      WalletResponse target = walletService.getWallet(request.walletId());
+      Money amount = Money.of(request.amount(), target.currency());
+      return ledgerEngine.create(
+          target,
+          TransactionType.WITHDRAW,
+          amount,
+          request.destinationType(),
+          request.destination(),
+          request.destinationType() == OppositePartyType.PAYMENT,
+          determineStatus(amount));
+    }
     TransactionStrategy strategy = strategyFor(TransactionType.WITHDRAW);
+    // Checked before locking, so nobody can hold a wallet they may not use.
+    walletService.requireReadAccess(request.walletId());
+    walletLockManager.lock(request.walletId());
     Wallet wallet = walletService.requireWalletAccess(request.walletId());
-    TransactionStatus status = determineStatus(request.amount());
+    Money amount = Money.of(request.amount(), wallet.getCurrency());
+    TransactionStatus status = determineStatus(amount);
     TransactionRequestContext context =
         new TransactionRequestContext(
             wallet,
-            request.amount(),
+            amount,
             request.destinationType(),
             request.destination(),
             request.destinationType() == OppositePartyType.PAYMENT);
     strategy.validate(context);
-    strategy.applyOnCreate(context, status);
-    WalletTransaction transaction = new WalletTransaction();
-    transaction.setWallet(wallet);
-    transaction.setAmount(request.amount());
-    transaction.setType(TransactionType.WITHDRAW);
-    transaction.setStatus(status);
-    transaction.setOppositeParty(request.destination());
-    transaction.setOppositePartyType(request.destinationType());
-    if (status == TransactionStatus.APPROVED) {
-      transaction.setProcessedAt(LocalDateTime.now());
-      transaction.setProcessedBy(wallet.getCustomer().getId());
-    }
-    walletRepository.save(wallet);
+    BalanceDelta delta = strategy.deltaOnCreate(context, status);
+    balanceWriter.apply(wallet, delta);
+    WalletTransaction transaction =
+        newTransaction(
+            wallet,
+            TransactionType.WITHDRAW,
+            amount,
+            request.destinationType(),
+            request.destination(),
+            status);
     WalletTransaction saved = transactionRepository.save(transaction);
+    recordSettlement(wallet.getId(), delta, List.of(saved), WalletEventType.TRANSACTION_CREATED);
     return toResponse(saved);
   }
 
+  /**
+   * Applies many deposits/withdraws in one database transaction. Items are grouped by wallet, every
+   * wallet the caller may use is locked up front through {@link WalletLockManager#lockAll}, and
+   * each wallet is written once with the net delta of its items; the new rows are persisted as JDBC
+   * batch inserts. What a failing item does to the others is decided by {@link FailureMode}.
+   */
+  @Transactional
+  public BulkTransactionResponse applyBulk(BulkTransactionRequest request) {
+    rejectInLedgerMode("Bulk requests");
+    List<BulkTransactionItem> items = request.items();
+    checkBulkSize(items.size());
+    FailureMode failureMode = failureMode(request.failureMode());
+    Map<Long, List<Integer>> indexesByWallet = new TreeMap<>();
+    for (int index = 0; index < items.size(); index++) {
+      indexesByWallet
+          .computeIfAbsent(items.get(index).walletId(), walletId -> new ArrayList<>())
+          .add(index);
+    }
+
+    BulkTransactionItemResult[] results = new BulkTransactionItemResult[items.size()];
+    WalletTransaction[] created = new WalletTransaction[items.size()];
+    boolean anyFailed = false;
+    // Access is checked before any lock, so a foreign wallet id cannot block its owner's writers.
+    Map<Long, List<Integer>> accessible = new TreeMap<>();
+    for (Map.Entry<Long, List<Integer>> group : indexesByWallet.entrySet()) {
+      try {
+        walletService.requireReadAccess(group.getKey());
+        accessible.put(group.getKey(), group.getValue());
+      } catch (WalletNotFoundException | UnauthorizedOperationException ex) {
+        group.getValue().forEach(index -> results[index] = failed(index, ex.getMessage()));
+        anyFailed = true;
+      }
+    }
+    if (anyFailed && failureMode == FailureMode.ALL_OR_NOTHING) {
+      skipRemaining(results, "Skipped: bulk request rolled back");
+      throw new BulkTransactionRejectedException(BulkTransactionResponse.of(List.of(results)));
+    }
+    walletLockManager.lockAll(accessible.keySet());
+    for (Map.Entry<Long, List<Integer>> group : accessible.entrySet()) {
+      anyFailed |=
+          !applyWalletGroup(group.getKey(), group.getValue(), items, failureMode, results, created);
+      if (anyFailed && failureMode == FailureMode.ALL_OR_NOTHING) {
+        skipRemaining(results, "Skipped: bulk request rolled back");
+        throw new BulkTransactionRejectedException(BulkTransactionResponse.of(List.of(results)));
+      }
+    }
+
+    transactionRepository.saveAll(Arrays.stream(created).filter(Objects::nonNull).toList());
+    for (int index = 0; index < created.length; index++) {
+      if (created[index] != null) {
+        results[index] =
+            new BulkTransactionItemResult(index, Outcome.APPLIED, toResponse(created[index]), null);
+      }
+    }
+    return BulkTransactionResponse.of(List.of(results));
+  }
+
+  /**
+   * Moves money between two wallets in one database transaction, as a linked debit/credit pair.
+   * Both wallets are locked, and then written, in ascending id order, so opposing transfers between
+   * the same wallets cannot deadlock. Both wallets must belong to the caller (employees may use any
+   * wallet): transfers settle immediately, and the approval threshold applies only to money
+   * entering or leaving the system, so money must not leave the caller's own wallets this way.
+   */
+  @Transactional
+  public TransferResponse transfer(TransferRequest request) {
+    rejectInLedgerMode("Transfers");
+    Long sourceId = request.sourceWalletId();
+    Long targetId = request.targetWalletId();
+    if (sourceId.equals(targetId)) {
+      throw new InvalidTransferException("Cannot transfer to the same wallet");
+    }
+    walletService.requireReadAccess(sourceId);
+    walletService.requireReadAccess(targetId);
+    walletLockManager.lockAll(List.of(sourceId, targetId));
+    Wallet source = walletService.requireWalletAccess(sourceId);
+    Wallet target = walletService.requireWalletAccess(targetId);
+    if (source.getCurrency() != target.getCurrency()) {
+      throw new InvalidTransferException("Transfers require wallets of the same currency");
+    }
+
+    Money amount = Money.of(request.amount(), source.getCurrency());
+    TransferLeg debit = transferLeg(TransactionType.TRANSFER_OUT, source, target, amount);
+    TransferLeg credit = transferLeg(TransactionType.TRANSFER_IN, target, source, amount);
+    // Ids come from the sequence on save, so the credit is inserted already pointing at the debit;
+    // only the debit's back-link needs an UPDATE, batched at flush.
+    transactionRepository.save(debit.transaction());
+    credit.transaction().setLinkedTransactionId(debit.transaction().getId());
+    transactionRepository.save(credit.transaction());
+    debit.transaction().setLinkedTransactionId(credit.transaction().getId());
+
+    for (TransferLeg leg : sourceId < targetId ? List.of(debit, credit) : List.of(credit, debit)) {
+      balanceWriter.apply(leg.wallet(), leg.delta());
+      recordSettlement(
+          leg.wallet().getId(),
+          leg.delta(),
+          List.of(leg.transaction()),
+          WalletEventType.TRANSACTION_CREATED);
+    }
+    return new TransferResponse(toResponse(debit.transaction()), toResponse(credit.transaction()));
+  }
+
+  @ReplicaRead
   public List<TransactionResponse> listTransactions(Long walletId) {
-    walletService.requireWalletAccess(walletId);
-    return transactionRepository.findByWalletIdOrderByCreatedAtDesc(walletId).stream()
-        .map(this::toResponse)
-        .toList();
+    walletService.requireReadAccess(walletId);
+    List<TransactionResponse> rows = transactionRepository.findResponsesByWalletId(walletId);
+    return archive == null ? rows : archive.merge(walletId, rows, null, Integer.MAX_VALUE);
+  }
+
+  @ReplicaRead
+  public CursorPageResponse<TransactionResponse> listTransactionsPage(
+      Long walletId, String cursor, int limit) {
+    walletService.requireReadAccess(walletId);
+    return fetchPage(walletId, cursor == null ? null : KeysetCursor.decode(cursor), limit);
+  }
+
+  /**
+   * Lazily walks the wallet history page by page. Only the first page is loaded (and access is
+   * checked) up front; every further page is fetched when the caller consumes the stream, so memory
+   * stays bounded by {@link #STREAM_PAGE_SIZE} regardless of how long the history is.
+   */
+  @ReplicaRead
+  public Stream<TransactionResponse> streamTransactions(Long walletId) {
+    walletService.requireReadAccess(walletId);
+    CursorPageResponse<TransactionResponse> first = fetchPage(walletId, null, STREAM_PAGE_SIZE);
+    return Stream.iterate(
+            first,
+            Objects::nonNull,
+            page ->
+                page.hasNext()
+                    ? fetchPage(walletId, KeysetCursor.decode(page.nextCursor()), STREAM_PAGE_SIZE)
+                    : null)
+        .flatMap(page -> page.items().stream());
   }
 
+  @ReplicaRead
   public TransactionResponse getTransaction(Long transactionId) {
-    WalletTransaction transaction =
+    TransactionResponse transaction =
         transactionRepository
-            .findById(transactionId)
+            .findResponseById(transactionId)
+            .or(() -> archive == null ? Optional.empty() : archive.findById(transactionId))
             .orElseThrow(() -> new InvalidTransactionStatusException("Transaction not found"));
-    walletService.requireWalletAccess(transaction.getWallet().getId());
-    return toResponse(transaction);
+    walletService.requireReadAccess(transaction.walletId());
+    return transaction;
   }
 
   @Transactional
@@ -132,6 +354,15 @@ public class TransactionService {
     if (request.status() == TransactionStatus.PENDING) {
       throw new InvalidTransactionStatusException("Status must be APPROVED or DENIED");
     }
+    if (ledgerEngine != null) {
+      return ledgerEngine.changeStatus(
+          transactionId, request.status(), currentCustomerService.getCurrentCustomer().getId());
+    }
+    // Lock before loading the transaction so its status is read after any concurrent approval.
+    walletLockManager.lock(
+        transactionRepository
+            .findWalletIdById(transactionId)
+            .orElseThrow(() -> new InvalidTransactionStatusException("Transaction not found")));
     WalletTransaction transaction =
         transactionRepository
             .findById(transactionId)
@@ -139,20 +370,363 @@ public class TransactionService {
     if (transaction.getStatus() != TransactionStatus.PENDING) {
       throw new InvalidTransactionStatusException("Only pending transactions can be updated");
     }
-    Wallet wallet = transaction.getWallet();
     Customer actor = currentCustomerService.getCurrentCustomer();
+    if (isClaimedByOther(transaction, actor.getId())) {
+      throw new TransactionClaimedException(transactionId);
+    }
+    Wallet wallet = transaction.getWallet();
     TransactionStrategy strategy = strategyFor(transaction.getType());
-    strategy.applyStatusChange(wallet, transaction, request.status());
+    BalanceDelta delta = strategy.deltaOnStatusChange(transaction, request.status());
+    balanceWriter.apply(wallet, delta);
     transaction.setStatus(request.status());
     transaction.setProcessedAt(LocalDateTime.now());
     transaction.setProcessedBy(actor.getId());
-    walletRepository.save(wallet);
+    transaction.setClaimedBy(null);
+    transaction.setClaimExpiresAt(null);
     WalletTransaction saved = transactionRepository.save(transaction);
+    recordSettlement(
+        wallet.getId(), delta, List.of(saved), WalletEventType.TRANSACTION_STATUS_CHANGED);
     return toResponse(saved);
   }
 
-  private TransactionStatus determineStatus(BigDecimal amount) {
-    return amount.compareTo(APPROVAL_THRESHOLD) > 0
+  /**
+   * Approves or denies many pending transactions in one database transaction. The rows are loaded
+   * with a single {@code IN} query that fetch-joins their wallets; each wallet is locked once, in
+   * id order, and written once with the net delta of its transactions. The status updates are
+   * flushed as JDBC batch updates.
+   */
+  @Transactional
+  public BulkTransactionResponse approveOrDenyBulk(BulkStatusChangeRequest request) {
+    rejectInLedgerMode("Bulk requests");
+    if (request.status() == TransactionStatus.PENDING) {
+      throw new InvalidTransactionStatusException("Status must be APPROVED or DENIED");
+    }
+    List<Long> ids = request.transactionIds();
+    checkBulkSize(ids.size());
+    FailureMode failureMode = failureMode(request.failureMode());
+    Customer actor = currentCustomerService.getCurrentCustomer();
+    // Same ordering as approveOrDeny: statuses are read only after every wallet is locked.
+    walletLockManager.lockAll(transactionRepository.findWalletIdsByIdIn(ids));
+    Map<Long, WalletTransaction> byId =
+        transactionRepository.findAllWithWalletByIdIn(ids).stream()
+            .collect(Collectors.toMap(WalletTransaction::getId, Function.identity()));
+
+    BulkTransactionItemResult[] results = new BulkTransactionItemResult[ids.size()];
+    Map<Long, List<Integer>> indexesByWallet = new TreeMap<>();
+    Set<Long> failedWallets = new HashSet<>();
+    Set<Long> seen = new HashSet<>();
+    for (int index = 0; index < ids.size(); index++) {
+      Long id = ids.get(index);
+      WalletTransaction transaction = byId.get(id);
+      String error = null;
+      if (transaction == null) {
+        error = "Transaction not found";
+      } else if (!seen.add(id)) {
+        error = "Duplicate transaction id";
+      } else if (transaction.getStatus() != TransactionStatus.PENDING) {
+        error = "Only pending transactions can be updated";
+      } else if (isClaimedByOther(transaction, actor.getId())) {
+        error = new TransactionClaimedException(id).getMessage();
+      }
+      if (error == null) {
+        indexesByWallet
+            .computeIfAbsent(transaction.getWallet().getId(), walletId -> new ArrayList<>())
+            .add(index);
+        continue;
+      }
+      results[index] = failed(index, error);
+      if (transaction != null) {
+        failedWallets.add(transaction.getWallet().getId());
+      }
+      if (failureMode == FailureMode.ALL_OR_NOTHING) {
+        skipRemaining(results, "Skipped: bulk request rolled back");
+        throw new BulkTransactionRejectedException(BulkTransactionResponse.of(List.of(results)));
+      }
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    List<WalletTransaction> updated = new ArrayList<>();
+    List<Integer> updatedIndexes = new ArrayList<>();
+    for (Map.Entry<Long, List<Integer>> group : indexesByWallet.entrySet()) {
+      if (failureMode == FailureMode.PER_WALLET && failedWallets.contains(group.getKey())) {
+        for (int index : group.getValue()) {
+          results[index] =
+              new BulkTransactionItemResult(
+                  index, Outcome.SKIPPED, null, "Skipped: another item for this wallet failed");
+        }
+        continue;
+      }
+      Wallet wallet = null;
+      BalanceDelta net = BalanceDelta.ZERO;
+      List<WalletTransaction> walletRows = new ArrayList<>();
+      for (int index : group.getValue()) {
+        WalletTransaction transaction = byId.get(ids.get(index));
+        wallet = transaction.getWallet();
+        net =
+            net.plus(
+                strategyFor(transaction.getType())
+                    .deltaOnStatusChange(transaction, request.status()));
+        transaction.setStatus(request.status());
+        transaction.setProcessedAt(now);
+        transaction.setProcessedBy(actor.getId());
+        transaction.setClaimedBy(null);
+        transaction.setClaimExpiresAt(null);
+        walletRows.add(transaction);
+        updatedIndexes.add(index);
+      }
+      if (!net.isZero()) {
+        balanceWriter.apply(wallet, net);
+      }
+      recordSettlement(wallet.getId(), net, walletRows, WalletEventType.TRANSACTION_STATUS_CHANGED);
+      updated.addAll(walletRows);
+    }
+
+    transactionRepository.saveAll(updated);
+    for (int i = 0; i < updated.size(); i++) {
+      int index = updatedIndexes.get(i);
+      results[index] =
+          new BulkTransactionItemResult(index, Outcome.APPLIED, toResponse(updated.get(i)), null);
+    }
+    return BulkTransactionResponse.of(List.of(results));
+  }
+
+  private CursorPageResponse<TransactionResponse> fetchPage(
+      Long walletId, KeysetCursor after, int limit) {
+    int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    // One extra row tells us whether another page exists without issuing a COUNT(*).
+    Limit fetchLimit = Limit.of(pageSize + 1);
+    List<TransactionResponse> rows =
+        after == null
+            ? transactionRepository.findFirstPage(walletId, fetchLimit)
+            : transactionRepository.findPageAfter(
+                walletId, after.createdAt(), after.id(), fetchLimit);
+    if (archive != null) {
+      rows = archive.merge(walletId, rows, after, pageSize + 1);
+    }
+    boolean hasNext = rows.size() > pageSize;
+    List<TransactionResponse> items = hasNext ? rows.subList(0, pageSize) : rows;
+    String nextCursor = null;
+    if (hasNext) {
+      TransactionResponse last = items.get(items.size() - 1);
+      nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
+    }
+    return new CursorPageResponse<>(items, nextCursor, hasNext);
+  }
+
+  /**
+   * Books a balance change that was just written into the daily snapshot, the amount meters and the
+   * outbox.
+   */
+  private void recordSettlement(
+      Long walletId,
+      BalanceDelta delta,
+      Collection<WalletTransaction> transactions,
+      WalletEventType eventType) {
+    snapshotRecorder.record(walletId, delta, transactions);
+    transactionMetrics.recordAmounts(transactions);
+    outboxRecorder.record(eventType, transactions);
+  }
+
+  private TransferLeg transferLeg(
+      TransactionType type, Wallet wallet, Wallet counterpart, Money amount) {
+    TransactionStrategy strategy = strategyFor(type);
+    String oppositeParty = counterpart.getId().toString();
+    TransactionRequestContext context =
+        new TransactionRequestContext(
+            wallet, amount, OppositePartyType.WALLET, oppositeParty, false);
+    strategy.validate(context);
+    return new TransferLeg(
+        wallet,
+        strategy.deltaOnCreate(context, TransactionStatus.APPROVED),
+        newTransaction(
+            wallet,
+            type,
+            amount,
+            OppositePartyType.WALLET,
+            oppositeParty,
+            TransactionStatus.APPROVED));
+  }
+
+  private record TransferLeg(Wallet wallet, BalanceDelta delta, WalletTransaction transaction) {}
+
+  /** Multi-wallet writes need one database transaction, which the ledger does not offer. */
+  private void rejectInLedgerMode(String operation) {
+    if (ledgerEngine != null) {
+      throw new InvalidTransactionStatusException(operation + " are not available in ledger mode");
+    }
+  }
+
+  private void checkBulkSize(int size) {
+    if (size > bulkProperties.getMaxItems()) {
+      throw new InvalidTransactionStatusException(
+          "Bulk request exceeds " + bulkProperties.getMaxItems() + " items");
+    }
+  }
+
+  private FailureMode failureMode(FailureMode requested) {
+    return requested != null ? requested : bulkProperties.getFailureMode();
+  }
+
+  /**
+   * Validates the group's items one after another against a running copy of the wallet balances,
+   * then writes the summed delta once. The wallet is already locked. Returns {@code false} if any
+   * item of the group failed.
+   */
+  private boolean applyWalletGroup(
+      Long walletId,
+      List<Integer> indexes,
+      List<BulkTransactionItem> items,
+      FailureMode failureMode,
+      BulkTransactionItemResult[] results,
+      WalletTransaction[] created) {
+    Wallet wallet;
+    try {
+      wallet = walletService.requireWalletAccess(walletId);
+    } catch (WalletNotFoundException | UnauthorizedOperationException ex) {
+      indexes.forEach(index -> results[index] = failed(index, ex.getMessage()));
+      return false;
+    }
+
+    Wallet running = balanceView(wallet);
+    BalanceDelta net = BalanceDelta.ZERO;
+    boolean groupFailed = false;
+    for (int index : indexes) {
+      BulkTransactionItem item = items.get(index);
+      try {
+        if (item.type() != TransactionType.DEPOSIT && item.type() != TransactionType.WITHDRAW) {
+          throw new InvalidTransactionStatusException(
+              "Bulk requests support DEPOSIT and WITHDRAW only");
+        }
+        TransactionStrategy strategy = strategyFor(item.type());
+        Money amount = Money.of(item.amount(), wallet.getCurrency());
+        TransactionStatus status = determineStatus(amount);
+        TransactionRequestContext context =
+            new TransactionRequestContext(
+                running,
+                amount,
+                item.oppositePartyType(),
+                item.oppositeParty(),
+                item.type() == TransactionType.WITHDRAW
+                    && item.oppositePartyType() == OppositePartyType.PAYMENT);
+        strategy.validate(context);
+        BalanceDelta delta = strategy.deltaOnCreate(context, status);
+        delta.applyTo(running);
+        net = net.plus(delta);
+        created[index] =
+            newTransaction(
+                wallet,
+                item.type(),
+                amount,
+                item.oppositePartyType(),
+                item.oppositeParty(),
+                status);
+      } catch (InsufficientBalanceException
+          | InvalidTransactionStatusException
+          | InvalidAmountException ex) {
+        results[index] = failed(index, ex.getMessage());
+        groupFailed = true;
+        if (failureMode != FailureMode.PER_ITEM) {
+          break;
+        }
+      }
+    }
+
+    if (groupFailed && failureMode != FailureMode.PER_ITEM) {
+      discard(
+          indexes,
+          results,
+          created,
+          Outcome.SKIPPED,
+          "Skipped: another item for this wallet failed");
+      return false;
+    }
+    if (!net.isZero()) {
+      try {
+        balanceWriter.apply(wallet, net);
+      } catch (InsufficientBalanceException ex) {
+        // Only the atomic writer gets here: a concurrent request drained the wallet meanwhile.
+        discard(indexes, results, created, Outcome.FAILED, ex.getMessage());
+        return false;
+      }
+    }
+    List<WalletTransaction> groupRows =
+        indexes.stream().map(index -> created[index]).filter(Objects::nonNull).toList();
+    if (!groupRows.isEmpty()) {
+      recordSettlement(walletId, net, groupRows, WalletEventType.TRANSACTION_CREATED);
+    }
+    return !groupFailed;
+  }
+
+  /**
+   * Drops the group's pending rows and reports them, and any unprocessed item, as {@code outcome}.
+   */
+  private static void discard(
+      List<Integer> indexes,
+      BulkTransactionItemResult[] results,
+      WalletTransaction[] created,
+      Outcome outcome,
+      String reason) {
+    for (int index : indexes) {
+      if (created[index] != null || results[index] == null) {
+        created[index] = null;
+        results[index] = new BulkTransactionItemResult(index, outcome, null, reason);
+      }
+    }
+  }
+
+  private static void skipRemaining(BulkTransactionItemResult[] results, String reason) {
+    for (int index = 0; index < results.length; index++) {
+      if (results[index] == null) {
+        results[index] = new BulkTransactionItemResult(index, Outcome.SKIPPED, null, reason);
+      }
+    }
+  }
+
+  private static BulkTransactionItemResult failed(int index, String reason) {
+    return new BulkTransactionItemResult(index, Outcome.FAILED, null, reason);
+  }
+
+  /** Detached copy carrying just what strategies validate against. */
+  private static Wallet balanceView(Wallet wallet) {
+    Wallet view = new Wallet();
+    view.setId(wallet.getId());
+    view.setCurrency(wallet.getCurrency());
+    view.setActiveForShopping(wallet.isActiveForShopping());
+    view.setActiveForWithdraw(wallet.isActiveForWithdraw());
+    view.setBalance(wallet.getBalance());
+    view.setUsableBalance(wallet.getUsableBalance());
+    return view;
+  }
+
+  private static WalletTransaction newTransaction(
+      Wallet wallet,
+      TransactionType type,
+      Money amount,
+      OppositePartyType oppositePartyType,
+      String oppositeParty,
+      TransactionStatus status) {
+    WalletTransaction transaction = new WalletTransaction();
+    transaction.setWallet(wallet);
+    transaction.setAmount(amount);
+    transaction.setType(type);
+    transaction.setStatus(status);
+    transaction.setOppositeParty(oppositeParty);
+    transaction.setOppositePartyType(oppositePartyType);
+    if (status == TransactionStatus.APPROVED) {
+      transaction.setProcessedAt(LocalDateTime.now());
+      transaction.setProcessedBy(wallet.getCustomer().getId());
+    }
+    return transaction;
+  }
+
+  private static boolean isClaimedByOther(WalletTransaction transaction, Long actorId) {
+    return transaction.getClaimedBy() != null
+        && !transaction.getClaimedBy().equals(actorId)
+        && transaction.getClaimExpiresAt().isAfter(LocalDateTime.now());
+  }
+
+  private TransactionStatus determineStatus(Money amount) {
+    return amount.isGreaterThan(APPROVAL_THRESHOLD)
         ? TransactionStatus.PENDING
         : TransactionStatus.APPROVED;
   }
@@ -166,16 +740,6 @@ public class TransactionService {
   }
 
   private TransactionResponse toResponse(WalletTransaction transaction) {
-    return new TransactionResponse(
-        transaction.getId(),
-        transaction.getWallet().getId(),
-        transaction.getType(),
-        transaction.getStatus(),
-        transaction.getAmount(),
-        transaction.getOppositePartyType(),
-        transaction.getOppositeParty(),
-        transaction.getCreatedAt(),
-        transaction.getProcessedAt(),
-        transaction.getProcessedBy());
+    return TransactionResponse.of(transaction);
   }
 }
@@ -1,17 +1,27 @@
 package com.wallet.service;
 
 import com.wallet.dto.request.WalletCreateRequest;
+import com.wallet.dto.request.WalletSearchFilter;
 import com.wallet.dto.request.WalletSettingsRequest;
+import com.wallet.dto.response.PageResponse;
 import com.wallet.dto.response.WalletResponse;
 import com.wallet.enums.Currency;
 import com.wallet.enums.UserRole;
+import com.wallet.enums.WalletSearchSort;
 import com.wallet.exception.UnauthorizedOperationException;
 import com.wallet.exception.WalletNotFoundException;
 import com.wallet.model.Customer;
 import com.wallet.model.Wallet;
 import com.wallet.repository.WalletRepository;
+import com.wallet.repository.WalletSearchRepository.Match;
+import com.wallet.repository.WalletSearchRepository.Position;
+import com.wallet.repository.WalletView;
+import com.wallet.service.cache.WalletCache;
+import com.wallet.service.pagination.WalletSearchCursor;
 import com.wallet.service.policy.WalletAccessPolicy;
+import com.wallet.service.replica.ReplicaRead;
 import jakarta.transaction.Transactional;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
@@ -19,20 +29,25 @@ import org.springframework.stereotype.Service;
 @Service
 public class WalletService {
 
+  private static final int MAX_SEARCH_PAGE_SIZE = 500;
+
   private final WalletRepository walletRepository;
   private final CurrentCustomerService currentCustomerService;
   private final WalletAccessPolicy walletAccessPolicy;
   private final CustomerService customerService;
+  private final WalletCache walletCache;
 
   public WalletService(
       WalletRepository walletRepository,
       CurrentCustomerService currentCustomerService,
       WalletAccessPolicy walletAccessPolicy,
-      CustomerService customerService) {
+      CustomerService customerService,
+      WalletCache walletCache) {
     this.walletRepository = walletRepository;
     this.currentCustomerService = currentCustomerService;
     this.walletAccessPolicy = walletAccessPolicy;
     this.customerService = customerService;
+    this.walletCache = walletCache;
   }
 
   @Transactional
@@ -49,23 +64,68 @@ public class WalletService {
     return toResponse(saved);
   }
 
+  @ReplicaRead
   public List<WalletResponse> listWallets(Optional<Long> customerId, Optional<Currency> currency) {
     Customer current = currentCustomerService.getCurrentCustomer();
     Long ownerId = resolveOwner(customerId, current);
-    List<Wallet> wallets;
     if (ownerId == null) {
-      wallets = walletRepository.findAll();
-    } else if (currency.isPresent()) {
-      wallets = walletRepository.findByCustomerIdAndCurrency(ownerId, currency.get());
-    } else {
-      wallets = walletRepository.findByCustomerId(ownerId);
+      return walletRepository.findAllViews().stream().map(WalletView::toResponse).toList();
     }
-    return wallets.stream().map(this::toResponse).toList();
+    List<WalletResponse> wallets = cachedWalletsOf(ownerId).orElseGet(() -> loadWalletsOf(ownerId));
+    return currency
+        .map(wanted -> wallets.stream().filter(wallet -> wallet.currency() == wanted).toList())
+        .orElse(wallets);
+  }
+
+  /**
+   * Employee search over every wallet, one keyset page at a time. Results bypass the wallet cache
+   * so a large scan cannot evict the hot entries. The total is counted only when {@code
+   * includeTotal} is set.
+   */
+  @ReplicaRead
+  public PageResponse<WalletResponse> searchWallets(
+      WalletSearchFilter filter,
+      WalletSearchSort sort,
+      String cursor,
+      int size,
+      boolean includeTotal) {
+    int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+    Position after = cursor == null ? null : WalletSearchCursor.decode(cursor, sort).position();
+    // One extra row tells us whether another page exists without issuing a COUNT(*).
+    List<Match> rows = walletRepository.search(filter, sort, after, pageSize + 1);
+    boolean hasNext = rows.size() > pageSize;
+    List<Match> matches = hasNext ? rows.subList(0, pageSize) : rows;
+    String nextCursor =
+        hasNext
+            ? new WalletSearchCursor(sort, matches.get(matches.size() - 1).position()).encode()
+            : null;
+    return new PageResponse<>(
+        matches.stream().map(match -> match.wallet().toResponse()).toList(),
+        nextCursor,
+        hasNext,
+        includeTotal ? walletRepository.countMatches(filter) : null);
   }
 
+  /** Read-only view, served from {@link WalletCache} when possible. */
+  @ReplicaRead
   public WalletResponse getWallet(Long walletId) {
-    Wallet wallet = requireWalletAccess(walletId);
-    return toResponse(wallet);
+    Customer current = currentCustomerService.getCurrentCustomer();
+    Optional<WalletResponse> cached = walletCache.get(walletId);
+    if (cached.isPresent()) {
+      walletAccessPolicy.ensureCanAccess(current, cached.get().customerId());
+      return cached.get();
+    }
+    WalletView wallet =
+        walletRepository
+            .findViewById(walletId)
+            .orElseThrow(() -> new WalletNotFoundException(walletId));
+    walletAccessPolicy.ensureCanAccess(current, wallet.customerId());
+    return cache(wallet);
+  }
+
+  /** Access check for read-only paths; answered from the cache when the wallet is there. */
+  public void requireReadAccess(Long walletId) {
+    getWallet(walletId);
   }
 
   @Transactional
@@ -86,6 +146,36 @@ public class WalletService {
     return wallet;
   }
 
+  /** Every wallet of the customer from the cache, or empty if the list or any wallet is missing. */
+  private Optional<List<WalletResponse>> cachedWalletsOf(Long ownerId) {
+    Optional<List<Long>> walletIds = walletCache.walletIdsOf(ownerId);
+    if (walletIds.isEmpty()) {
+      return Optional.empty();
+    }
+    List<WalletResponse> wallets = new ArrayList<>(walletIds.get().size());
+    for (Long walletId : walletIds.get()) {
+      Optional<WalletResponse> wallet = walletCache.get(walletId);
+      if (wallet.isEmpty()) {
+        return Optional.empty();
+      }
+      wallets.add(wallet.get());
+    }
+    return Optional.of(wallets);
+  }
+
+  private List<WalletResponse> loadWalletsOf(Long ownerId) {
+    long generation = walletCache.listGeneration();
+    List<WalletView> wallets = walletRepository.findViewsByCustomerId(ownerId);
+    walletCache.putWalletIds(ownerId, wallets.stream().map(WalletView::id).toList(), generation);
+    return wallets.stream().map(this::cache).toList();
+  }
+
+  private WalletResponse cache(WalletView wallet) {
+    WalletResponse response = wallet.toResponse();
+    walletCache.put(response, wallet.version());
+    return response;
+  }
+
   private Long resolveOwner(Optional<Long> requestedCustomerId, Customer current) {
     if (walletAccessPolicy.canViewAll(current)) {
       return requestedCustomerId.orElse(null);
@@ -111,7 +201,7 @@ public class WalletService {
         wallet.getCurrency(),
         wallet.isActiveForShopping(),
         wallet.isActiveForWithdraw(),
-        wallet.getBalance(),
-        wallet.getUsableBalance());
+        wallet.getBalance().toBigDecimal(),
+        wallet.getUsableBalance().toBigDecimal());
   }
 }
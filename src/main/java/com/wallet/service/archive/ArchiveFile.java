@@ -0,0 +1,300 @@
+package com.wallet.service.archive;
+
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionAuditAction;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.model.Money;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * One immutable archive file of a single table and month. A small uncompressed header describes the
+ * rows (count, id and time bounds, and for transactions the wallets they belong to), so the archive
+ * can skip a file without inflating it. The gzip-compressed body stores the rows sorted by id,
+ * column by column, through {@link ColumnWriter}.
+ *
+ * <p>Files are written to a temporary name, forced to disk and then renamed, so a file either
+ * exists whole or not at all.
+ */
+final class ArchiveFile {
+
+  static final String EXTENSION = ".wca";
+
+  private static final int MAGIC = 0x57434131;
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  enum Kind {
+    TRANSACTIONS,
+    AUDIT_LOGS
+  }
+
+  /** What a file holds; {@code walletIds} is sorted and empty for audit logs. */
+  record Header(
+      Kind kind,
+      int rowCount,
+      long minId,
+      long maxId,
+      LocalDateTime minCreatedAt,
+      LocalDateTime maxCreatedAt,
+      long[] walletIds) {
+
+    boolean containsWallet(long walletId) {
+      return Arrays.binarySearch(walletIds, walletId) >= 0;
+    }
+
+    boolean mayContainId(long id) {
+      return id >= minId && id <= maxId;
+    }
+  }
+
+  private ArchiveFile() {}
+
+  static Header writeTransactions(Path file, List<TransactionResponse> rows) throws IOException {
+    List<TransactionResponse> sorted =
+        rows.stream().sorted(Comparator.comparing(TransactionResponse::id)).toList();
+    Header header =
+        header(
+            Kind.TRANSACTIONS,
+            sorted,
+            TransactionResponse::id,
+            TransactionResponse::createdAt,
+            sorted.stream().mapToLong(TransactionResponse::walletId).distinct().sorted().toArray());
+    write(
+        file,
+        header,
+        columns -> {
+          columns.deltas(sorted, TransactionResponse::id);
+          columns.longs(sorted, TransactionResponse::walletId);
+          columns.enums(sorted, TransactionResponse::type);
+          columns.enums(sorted, TransactionResponse::status);
+          columns.longs(sorted, row -> Money.of(row.amount()).minorUnits());
+          columns.enums(sorted, TransactionResponse::oppositePartyType);
+          columns.strings(sorted, TransactionResponse::oppositeParty);
+          columns.times(sorted, TransactionResponse::createdAt);
+          columns.nullableTimes(sorted, TransactionResponse::processedAt);
+          columns.nullableLongs(sorted, TransactionResponse::processedBy);
+          columns.nullableLongs(sorted, TransactionResponse::linkedTransactionId);
+        });
+    return header;
+  }
+
+  static Header writeAuditLogs(Path file, List<ArchivedAuditLog> rows) throws IOException {
+    List<ArchivedAuditLog> sorted =
+        rows.stream().sorted(Comparator.comparingLong(ArchivedAuditLog::id)).toList();
+    Header header =
+        header(
+            Kind.AUDIT_LOGS,
+            sorted,
+            ArchivedAuditLog::id,
+            ArchivedAuditLog::createdAt,
+            new long[0]);
+    write(
+        file,
+        header,
+        columns -> {
+          columns.deltas(sorted, ArchivedAuditLog::id);
+          columns.longs(sorted, ArchivedAuditLog::transactionId);
+          columns.enums(sorted, ArchivedAuditLog::action);
+          columns.nullableLongs(sorted, ArchivedAuditLog::actorId);
+          columns.strings(sorted, ArchivedAuditLog::details);
+          columns.times(sorted, ArchivedAuditLog::createdAt);
+        });
+    return header;
+  }
+
+  static Header readHeader(Path file) throws IOException {
+    try (DataInputStream in = open(file)) {
+      return readHeader(in, file);
+    }
+  }
+
+  /** Rows of a transaction file, sorted by id. */
+  static List<TransactionResponse> readTransactions(Path file) throws IOException {
+    try (DataInputStream in = open(file)) {
+      Header header = readHeader(in, file);
+      requireKind(header, Kind.TRANSACTIONS, file);
+      ColumnReader columns = body(in, header);
+      long[] ids = columns.deltas();
+      long[] walletIds = columns.longs();
+      TransactionType[] types = columns.enums(TransactionType.class);
+      TransactionStatus[] statuses = columns.enums(TransactionStatus.class);
+      long[] amounts = columns.longs();
+      OppositePartyType[] partyTypes = columns.enums(OppositePartyType.class);
+      String[] parties = columns.strings();
+      LocalDateTime[] createdAt = columns.times();
+      LocalDateTime[] processedAt = columns.nullableTimes();
+      Long[] processedBy = columns.nullableLongs();
+      Long[] linked = columns.nullableLongs();
+      List<TransactionResponse> rows = new ArrayList<>(header.rowCount());
+      for (int i = 0; i < header.rowCount(); i++) {
+        rows.add(
+            new TransactionResponse(
+                ids[i],
+                walletIds[i],
+                types[i],
+                statuses[i],
+                Money.ofMinorUnits(amounts[i]),
+                partyTypes[i],
+                parties[i],
+                createdAt[i],
+                processedAt[i],
+                processedBy[i],
+                linked[i]));
+      }
+      return rows;
+    }
+  }
+
+  /** Rows of an audit log file, sorted by id. */
+  static List<ArchivedAuditLog> readAuditLogs(Path file) throws IOException {
+    try (DataInputStream in = open(file)) {
+      Header header = readHeader(in, file);
+      requireKind(header, Kind.AUDIT_LOGS, file);
+      ColumnReader columns = body(in, header);
+      long[] ids = columns.deltas();
+      long[] transactionIds = columns.longs();
+      TransactionAuditAction[] actions = columns.enums(TransactionAuditAction.class);
+      Long[] actorIds = columns.nullableLongs();
+      String[] details = columns.strings();
+      LocalDateTime[] createdAt = columns.times();
+      List<ArchivedAuditLog> rows = new ArrayList<>(header.rowCount());
+      for (int i = 0; i < header.rowCount(); i++) {
+        rows.add(
+            new ArchivedAuditLog(
+                ids[i], transactionIds[i], actions[i], actorIds[i], details[i], createdAt[i]));
+      }
+      return rows;
+    }
+  }
+
+  static boolean isTemporary(Path file) {
+    return file.getFileName().toString().endsWith(EXTENSION + TEMP_SUFFIX);
+  }
+
+  static long toNanos(LocalDateTime time) {
+    return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+  }
+
+  static LocalDateTime fromNanos(long nanos) {
+    return LocalDateTime.ofEpochSecond(
+        Math.floorDiv(nanos, 1_000_000_000L),
+        (int) Math.floorMod(nanos, 1_000_000_000L),
+        ZoneOffset.UTC);
+  }
+
+  private static <T> Header header(
+      Kind kind,
+      List<T> sorted,
+      ToLongFunction<T> id,
+      Function<T, LocalDateTime> createdAt,
+      long[] walletIds) {
+    if (sorted.isEmpty()) {
+      throw new IllegalArgumentException("An archive file needs at least one row");
+    }
+    LocalDateTime min = sorted.stream().map(createdAt).min(Comparator.naturalOrder()).orElseThrow();
+    LocalDateTime max = sorted.stream().map(createdAt).max(Comparator.naturalOrder()).orElseThrow();
+    return new Header(
+        kind,
+        sorted.size(),
+        id.applyAsLong(sorted.get(0)),
+        id.applyAsLong(sorted.get(sorted.size() - 1)),
+        min,
+        max,
+        walletIds);
+  }
+
+  private static void write(Path file, Header header, ColumnBlock body) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(MAGIC);
+    out.writeByte(header.kind().ordinal());
+    out.writeInt(header.rowCount());
+    out.writeLong(header.minId());
+    out.writeLong(header.maxId());
+    out.writeLong(toNanos(header.minCreatedAt()));
+    out.writeLong(toNanos(header.maxCreatedAt()));
+    out.writeInt(header.walletIds().length);
+    for (long walletId : header.walletIds()) {
+      out.writeLong(walletId);
+    }
+    try (DataOutputStream columns = new DataOutputStream(new GZIPOutputStream(bytes, 1 << 16))) {
+      body.write(new ColumnWriter(columns));
+    }
+
+    Files.createDirectories(file.getParent());
+    Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+    try (FileChannel channel =
+        FileChannel.open(
+            temp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    }
+    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private static DataInputStream open(Path file) throws IOException {
+    return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+  }
+
+  private static Header readHeader(DataInputStream in, Path file) throws IOException {
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not an archive file: " + file);
+    }
+    Kind kind = Kind.values()[in.readUnsignedByte()];
+    int rowCount = in.readInt();
+    long minId = in.readLong();
+    long maxId = in.readLong();
+    LocalDateTime minCreatedAt = fromNanos(in.readLong());
+    LocalDateTime maxCreatedAt = fromNanos(in.readLong());
+    long[] walletIds = new long[in.readInt()];
+    for (int i = 0; i < walletIds.length; i++) {
+      walletIds[i] = in.readLong();
+    }
+    return new Header(kind, rowCount, minId, maxId, minCreatedAt, maxCreatedAt, walletIds);
+  }
+
+  private static ColumnReader body(InputStream in, Header header) throws IOException {
+    return new ColumnReader(
+        new DataInputStream(new BufferedInputStream(new GZIPInputStream(in, 1 << 16))),
+        header.rowCount());
+  }
+
+  private static void requireKind(Header header, Kind kind, Path file) throws IOException {
+    if (header.kind() != kind) {
+      throw new IOException(file + " holds " + header.kind() + ", not " + kind);
+    }
+  }
+
+  @FunctionalInterface
+  private interface ColumnBlock {
+    void write(ColumnWriter columns) throws IOException;
+  }
+}
@@ -0,0 +1,13 @@
+package com.wallet.service.archive;
+
+import com.wallet.enums.TransactionAuditAction;
+import java.time.LocalDateTime;
+
+/** A {@code transaction_audit_logs} row as kept in the archive. */
+record ArchivedAuditLog(
+    long id,
+    long transactionId,
+    TransactionAuditAction action,
+    Long actorId,
+    String details,
+    LocalDateTime createdAt) {}
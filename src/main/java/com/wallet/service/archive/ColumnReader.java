@@ -0,0 +1,116 @@
+package com.wallet.service.archive;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+
+/** Reads the columns written by {@link ColumnWriter}, in the order they were written. */
+final class ColumnReader {
+
+  private final DataInputStream in;
+  private final int rows;
+
+  ColumnReader(DataInputStream in, int rows) {
+    this.in = in;
+    this.rows = rows;
+  }
+
+  long[] deltas() throws IOException {
+    long[] values = new long[rows];
+    long previous = 0;
+    for (int i = 0; i < rows; i++) {
+      previous += readSigned();
+      values[i] = previous;
+    }
+    return values;
+  }
+
+  long[] longs() throws IOException {
+    long[] values = new long[rows];
+    for (int i = 0; i < rows; i++) {
+      values[i] = readSigned();
+    }
+    return values;
+  }
+
+  Long[] nullableLongs() throws IOException {
+    BitSet present = readPresence();
+    Long[] values = new Long[rows];
+    for (int i = 0; i < rows; i++) {
+      if (present.get(i)) {
+        values[i] = readSigned();
+      }
+    }
+    return values;
+  }
+
+  LocalDateTime[] times() throws IOException {
+    LocalDateTime[] values = new LocalDateTime[rows];
+    long previous = 0;
+    for (int i = 0; i < rows; i++) {
+      previous += readSigned();
+      values[i] = ArchiveFile.fromNanos(previous);
+    }
+    return values;
+  }
+
+  LocalDateTime[] nullableTimes() throws IOException {
+    BitSet present = readPresence();
+    LocalDateTime[] values = new LocalDateTime[rows];
+    long previous = 0;
+    for (int i = 0; i < rows; i++) {
+      if (present.get(i)) {
+        previous += readSigned();
+        values[i] = ArchiveFile.fromNanos(previous);
+      }
+    }
+    return values;
+  }
+
+  String[] strings() throws IOException {
+    String[] dictionary = new String[(int) readUnsigned()];
+    for (int i = 0; i < dictionary.length; i++) {
+      dictionary[i] = in.readUTF();
+    }
+    String[] values = new String[rows];
+    for (int i = 0; i < rows; i++) {
+      values[i] = dictionary[(int) readUnsigned()];
+    }
+    return values;
+  }
+
+  <E extends Enum<E>> E[] enums(Class<E> type) throws IOException {
+    String[] names = strings();
+    @SuppressWarnings("unchecked")
+    E[] values = (E[]) Array.newInstance(type, rows);
+    for (int i = 0; i < rows; i++) {
+      values[i] = Enum.valueOf(type, names[i]);
+    }
+    return values;
+  }
+
+  private BitSet readPresence() throws IOException {
+    byte[] bytes = new byte[(int) readUnsigned()];
+    in.readFully(bytes);
+    return BitSet.valueOf(bytes);
+  }
+
+  private long readSigned() throws IOException {
+    long value = readUnsigned();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private long readUnsigned() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable-length integer");
+  }
+}
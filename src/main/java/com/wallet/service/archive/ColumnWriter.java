@@ -0,0 +1,115 @@
+package com.wallet.service.archive;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Writes whole columns of rows, one after another. Integers are variable-length, ids and times are
+ * stored as differences from the previous row, strings through a per-column dictionary and nulls as
+ * a presence bitmap ahead of the values, which leaves long runs of similar bytes for the
+ * compressor. {@link ColumnReader} reads the columns back in the same order.
+ */
+final class ColumnWriter {
+
+  private final DataOutputStream out;
+
+  ColumnWriter(DataOutputStream out) {
+    this.out = out;
+  }
+
+  /** Ascending values, such as ids of rows sorted by id. */
+  <T> void deltas(List<T> rows, ToLongFunction<T> column) throws IOException {
+    long previous = 0;
+    for (T row : rows) {
+      long value = column.applyAsLong(row);
+      writeSigned(value - previous);
+      previous = value;
+    }
+  }
+
+  <T> void longs(List<T> rows, ToLongFunction<T> column) throws IOException {
+    for (T row : rows) {
+      writeSigned(column.applyAsLong(row));
+    }
+  }
+
+  <T> void nullableLongs(List<T> rows, Function<T, Long> column) throws IOException {
+    List<Long> values = rows.stream().map(column).toList();
+    writePresence(values);
+    for (Long value : values) {
+      if (value != null) {
+        writeSigned(value);
+      }
+    }
+  }
+
+  <T> void times(List<T> rows, Function<T, LocalDateTime> column) throws IOException {
+    long previous = 0;
+    for (T row : rows) {
+      long nanos = ArchiveFile.toNanos(column.apply(row));
+      writeSigned(nanos - previous);
+      previous = nanos;
+    }
+  }
+
+  <T> void nullableTimes(List<T> rows, Function<T, LocalDateTime> column) throws IOException {
+    List<LocalDateTime> values = rows.stream().map(column).toList();
+    writePresence(values);
+    long previous = 0;
+    for (LocalDateTime value : values) {
+      if (value != null) {
+        long nanos = ArchiveFile.toNanos(value);
+        writeSigned(nanos - previous);
+        previous = nanos;
+      }
+    }
+  }
+
+  <T> void strings(List<T> rows, Function<T, String> column) throws IOException {
+    Map<String, Integer> dictionary = new LinkedHashMap<>();
+    int[] indexes = new int[rows.size()];
+    for (int i = 0; i < rows.size(); i++) {
+      indexes[i] = dictionary.computeIfAbsent(column.apply(rows.get(i)), key -> dictionary.size());
+    }
+    writeUnsigned(dictionary.size());
+    for (String value : dictionary.keySet()) {
+      out.writeUTF(value);
+    }
+    for (int index : indexes) {
+      writeUnsigned(index);
+    }
+  }
+
+  <T, E extends Enum<E>> void enums(List<T> rows, Function<T, E> column) throws IOException {
+    strings(rows, row -> column.apply(row).name());
+  }
+
+  private void writePresence(List<?> values) throws IOException {
+    BitSet present = new BitSet(values.size());
+    for (int i = 0; i < values.size(); i++) {
+      present.set(i, values.get(i) != null);
+    }
+    byte[] bytes = present.toByteArray();
+    writeUnsigned(bytes.length);
+    out.write(bytes);
+  }
+
+  private void writeSigned(long value) throws IOException {
+    writeUnsigned((value << 1) ^ (value >> 63));
+  }
+
+  private void writeUnsigned(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+}
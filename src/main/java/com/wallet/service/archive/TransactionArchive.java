@@ -0,0 +1,285 @@
+package com.wallet.service.archive;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.model.ArchiveSegment;
+import com.wallet.repository.ArchiveSegmentRepository;
+import com.wallet.service.pagination.KeysetCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read side of the transaction archive: finalized transactions that {@link TransactionArchiver}
+ * moved out of the {@code transactions} table into files on local disk.
+ *
+ * <p>Reads merge archived rows into what the table returned. Every file header lists its wallets
+ * and its time range, so a history page whose rows are all newer than the wallet's archived ones,
+ * which is every page of recent history, opens no file. Decoded files are kept in a small cache.
+ *
+ * <p>The archiver registers a file before the rows leave the table, so for a moment a row can be in
+ * both; the table's copy wins. Instances that do not run the archiver pick up its files from {@code
+ * archive_segments}, checked once per refresh interval and whenever a read may need archived rows
+ * this instance has not seen: an id that is in no known file, or a page that reaches past the
+ * horizon.
+ */
+public class TransactionArchive {
+
+  private static final Logger log = LoggerFactory.getLogger(TransactionArchive.class);
+
+  static final String TRANSACTIONS = "transactions";
+  static final String AUDIT_LOGS = "transaction_audit_logs";
+
+  private static final Comparator<TransactionResponse> NEWEST_FIRST =
+      Comparator.comparing(TransactionResponse::createdAt)
+          .thenComparing(TransactionResponse::id)
+          .reversed();
+
+  private final Path directory;
+  private final ArchiveSegmentRepository segmentRepository;
+  private final Cache<Path, List<TransactionResponse>> decoded;
+  private final Counter fileReads;
+  // Not synchronized: loading runs a query and file reads, which would pin a virtual thread.
+  private final ReentrantLock loadLock = new ReentrantLock();
+
+  private final long refreshNanos;
+  private final Duration horizon;
+
+  // Transaction files only; loaded from archive_segments on first use and topped up since.
+  private volatile List<Segment> segments;
+  private volatile long refreshedAt;
+  // Written under loadLock: archive_segments rows seen by the last refresh.
+  private volatile long knownEntries;
+
+  public TransactionArchive(
+      Path directory,
+      ArchiveSegmentRepository segmentRepository,
+      int cachedFiles,
+      Duration refreshInterval,
+      Duration horizon,
+      MeterRegistry meterRegistry) {
+    this.directory = directory;
+    this.segmentRepository = segmentRepository;
+    this.refreshNanos = refreshInterval.toNanos();
+    this.horizon = horizon;
+    this.decoded = Caffeine.newBuilder().maximumSize(cachedFiles).build();
+    this.fileReads =
+        Counter.builder("wallet.archive.file.reads")
+            .description("Archive files decoded to answer transaction reads")
+            .register(meterRegistry);
+  }
+
+  public Optional<TransactionResponse> findById(long id) {
+    Optional<TransactionResponse> row = findIn(segments(), id);
+    // The table missed too, so the row may have just been moved by another instance.
+    return row.isPresent() || !refreshIfChanged() ? row : findIn(segments(), id);
+  }
+
+  /**
+   * Completes a newest-first page of a wallet's history. {@code hot} holds up to {@code limit} rows
+   * the table returned after {@code after} (null for the first page); the result holds up to {@code
+   * limit} rows of the table and the archive together, in the same order.
+   */
+  public List<TransactionResponse> merge(
+      long walletId, List<TransactionResponse> hot, KeysetCursor after, int limit) {
+    // With a full page from the table, archived rows older than its last one cannot make the cut.
+    TransactionResponse floor = hot.size() >= limit ? hot.get(hot.size() - 1) : null;
+    // Rows newer than the horizon are never archived, so only older pages look for new files.
+    if (floor == null || floor.createdAt().isBefore(LocalDateTime.now().minus(horizon))) {
+      refreshIfChanged();
+    }
+    List<Segment> candidates = new ArrayList<>();
+    for (Segment segment : segments()) {
+      ArchiveFile.Header header = segment.header();
+      if (header.containsWallet(walletId)
+          && (after == null || !header.minCreatedAt().isAfter(after.createdAt()))
+          && (floor == null || !header.maxCreatedAt().isBefore(floor.createdAt()))) {
+        candidates.add(segment);
+      }
+    }
+    if (candidates.isEmpty()) {
+      return hot;
+    }
+    Map<Long, TransactionResponse> merged = new LinkedHashMap<>();
+    hot.forEach(row -> merged.put(row.id(), row));
+    for (Segment segment : candidates) {
+      for (TransactionResponse row : rows(segment)) {
+        if (row.walletId() == walletId
+            && (after == null || isAfter(row, after))
+            && (floor == null || NEWEST_FIRST.compare(row, floor) <= 0)) {
+          merged.putIfAbsent(row.id(), row);
+        }
+      }
+    }
+    return merged.values().stream().sorted(NEWEST_FIRST).limit(limit).toList();
+  }
+
+  Path directory() {
+    return directory;
+  }
+
+  /** Makes a written file visible to readers. */
+  void add(Path file, ArchiveFile.Header header) {
+    if (header.kind() != ArchiveFile.Kind.TRANSACTIONS) {
+      return;
+    }
+    loadLock.lock();
+    try {
+      List<Segment> files = segments();
+      if (files.stream().noneMatch(segment -> segment.file().equals(file))) {
+        files.add(new Segment(file, header));
+      }
+    } finally {
+      loadLock.unlock();
+    }
+  }
+
+  /** Hides a file again, after the run that wrote it failed. */
+  void remove(Path file) {
+    loadLock.lock();
+    try {
+      segments().removeIf(segment -> segment.file().equals(file));
+      decoded.invalidate(file);
+    } finally {
+      loadLock.unlock();
+    }
+  }
+
+  private List<Segment> segments() {
+    List<Segment> loaded = segments;
+    if (loaded != null && !refreshDue()) {
+      return loaded;
+    }
+    // Only the first load waits; later refreshes are left to whichever reader got the lock.
+    if (loaded == null) {
+      loadLock.lock();
+    } else if (!loadLock.tryLock()) {
+      return loaded;
+    }
+    try {
+      if (segments == null || refreshDue()) {
+        refresh();
+      }
+      return segments;
+    } finally {
+      loadLock.unlock();
+    }
+  }
+
+  /**
+   * Refreshes now if {@code archive_segments} has rows this instance has not seen. The count is a
+   * single query that takes no lock, so only a read that finds something new waits for the load.
+   */
+  private boolean refreshIfChanged() {
+    segments();
+    if (segmentRepository.countByTableName(TRANSACTIONS) == knownEntries) {
+      return false;
+    }
+    loadLock.lock();
+    try {
+      refresh();
+    } finally {
+      loadLock.unlock();
+    }
+    return true;
+  }
+
+  private boolean refreshDue() {
+    return System.nanoTime() - refreshedAt >= refreshNanos;
+  }
+
+  /**
+   * Adds files recorded in {@code archive_segments} since the last refresh. Committed files are
+   * never removed, so a changed row count is enough to tell that something is new.
+   */
+  private void refresh() {
+    long entries = segmentRepository.countByTableName(TRANSACTIONS);
+    if (segments == null || entries != knownEntries) {
+      List<Segment> files = segments == null ? new CopyOnWriteArrayList<>() : segments;
+      Set<Path> known = new HashSet<>();
+      files.forEach(segment -> known.add(segment.file()));
+      for (ArchiveSegment entry : segmentRepository.findByTableName(TRANSACTIONS)) {
+        Path file = directory.resolve(entry.getFile());
+        if (!known.add(file)) {
+          continue;
+        }
+        try {
+          files.add(new Segment(file, ArchiveFile.readHeader(file)));
+        } catch (IOException e) {
+          log.error("Archive file {} is unreadable; its transactions are not served", file, e);
+        }
+      }
+      knownEntries = entries;
+      segments = files;
+    }
+    refreshedAt = System.nanoTime();
+  }
+
+  private List<TransactionResponse> rows(Segment segment) {
+    return decoded.get(
+        segment.file(),
+        file -> {
+          fileReads.increment();
+          try {
+            return ArchiveFile.readTransactions(file);
+          } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive file " + file, e);
+          }
+        });
+  }
+
+  private Optional<TransactionResponse> findIn(List<Segment> files, long id) {
+    for (Segment segment : files) {
+      if (segment.header().mayContainId(id)) {
+        Optional<TransactionResponse> row = findById(rows(segment), id);
+        if (row.isPresent()) {
+          return row;
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  /** Binary search over rows sorted by id, as every file stores them. */
+  private static Optional<TransactionResponse> findById(List<TransactionResponse> rows, long id) {
+    int low = 0;
+    int high = rows.size() - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      long middleId = rows.get(middle).id();
+      if (middleId < id) {
+        low = middle + 1;
+      } else if (middleId > id) {
+        high = middle - 1;
+      } else {
+        return Optional.of(rows.get(middle));
+      }
+    }
+    return Optional.empty();
+  }
+
+  /** Whether {@code row} comes after {@code cursor} in newest-first order. */
+  private static boolean isAfter(TransactionResponse row, KeysetCursor cursor) {
+    int byTime = row.createdAt().compareTo(cursor.createdAt());
+    return byTime < 0 || (byTime == 0 && row.id() < cursor.id());
+  }
+
+  private record Segment(Path file, ArchiveFile.Header header) {}
+}
@@ -0,0 +1,343 @@
+package com.wallet.service.archive;
+
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionAuditAction;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.model.ArchiveSegment;
+import com.wallet.model.Money;
+import com.wallet.repository.ArchiveSegmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves finalized transactions and audit entries older than the horizon out of their tables into
+ * {@link ArchiveFile}s, one directory per table and month ({@code transactions/2024-01/}). The
+ * month is the archive's partition: a batch never mixes months, and each month only grows by new
+ * files.
+ *
+ * <p>A batch is written and forced to disk first, then registered with {@link TransactionArchive},
+ * and only then deleted from the table in the same transaction that records the file in {@code
+ * archive_segments}. If that transaction fails the file is removed again; a file left behind by a
+ * crash has no {@code archive_segments} row and is deleted on the next start. A row updated since
+ * it was read fails the batch, which is retried on the next run.
+ *
+ * <p>Reads and deletes go through plain JDBC, like the outbox relay.
+ */
+public class TransactionArchiver implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(TransactionArchiver.class);
+
+  private static final String SELECT_TRANSACTIONS_SQL =
+      "SELECT id, wallet_id, type, status, amount, opposite_party_type, opposite_party,"
+          + " created_at, processed_at, processed_by, linked_transaction_id, version"
+          + " FROM transactions WHERE status IN ('APPROVED', 'DENIED') AND created_at < ?"
+          + " ORDER BY created_at, id FETCH FIRST ? ROWS ONLY";
+  private static final String DELETE_TRANSACTION_SQL =
+      "DELETE FROM transactions WHERE id = ? AND version = ?";
+  private static final String SELECT_AUDIT_LOGS_SQL =
+      "SELECT id, transaction_id, action, actor_id, details, created_at"
+          + " FROM transaction_audit_logs WHERE created_at < ?"
+          + " ORDER BY created_at, id FETCH FIRST ? ROWS ONLY";
+  private static final String DELETE_AUDIT_LOG_SQL =
+      "DELETE FROM transaction_audit_logs WHERE id = ?";
+
+  private final TransactionArchive archive;
+  private final ArchiveSegmentRepository segmentRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration horizon;
+  private final Duration interval;
+  private final int batchSize;
+  private final Counter archivedTransactions;
+  private final Counter archivedAuditLogs;
+  private final Counter failures;
+  private final ReentrantLock archiveLock = new ReentrantLock();
+
+  private volatile boolean running;
+  private Thread worker;
+
+  public TransactionArchiver(
+      TransactionArchive archive,
+      ArchiveSegmentRepository segmentRepository,
+      JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      Duration horizon,
+      Duration interval,
+      int batchSize,
+      MeterRegistry meterRegistry) {
+    this.archive = archive;
+    this.segmentRepository = segmentRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.horizon = horizon;
+    this.interval = interval;
+    this.batchSize = batchSize;
+    this.archivedTransactions = archivedCounter(meterRegistry, TransactionArchive.TRANSACTIONS);
+    this.archivedAuditLogs = archivedCounter(meterRegistry, TransactionArchive.AUDIT_LOGS);
+    this.failures = meterRegistry.counter("wallet.archive.failures");
+  }
+
+  /** Archives every row past the horizon and returns how many rows left the tables. */
+  public int archive() {
+    archiveLock.lock();
+    try {
+      return archiveBefore(Timestamp.valueOf(LocalDateTime.now().minus(horizon)));
+    } finally {
+      archiveLock.unlock();
+    }
+  }
+
+  private int archiveBefore(Timestamp cutoff) {
+    int moved = 0;
+    List<Row<TransactionResponse>> transactions;
+    do {
+      transactions =
+          jdbcTemplate.query(SELECT_TRANSACTIONS_SQL, this::toTransaction, cutoff, batchSize);
+      for (List<Row<TransactionResponse>> month : byMonth(transactions)) {
+        moved += moveTransactions(month);
+      }
+    } while (transactions.size() == batchSize);
+    List<Row<ArchivedAuditLog>> auditLogs;
+    do {
+      auditLogs = jdbcTemplate.query(SELECT_AUDIT_LOGS_SQL, this::toAuditLog, cutoff, batchSize);
+      for (List<Row<ArchivedAuditLog>> month : byMonth(auditLogs)) {
+        moved += moveAuditLogs(month);
+      }
+    } while (auditLogs.size() == batchSize);
+    return moved;
+  }
+
+  @Override
+  public void start() {
+    deleteUncommittedFiles();
+    running = true;
+    worker = Thread.ofPlatform().name("transaction-archiver").daemon(true).start(this::runLoop);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (worker != null) {
+      worker.interrupt();
+      try {
+        worker.join(10_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private int moveTransactions(List<Row<TransactionResponse>> rows) {
+    List<TransactionResponse> values = rows.stream().map(Row::value).toList();
+    List<Object[]> deletes =
+        rows.stream().map(row -> new Object[] {row.value().id(), row.version()}).toList();
+    int moved =
+        move(
+            TransactionArchive.TRANSACTIONS,
+            rows,
+            file -> ArchiveFile.writeTransactions(file, values),
+            DELETE_TRANSACTION_SQL,
+            deletes);
+    archivedTransactions.increment(moved);
+    return moved;
+  }
+
+  private int moveAuditLogs(List<Row<ArchivedAuditLog>> rows) {
+    List<ArchivedAuditLog> values = rows.stream().map(Row::value).toList();
+    List<Object[]> deletes = rows.stream().map(row -> new Object[] {row.value().id()}).toList();
+    int moved =
+        move(
+            TransactionArchive.AUDIT_LOGS,
+            rows,
+            file -> ArchiveFile.writeAuditLogs(file, values),
+            DELETE_AUDIT_LOG_SQL,
+            deletes);
+    archivedAuditLogs.increment(moved);
+    return moved;
+  }
+
+  private int move(
+      String table,
+      List<? extends Row<?>> rows,
+      FileWriter writer,
+      String deleteSql,
+      List<Object[]> deletes) {
+    long minId = rows.stream().mapToLong(Row::id).min().orElseThrow();
+    long maxId = rows.stream().mapToLong(Row::id).max().orElseThrow();
+    String name =
+        table + "/" + rows.get(0).month() + "/" + minId + "-" + maxId + ArchiveFile.EXTENSION;
+    Path file = archive.directory().resolve(name);
+    ArchiveFile.Header header;
+    try {
+      header = writer.write(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write archive file " + file, e);
+    }
+    archive.add(file, header);
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            int[] deleted = jdbcTemplate.batchUpdate(deleteSql, deletes);
+            for (int count : deleted) {
+              if (count != 1) {
+                throw new IllegalStateException(
+                    "A row of " + name + " changed while it was archived");
+              }
+            }
+            segmentRepository.save(
+                new ArchiveSegment(name, table, rows.size(), LocalDateTime.now()));
+          });
+    } catch (RuntimeException e) {
+      archive.remove(file);
+      deleteQuietly(file);
+      throw e;
+    }
+    return rows.size();
+  }
+
+  private void runLoop() {
+    while (running) {
+      try {
+        int moved = archive();
+        if (moved > 0) {
+          log.info("Archived {} rows older than {}", moved, horizon);
+        }
+      } catch (RuntimeException e) {
+        failures.increment();
+        log.warn("Archival run failed, retrying in {}", interval, e);
+      }
+      try {
+        Thread.sleep(interval);
+      } catch (InterruptedException e) {
+        return;
+      }
+    }
+  }
+
+  /** Deletes files and temporary files that no committed run recorded. */
+  private void deleteUncommittedFiles() {
+    Path directory = archive.directory();
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    Set<Path> committed =
+        segmentRepository.findAll().stream()
+            .map(segment -> directory.resolve(segment.getFile()))
+            .collect(Collectors.toSet());
+    try (Stream<Path> files = Files.walk(directory)) {
+      files
+          .filter(Files::isRegularFile)
+          .filter(
+              file ->
+                  ArchiveFile.isTemporary(file)
+                      || (file.toString().endsWith(ArchiveFile.EXTENSION)
+                          && !committed.contains(file)))
+          .forEach(
+              file -> {
+                log.warn("Deleting archive file {} left by an unfinished run", file);
+                deleteQuietly(file);
+              });
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not scan archive directory " + directory, e);
+    }
+  }
+
+  private static <T> List<List<Row<T>>> byMonth(List<Row<T>> rows) {
+    // Rows arrive ordered by created_at, so each month is one run.
+    List<List<Row<T>>> months = new ArrayList<>();
+    List<Row<T>> current = null;
+    for (Row<T> row : rows) {
+      if (current == null || !current.get(0).month().equals(row.month())) {
+        current = new ArrayList<>();
+        months.add(current);
+      }
+      current.add(row);
+    }
+    return months;
+  }
+
+  private Row<TransactionResponse> toTransaction(ResultSet row, int rowNum) throws SQLException {
+    LocalDateTime createdAt = row.getTimestamp("created_at").toLocalDateTime();
+    Timestamp processedAt = row.getTimestamp("processed_at");
+    TransactionResponse transaction =
+        new TransactionResponse(
+            row.getLong("id"),
+            row.getLong("wallet_id"),
+            TransactionType.valueOf(row.getString("type")),
+            TransactionStatus.valueOf(row.getString("status")),
+            Money.ofMinorUnits(row.getLong("amount")),
+            OppositePartyType.valueOf(row.getString("opposite_party_type")),
+            row.getString("opposite_party"),
+            createdAt,
+            processedAt == null ? null : processedAt.toLocalDateTime(),
+            row.getObject("processed_by", Long.class),
+            row.getObject("linked_transaction_id", Long.class));
+    return new Row<>(transaction, transaction.id(), createdAt, row.getLong("version"));
+  }
+
+  private Row<ArchivedAuditLog> toAuditLog(ResultSet row, int rowNum) throws SQLException {
+    ArchivedAuditLog auditLog =
+        new ArchivedAuditLog(
+            row.getLong("id"),
+            row.getLong("transaction_id"),
+            TransactionAuditAction.valueOf(row.getString("action")),
+            row.getObject("actor_id", Long.class),
+            row.getString("details"),
+            row.getTimestamp("created_at").toLocalDateTime());
+    return new Row<>(auditLog, auditLog.id(), auditLog.createdAt(), 0);
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Could not delete archive file {}", file, e);
+    }
+  }
+
+  private static Counter archivedCounter(MeterRegistry meterRegistry, String table) {
+    return Counter.builder("wallet.archive.rows")
+        .description("Rows moved from their table to the archive")
+        .tag("table", table)
+        .register(meterRegistry);
+  }
+
+  private record Row<T>(T value, long id, LocalDateTime createdAt, long version) {
+    YearMonth month() {
+      return YearMonth.from(createdAt);
+    }
+  }
+
+  @FunctionalInterface
+  private interface FileWriter {
+    ArchiveFile.Header write(Path file) throws IOException;
+  }
+}
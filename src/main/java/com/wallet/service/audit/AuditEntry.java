@@ -0,0 +1,23 @@
+package com.wallet.service.audit;
+
+import com.wallet.enums.TransactionAuditAction;
+import com.wallet.model.TransactionAuditLog;
+import java.time.LocalDateTime;
+
+/** Immutable audit event as captured at call time; {@code createdAt} is not the flush time. */
+public record AuditEntry(
+    Long transactionId,
+    TransactionAuditAction action,
+    Long actorId,
+    String details,
+    LocalDateTime createdAt) {
+
+  public TransactionAuditLog toEntity() {
+    TransactionAuditLog log = new TransactionAuditLog();
+    log.setTransactionId(transactionId);
+    log.setAction(action);
+    log.setActorId(actorId);
+    log.setDetails(details);
+    return log;
+  }
+}
@@ -0,0 +1,12 @@
+package com.wallet.service.audit;
+
+import java.util.List;
+
+public interface AuditLogWriter {
+
+  void write(AuditEntry entry);
+
+  default void writeAll(List<AuditEntry> entries) {
+    entries.forEach(this::write);
+  }
+}
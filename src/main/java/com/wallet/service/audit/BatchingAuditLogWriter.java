@@ -0,0 +1,353 @@
+package com.wallet.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.model.TransactionAuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Moves audit inserts off the request path. The aspect enqueues into a bounded queue and a single
+ * background thread writes rows with JDBC batch inserts whenever {@code batchSize} entries are
+ * waiting or {@code flushIntervalMs} has passed.
+ *
+ * <p>Entries written inside a transaction are queued after it commits, never when it rolls back.
+ *
+ * <p>When the queue stays full for {@code offerTimeoutMs} the caller is pushed back on: it writes
+ * its own row synchronously, or appends it to the spill file when spilling is enabled. With
+ * spilling, batches that fail to insert also go to the spill file, which is replayed on startup and
+ * after the next successful flush. Without spilling a failed batch is logged and lost.
+ */
+public class BatchingAuditLogWriter implements AuditLogWriter, SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(BatchingAuditLogWriter.class);
+
+  private static final String INSERT_SQL =
+      "INSERT INTO transaction_audit_logs"
+          + " (id, transaction_id, action, actor_id, details, created_at)"
+          + " VALUES (?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final PooledLoIdAllocator ids;
+  private final ObjectMapper objectMapper;
+  private final BlockingQueue<AuditEntry> queue;
+  private final int batchSize;
+  private final long flushIntervalMs;
+  private final long offerTimeoutMs;
+  private final Path spillFile;
+  private final ReentrantLock spillLock = new ReentrantLock();
+  private final ThreadFactory workerThreads;
+
+  private final Timer flushTimer;
+  private final DistributionSummary batchSizes;
+  private final Counter backpressure;
+  private final Counter spilled;
+  private final Counter failures;
+
+  private volatile boolean running;
+  private volatile boolean spillPending;
+  private Thread worker;
+
+  public BatchingAuditLogWriter(
+      JdbcTemplate jdbcTemplate,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      int queueCapacity,
+      int batchSize,
+      long flushIntervalMs,
+      long offerTimeoutMs,
+      Path spillFile,
+      ThreadFactory workerThreads) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.ids =
+        new PooledLoIdAllocator(
+            jdbcTemplate, TransactionAuditLog.ID_SEQUENCE, TransactionAuditLog.ID_ALLOCATION_SIZE);
+    this.objectMapper = objectMapper;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.flushIntervalMs = flushIntervalMs;
+    this.offerTimeoutMs = offerTimeoutMs;
+    this.spillFile = spillFile;
+    this.workerThreads = workerThreads;
+    Gauge.builder("wallet.audit.queue.depth", queue, BlockingQueue::size)
+        .description("Audit entries waiting to be flushed")
+        .register(meterRegistry);
+    this.flushTimer =
+        Timer.builder("wallet.audit.flush.latency")
+            .description("Time spent writing one audit batch")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    this.batchSizes =
+        DistributionSummary.builder("wallet.audit.flush.batch.size").register(meterRegistry);
+    this.backpressure = meterRegistry.counter("wallet.audit.backpressure");
+    this.spilled = meterRegistry.counter("wallet.audit.spilled");
+    this.failures = meterRegistry.counter("wallet.audit.flush.failures");
+  }
+
+  @Override
+  public void write(AuditEntry entry) {
+    writeAll(List.of(entry));
+  }
+
+  /**
+   * Inside a transaction the entries are queued only once it commits, so a change that rolls back
+   * leaves no audit rows behind.
+   */
+  @Override
+  public void writeAll(List<AuditEntry> entries) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      enqueue(entries, false);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            enqueue(entries, true);
+          }
+        });
+  }
+
+  private void enqueue(List<AuditEntry> entries, boolean afterCommit) {
+    List<AuditEntry> rejected = new ArrayList<>();
+    for (AuditEntry entry : entries) {
+      if (!offer(entry)) {
+        rejected.add(entry);
+      }
+    }
+    if (rejected.isEmpty()) {
+      return;
+    }
+    // Queue is full (or we are shutting down): the caller pays for its own rows.
+    if (spillFile != null) {
+      spill(rejected);
+    } else if (afterCommit) {
+      // The committed transaction's connection is still bound to this thread, and an insert on it
+      // would never be committed, so the rows are written from a thread of their own.
+      Thread writer = workerThreads.newThread(() -> flush(rejected));
+      writer.start();
+      try {
+        writer.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    } else {
+      flush(rejected);
+    }
+  }
+
+  private boolean offer(AuditEntry entry) {
+    if (!running) {
+      return false;
+    }
+    try {
+      if (queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+        return true;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    backpressure.increment();
+    return false;
+  }
+
+  @Override
+  public void start() {
+    replaySpill();
+    running = true;
+    worker = workerThreads.newThread(this::drainLoop);
+    worker.start();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (worker != null) {
+      try {
+        worker.join(flushIntervalMs * 10 + 1000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  int queueDepth() {
+    return queue.size();
+  }
+
+  private void drainLoop() {
+    List<AuditEntry> batch = new ArrayList<>(batchSize);
+    long lastFlush = System.nanoTime();
+    long interval = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+    while (running || !queue.isEmpty()) {
+      try {
+        AuditEntry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first != null) {
+          batch.add(first);
+          queue.drainTo(batch, batchSize - batch.size());
+        }
+      } catch (InterruptedException e) {
+        log.warn("Audit writer interrupted, draining remaining entries");
+        running = false;
+      }
+      boolean due = System.nanoTime() - lastFlush >= interval;
+      if (batch.size() >= batchSize || (!batch.isEmpty() && (due || !running))) {
+        flush(batch);
+        batch = new ArrayList<>(batchSize);
+        lastFlush = System.nanoTime();
+      }
+    }
+    if (!batch.isEmpty()) {
+      flush(batch);
+    }
+  }
+
+  /** Inserts {@code batch}, spilling or dropping it on failure; never throws. */
+  private void flush(List<AuditEntry> batch) {
+    long start = System.nanoTime();
+    try {
+      insert(batch);
+    } catch (RuntimeException e) {
+      failures.increment();
+      spillOrDrop(batch, e);
+      return;
+    }
+    flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    batchSizes.record(batch.size());
+    if (spillPending) {
+      replaySpill();
+    }
+  }
+
+  private void spillOrDrop(List<AuditEntry> batch, RuntimeException cause) {
+    if (spillFile == null) {
+      log.error("Audit batch of {} failed and was dropped", batch.size(), cause);
+      return;
+    }
+    log.warn("Audit batch of {} failed, spilling to {}", batch.size(), spillFile, cause);
+    try {
+      spill(batch);
+    } catch (UncheckedIOException e) {
+      // The worker has to survive this, or every later request would wait on a full queue.
+      e.addSuppressed(cause);
+      log.error("Audit batch of {} could not be spilled either and was dropped", batch.size(), e);
+    }
+  }
+
+  private void insert(List<AuditEntry> batch) {
+    jdbcTemplate.batchUpdate(
+        INSERT_SQL,
+        batch,
+        batch.size(),
+        (ps, entry) -> {
+          ps.setLong(1, ids.nextId());
+          ps.setLong(2, entry.transactionId());
+          ps.setString(3, entry.action().name());
+          ps.setObject(4, entry.actorId(), Types.BIGINT);
+          ps.setString(5, entry.details());
+          ps.setTimestamp(6, Timestamp.valueOf(entry.createdAt()));
+        });
+  }
+
+  private void spill(List<AuditEntry> entries) {
+    spillLock.lock();
+    try (FileOutputStream out = new FileOutputStream(spillFile.toFile(), true)) {
+      for (AuditEntry entry : entries) {
+        out.write(objectMapper.writeValueAsBytes(entry));
+        out.write('\n');
+      }
+      out.getFD().sync();
+      spilled.increment(entries.size());
+      spillPending = true;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not spill audit entries to " + spillFile, e);
+    } finally {
+      spillLock.unlock();
+    }
+  }
+
+  /**
+   * Inserts the spill file's entries one batch at a time. Each inserted batch is cut from the file
+   * before the next one goes, so a failure part way leaves only the entries not yet in the table.
+   */
+  private void replaySpill() {
+    if (spillFile == null || !Files.exists(spillFile)) {
+      spillPending = false;
+      return;
+    }
+    spillLock.lock();
+    try {
+      List<String> lines =
+          Files.readAllLines(spillFile, StandardCharsets.UTF_8).stream()
+              .filter(line -> !line.isBlank())
+              .toList();
+      List<AuditEntry> entries = new ArrayList<>(lines.size());
+      for (String line : lines) {
+        entries.add(objectMapper.readValue(line, AuditEntry.class));
+      }
+      for (int from = 0; from < entries.size(); from += batchSize) {
+        int to = Math.min(entries.size(), from + batchSize);
+        insert(entries.subList(from, to));
+        rewriteSpill(lines.subList(to, lines.size()));
+      }
+      Files.deleteIfExists(spillFile);
+      spillPending = false;
+      if (!entries.isEmpty()) {
+        log.info("Replayed {} spilled audit entries from {}", entries.size(), spillFile);
+      }
+    } catch (IOException | RuntimeException e) {
+      // Keep what is left of the file; it is retried after the next successful flush.
+      spillPending = true;
+      log.warn("Could not replay audit spill file {}", spillFile, e);
+    } finally {
+      spillLock.unlock();
+    }
+  }
+
+  /** Replaces the spill file with {@code remaining}, atomically. */
+  private void rewriteSpill(List<String> remaining) throws IOException {
+    if (remaining.isEmpty()) {
+      Files.deleteIfExists(spillFile);
+      return;
+    }
+    Path temporary = spillFile.resolveSibling(spillFile.getFileName() + ".tmp");
+    try (FileOutputStream out = new FileOutputStream(temporary.toFile())) {
+      for (String line : remaining) {
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+      }
+      out.getFD().sync();
+    }
+    Files.move(
+        temporary, spillFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+}
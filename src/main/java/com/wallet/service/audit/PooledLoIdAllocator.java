@@ -0,0 +1,44 @@
+package com.wallet.service.audit;
+
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Hands out ids the way Hibernate's pooled-lo optimizer does: each sequence value {@code v}
+ * reserves the block {@code [v, v + blockSize)}, so rows written over plain JDBC can share a
+ * sequence with the entity without ever colliding and cost one round trip per block.
+ */
+public class PooledLoIdAllocator {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String nextValueSql;
+  private final int blockSize;
+  // Not synchronized: a virtual thread blocked on the sequence query would pin its carrier.
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private long next;
+  private long limit;
+
+  public PooledLoIdAllocator(JdbcTemplate jdbcTemplate, String sequenceName, int blockSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.nextValueSql = "SELECT NEXT VALUE FOR " + sequenceName;
+    this.blockSize = blockSize;
+  }
+
+  public long nextId() {
+    lock.lock();
+    try {
+      if (next == limit) {
+        Long low = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+        if (low == null) {
+          throw new IllegalStateException("Sequence returned no value: " + nextValueSql);
+        }
+        next = low;
+        limit = low + blockSize;
+      }
+      return next++;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
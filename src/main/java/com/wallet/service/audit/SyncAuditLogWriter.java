@@ -0,0 +1,24 @@
+package com.wallet.service.audit;
+
+import com.wallet.repository.TransactionAuditLogRepository;
+import java.util.List;
+
+/** Inserts the row inside the caller's request, exactly like the aspect always did. */
+public class SyncAuditLogWriter implements AuditLogWriter {
+
+  private final TransactionAuditLogRepository auditLogRepository;
+
+  public SyncAuditLogWriter(TransactionAuditLogRepository auditLogRepository) {
+    this.auditLogRepository = auditLogRepository;
+  }
+
+  @Override
+  public void write(AuditEntry entry) {
+    auditLogRepository.save(entry.toEntity());
+  }
+
+  @Override
+  public void writeAll(List<AuditEntry> entries) {
+    auditLogRepository.saveAll(entries.stream().map(AuditEntry::toEntity).toList());
+  }
+}
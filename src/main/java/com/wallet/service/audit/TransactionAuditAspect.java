@@ -1,14 +1,22 @@
 package com.wallet.service.audit;
 
 import com.wallet.dto.request.ApproveTransactionRequest;
+import com.wallet.dto.request.BulkStatusChangeRequest;
+import com.wallet.dto.request.BulkTransactionItem;
+import com.wallet.dto.request.BulkTransactionRequest;
 import com.wallet.dto.request.DepositRequest;
+import com.wallet.dto.request.TransferRequest;
 import com.wallet.dto.request.WithdrawRequest;
+import com.wallet.dto.response.BulkTransactionItemResult;
+import com.wallet.dto.response.BulkTransactionResponse;
 import com.wallet.dto.response.TransactionResponse;
+import com.wallet.dto.response.TransferResponse;
 import com.wallet.enums.TransactionAuditAction;
-import com.wallet.model.Customer;
-import com.wallet.model.TransactionAuditLog;
-import com.wallet.repository.TransactionAuditLogRepository;
+import com.wallet.enums.TransactionType;
 import com.wallet.service.CurrentCustomerService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
@@ -18,13 +26,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class TransactionAuditAspect {
 
-  private final TransactionAuditLogRepository auditLogRepository;
+  private final AuditLogWriter auditLogWriter;
   private final CurrentCustomerService currentCustomerService;
 
   public TransactionAuditAspect(
-      TransactionAuditLogRepository auditLogRepository,
-      CurrentCustomerService currentCustomerService) {
-    this.auditLogRepository = auditLogRepository;
+      AuditLogWriter auditLogWriter, CurrentCustomerService currentCustomerService) {
+    this.auditLogWriter = auditLogWriter;
     this.currentCustomerService = currentCustomerService;
   }
 
@@ -61,20 +68,95 @@ public class TransactionAuditAspect {
     persistLog(response.id(), TransactionAuditAction.STATUS_CHANGED, details);
   }
 
-  private void persistLog(Long transactionId, TransactionAuditAction action, String details) {
-    TransactionAuditLog log = new TransactionAuditLog();
-    log.setTransactionId(transactionId);
-    log.setAction(action);
-    log.setDetails(details);
-    Customer actor = null;
-    try {
-      actor = currentCustomerService.getCurrentCustomer();
-    } catch (Exception ignored) {
-      // Fallback to null actor (system-driven calls)
+  @AfterReturning(
+      value = "execution(* com.wallet.service.TransactionService.transfer(..))",
+      returning = "response")
+  public void logTransfer(JoinPoint joinPoint, TransferResponse response) {
+    TransferRequest request = (TransferRequest) joinPoint.getArgs()[0];
+    String details =
+        String.format(
+            "amount=%s, sourceWalletId=%s, targetWalletId=%s",
+            request.amount(), request.sourceWalletId(), request.targetWalletId());
+    Long actorId = currentCustomerService.findCurrentCustomerId().orElse(null);
+    LocalDateTime now = LocalDateTime.now();
+    auditLogWriter.writeAll(
+        List.of(
+            new AuditEntry(
+                response.debit().id(),
+                TransactionAuditAction.TRANSFER_CREATED,
+                actorId,
+                details,
+                now),
+            new AuditEntry(
+                response.credit().id(),
+                TransactionAuditAction.TRANSFER_CREATED,
+                actorId,
+                details,
+                now)));
+  }
+
+  @AfterReturning(
+      value = "execution(* com.wallet.service.TransactionService.applyBulk(..))",
+      returning = "response")
+  public void logBulk(JoinPoint joinPoint, BulkTransactionResponse response) {
+    List<BulkTransactionItem> items = ((BulkTransactionRequest) joinPoint.getArgs()[0]).items();
+    Long actorId = currentCustomerService.findCurrentCustomerId().orElse(null);
+    LocalDateTime now = LocalDateTime.now();
+    List<AuditEntry> entries = new ArrayList<>(response.applied());
+    for (BulkTransactionItemResult result : response.results()) {
+      if (result.outcome() != BulkTransactionItemResult.Outcome.APPLIED) {
+        continue;
+      }
+      BulkTransactionItem item = items.get(result.index());
+      boolean deposit = item.type() == TransactionType.DEPOSIT;
+      String details =
+          String.format(
+              deposit
+                  ? "amount=%s, sourceType=%s, source=%s, bulk=true"
+                  : "amount=%s, destinationType=%s, destination=%s, bulk=true",
+              item.amount(),
+              item.oppositePartyType(),
+              item.oppositeParty());
+      entries.add(
+          new AuditEntry(
+              result.transaction().id(),
+              deposit
+                  ? TransactionAuditAction.DEPOSIT_CREATED
+                  : TransactionAuditAction.WITHDRAW_CREATED,
+              actorId,
+              details,
+              now));
     }
-    if (actor != null) {
-      log.setActorId(actor.getId());
+    auditLogWriter.writeAll(entries);
+  }
+
+  @AfterReturning(
+      value = "execution(* com.wallet.service.TransactionService.approveOrDenyBulk(..))",
+      returning = "response")
+  public void logBulkStatusChange(JoinPoint joinPoint, BulkTransactionResponse response) {
+    BulkStatusChangeRequest request = (BulkStatusChangeRequest) joinPoint.getArgs()[0];
+    String details = "status=" + request.status().name() + ", bulk=true";
+    Long actorId = currentCustomerService.findCurrentCustomerId().orElse(null);
+    LocalDateTime now = LocalDateTime.now();
+    List<AuditEntry> entries = new ArrayList<>(response.applied());
+    for (BulkTransactionItemResult result : response.results()) {
+      if (result.outcome() == BulkTransactionItemResult.Outcome.APPLIED) {
+        entries.add(
+            new AuditEntry(
+                result.transaction().id(),
+                TransactionAuditAction.STATUS_CHANGED,
+                actorId,
+                details,
+                now));
+      }
     }
-    auditLogRepository.save(log);
+    auditLogWriter.writeAll(entries);
+  }
+
+  private void persistLog(Long transactionId, TransactionAuditAction action, String details) {
+    // Null actor for system-driven calls without an authenticated principal.
+    Long actorId = currentCustomerService.findCurrentCustomerId().orElse(null);
+    auditLogWriter.write(
+        new AuditEntry(transactionId, action, actorId, details, LocalDateTime.now()));
   }
 }
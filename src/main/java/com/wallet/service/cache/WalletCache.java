@@ -0,0 +1,160 @@
+package com.wallet.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wallet.config.WalletCacheProperties;
+import com.wallet.dto.response.WalletResponse;
+import com.wallet.service.replica.ReplicaReadScope;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache for wallet views and for the wallet ids of each customer. Entries carry the
+ * wallet's {@code @Version}. A committed write leaves behind the version it produced, and a reader
+ * that loaded an older row before that commit cannot put it back afterwards.
+ */
+@Component
+public class WalletCache {
+
+  private final boolean enabled;
+  private final Cache<Long, Entry> wallets;
+  private final Cache<Long, Long> versionFloors;
+  private final Cache<Long, List<Long>> customerWallets;
+  private final AtomicLong listGeneration = new AtomicLong();
+  private final Counter staleRejections;
+
+  public WalletCache(WalletCacheProperties properties, MeterRegistry meterRegistry) {
+    this.enabled = properties.isEnabled();
+    this.wallets =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfterWrite(properties.getTtl())
+            .recordStats()
+            .build();
+    this.versionFloors =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfterWrite(properties.getTtl())
+            .build();
+    this.customerWallets =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfterWrite(properties.getTtl())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, wallets, "wallets");
+    CaffeineCacheMetrics.monitor(meterRegistry, customerWallets, "customer-wallets");
+    this.staleRejections = meterRegistry.counter("wallet.cache.stale.rejected");
+  }
+
+  public Optional<WalletResponse> get(Long walletId) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(wallets.getIfPresent(walletId)).map(Entry::wallet);
+  }
+
+  /**
+   * Caches a committed view. Ignored inside a transaction, whose reads may include its own
+   * uncommitted writes, when a newer version has already been committed, and for rows read from the
+   * replica, which may predate a commit this cache has already been told about.
+   */
+  public void put(WalletResponse wallet, Long version) {
+    if (!enabled || version == null || inTransaction() || ReplicaReadScope.servedByReplica()) {
+      return;
+    }
+    Entry candidate = new Entry(wallet, version);
+    // Runs under the key's lock, which evict() also takes after raising the floor.
+    Entry stored =
+        wallets
+            .asMap()
+            .compute(
+                wallet.id(),
+                (id, current) -> {
+                  Long floor = versionFloors.getIfPresent(id);
+                  if ((floor != null && version < floor)
+                      || (current != null && version < current.version())) {
+                    return current;
+                  }
+                  return candidate;
+                });
+    if (stored != candidate) {
+      staleRejections.increment();
+    }
+  }
+
+  public Optional<List<Long>> walletIdsOf(Long customerId) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(customerWallets.getIfPresent(customerId));
+  }
+
+  /** Token to pass to {@link #putWalletIds}; take it before querying the database. */
+  public long listGeneration() {
+    return listGeneration.get();
+  }
+
+  public void putWalletIds(Long customerId, List<Long> walletIds, long generation) {
+    if (!enabled || inTransaction() || ReplicaReadScope.servedByReplica()) {
+      return;
+    }
+    List<Long> ids = List.copyOf(walletIds);
+    customerWallets
+        .asMap()
+        .compute(customerId, (id, current) -> listGeneration.get() == generation ? ids : current);
+  }
+
+  /** Drops the wallet once the surrounding transaction commits {@code committedVersion}. */
+  public void evictAfterCommit(Long walletId, Long committedVersion) {
+    afterCommit(() -> evict(walletId, committedVersion));
+  }
+
+  /** Drops the customer's wallet list once the surrounding transaction commits. */
+  public void evictWalletIdsAfterCommit(Long customerId) {
+    afterCommit(
+        () -> {
+          listGeneration.incrementAndGet();
+          customerWallets.invalidate(customerId);
+        });
+  }
+
+  private void evict(Long walletId, Long committedVersion) {
+    if (committedVersion == null) {
+      wallets.invalidate(walletId);
+      return;
+    }
+    versionFloors.asMap().merge(walletId, committedVersion, Math::max);
+    wallets
+        .asMap()
+        .computeIfPresent(
+            walletId, (id, current) -> current.version() >= committedVersion ? current : null);
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  private static boolean inTransaction() {
+    return TransactionSynchronizationManager.isActualTransactionActive();
+  }
+
+  private record Entry(WalletResponse wallet, long version) {}
+}
@@ -0,0 +1,32 @@
+package com.wallet.service.cache;
+
+import com.wallet.model.Wallet;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached wallet state for every entity write: balance changes from the entity writer and
+ * settings updates. A new wallet evicts its owner's wallet list. The atomic balance writer bypasses
+ * the entity and evicts on its own.
+ */
+@Component
+public class WalletCacheInvalidationListener {
+
+  private final WalletCache walletCache;
+
+  public WalletCacheInvalidationListener(WalletCache walletCache) {
+    this.walletCache = walletCache;
+  }
+
+  @PostUpdate
+  public void onUpdate(Wallet wallet) {
+    // Hibernate has already incremented the version for the UPDATE it just ran.
+    walletCache.evictAfterCommit(wallet.getId(), wallet.getVersion());
+  }
+
+  @PostPersist
+  public void onPersist(Wallet wallet) {
+    walletCache.evictWalletIdsAfterCommit(wallet.getCustomer().getId());
+  }
+}
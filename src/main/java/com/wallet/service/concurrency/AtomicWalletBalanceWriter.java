@@ -0,0 +1,45 @@
+package com.wallet.service.concurrency;
+
+import com.wallet.exception.InsufficientBalanceException;
+import com.wallet.model.Wallet;
+import com.wallet.repository.WalletRepository;
+import com.wallet.service.cache.WalletCache;
+import com.wallet.service.strategy.BalanceDelta;
+import java.time.LocalDateTime;
+
+/**
+ * Applies the delta with a single conditional {@code UPDATE}. The database adds the amounts to
+ * whatever is committed at that moment, so concurrent writers on one wallet no longer abort each
+ * other, and the {@code usable_balance} guard in the WHERE clause is the authoritative
+ * insufficient-balance check. The loaded entity is left untouched (and therefore stale) on purpose:
+ * dirtying it would make Hibernate flush an UPDATE with the old version.
+ */
+public class AtomicWalletBalanceWriter implements WalletBalanceWriter {
+
+  private final WalletRepository walletRepository;
+  private final WalletCache walletCache;
+
+  public AtomicWalletBalanceWriter(WalletRepository walletRepository, WalletCache walletCache) {
+    this.walletRepository = walletRepository;
+    this.walletCache = walletCache;
+  }
+
+  @Override
+  public void apply(Wallet wallet, BalanceDelta delta) {
+    int updated =
+        walletRepository.applyBalanceDelta(
+            wallet.getId(),
+            delta.balance().minorUnits(),
+            delta.usableBalance().minorUnits(),
+            LocalDateTime.now());
+    if (updated == 0) {
+      if (delta.reducesUsableBalance()) {
+        throw new InsufficientBalanceException();
+      }
+      throw new IllegalStateException("Wallet disappeared while updating: " + wallet.getId());
+    }
+    // Our UPDATE holds the row lock until commit, so this is exactly the version we will commit.
+    walletCache.evictAfterCommit(
+        wallet.getId(), walletRepository.findVersionById(wallet.getId()).orElse(null));
+  }
+}
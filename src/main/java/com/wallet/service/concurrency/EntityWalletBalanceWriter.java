@@ -0,0 +1,21 @@
+package com.wallet.service.concurrency;
+
+import com.wallet.model.Wallet;
+import com.wallet.repository.WalletRepository;
+import com.wallet.service.strategy.BalanceDelta;
+
+/** Read-modify-write on the managed entity; the {@code @Version} check happens at flush. */
+public class EntityWalletBalanceWriter implements WalletBalanceWriter {
+
+  private final WalletRepository walletRepository;
+
+  public EntityWalletBalanceWriter(WalletRepository walletRepository) {
+    this.walletRepository = walletRepository;
+  }
+
+  @Override
+  public void apply(Wallet wallet, BalanceDelta delta) {
+    delta.applyTo(wallet);
+    walletRepository.save(wallet);
+  }
+}
@@ -0,0 +1,10 @@
+package com.wallet.service.concurrency;
+
+/** Takes no lock at all and leaves conflict detection to the {@code @Version} column on wallets. */
+public class OptimisticWalletLockManager implements WalletLockManager {
+
+  @Override
+  public void lock(Long walletId) {
+    // nothing to do, concurrent writers are rejected at flush time
+  }
+}
@@ -0,0 +1,34 @@
+package com.wallet.service.concurrency;
+
+import com.wallet.exception.WalletNotFoundException;
+import com.wallet.model.Wallet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.util.Map;
+
+/**
+ * Row-level {@code SELECT ... FOR UPDATE} on the wallet. Works across JVMs, at the cost of holding
+ * a database lock (and a pooled connection) while the writer waits, for at most {@code
+ * lockTimeoutMs}.
+ */
+public class PessimisticWalletLockManager implements WalletLockManager {
+
+  static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+
+  private final EntityManager entityManager;
+  private final Map<String, Object> lockHints;
+
+  public PessimisticWalletLockManager(EntityManager entityManager, long lockTimeoutMs) {
+    this.entityManager = entityManager;
+    this.lockHints = Map.of(LOCK_TIMEOUT_HINT, lockTimeoutMs);
+  }
+
+  @Override
+  public void lock(Long walletId) {
+    // The locked instance stays in the persistence context, so later findById calls reuse it.
+    if (entityManager.find(Wallet.class, walletId, LockModeType.PESSIMISTIC_WRITE, lockHints)
+        == null) {
+      throw new WalletNotFoundException(walletId);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package com.wallet.service.concurrency;
+
+import com.wallet.exception.WalletLockTimeoutException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-JVM lock striping keyed by wallet id. Hot wallets queue up on a {@link ReentrantLock} instead
+ * of racing each other into optimistic-lock failures. Only valid while the app runs as a single
+ * instance; use the pessimistic mode when several nodes share the database.
+ */
+public class StripedWalletLockManager implements WalletLockManager {
+
+  private final ReentrantLock[] stripes;
+  private final long timeoutMs;
+
+  public StripedWalletLockManager(int stripeCount, long timeoutMs) {
+    if (stripeCount < 1) {
+      throw new IllegalArgumentException("stripeCount must be positive");
+    }
+    this.stripes = new ReentrantLock[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+    this.timeoutMs = timeoutMs;
+  }
+
+  @Override
+  public void lock(Long walletId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      throw new IllegalStateException("Wallet locks must be taken inside a transaction");
+    }
+    Lock lock = stripeFor(walletId);
+    acquire(lock, walletId);
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            lock.unlock();
+          }
+        });
+  }
+
+  /**
+   * Ascending wallet ids can still map to stripes in opposite orders, so the distinct stripes are
+   * locked in stripe order instead. Wallets sharing a stripe take it once.
+   */
+  @Override
+  public void lockAll(Collection<Long> walletIds) {
+    Map<Integer, Long> walletByStripe = new TreeMap<>();
+    for (Long walletId : walletIds) {
+      walletByStripe.putIfAbsent(stripeIndex(walletId), walletId);
+    }
+    walletByStripe.values().forEach(this::lock);
+  }
+
+  public Lock stripeFor(Long walletId) {
+    return stripes[stripeIndex(walletId)];
+  }
+
+  private int stripeIndex(Long walletId) {
+    // Spread the bits so sequential ids do not all land on neighbouring stripes.
+    int hash = Long.hashCode(walletId);
+    hash ^= (hash >>> 16);
+    return Math.floorMod(hash, stripes.length);
+  }
+
+  public int stripeCount() {
+    return stripes.length;
+  }
+
+  private void acquire(Lock lock, Long walletId) {
+    try {
+      if (!lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+        throw new WalletLockTimeoutException(walletId);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new WalletLockTimeoutException(walletId);
+    }
+  }
+}
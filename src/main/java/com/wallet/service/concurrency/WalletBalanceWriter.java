@@ -0,0 +1,10 @@
+package com.wallet.service.concurrency;
+
+import com.wallet.model.Wallet;
+import com.wallet.service.strategy.BalanceDelta;
+
+/** Persists the balance effect a strategy computed for a wallet. */
+public interface WalletBalanceWriter {
+
+  void apply(Wallet wallet, BalanceDelta delta);
+}
@@ -0,0 +1,22 @@
+package com.wallet.service.concurrency;
+
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * Serializes balance mutations on a wallet. A lock taken through {@link #lock(Long)} is held until
+ * the surrounding database transaction completes, so the next writer always reads the committed
+ * balance of the previous one.
+ */
+public interface WalletLockManager {
+
+  void lock(Long walletId);
+
+  /**
+   * Locks several wallets in ascending id order. Every caller that needs more than one wallet goes
+   * through here, so two transactions can never hold each other's next lock.
+   */
+  default void lockAll(Collection<Long> walletIds) {
+    new TreeSet<>(walletIds).forEach(this::lock);
+  }
+}
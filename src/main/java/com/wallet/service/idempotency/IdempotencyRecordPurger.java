@@ -0,0 +1,82 @@
+package com.wallet.service.idempotency;
+
+import com.wallet.config.IdempotencyProperties;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes {@code idempotency_records} older than the retention period, so the table only holds keys
+ * a client may still retry. A retry after that runs as a new request.
+ */
+@Component
+public class IdempotencyRecordPurger implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(IdempotencyRecordPurger.class);
+
+  private static final String PURGE_SQL = "DELETE FROM idempotency_records WHERE created_at < ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Duration retention;
+  private final Duration interval;
+
+  private volatile boolean running;
+  private Thread worker;
+
+  public IdempotencyRecordPurger(JdbcTemplate jdbcTemplate, IdempotencyProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.retention = properties.getRetention();
+    this.interval = properties.getPurgeInterval();
+  }
+
+  /** Deletes records older than the retention period and returns how many were removed. */
+  public int purgeExpired() {
+    return jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    worker = Thread.ofPlatform().name("idempotency-purge").daemon(true).start(this::purgeLoop);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (worker != null) {
+      worker.interrupt();
+      try {
+        worker.join(10_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void purgeLoop() {
+    while (running) {
+      try {
+        Thread.sleep(interval);
+        int purged = purgeExpired();
+        if (purged > 0) {
+          log.info("Purged {} idempotency records older than {}", purged, retention);
+        }
+      } catch (InterruptedException e) {
+        return;
+      } catch (DataAccessException e) {
+        log.warn("Idempotency record purge failed, retrying in {}", interval, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package com.wallet.service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wallet.config.IdempotencyProperties;
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.enums.TransactionType;
+import com.wallet.exception.IdempotencyKeyInProgressException;
+import com.wallet.exception.IdempotencyKeyReusedException;
+import com.wallet.exception.InvalidIdempotencyKeyException;
+import com.wallet.model.IdempotencyRecord;
+import com.wallet.repository.IdempotencyRecordRepository;
+import com.wallet.service.CurrentCustomerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs a deposit/withdraw at most once per caller and {@code Idempotency-Key}. A retry is answered
+ * from an in-memory cache, then from {@code idempotency_records}; a duplicate that arrives while
+ * the first request is still running waits for its result instead of racing it. The response is
+ * stored in the same database transaction as the balance change, so a committed transaction always
+ * has its record and the unique constraint rejects a second execution on another node.
+ */
+@Service
+public class IdempotencyService {
+
+  static final int MAX_KEY_LENGTH = 255;
+
+  private final IdempotencyRecordRepository recordRepository;
+  private final CurrentCustomerService currentCustomerService;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final Duration inFlightTimeout;
+  private final Cache<Key, StoredResponse> responses;
+  private final ConcurrentMap<Key, CompletableFuture<StoredResponse>> inFlight =
+      new ConcurrentHashMap<>();
+
+  public IdempotencyService(
+      IdempotencyRecordRepository recordRepository,
+      CurrentCustomerService currentCustomerService,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper,
+      IdempotencyProperties properties,
+      MeterRegistry meterRegistry) {
+    this.recordRepository = recordRepository;
+    this.currentCustomerService = currentCustomerService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.objectMapper = objectMapper;
+    this.inFlightTimeout = properties.getInFlightTimeout();
+    this.responses =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getCacheSize())
+            .expireAfterWrite(properties.getCacheTtl())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency");
+  }
+
+  /**
+   * Executes {@code action} unless {@code idempotencyKey} was already used by the caller, in which
+   * case the stored response is returned. Without a key the action simply runs. A failed action
+   * stores nothing, so the key can be retried.
+   */
+  public IdempotentResult execute(
+      String idempotencyKey,
+      TransactionType operation,
+      Object request,
+      Supplier<TransactionResponse> action) {
+    if (idempotencyKey == null) {
+      return new IdempotentResult(action.get(), false);
+    }
+    if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+      throw new InvalidIdempotencyKeyException(
+          "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+    }
+    Key key = new Key(currentCustomerId(), idempotencyKey);
+    String requestHash = hash(operation, request);
+    while (true) {
+      StoredResponse cached = responses.getIfPresent(key);
+      if (cached != null) {
+        return replay(key, cached, requestHash);
+      }
+      CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+      CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, mine);
+      if (running == null) {
+        return runFirst(key, operation, requestHash, action, mine);
+      }
+      StoredResponse first = await(key, running);
+      if (first != null) {
+        return replay(key, first, requestHash);
+      }
+      // The first request failed and stored nothing; try again, possibly as the new owner.
+    }
+  }
+
+  private IdempotentResult runFirst(
+      Key key,
+      TransactionType operation,
+      String requestHash,
+      Supplier<TransactionResponse> action,
+      CompletableFuture<StoredResponse> mine) {
+    StoredResponse stored = null;
+    try {
+      Optional<StoredResponse> existing = findStored(key);
+      if (existing.isPresent()) {
+        stored = existing.get();
+        responses.put(key, stored);
+        return replay(key, stored, requestHash);
+      }
+      TransactionResponse response =
+          transactionTemplate.execute(
+              status -> {
+                TransactionResponse created = action.get();
+                recordRepository.saveAndFlush(record(key, operation, requestHash, created));
+                return created;
+              });
+      stored = new StoredResponse(requestHash, response);
+      responses.put(key, stored);
+      return new IdempotentResult(response, false);
+    } catch (DataIntegrityViolationException ex) {
+      // Another node committed the same key first; its transaction stands, ours rolled back.
+      stored = findStored(key).orElseThrow(() -> ex);
+      responses.put(key, stored);
+      return replay(key, stored, requestHash);
+    } finally {
+      inFlight.remove(key, mine);
+      mine.complete(stored);
+    }
+  }
+
+  private StoredResponse await(Key key, CompletableFuture<StoredResponse> running) {
+    try {
+      return running.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      throw new IdempotencyKeyInProgressException(key.idempotencyKey());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IdempotencyKeyInProgressException(key.idempotencyKey());
+    } catch (ExecutionException ex) {
+      // runFirst only ever completes normally.
+      throw new IllegalStateException(ex.getCause());
+    }
+  }
+
+  private IdempotentResult replay(Key key, StoredResponse stored, String requestHash) {
+    if (!stored.requestHash().equals(requestHash)) {
+      throw new IdempotencyKeyReusedException(key.idempotencyKey());
+    }
+    return new IdempotentResult(stored.response(), true);
+  }
+
+  private Optional<StoredResponse> findStored(Key key) {
+    return recordRepository
+        .findByCustomerIdAndIdempotencyKey(key.customerId(), key.idempotencyKey())
+        .map(
+            record ->
+                new StoredResponse(
+                    record.getRequestHash(),
+                    read(record.getResponseBody(), TransactionResponse.class)));
+  }
+
+  private IdempotencyRecord record(
+      Key key, TransactionType operation, String requestHash, TransactionResponse response) {
+    IdempotencyRecord record = new IdempotencyRecord();
+    record.setCustomerId(key.customerId());
+    record.setIdempotencyKey(key.idempotencyKey());
+    record.setOperation(operation);
+    record.setRequestHash(requestHash);
+    record.setResponseBody(write(response));
+    return record;
+  }
+
+  private Long currentCustomerId() {
+    return currentCustomerService
+        .findCurrentCustomerId()
+        .orElseGet(() -> currentCustomerService.getCurrentCustomer().getId());
+  }
+
+  private String hash(TransactionType operation, Object request) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(operation.name().getBytes(StandardCharsets.UTF_8));
+      digest.update(objectMapper.writeValueAsBytes(request));
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+      throw new IllegalStateException("Cannot fingerprint request", ex);
+    }
+  }
+
+  private String write(Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Cannot serialize response", ex);
+    }
+  }
+
+  private <T> T read(String json, Class<T> type) {
+    try {
+      return objectMapper.readValue(json, type);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Cannot read stored response", ex);
+    }
+  }
+
+  /** Keys are scoped per caller, so two customers can never see each other's responses. */
+  private record Key(Long customerId, String idempotencyKey) {}
+
+  private record StoredResponse(String requestHash, TransactionResponse response) {}
+}
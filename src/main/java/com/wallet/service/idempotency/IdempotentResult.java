@@ -0,0 +1,6 @@
+package com.wallet.service.idempotency;
+
+import com.wallet.dto.response.TransactionResponse;
+
+/** {@code replayed} is set when the response was stored by an earlier request with the same key. */
+public record IdempotentResult(TransactionResponse response, boolean replayed) {}
@@ -0,0 +1,60 @@
+package com.wallet.service.ledger;
+
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.dto.response.WalletResponse;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.model.Money;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/** A change queued on the shard that owns its wallet, completed once it is durable in the log. */
+sealed interface LedgerCommand {
+
+  long walletId();
+
+  Result result();
+
+  /** Creates a deposit or withdraw; {@code wallet} is the access-checked view of the request. */
+  record Create(
+      WalletResponse wallet,
+      TransactionType type,
+      Money amount,
+      OppositePartyType oppositePartyType,
+      String oppositeParty,
+      boolean shoppingPayment,
+      TransactionStatus status,
+      Result result)
+      implements LedgerCommand {
+
+    @Override
+    public long walletId() {
+      return wallet.id();
+    }
+  }
+
+  /** Approves or denies a pending transaction of the wallet. */
+  record ChangeStatus(
+      long walletId, long transactionId, TransactionStatus status, Long actorId, Result result)
+      implements LedgerCommand {}
+
+  /**
+   * The command's outcome. Until the shard takes the command up, the caller may withdraw it
+   * instead; exactly one of the two wins, so a withdrawn command is never applied.
+   */
+  final class Result extends CompletableFuture<TransactionResponse> {
+
+    private final AtomicBoolean decided = new AtomicBoolean();
+
+    /** Called by the shard before applying the command; {@code false} if it was withdrawn. */
+    boolean take() {
+      return decided.compareAndSet(false, true);
+    }
+
+    /** Called by a caller that stops waiting; {@code false} if the shard already took it. */
+    boolean withdraw() {
+      return decided.compareAndSet(false, true);
+    }
+  }
+}
@@ -0,0 +1,306 @@
+package com.wallet.service.ledger;
+
+import com.wallet.config.LedgerProperties;
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.dto.response.WalletResponse;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.exception.InvalidTransactionStatusException;
+import com.wallet.exception.WalletLockTimeoutException;
+import com.wallet.model.Money;
+import com.wallet.repository.WalletRepository;
+import com.wallet.repository.WalletTransactionRepository;
+import com.wallet.service.strategy.TransactionStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Keeps wallet balances in memory and applies deposits, withdraws and approvals there instead of in
+ * a database transaction per request. Wallets are spread over {@link LedgerShard}s by id; each
+ * shard applies its commands on one thread with the unchanged {@link TransactionStrategy} rules and
+ * answers once the change is forced to its write-ahead log. A background snapshotter writes logged
+ * changes to the tables through {@link LedgerSnapshotWriter}, so database reads lag by about one
+ * snapshot interval.
+ *
+ * <p>On start, records the database has not seen yet are replayed from the logs before any shard
+ * takes a command. Balances live in one process, so the ledger supports a single instance only.
+ */
+public class LedgerEngine implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(LedgerEngine.class);
+
+  private static final int SNAPSHOT_CHUNK = 5000;
+
+  private final LedgerProperties properties;
+  private final Map<TransactionType, TransactionStrategy> strategies;
+  private final WalletRepository walletRepository;
+  private final WalletTransactionRepository transactionRepository;
+  private final LedgerSnapshotWriter snapshotWriter;
+  private final LongSupplier transactionIds;
+  private final Path walDirectory;
+  private final Map<Long, Long> pendingWallets = new ConcurrentHashMap<>();
+  private final List<LedgerShard> shards = new ArrayList<>();
+  private final List<List<LedgerRecord>> snapshotBacklog = new ArrayList<>();
+
+  private final DistributionSummary groupCommitSize;
+  private final Timer syncTimer;
+  private final Counter snapshotFailures;
+
+  private volatile boolean running;
+  private Thread snapshotter;
+
+  public LedgerEngine(
+      LedgerProperties properties,
+      List<TransactionStrategy> strategies,
+      WalletRepository walletRepository,
+      WalletTransactionRepository transactionRepository,
+      LedgerSnapshotWriter snapshotWriter,
+      LongSupplier transactionIds,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.strategies =
+        strategies.stream()
+            .collect(
+                Collectors.toUnmodifiableMap(TransactionStrategy::getType, Function.identity()));
+    this.walletRepository = walletRepository;
+    this.transactionRepository = transactionRepository;
+    this.snapshotWriter = snapshotWriter;
+    this.transactionIds = transactionIds;
+    this.walDirectory = Path.of(properties.getWalDirectory());
+    this.groupCommitSize =
+        DistributionSummary.builder("wallet.ledger.group.commit.size")
+            .description("Commands made durable by one forced write of a shard's log")
+            .register(meterRegistry);
+    this.syncTimer =
+        Timer.builder("wallet.ledger.wal.sync")
+            .description("Time spent forcing a shard's log to the device")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    this.snapshotFailures = meterRegistry.counter("wallet.ledger.snapshot.failures");
+    Gauge.builder("wallet.ledger.snapshot.backlog", this, LedgerEngine::snapshotBacklogSize)
+        .description("Logged changes not yet written to the database")
+        .register(meterRegistry);
+  }
+
+  /** Applies a new deposit or withdraw to {@code wallet}, which the caller has access-checked. */
+  public TransactionResponse create(
+      WalletResponse wallet,
+      TransactionType type,
+      Money amount,
+      OppositePartyType oppositePartyType,
+      String oppositeParty,
+      boolean shoppingPayment,
+      TransactionStatus status) {
+    return execute(
+        new LedgerCommand.Create(
+            wallet,
+            type,
+            amount,
+            oppositePartyType,
+            oppositeParty,
+            shoppingPayment,
+            status,
+            new LedgerCommand.Result()));
+  }
+
+  /** Approves or denies a pending transaction on behalf of {@code actorId}. */
+  public TransactionResponse changeStatus(
+      Long transactionId, TransactionStatus status, Long actorId) {
+    Long walletId = pendingWallets.get(transactionId);
+    if (walletId == null) {
+      walletId =
+          transactionRepository
+              .findWalletIdById(transactionId)
+              .orElseThrow(() -> new InvalidTransactionStatusException("Transaction not found"));
+    }
+    return execute(
+        new LedgerCommand.ChangeStatus(
+            walletId, transactionId, status, actorId, new LedgerCommand.Result()));
+  }
+
+  /**
+   * Writes every logged change to the database now; the snapshotter does the same on its interval.
+   */
+  public void snapshot() {
+    synchronized (snapshotBacklog) {
+      for (LedgerShard shard : shards) {
+        List<LedgerRecord> backlog = snapshotBacklog.get(shard.index());
+        LedgerRecord record;
+        while (backlog.size() < SNAPSHOT_CHUNK && (record = shard.unsnapshotted().poll()) != null) {
+          backlog.add(record);
+        }
+        if (backlog.isEmpty()) {
+          continue;
+        }
+        // A failed write keeps the backlog, and its order, for the next round.
+        snapshotWriter.write(shard.index(), backlog);
+        shard.snapshotted(backlog);
+        backlog.clear();
+      }
+    }
+  }
+
+  @Override
+  public void start() {
+    int shardCount = properties.getShards();
+    int segmentBytes = Math.toIntExact(properties.getSegmentSize().toBytes());
+    for (int index = 0; index < shardCount; index++) {
+      long nextLsn = recover(index);
+      LedgerShard shard =
+          new LedgerShard(
+              index,
+              new WriteAheadLog(walDirectory, index, segmentBytes),
+              nextLsn,
+              strategies,
+              walletRepository::findViewById,
+              transactionRepository::findById,
+              transactionIds,
+              pendingWallets,
+              properties.getMaxBatch(),
+              groupCommitSize,
+              syncTimer);
+      shards.add(shard);
+      snapshotBacklog.add(new ArrayList<>());
+    }
+    shards.forEach(LedgerShard::start);
+    running = true;
+    snapshotter =
+        Thread.ofPlatform().name("ledger-snapshot").daemon(true).start(this::snapshotLoop);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    shards.forEach(shard -> shard.stop(properties.getCommandTimeoutMs()));
+    if (snapshotter != null) {
+      snapshotter.interrupt();
+      try {
+        snapshotter.join(properties.getCommandTimeoutMs());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    try {
+      drain();
+    } catch (RuntimeException e) {
+      // Nothing is lost: the next start replays the logs.
+      log.warn("Final ledger snapshot failed; the log will be replayed on startup", e);
+      return;
+    }
+    // The database holds every record, so a clean stop leaves no log for the next version to read.
+    for (LedgerShard shard : shards) {
+      if (shard.stopped()) {
+        WriteAheadLog.deleteAll(walDirectory, shard.index());
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Writes the shard's records after its checkpoint to the database, then deletes its log. Returns
+   * the lsn the shard continues from.
+   */
+  private long recover(int shard) {
+    long checkpoint = snapshotWriter.checkpoint(shard);
+    List<LedgerRecord> replay =
+        WriteAheadLog.read(walDirectory, shard).stream()
+            .filter(record -> record.lsn() > checkpoint)
+            .toList();
+    for (int from = 0; from < replay.size(); from += SNAPSHOT_CHUNK) {
+      snapshotWriter.write(
+          shard, replay.subList(from, Math.min(from + SNAPSHOT_CHUNK, replay.size())));
+    }
+    if (!replay.isEmpty()) {
+      log.info("Replayed {} ledger records of shard {} from its log", replay.size(), shard);
+    }
+    WriteAheadLog.deleteAll(walDirectory, shard);
+    return (replay.isEmpty() ? checkpoint : replay.get(replay.size() - 1).lsn()) + 1;
+  }
+
+  /**
+   * Waits for the command's outcome. A command still queued after {@code command-timeout-ms} is
+   * withdrawn and the request fails with 409, so a retry cannot apply it twice; one the shard has
+   * already taken up is waited for, since it is moments away from being durable.
+   */
+  private TransactionResponse execute(LedgerCommand command) {
+    shards.get(shardOf(command.walletId())).submit(command);
+    try {
+      try {
+        return command.result().get(properties.getCommandTimeoutMs(), TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        if (command.result().withdraw()) {
+          throw new WalletLockTimeoutException(command.walletId());
+        }
+        return command.result().get();
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      command.result().withdraw();
+      throw new WalletLockTimeoutException(command.walletId());
+    }
+  }
+
+  private int shardOf(long walletId) {
+    return (int) Math.floorMod(walletId, (long) shards.size());
+  }
+
+  private void snapshotLoop() {
+    while (running) {
+      try {
+        snapshot();
+      } catch (RuntimeException e) {
+        snapshotFailures.increment();
+        log.warn(
+            "Ledger snapshot failed, retrying in {} ms", properties.getSnapshotIntervalMs(), e);
+      }
+      try {
+        Thread.sleep(properties.getSnapshotIntervalMs());
+      } catch (InterruptedException e) {
+        return;
+      }
+    }
+  }
+
+  /** Snapshots until every shard's queue is empty; stops at the first failed write. */
+  private void drain() {
+    do {
+      snapshot();
+    } while (snapshotBacklogSize() > 0);
+  }
+
+  /** Records the snapshotter has not picked up yet; a failing write makes this grow. */
+  private double snapshotBacklogSize() {
+    long size = 0;
+    for (LedgerShard shard : shards) {
+      size += shard.unsnapshotted().size();
+    }
+    return size;
+  }
+}
@@ -0,0 +1,176 @@
+package com.wallet.service.ledger;
+
+import com.wallet.enums.Currency;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.model.Money;
+import com.wallet.model.Wallet;
+import com.wallet.model.WalletTransaction;
+import com.wallet.service.strategy.BalanceDelta;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * One applied ledger change as it is logged: the transaction in the state it just reached, the
+ * delta it made and the wallet balances it left behind. Replaying records in {@code lsn} order
+ * reproduces the database writes the change stands for.
+ *
+ * @param created whether the change created the transaction rather than settled a pending one
+ */
+public record LedgerRecord(
+    long lsn,
+    boolean created,
+    long transactionId,
+    long walletId,
+    Currency currency,
+    TransactionType type,
+    TransactionStatus status,
+    Money amount,
+    OppositePartyType oppositePartyType,
+    String oppositeParty,
+    LocalDateTime createdAt,
+    LocalDateTime processedAt,
+    Long processedBy,
+    BalanceDelta delta,
+    Money balanceAfter,
+    Money usableBalanceAfter) {
+
+  static LedgerRecord of(
+      long lsn, boolean created, WalletTransaction transaction, Wallet wallet, BalanceDelta delta) {
+    return new LedgerRecord(
+        lsn,
+        created,
+        transaction.getId(),
+        wallet.getId(),
+        wallet.getCurrency(),
+        transaction.getType(),
+        transaction.getStatus(),
+        transaction.getAmount(),
+        transaction.getOppositePartyType(),
+        transaction.getOppositeParty(),
+        transaction.getCreatedAt(),
+        transaction.getProcessedAt(),
+        transaction.getProcessedBy(),
+        delta,
+        wallet.getBalance().plus(delta.balance()),
+        wallet.getUsableBalance().plus(delta.usableBalance()));
+  }
+
+  /** Detached transaction, with a wallet reference carrying only its id and currency. */
+  public WalletTransaction toTransaction() {
+    Wallet wallet = new Wallet();
+    wallet.setId(walletId);
+    wallet.setCurrency(currency);
+    WalletTransaction transaction = new WalletTransaction();
+    transaction.setId(transactionId);
+    transaction.setWallet(wallet);
+    transaction.setType(type);
+    transaction.setStatus(status);
+    transaction.setAmount(amount);
+    transaction.setOppositePartyType(oppositePartyType);
+    transaction.setOppositeParty(oppositeParty);
+    transaction.setCreatedAt(createdAt);
+    transaction.setProcessedAt(processedAt);
+    transaction.setProcessedBy(processedBy);
+    return transaction;
+  }
+
+  void writeTo(ByteBuffer buffer) {
+    buffer.putLong(lsn);
+    buffer.put((byte) (created ? 1 : 0));
+    buffer.putLong(transactionId);
+    buffer.putLong(walletId);
+    putString(buffer, currency.name());
+    putString(buffer, type.name());
+    putString(buffer, status.name());
+    putMoney(buffer, amount);
+    putString(buffer, oppositePartyType.name());
+    putString(buffer, oppositeParty);
+    putTime(buffer, createdAt);
+    putTime(buffer, processedAt);
+    buffer.putLong(processedBy == null ? Long.MIN_VALUE : processedBy);
+    putMoney(buffer, delta.balance());
+    putMoney(buffer, delta.usableBalance());
+    putMoney(buffer, balanceAfter);
+    putMoney(buffer, usableBalanceAfter);
+  }
+
+  static LedgerRecord readFrom(ByteBuffer buffer) {
+    long lsn = buffer.getLong();
+    boolean created = buffer.get() == 1;
+    long transactionId = buffer.getLong();
+    long walletId = buffer.getLong();
+    Currency currency = Currency.valueOf(getString(buffer));
+    TransactionType type = TransactionType.valueOf(getString(buffer));
+    TransactionStatus status = TransactionStatus.valueOf(getString(buffer));
+    Money amount = getMoney(buffer);
+    OppositePartyType oppositePartyType = OppositePartyType.valueOf(getString(buffer));
+    String oppositeParty = getString(buffer);
+    LocalDateTime createdAt = getTime(buffer);
+    LocalDateTime processedAt = getTime(buffer);
+    long processedBy = buffer.getLong();
+    BalanceDelta delta = BalanceDelta.of(getMoney(buffer), getMoney(buffer));
+    return new LedgerRecord(
+        lsn,
+        created,
+        transactionId,
+        walletId,
+        currency,
+        type,
+        status,
+        amount,
+        oppositePartyType,
+        oppositeParty,
+        createdAt,
+        processedAt,
+        processedBy == Long.MIN_VALUE ? null : processedBy,
+        delta,
+        getMoney(buffer),
+        getMoney(buffer));
+  }
+
+  /** Upper bound of the encoded size, used to decide whether a record still fits a segment. */
+  int maxEncodedSize() {
+    return 512 + 4 * oppositeParty.length();
+  }
+
+  private static void putString(ByteBuffer buffer, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    buffer.putShort((short) bytes.length);
+    buffer.put(bytes);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getShort()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void putMoney(ByteBuffer buffer, Money value) {
+    buffer.putLong(value.minorUnits());
+  }
+
+  private static Money getMoney(ByteBuffer buffer) {
+    return Money.ofMinorUnits(buffer.getLong());
+  }
+
+  private static void putTime(ByteBuffer buffer, LocalDateTime value) {
+    if (value == null) {
+      buffer.putLong(Long.MIN_VALUE);
+      return;
+    }
+    buffer.putLong(value.toEpochSecond(ZoneOffset.UTC));
+    buffer.putInt(value.getNano());
+  }
+
+  private static LocalDateTime getTime(ByteBuffer buffer) {
+    long seconds = buffer.getLong();
+    if (seconds == Long.MIN_VALUE) {
+      return null;
+    }
+    return LocalDateTime.ofEpochSecond(seconds, buffer.getInt(), ZoneOffset.UTC);
+  }
+}
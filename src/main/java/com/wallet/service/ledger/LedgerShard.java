@@ -0,0 +1,341 @@
+package com.wallet.service.ledger;
+
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.exception.InvalidTransactionStatusException;
+import com.wallet.exception.TransactionClaimedException;
+import com.wallet.exception.WalletNotFoundException;
+import com.wallet.model.Wallet;
+import com.wallet.model.WalletTransaction;
+import com.wallet.repository.WalletView;
+import com.wallet.service.strategy.BalanceDelta;
+import com.wallet.service.strategy.TransactionRequestContext;
+import com.wallet.service.strategy.TransactionStrategy;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Owns the balances of the wallets routed to it and applies their commands one at a time on a
+ * single writer thread, so no wallet needs a lock. Commands are drained in batches: every record of
+ * a batch is appended to the shard's log, the log is forced once, and only then are the callers
+ * answered. A failed log write stops the shard; later commands fail fast until a restart recovers
+ * from the log.
+ */
+final class LedgerShard {
+
+  private static final Logger log = LoggerFactory.getLogger(LedgerShard.class);
+
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final int index;
+  private final WriteAheadLog wal;
+  private final Map<TransactionType, TransactionStrategy> strategies;
+  private final Function<Long, Optional<WalletView>> walletLoader;
+  private final Function<Long, Optional<WalletTransaction>> transactionLoader;
+  private final LongSupplier transactionIds;
+  private final Map<Long, Long> pendingWallets;
+  private final int maxBatch;
+  private final DistributionSummary groupCommitSize;
+  private final Timer syncTimer;
+
+  private final Queue<LedgerCommand> inbox = new ConcurrentLinkedQueue<>();
+  private final Queue<LedgerRecord> unsnapshotted = new ConcurrentLinkedQueue<>();
+  // Writer thread only: the balances of every wallet this shard has touched.
+  private final Map<Long, Wallet> wallets = new HashMap<>();
+  // Transactions created or settled here that the database has not seen yet.
+  private final Map<Long, WalletTransaction> transactions = new ConcurrentHashMap<>();
+
+  private long nextLsn;
+  private volatile boolean running;
+  private volatile RuntimeException failure;
+  private Thread thread;
+
+  LedgerShard(
+      int index,
+      WriteAheadLog wal,
+      long nextLsn,
+      Map<TransactionType, TransactionStrategy> strategies,
+      Function<Long, Optional<WalletView>> walletLoader,
+      Function<Long, Optional<WalletTransaction>> transactionLoader,
+      LongSupplier transactionIds,
+      Map<Long, Long> pendingWallets,
+      int maxBatch,
+      DistributionSummary groupCommitSize,
+      Timer syncTimer) {
+    this.index = index;
+    this.wal = wal;
+    this.nextLsn = nextLsn;
+    this.strategies = strategies;
+    this.walletLoader = walletLoader;
+    this.transactionLoader = transactionLoader;
+    this.transactionIds = transactionIds;
+    this.pendingWallets = pendingWallets;
+    this.maxBatch = maxBatch;
+    this.groupCommitSize = groupCommitSize;
+    this.syncTimer = syncTimer;
+  }
+
+  void start() {
+    running = true;
+    thread = Thread.ofPlatform().name("ledger-shard-" + index).daemon(true).start(this::run);
+  }
+
+  /** Stops taking commands, lets the writer finish the queued ones and closes the log. */
+  void stop(long timeoutMs) {
+    running = false;
+    if (thread == null) {
+      return;
+    }
+    LockSupport.unpark(thread);
+    try {
+      thread.join(timeoutMs);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    wal.close();
+  }
+
+  /** Whether the writer thread has finished, so nothing more is appended to the log. */
+  boolean stopped() {
+    return thread == null || !thread.isAlive();
+  }
+
+  void submit(LedgerCommand command) {
+    if (!running) {
+      command.result().completeExceptionally(new IllegalStateException("Ledger is not running"));
+      return;
+    }
+    inbox.offer(command);
+    LockSupport.unpark(thread);
+  }
+
+  /** Durable records not yet written back to the database, oldest first. */
+  Queue<LedgerRecord> unsnapshotted() {
+    return unsnapshotted;
+  }
+
+  /**
+   * Called once the database holds {@code records}: their log segments can go, and so can the
+   * cached rows. Pending rows go too, since approvers claim them in the database and the next
+   * status change has to see the claim; only a row settled after the snapshotted record stays.
+   */
+  void snapshotted(List<LedgerRecord> records) {
+    for (LedgerRecord record : records) {
+      transactions.computeIfPresent(
+          record.transactionId(),
+          (id, cached) ->
+              record.status() == TransactionStatus.PENDING
+                      && cached.getStatus() != TransactionStatus.PENDING
+                  ? cached
+                  : null);
+    }
+    wal.deleteThrough(records.get(records.size() - 1).lsn());
+  }
+
+  int index() {
+    return index;
+  }
+
+  private void run() {
+    List<LedgerCommand> batch = new ArrayList<>(maxBatch);
+    while (true) {
+      LedgerCommand command;
+      while (batch.size() < maxBatch && (command = inbox.poll()) != null) {
+        batch.add(command);
+      }
+      if (batch.isEmpty()) {
+        if (!running) {
+          return;
+        }
+        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        continue;
+      }
+      process(batch);
+      batch.clear();
+    }
+  }
+
+  private void process(List<LedgerCommand> batch) {
+    List<Applied> applied = new ArrayList<>(batch.size());
+    for (LedgerCommand command : batch) {
+      if (!command.result().take()) {
+        // The caller timed out and withdrew it.
+        continue;
+      }
+      if (failure != null) {
+        command.result().completeExceptionally(failure);
+        continue;
+      }
+      try {
+        applied.add(
+            switch (command) {
+              case LedgerCommand.Create create -> create(create);
+              case LedgerCommand.ChangeStatus change -> changeStatus(change);
+            });
+      } catch (UncheckedIOException e) {
+        fail(e);
+        command.result().completeExceptionally(failure);
+      } catch (RuntimeException e) {
+        command.result().completeExceptionally(e);
+      }
+    }
+    if (applied.isEmpty()) {
+      return;
+    }
+    try {
+      syncTimer.record(wal::sync);
+    } catch (UncheckedIOException e) {
+      fail(e);
+    }
+    if (failure != null) {
+      applied.forEach(done -> done.command().result().completeExceptionally(failure));
+      return;
+    }
+    groupCommitSize.record(applied.size());
+    for (Applied done : applied) {
+      unsnapshotted.offer(done.record());
+      done.command().result().complete(done.response());
+    }
+  }
+
+  private Applied create(LedgerCommand.Create command) {
+    Wallet wallet = wallet(command.walletId());
+    wallet.setActiveForShopping(command.wallet().activeForShopping());
+    wallet.setActiveForWithdraw(command.wallet().activeForWithdraw());
+    TransactionStrategy strategy = strategyFor(command.type());
+    TransactionRequestContext context =
+        new TransactionRequestContext(
+            wallet,
+            command.amount(),
+            command.oppositePartyType(),
+            command.oppositeParty(),
+            command.shoppingPayment());
+    strategy.validate(context);
+    BalanceDelta delta = strategy.deltaOnCreate(context, command.status());
+
+    LocalDateTime now = LocalDateTime.now();
+    WalletTransaction transaction = new WalletTransaction();
+    transaction.setId(transactionIds.getAsLong());
+    transaction.setWallet(wallet);
+    transaction.setType(command.type());
+    transaction.setStatus(command.status());
+    transaction.setAmount(command.amount());
+    transaction.setOppositePartyType(command.oppositePartyType());
+    transaction.setOppositeParty(command.oppositeParty());
+    transaction.setCreatedAt(now);
+    if (command.status() == TransactionStatus.APPROVED) {
+      transaction.setProcessedAt(now);
+      transaction.setProcessedBy(command.wallet().customerId());
+    }
+    LedgerRecord record = append(true, transaction, wallet, delta);
+    if (command.status() == TransactionStatus.PENDING) {
+      transactions.put(transaction.getId(), transaction);
+      pendingWallets.put(transaction.getId(), wallet.getId());
+    }
+    return new Applied(command, record, TransactionResponse.of(transaction));
+  }
+
+  private Applied changeStatus(LedgerCommand.ChangeStatus command) {
+    WalletTransaction transaction =
+        Optional.ofNullable(transactions.get(command.transactionId()))
+            .or(() -> transactionLoader.apply(command.transactionId()))
+            .orElseThrow(() -> new InvalidTransactionStatusException("Transaction not found"));
+    if (transaction.getStatus() != TransactionStatus.PENDING) {
+      throw new InvalidTransactionStatusException("Only pending transactions can be updated");
+    }
+    if (transaction.getClaimedBy() != null
+        && !transaction.getClaimedBy().equals(command.actorId())
+        && transaction.getClaimExpiresAt().isAfter(LocalDateTime.now())) {
+      throw new TransactionClaimedException(command.transactionId());
+    }
+    Wallet wallet = wallet(command.walletId());
+    BalanceDelta delta =
+        strategyFor(transaction.getType()).deltaOnStatusChange(transaction, command.status());
+
+    // The log is written from a settled copy; the cached row changes only once that succeeded.
+    WalletTransaction settled = copyOf(transaction);
+    settled.setWallet(wallet);
+    settled.setStatus(command.status());
+    settled.setProcessedAt(LocalDateTime.now());
+    settled.setProcessedBy(command.actorId());
+    LedgerRecord record = append(false, settled, wallet, delta);
+    transactions.put(settled.getId(), settled);
+    pendingWallets.remove(settled.getId());
+    return new Applied(command, record, TransactionResponse.of(settled));
+  }
+
+  /** Logs the change, then applies it to the in-memory balances. */
+  private LedgerRecord append(
+      boolean created, WalletTransaction transaction, Wallet wallet, BalanceDelta delta) {
+    LedgerRecord record = LedgerRecord.of(nextLsn, created, transaction, wallet, delta);
+    wal.append(record);
+    nextLsn++;
+    delta.applyTo(wallet);
+    return record;
+  }
+
+  private Wallet wallet(long walletId) {
+    Wallet wallet = wallets.get(walletId);
+    if (wallet != null) {
+      return wallet;
+    }
+    // First touch since startup: recovery has already brought the row up to date.
+    WalletView view =
+        walletLoader.apply(walletId).orElseThrow(() -> new WalletNotFoundException(walletId));
+    wallet = new Wallet();
+    wallet.setId(view.id());
+    wallet.setCurrency(view.currency());
+    wallet.setActiveForShopping(view.activeForShopping());
+    wallet.setActiveForWithdraw(view.activeForWithdraw());
+    wallet.setBalance(view.balance());
+    wallet.setUsableBalance(view.usableBalance());
+    wallets.put(walletId, wallet);
+    return wallet;
+  }
+
+  private void fail(RuntimeException cause) {
+    log.error("Ledger shard {} could not write its log and stopped taking commands", index, cause);
+    failure = new IllegalStateException("Ledger shard " + index + " is unavailable", cause);
+  }
+
+  private TransactionStrategy strategyFor(TransactionType type) {
+    TransactionStrategy strategy = strategies.get(type);
+    if (strategy == null) {
+      throw new IllegalStateException("No strategy registered for type " + type);
+    }
+    return strategy;
+  }
+
+  private static WalletTransaction copyOf(WalletTransaction source) {
+    WalletTransaction copy = new WalletTransaction();
+    copy.setId(source.getId());
+    copy.setType(source.getType());
+    copy.setStatus(source.getStatus());
+    copy.setAmount(source.getAmount());
+    copy.setOppositePartyType(source.getOppositePartyType());
+    copy.setOppositeParty(source.getOppositeParty());
+    copy.setCreatedAt(source.getCreatedAt());
+    copy.setLinkedTransactionId(source.getLinkedTransactionId());
+    return copy;
+  }
+
+  private record Applied(
+      LedgerCommand command, LedgerRecord record, TransactionResponse response) {}
+}
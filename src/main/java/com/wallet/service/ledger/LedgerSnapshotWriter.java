@@ -0,0 +1,171 @@
+package com.wallet.service.ledger;
+
+import com.wallet.enums.WalletEventType;
+import com.wallet.model.LedgerCheckpoint;
+import com.wallet.model.WalletTransaction;
+import com.wallet.repository.LedgerCheckpointRepository;
+import com.wallet.service.cache.WalletCache;
+import com.wallet.service.metrics.TransactionMetrics;
+import com.wallet.service.outbox.OutboxRecorder;
+import com.wallet.service.snapshot.WalletSnapshotRecorder;
+import com.wallet.service.strategy.BalanceDelta;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes logged ledger changes back to the database tables in one transaction per call: the
+ * wallets' balances, the transaction rows, the daily snapshots, the outbox events and the shard's
+ * checkpoint. Writing the checkpoint in the same transaction makes a replay after a crash skip
+ * exactly what is already there.
+ *
+ * <p>Wallets and transactions go through plain JDBC. Only the latest state of each row in the call
+ * is written, so a pending transaction that was settled before the snapshot ran costs one insert.
+ */
+public class LedgerSnapshotWriter {
+
+  private static final String UPDATE_WALLET_SQL =
+      "UPDATE wallets SET balance = ?, usable_balance = ?, updated_at = ?, version = version + 1"
+          + " WHERE id = ?";
+  private static final String UPDATE_TRANSACTION_SQL =
+      "UPDATE transactions SET status = ?, processed_at = ?, processed_by = ?, claimed_by = NULL,"
+          + " claim_expires_at = NULL, version = version + 1 WHERE id = ?";
+  private static final String INSERT_TRANSACTION_SQL =
+      "INSERT INTO transactions (id, wallet_id, amount, type, status, opposite_party_type,"
+          + " opposite_party, created_at, processed_at, processed_by, version)"
+          + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+  private final TransactionTemplate transactionTemplate;
+  private final JdbcTemplate jdbcTemplate;
+  private final LedgerCheckpointRepository checkpointRepository;
+  private final WalletSnapshotRecorder snapshotRecorder;
+  private final TransactionMetrics transactionMetrics;
+  private final OutboxRecorder outboxRecorder;
+  private final WalletCache walletCache;
+
+  public LedgerSnapshotWriter(
+      TransactionTemplate transactionTemplate,
+      JdbcTemplate jdbcTemplate,
+      LedgerCheckpointRepository checkpointRepository,
+      WalletSnapshotRecorder snapshotRecorder,
+      TransactionMetrics transactionMetrics,
+      OutboxRecorder outboxRecorder,
+      WalletCache walletCache) {
+    this.transactionTemplate = transactionTemplate;
+    this.jdbcTemplate = jdbcTemplate;
+    this.checkpointRepository = checkpointRepository;
+    this.snapshotRecorder = snapshotRecorder;
+    this.transactionMetrics = transactionMetrics;
+    this.outboxRecorder = outboxRecorder;
+    this.walletCache = walletCache;
+  }
+
+  /** Lsn of the shard's last record already in the database, or 0. */
+  public long checkpoint(int shard) {
+    return checkpointRepository.findById(shard).map(LedgerCheckpoint::getLsn).orElse(0L);
+  }
+
+  /** Writes {@code records}, in lsn order, of one shard. */
+  public void write(int shard, List<LedgerRecord> records) {
+    transactionTemplate.executeWithoutResult(status -> writeInTransaction(shard, records));
+  }
+
+  private void writeInTransaction(int shard, List<LedgerRecord> records) {
+    Map<Long, LedgerRecord> latestTransactions = new LinkedHashMap<>();
+    Map<Long, LedgerRecord> latestWallets = new LinkedHashMap<>();
+    Map<Long, WalletChanges> changes = new LinkedHashMap<>();
+    List<WalletTransaction> all = new ArrayList<>(records.size());
+    for (LedgerRecord record : records) {
+      latestTransactions.put(record.transactionId(), record);
+      latestWallets.put(record.walletId(), record);
+      WalletTransaction transaction = record.toTransaction();
+      changes
+          .computeIfAbsent(record.walletId(), id -> new WalletChanges())
+          .add(record, transaction);
+      all.add(transaction);
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    jdbcTemplate.batchUpdate(
+        UPDATE_WALLET_SQL,
+        latestWallets.values().stream()
+            .map(
+                record ->
+                    new Object[] {
+                      record.balanceAfter().minorUnits(),
+                      record.usableBalanceAfter().minorUnits(),
+                      now,
+                      record.walletId()
+                    })
+            .toList());
+    writeTransactions(new ArrayList<>(latestTransactions.values()));
+
+    changes.forEach(
+        (walletId, walletChanges) -> {
+          snapshotRecorder.record(walletId, walletChanges.net, walletChanges.transactions);
+          walletCache.evictAfterCommit(walletId, null);
+        });
+    transactionMetrics.recordAmounts(all);
+    for (int i = 0; i < records.size(); i++) {
+      outboxRecorder.record(
+          records.get(i).created()
+              ? WalletEventType.TRANSACTION_CREATED
+              : WalletEventType.TRANSACTION_STATUS_CHANGED,
+          List.of(all.get(i)));
+    }
+    checkpointRepository.save(new LedgerCheckpoint(shard, records.get(records.size() - 1).lsn()));
+  }
+
+  /** Updates the rows that already exist and inserts the rest. */
+  private void writeTransactions(List<LedgerRecord> rows) {
+    int[] updated =
+        jdbcTemplate.batchUpdate(
+            UPDATE_TRANSACTION_SQL,
+            rows.stream()
+                .map(
+                    row ->
+                        new Object[] {
+                          row.status().name(),
+                          row.processedAt(),
+                          row.processedBy(),
+                          row.transactionId()
+                        })
+                .toList());
+    List<Object[]> inserts = new ArrayList<>();
+    for (int i = 0; i < rows.size(); i++) {
+      if (updated[i] == 0) {
+        LedgerRecord row = rows.get(i);
+        inserts.add(
+            new Object[] {
+              row.transactionId(),
+              row.walletId(),
+              row.amount().minorUnits(),
+              row.type().name(),
+              row.status().name(),
+              row.oppositePartyType().name(),
+              row.oppositeParty(),
+              row.createdAt(),
+              row.processedAt(),
+              row.processedBy()
+            });
+      }
+    }
+    if (!inserts.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, inserts);
+    }
+  }
+
+  private static final class WalletChanges {
+    private BalanceDelta net = BalanceDelta.ZERO;
+    private final List<WalletTransaction> transactions = new ArrayList<>();
+
+    void add(LedgerRecord record, WalletTransaction transaction) {
+      net = net.plus(record.delta());
+      transactions.add(transaction);
+    }
+  }
+}
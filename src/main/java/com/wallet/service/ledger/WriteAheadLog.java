@@ -0,0 +1,238 @@
+package com.wallet.service.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of one shard, kept in fixed-size memory-mapped segment files named after the
+ * first lsn they hold. A segment starts with a magic number and the record format version, and each
+ * record is framed as {@code length, crc32, payload}. A mapped file is zero-filled, so a zero
+ * length marks the end of the written part, and a bad checksum marks a torn tail left by a crash;
+ * reading stops at either. A segment written in another format fails the read instead of being
+ * decoded wrongly, since its records can only be replayed by the version that wrote them.
+ *
+ * <p>Appends and {@link #sync()} belong to the shard's writer thread. {@link #deleteThrough} only
+ * touches segments the writer has already moved past and may run on another thread.
+ */
+final class WriteAheadLog implements Closeable {
+
+  private static final int HEADER_BYTES = 8;
+  private static final int SEGMENT_HEADER_BYTES = 8;
+  private static final int MAGIC = 0x57414C53; // "WALS"
+
+  /** Bump whenever {@link LedgerRecord}'s encoding or the record framing changes. */
+  static final int FORMAT_VERSION = 1;
+
+  private final Path directory;
+  private final int shard;
+  private final int segmentBytes;
+  private final Deque<Segment> segments = new ConcurrentLinkedDeque<>();
+  private final CRC32 checksum = new CRC32();
+
+  private ByteBuffer scratch = ByteBuffer.allocate(4096);
+  private FileChannel channel;
+  private MappedByteBuffer buffer;
+  private int syncedPosition;
+
+  WriteAheadLog(Path directory, int shard, int segmentBytes) {
+    this.directory = directory;
+    this.shard = shard;
+    this.segmentBytes = segmentBytes;
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Writes the record into the mapped segment; it is durable only after the next sync. */
+  void append(LedgerRecord record) {
+    int maxSize = HEADER_BYTES + record.maxEncodedSize();
+    if (maxSize > segmentBytes - SEGMENT_HEADER_BYTES) {
+      throw new IllegalStateException("Ledger record larger than a WAL segment: " + maxSize);
+    }
+    if (scratch.capacity() < maxSize) {
+      scratch = ByteBuffer.allocate(maxSize);
+    }
+    scratch.clear();
+    record.writeTo(scratch);
+    scratch.flip();
+    checksum.reset();
+    checksum.update(scratch.duplicate());
+    if (buffer == null || buffer.remaining() < HEADER_BYTES + scratch.remaining()) {
+      roll(record.lsn());
+    }
+    buffer.putInt(scratch.remaining());
+    buffer.putInt((int) checksum.getValue());
+    buffer.put(scratch);
+  }
+
+  /** Forces everything appended since the last sync to the device: the group commit. */
+  void sync() {
+    if (buffer != null && buffer.position() > syncedPosition) {
+      buffer.force(syncedPosition, buffer.position() - syncedPosition);
+      syncedPosition = buffer.position();
+    }
+  }
+
+  /** Deletes the segments whose records all have an lsn of at most {@code lsn}. */
+  void deleteThrough(long lsn) {
+    List<Segment> current = new ArrayList<>(segments);
+    // The last segment is still being written, so it is never deleted.
+    for (int i = 0; i < current.size() - 1; i++) {
+      if (current.get(i + 1).firstLsn() > lsn + 1) {
+        return;
+      }
+      delete(current.get(i).path());
+      segments.remove(current.get(i));
+    }
+  }
+
+  @Override
+  public void close() {
+    sync();
+    closeChannel();
+  }
+
+  /** Every intact record the shard's segments hold, in lsn order. */
+  static List<LedgerRecord> read(Path directory, int shard) {
+    List<LedgerRecord> records = new ArrayList<>();
+    for (Path path : segmentFiles(directory, shard)) {
+      try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+        MappedByteBuffer segment = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+        checkFormat(path, segment);
+        if (!readSegment(segment, records)) {
+          break;
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return records;
+  }
+
+  /** Deletes every segment of the shard, once recovery has written them back. */
+  static void deleteAll(Path directory, int shard) {
+    segmentFiles(directory, shard).forEach(WriteAheadLog::delete);
+  }
+
+  private static void checkFormat(Path path, ByteBuffer segment) {
+    if (segment.remaining() < SEGMENT_HEADER_BYTES) {
+      throw new IllegalStateException("WAL segment " + path + " is shorter than its header");
+    }
+    int magic = segment.getInt();
+    int version = segment.getInt();
+    if (magic == 0 && version == 0) {
+      // Mapped but never written: the process died right after rolling to it.
+      return;
+    }
+    if (magic != MAGIC || version != FORMAT_VERSION) {
+      throw new IllegalStateException(
+          ("WAL segment %s has magic 0x%08x and format version %d, expected version %d. Start"
+                  + " the version that wrote it so it replays the log, and stop it cleanly before"
+                  + " upgrading.")
+              .formatted(path, magic, version, FORMAT_VERSION));
+    }
+  }
+
+  /** Returns {@code false} if the segment ends in a torn record. */
+  private static boolean readSegment(ByteBuffer segment, List<LedgerRecord> records) {
+    CRC32 checksum = new CRC32();
+    while (segment.remaining() >= HEADER_BYTES) {
+      int length = segment.getInt();
+      int expected = segment.getInt();
+      if (length == 0) {
+        return true;
+      }
+      if (length < 0 || length > segment.remaining()) {
+        return false;
+      }
+      ByteBuffer payload = segment.slice(segment.position(), length);
+      checksum.reset();
+      checksum.update(payload.duplicate());
+      if ((int) checksum.getValue() != expected) {
+        return false;
+      }
+      records.add(LedgerRecord.readFrom(payload));
+      segment.position(segment.position() + length);
+    }
+    return true;
+  }
+
+  private void roll(long firstLsn) {
+    sync();
+    closeChannel();
+    Path path = directory.resolve(segmentName(shard, firstLsn));
+    try {
+      channel =
+          FileChannel.open(
+              path,
+              StandardOpenOption.CREATE_NEW,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+      buffer.putInt(MAGIC);
+      buffer.putInt(FORMAT_VERSION);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    syncedPosition = 0;
+    segments.addLast(new Segment(path, firstLsn));
+  }
+
+  private void closeChannel() {
+    if (channel == null) {
+      return;
+    }
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    channel = null;
+  }
+
+  private static List<Path> segmentFiles(Path directory, int shard) {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    String prefix = "shard-%02d-".formatted(shard);
+    try (Stream<Path> files = Files.list(directory)) {
+      // Lsns are zero-padded, so name order is lsn order.
+      return files
+          .filter(path -> path.getFileName().toString().startsWith(prefix))
+          .filter(path -> path.getFileName().toString().endsWith(".wal"))
+          .sorted()
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static String segmentName(int shard, long firstLsn) {
+    return "shard-%02d-%020d.wal".formatted(shard, firstLsn);
+  }
+
+  private static void delete(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private record Segment(Path path, long firstLsn) {}
+}
@@ -0,0 +1,98 @@
+package com.wallet.service.metrics;
+
+import com.wallet.exception.InsufficientBalanceException;
+import com.wallet.exception.WalletLockTimeoutException;
+import com.wallet.model.WalletTransaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Meters for the transaction pipeline: {@code wallet.transaction.latency} per operation and
+ * outcome, and {@code wallet.transaction.amount} per type, status and currency. Amounts are counted
+ * only once the database transaction commits, so rolled-back work never shows up.
+ */
+@Component
+public class TransactionMetrics {
+
+  static final String LATENCY = "wallet.transaction.latency";
+  static final String AMOUNT = "wallet.transaction.amount";
+
+  private final MeterRegistry meterRegistry;
+
+  public TransactionMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  public Timer.Sample start() {
+    return Timer.start(meterRegistry);
+  }
+
+  public void stop(Timer.Sample sample, String operation, String outcome) {
+    sample.stop(
+        Timer.builder(LATENCY)
+            .description("Time spent in the transaction service, commit included")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+  }
+
+  /** Counts the current status and amount of each row after the surrounding commit. */
+  public void recordAmounts(Collection<WalletTransaction> transactions) {
+    List<Runnable> increments = new ArrayList<>(transactions.size());
+    for (WalletTransaction transaction : transactions) {
+      Counter counter =
+          Counter.builder(AMOUNT)
+              .description("Money moved, by transaction type, status and currency")
+              .tag("type", tagValue(transaction.getType()))
+              .tag("status", tagValue(transaction.getStatus()))
+              .tag("currency", transaction.getWallet().getCurrency().name())
+              .register(meterRegistry);
+      double amount = transaction.getAmount().doubleValue();
+      increments.add(() -> counter.increment(amount));
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      increments.forEach(Runnable::run);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            increments.forEach(Runnable::run);
+          }
+        });
+  }
+
+  static String outcomeOf(Throwable failure) {
+    if (failure instanceof InsufficientBalanceException) {
+      return "insufficient_balance";
+    }
+    if (failure instanceof OptimisticLockingFailureException) {
+      return "optimistic_lock_failure";
+    }
+    if (failure instanceof WalletLockTimeoutException
+        || failure instanceof ConcurrencyFailureException) {
+      return "lock_timeout";
+    }
+    if (failure.getClass().getPackageName().equals("com.wallet.exception")) {
+      return "rejected";
+    }
+    return "error";
+  }
+
+  static String tagValue(Enum<?> value) {
+    return value.name().toLowerCase(Locale.ROOT);
+  }
+}
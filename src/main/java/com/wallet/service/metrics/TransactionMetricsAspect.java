@@ -0,0 +1,64 @@
+package com.wallet.service.metrics;
+
+import com.wallet.dto.response.TransactionResponse;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times single-transaction operations. Ordered outside the transactional proxy so the commit, and
+ * an optimistic-lock failure raised by it, are part of the measurement. A caller that already holds
+ * a transaction (idempotent requests) commits after the timer stops.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TransactionMetricsAspect {
+
+  private final TransactionMetrics metrics;
+
+  public TransactionMetricsAspect(TransactionMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Around("execution(* com.wallet.service.TransactionService.deposit(..))")
+  public Object timeDeposit(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(joinPoint, "deposit");
+  }
+
+  @Around("execution(* com.wallet.service.TransactionService.withdraw(..))")
+  public Object timeWithdraw(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(joinPoint, "withdraw");
+  }
+
+  @Around("execution(* com.wallet.service.TransactionService.approveOrDeny(..))")
+  public Object timeApprove(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(joinPoint, "approve");
+  }
+
+  @Around("execution(* com.wallet.service.TransactionService.transfer(..))")
+  public Object timeTransfer(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(joinPoint, "transfer");
+  }
+
+  private Object time(ProceedingJoinPoint joinPoint, String operation) throws Throwable {
+    Timer.Sample sample = metrics.start();
+    Object result;
+    try {
+      result = joinPoint.proceed();
+    } catch (Throwable failure) {
+      metrics.stop(sample, operation, TransactionMetrics.outcomeOf(failure));
+      throw failure;
+    }
+    String outcome =
+        result instanceof TransactionResponse response
+            ? TransactionMetrics.tagValue(response.status())
+            : "approved";
+    metrics.stop(sample, operation, outcome);
+    return result;
+  }
+}
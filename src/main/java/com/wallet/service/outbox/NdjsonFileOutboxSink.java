@@ -0,0 +1,54 @@
+package com.wallet.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.dto.response.WalletEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each event as one JSON line and forces the batch to disk before the relay marks it
+ * published. A reader can tail the file and keep the last id it processed as its position.
+ */
+public class NdjsonFileOutboxSink implements OutboxEventSink {
+
+  private final Path file;
+  private final ObjectMapper objectMapper;
+
+  public NdjsonFileOutboxSink(Path file, ObjectMapper objectMapper) {
+    this.file = file;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void publish(List<WalletEvent> events) {
+    ByteArrayOutputStream lines = new ByteArrayOutputStream();
+    try {
+      for (WalletEvent event : events) {
+        lines.write(objectMapper.writeValueAsBytes(event));
+        lines.write('\n');
+      }
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize outbox batch", e);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    try (FileChannel channel =
+        FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+      ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(false);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot append outbox batch to " + file, e);
+    }
+  }
+}
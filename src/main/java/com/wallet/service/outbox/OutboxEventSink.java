@@ -0,0 +1,14 @@
+package com.wallet.service.outbox;
+
+import com.wallet.dto.response.WalletEvent;
+import java.util.List;
+
+/**
+ * Destination of published wallet events. Every {@code OutboxEventSink} bean receives each batch in
+ * outbox order. A sink that throws makes the relay retry the whole batch later, so every sink may
+ * see an event more than once.
+ */
+public interface OutboxEventSink {
+
+  void publish(List<WalletEvent> events);
+}
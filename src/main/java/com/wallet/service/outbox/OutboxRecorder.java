@@ -0,0 +1,98 @@
+package com.wallet.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.config.OutboxProperties;
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.enums.WalletEventType;
+import com.wallet.model.OutboxEvent;
+import com.wallet.model.WalletTransaction;
+import com.wallet.repository.OutboxEventRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writes outbox rows in the caller's database transaction, so an event exists exactly when the
+ * change it describes committed. Rows are inserted just before commit: by then bulk rows have their
+ * ids, transfer legs are linked, and every wallet the transaction touches is locked.
+ */
+@Component
+public class OutboxRecorder {
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+
+  public OutboxRecorder(
+      OutboxEventRepository outboxEventRepository,
+      ObjectMapper objectMapper,
+      OutboxProperties properties) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.objectMapper = objectMapper;
+    this.enabled = properties.isEnabled();
+  }
+
+  public void record(WalletEventType type, Collection<WalletTransaction> transactions) {
+    if (!enabled || transactions.isEmpty()) {
+      return;
+    }
+    Pending pending = new Pending(type, List.copyOf(transactions));
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      write(List.of(pending));
+      return;
+    }
+    pendingInTransaction().add(pending);
+  }
+
+  private List<Pending> pendingInTransaction() {
+    @SuppressWarnings("unchecked")
+    List<Pending> pending = (List<Pending>) TransactionSynchronizationManager.getResource(this);
+    if (pending != null) {
+      return pending;
+    }
+    List<Pending> created = new ArrayList<>();
+    TransactionSynchronizationManager.bindResource(this, created);
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void beforeCommit(boolean readOnly) {
+            write(created);
+          }
+
+          @Override
+          public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OutboxRecorder.this);
+          }
+        });
+    return created;
+  }
+
+  private void write(List<Pending> pending) {
+    List<OutboxEvent> events = new ArrayList<>();
+    for (Pending entry : pending) {
+      for (WalletTransaction transaction : entry.transactions()) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(entry.type());
+        event.setWalletId(transaction.getWallet().getId());
+        event.setTransactionId(transaction.getId());
+        event.setPayload(toJson(TransactionResponse.of(transaction)));
+        events.add(event);
+      }
+    }
+    outboxEventRepository.saveAll(events);
+  }
+
+  private String toJson(TransactionResponse transaction) {
+    try {
+      return objectMapper.writeValueAsString(transaction);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize transaction " + transaction.id(), e);
+    }
+  }
+
+  private record Pending(WalletEventType type, List<WalletTransaction> transactions) {}
+}
@@ -0,0 +1,188 @@
+package com.wallet.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.dto.response.WalletEvent;
+import com.wallet.enums.WalletEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Polls the outbox and hands unpublished events to every {@link OutboxEventSink} in id order, then
+ * stamps them as published. A crash or a failing sink between the two steps means the batch is sent
+ * again, so delivery is at least once. The relay stops at a failed batch and retries it, so a later
+ * event of a wallet is never published before an earlier one.
+ *
+ * <p>Reads and writes go through plain JDBC. That keeps the poll loop off Hibernate's session and
+ * statement statistics.
+ */
+public class OutboxRelay implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+  private static final String SELECT_SQL =
+      "SELECT id, event_type, wallet_id, payload, created_at FROM outbox_events"
+          + " WHERE published_at IS NULL ORDER BY id FETCH FIRST ? ROWS ONLY";
+  private static final String MARK_SQL = "UPDATE outbox_events SET published_at = ? WHERE id = ?";
+  private static final String PURGE_SQL = "DELETE FROM outbox_events WHERE published_at < ?";
+  private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final List<OutboxEventSink> sinks;
+  private final int batchSize;
+  private final long pollIntervalMs;
+  private final Duration retention;
+  private final ThreadFactory workerThreads;
+  private final ReentrantLock publishLock = new ReentrantLock();
+
+  private final Counter published;
+  private final Counter failures;
+  private final Timer batchTimer;
+
+  private volatile boolean running;
+  private Thread worker;
+
+  public OutboxRelay(
+      JdbcTemplate jdbcTemplate,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      List<OutboxEventSink> sinks,
+      int batchSize,
+      long pollIntervalMs,
+      Duration retention,
+      ThreadFactory workerThreads) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+    this.sinks = List.copyOf(sinks);
+    this.batchSize = batchSize;
+    this.pollIntervalMs = pollIntervalMs;
+    this.retention = retention;
+    this.workerThreads = workerThreads;
+    this.published = meterRegistry.counter("wallet.outbox.published");
+    this.failures = meterRegistry.counter("wallet.outbox.publish.failures");
+    this.batchTimer =
+        Timer.builder("wallet.outbox.publish.latency")
+            .description("Time spent publishing one outbox batch to every sink")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+  }
+
+  /** Publishes up to one batch and returns how many events it published. */
+  public int publishPending() {
+    publishLock.lock();
+    try {
+      List<WalletEvent> events = jdbcTemplate.query(SELECT_SQL, this::toEvent, batchSize);
+      if (events.isEmpty()) {
+        return 0;
+      }
+      long start = System.nanoTime();
+      for (OutboxEventSink sink : sinks) {
+        sink.publish(events);
+      }
+      Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+      jdbcTemplate.batchUpdate(
+          MARK_SQL,
+          events,
+          events.size(),
+          (statement, event) -> {
+            statement.setTimestamp(1, now);
+            statement.setLong(2, event.id());
+          });
+      batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      published.increment(events.size());
+      return events.size();
+    } finally {
+      publishLock.unlock();
+    }
+  }
+
+  /** Deletes published events older than the retention period. */
+  public int purgePublished() {
+    return jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    worker = workerThreads.newThread(this::pollLoop);
+    worker.start();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (worker != null) {
+      worker.interrupt();
+      try {
+        worker.join(pollIntervalMs * 10 + 1000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void pollLoop() {
+    long lastPurge = System.nanoTime();
+    while (running) {
+      int count = 0;
+      try {
+        count = publishPending();
+        if (System.nanoTime() - lastPurge >= PURGE_INTERVAL.toNanos()) {
+          purgePublished();
+          lastPurge = System.nanoTime();
+        }
+      } catch (RuntimeException e) {
+        failures.increment();
+        log.warn("Outbox batch failed, retrying in {} ms", pollIntervalMs, e);
+      }
+      // A full batch means more are probably waiting; go again without sleeping.
+      if (count < batchSize && !sleep()) {
+        return;
+      }
+    }
+  }
+
+  private boolean sleep() {
+    try {
+      Thread.sleep(pollIntervalMs);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private WalletEvent toEvent(ResultSet row, int rowNum) throws SQLException {
+    try {
+      return new WalletEvent(
+          row.getLong("id"),
+          WalletEventType.valueOf(row.getString("event_type")),
+          row.getLong("wallet_id"),
+          row.getTimestamp("created_at").toLocalDateTime(),
+          objectMapper.readValue(row.getString("payload"), TransactionResponse.class));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unreadable outbox payload " + row.getLong("id"), e);
+    }
+  }
+}
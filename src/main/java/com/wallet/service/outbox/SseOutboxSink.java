@@ -0,0 +1,153 @@
+package com.wallet.service.outbox;
+
+import com.wallet.config.OutboxProperties;
+import com.wallet.dto.response.WalletEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes published events to connected Server-Sent Events clients. It is a live tail: a client sees
+ * events published while it is connected, and a failed send drops that client instead of holding up
+ * the relay. Consumers that must not miss events should use a durable sink.
+ *
+ * <p>The relay only queues events: each client has a buffer of {@code sse-buffer} events that a
+ * sender thread of its own writes out, so a slow client delays nobody else. A client whose buffer
+ * overflows is disconnected and can reconnect.
+ */
+@Component
+public class SseOutboxSink implements OutboxEventSink {
+
+  private static final Logger log = LoggerFactory.getLogger(SseOutboxSink.class);
+
+  private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+  private final long timeoutMs;
+  private final int bufferSize;
+  private final Counter overflows;
+  // Platform threads: SseEmitter.send holds a monitor while it writes, which pins a virtual thread.
+  private final ExecutorService senders =
+      Executors.newCachedThreadPool(
+          Thread.ofPlatform().name("outbox-sse-", 0).daemon(true).factory());
+
+  public SseOutboxSink(OutboxProperties properties, MeterRegistry meterRegistry) {
+    this.timeoutMs = properties.getSseTimeout().toMillis();
+    this.bufferSize = properties.getSseBuffer();
+    Gauge.builder("wallet.outbox.sse.subscribers", subscribers, List::size)
+        .description("Connected event stream clients")
+        .register(meterRegistry);
+    this.overflows =
+        Counter.builder("wallet.outbox.sse.overflows")
+            .description("Stream clients disconnected because they fell too far behind")
+            .register(meterRegistry);
+  }
+
+  /** Opens a stream of every event, or of one wallet's events when {@code walletId} is set. */
+  public SseEmitter subscribe(Long walletId) {
+    return subscribe(new SseEmitter(timeoutMs), walletId);
+  }
+
+  SseEmitter subscribe(SseEmitter emitter, Long walletId) {
+    Subscriber subscriber = new Subscriber(emitter, walletId, bufferSize);
+    subscribers.add(subscriber);
+    emitter.onCompletion(() -> close(subscriber));
+    emitter.onTimeout(() -> close(subscriber));
+    emitter.onError(error -> close(subscriber));
+    return emitter;
+  }
+
+  @Override
+  public void publish(List<WalletEvent> events) {
+    for (Subscriber subscriber : subscribers) {
+      for (WalletEvent event : events) {
+        if (subscriber.walletId != null && !subscriber.walletId.equals(event.walletId())) {
+          continue;
+        }
+        if (!subscriber.buffer.offer(event)) {
+          log.warn("Event stream client fell {} events behind and is disconnected", bufferSize);
+          overflows.increment();
+          subscriber.overflowed = true;
+          subscribers.remove(subscriber);
+          break;
+        }
+      }
+      schedule(subscriber);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    senders.shutdownNow();
+  }
+
+  private void schedule(Subscriber subscriber) {
+    if (!subscriber.closed && subscriber.sending.compareAndSet(false, true)) {
+      senders.execute(() -> send(subscriber));
+    }
+  }
+
+  /** Writes the subscriber's buffer out; only one of these runs per subscriber at a time. */
+  private void send(Subscriber subscriber) {
+    try {
+      while (!subscriber.closed) {
+        if (subscriber.overflowed) {
+          close(subscriber);
+          subscriber.emitter.complete();
+          return;
+        }
+        WalletEvent event = subscriber.buffer.poll();
+        if (event == null) {
+          return;
+        }
+        subscriber.emitter.send(
+            SseEmitter.event()
+                .id(event.id().toString())
+                .name(event.type().name())
+                .data(event, MediaType.APPLICATION_JSON));
+      }
+    } catch (IOException | IllegalStateException e) {
+      // The client went away; the container completes its request on its own.
+      close(subscriber);
+    } finally {
+      subscriber.sending.set(false);
+      // Events queued after the last poll, or an overflow, need another run.
+      if (!subscriber.buffer.isEmpty() || subscriber.overflowed) {
+        schedule(subscriber);
+      }
+    }
+  }
+
+  private void close(Subscriber subscriber) {
+    subscriber.closed = true;
+    subscribers.remove(subscriber);
+    subscriber.buffer.clear();
+  }
+
+  private static final class Subscriber {
+    private final SseEmitter emitter;
+    private final Long walletId;
+    private final BlockingQueue<WalletEvent> buffer;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private volatile boolean overflowed;
+    private volatile boolean closed;
+
+    Subscriber(SseEmitter emitter, Long walletId, int bufferSize) {
+      this.emitter = emitter;
+      this.walletId = walletId;
+      this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.wallet.service.pagination;
+
+import com.wallet.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position inside a listing ordered by {@code (createdAt, id)}, newest-first histories as
+ * well as the oldest-first approval queue. Clients receive it as a url-safe token and hand it back
+ * untouched, so the encoding can change without breaking them.
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+  private static final char SEPARATOR = '|';
+
+  public String encode() {
+    String raw = createdAt.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static KeysetCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new InvalidCursorException(token);
+      }
+      return new KeysetCursor(
+          LocalDateTime.parse(raw.substring(0, separator)),
+          Long.valueOf(raw.substring(separator + 1)));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new InvalidCursorException(token);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.wallet.service.pagination;
+
+import com.wallet.enums.WalletSearchSort;
+import com.wallet.exception.InvalidCursorException;
+import com.wallet.model.Money;
+import com.wallet.repository.WalletSearchRepository.Position;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position inside a wallet search: the sort it belongs to, the last row's sort key and its
+ * id. A cursor only continues the sort that issued it; handing it to another one is rejected.
+ */
+public record WalletSearchCursor(WalletSearchSort sort, Position position) {
+
+  private static final char SEPARATOR = '|';
+
+  public String encode() {
+    String key =
+        switch (sort) {
+          case CREATED_AT_DESC, CREATED_AT_ASC -> position.createdAt().toString();
+          case BALANCE_DESC, BALANCE_ASC -> Long.toString(position.balance().minorUnits());
+          case ID_ASC -> "";
+        };
+    String raw = sort.name() + SEPARATOR + key + SEPARATOR + position.id();
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Decodes {@code token}, which must have been issued for {@code sort}. */
+  public static WalletSearchCursor decode(String token, WalletSearchSort sort) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\" + SEPARATOR, -1);
+      if (parts.length != 3 || !parts[0].equals(sort.name())) {
+        throw new InvalidCursorException(token);
+      }
+      Long id = Long.valueOf(parts[2]);
+      Position position =
+          switch (sort) {
+            case CREATED_AT_DESC, CREATED_AT_ASC ->
+                new Position(LocalDateTime.parse(parts[1]), null, id);
+            case BALANCE_DESC, BALANCE_ASC ->
+                new Position(null, Money.ofMinorUnits(Long.parseLong(parts[1])), id);
+            case ID_ASC -> new Position(null, null, id);
+          };
+      return new WalletSearchCursor(sort, position);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new InvalidCursorException(token);
+    }
+  }
+}
@@ -14,8 +14,11 @@ import org.springframework.stereotype.Component;
 public class WalletAccessPolicy {
 
   public void ensureCanAccess(Customer actor, Wallet wallet) {
-    if (actor.getRole() == UserRole.CUSTOMER
-        && !wallet.getCustomer().getId().equals(actor.getId())) {
+    ensureCanAccess(actor, wallet.getCustomer().getId());
+  }
+
+  public void ensureCanAccess(Customer actor, Long walletOwnerId) {
+    if (actor.getRole() == UserRole.CUSTOMER && !walletOwnerId.equals(actor.getId())) {
       throw new UnauthorizedOperationException("Cannot access other customer's wallet");
     }
   }
@@ -0,0 +1,26 @@
+package com.wallet.service.ratelimit;
+
+/**
+ * Size and refill rate of a token bucket: up to {@code capacity} requests at once, then one more
+ * every {@code nanosPerToken}.
+ */
+public record BucketLimit(long capacity, long nanosPerToken) {
+
+  public BucketLimit {
+    if (capacity < 1 || nanosPerToken < 1) {
+      throw new IllegalArgumentException("A bucket needs a positive capacity and refill rate");
+    }
+  }
+
+  public static BucketLimit of(long capacity, double refillPerSecond) {
+    if (!(refillPerSecond > 0)) {
+      throw new IllegalArgumentException("A bucket needs a positive capacity and refill rate");
+    }
+    return new BucketLimit(capacity, Math.max(1, Math.round(1_000_000_000 / refillPerSecond)));
+  }
+
+  /** How long an untouched bucket takes to fill up from empty. */
+  public long refillNanos() {
+    return Math.multiplyExact(capacity, nanosPerToken);
+  }
+}
@@ -0,0 +1,68 @@
+package com.wallet.service.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets in this process, one {@link AtomicLong} each and no lock.
+ *
+ * <p>A bucket does not count tokens. It keeps the time at which it will be full again, the generic
+ * cell rate algorithm's form of a token bucket: taking a token pushes that time one refill interval
+ * later, and the request is granted while the time stays within {@code capacity} intervals of now.
+ * Refill therefore needs no timer and no second field; a single compare-and-set grants the token,
+ * and a caller that loses the race retries against the new time.
+ *
+ * <p>Buckets untouched for as long as the slowest limit takes to refill are full again and are
+ * dropped. Past {@code maxKeys} the least recently used buckets go too, which only ever makes a
+ * limit more lenient.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+  private static final long EMPTY = Long.MIN_VALUE;
+
+  private final Cache<String, AtomicLong> buckets;
+  private final LongSupplier nanoTime;
+
+  public InMemoryRateLimitStore(int maxKeys, Duration idleExpiry, LongSupplier nanoTime) {
+    this.buckets = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(idleExpiry).build();
+    this.nanoTime = nanoTime;
+  }
+
+  @Override
+  public long tryConsume(String key, BucketLimit limit) {
+    AtomicLong fullAt = buckets.get(key, ignored -> new AtomicLong(EMPTY));
+    long now = nanoTime.getAsLong();
+    long burst = limit.refillNanos();
+    while (true) {
+      long current = fullAt.get();
+      long next = (current == EMPTY || current - now < 0 ? now : current) + limit.nanosPerToken();
+      long wait = next - now - burst;
+      if (wait > 0) {
+        return wait;
+      }
+      if (fullAt.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+
+  @Override
+  public void release(String key, BucketLimit limit) {
+    AtomicLong fullAt = buckets.getIfPresent(key);
+    if (fullAt == null) {
+      return;
+    }
+    long now = nanoTime.getAsLong();
+    fullAt.updateAndGet(
+        current -> {
+          if (current == EMPTY || current - now <= 0) {
+            return current;
+          }
+          long earlier = current - limit.nanosPerToken();
+          return earlier - now < 0 ? now : earlier;
+        });
+  }
+}
@@ -0,0 +1,77 @@
+package com.wallet.service.ratelimit;
+
+import com.wallet.service.ratelimit.RequestRateLimiter.Operation;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Charges the caller's buckets before the controller runs and so before any database connection is
+ * taken: the customer bucket, and the bucket for a wallet named in the path or the {@code walletId}
+ * parameter. {@code GET} and {@code HEAD} count as reads, everything else as writes. Handlers that
+ * take a deposit, withdraw or transfer body are left to {@link WalletRateLimitBodyAdvice}, which
+ * charges both buckets once it knows the wallet.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+  private static final String WALLET_ID = "walletId";
+
+  private final RequestRateLimiter limiter;
+
+  public RateLimitInterceptor(RequestRateLimiter limiter) {
+    this.limiter = limiter;
+  }
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    // Async re-dispatches (NDJSON streaming) were already counted on the way in.
+    if (request.getDispatcherType() == DispatcherType.ASYNC
+        || (handler instanceof HandlerMethod method && readsWalletRequest(method))) {
+      return true;
+    }
+    Operation operation =
+        HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+            ? Operation.READ
+            : Operation.WRITE;
+    limiter.acquire(walletId(request), operation);
+    return true;
+  }
+
+  private static boolean readsWalletRequest(HandlerMethod method) {
+    for (MethodParameter parameter : method.getMethodParameters()) {
+      if (parameter.hasParameterAnnotation(RequestBody.class)
+          && WalletRateLimitBodyAdvice.isWalletRequest(parameter.getGenericParameterType())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Long walletId(HttpServletRequest request) {
+    String value = null;
+    if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE)
+        instanceof Map<?, ?> variables) {
+      value = (String) variables.get(WALLET_ID);
+    }
+    if (value == null) {
+      value = request.getParameter(WALLET_ID);
+    }
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Long.valueOf(value);
+    } catch (NumberFormatException e) {
+      // The controller rejects it with 400.
+      return null;
+    }
+  }
+}
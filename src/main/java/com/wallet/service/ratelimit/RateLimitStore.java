@@ -0,0 +1,22 @@
+package com.wallet.service.ratelimit;
+
+/**
+ * Holds the token buckets. The in-memory store limits each instance on its own; a store backed by a
+ * shared database or cache can replace it by declaring a {@code RateLimitStore} bean, so limits
+ * hold across instances.
+ */
+public interface RateLimitStore {
+
+  /**
+   * Takes one token from the bucket named {@code key}, which always has the same {@code limit}.
+   *
+   * @return 0 when the token was granted, otherwise nanoseconds until one will be available
+   */
+  long tryConsume(String key, BucketLimit limit);
+
+  /**
+   * Puts back a token taken from {@code key} for a request that was then rejected by another
+   * bucket. The bucket never ends up fuller than its capacity.
+   */
+  void release(String key, BucketLimit limit);
+}
@@ -0,0 +1,110 @@
+package com.wallet.service.ratelimit;
+
+import com.wallet.config.RateLimitProperties;
+import com.wallet.exception.RateLimitExceededException;
+import com.wallet.service.CurrentCustomerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Applies the customer and wallet limits through a {@link RateLimitStore} and counts what it
+ * rejects. Rejections are tagged by scope and operation only; customer and wallet ids would give
+ * every key its own time series.
+ *
+ * <p>Wallet buckets are kept per caller and wallet. Requests are charged before the services check
+ * access, so a bucket shared by every caller of a wallet would let anyone who knows its id lock the
+ * owner out.
+ */
+public class RequestRateLimiter {
+
+  public enum Scope {
+    CUSTOMER,
+    WALLET
+  }
+
+  public enum Operation {
+    READ,
+    WRITE
+  }
+
+  private final RateLimitStore store;
+  private final CurrentCustomerService currentCustomerService;
+  private final Map<Scope, Map<Operation, Limit>> limits = new EnumMap<>(Scope.class);
+
+  public RequestRateLimiter(
+      RateLimitStore store,
+      CurrentCustomerService currentCustomerService,
+      RateLimitProperties properties,
+      MeterRegistry meterRegistry) {
+    this.store = store;
+    this.currentCustomerService = currentCustomerService;
+    limits.put(Scope.CUSTOMER, limits(Scope.CUSTOMER, properties.getCustomer(), meterRegistry));
+    limits.put(Scope.WALLET, limits(Scope.WALLET, properties.getWallet(), meterRegistry));
+  }
+
+  /**
+   * Takes a token from the caller's bucket and, when {@code walletId} is set, from the caller's
+   * bucket for that wallet, or throws {@link RateLimitExceededException} and takes neither.
+   * Unauthenticated requests are not limited.
+   */
+  public void acquire(Long walletId, Operation operation) {
+    Optional<Long> customerId = currentCustomerService.findCurrentCustomerId();
+    if (customerId.isEmpty()) {
+      return;
+    }
+    Limit customer = limits.get(Scope.CUSTOMER).get(operation);
+    String customerKey = customer.keyPrefix() + customerId.get();
+    take(customer, customerKey);
+    if (walletId != null) {
+      Limit wallet = limits.get(Scope.WALLET).get(operation);
+      try {
+        take(wallet, wallet.keyPrefix() + customerId.get() + ":" + walletId);
+      } catch (RateLimitExceededException e) {
+        store.release(customerKey, customer.bucket());
+        throw e;
+      }
+    }
+  }
+
+  private void take(Limit limit, String key) {
+    long waitNanos = store.tryConsume(key, limit.bucket());
+    if (waitNanos > 0) {
+      limit.rejections().increment();
+      throw new RateLimitExceededException(limit.scope(), Duration.ofNanos(waitNanos));
+    }
+  }
+
+  private static Map<Operation, Limit> limits(
+      Scope scope, RateLimitProperties.Scope properties, MeterRegistry meterRegistry) {
+    Map<Operation, Limit> limits = new EnumMap<>(Operation.class);
+    limits.put(Operation.READ, limit(scope, Operation.READ, properties.getRead(), meterRegistry));
+    limits.put(
+        Operation.WRITE, limit(scope, Operation.WRITE, properties.getWrite(), meterRegistry));
+    return limits;
+  }
+
+  private static Limit limit(
+      Scope scope,
+      Operation operation,
+      RateLimitProperties.Bucket bucket,
+      MeterRegistry meterRegistry) {
+    String scopeName = scope.name().toLowerCase(Locale.ROOT);
+    String operationName = operation.name().toLowerCase(Locale.ROOT);
+    return new Limit(
+        scopeName,
+        scopeName + ":" + operationName + ":",
+        bucket.toLimit(),
+        Counter.builder("wallet.rate.limit.rejections")
+            .description("Requests rejected with 429 because their token bucket was empty")
+            .tag("scope", scopeName)
+            .tag("operation", operationName)
+            .register(meterRegistry));
+  }
+
+  private record Limit(String scope, String keyPrefix, BucketLimit bucket, Counter rejections) {}
+}
@@ -0,0 +1,64 @@
+package com.wallet.service.ratelimit;
+
+import com.wallet.dto.request.DepositRequest;
+import com.wallet.dto.request.TransferRequest;
+import com.wallet.dto.request.WithdrawRequest;
+import com.wallet.service.ratelimit.RequestRateLimiter.Operation;
+import java.lang.reflect.Type;
+import java.util.Set;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+/**
+ * Charges the caller's write buckets for a deposit, withdraw or transfer as soon as its body is
+ * read and before the controller calls the service: the customer bucket and the bucket for the
+ * wallet the body names. A transfer is charged to its source wallet.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "wallet.rate-limit", name = "enabled", havingValue = "true")
+public class WalletRateLimitBodyAdvice extends RequestBodyAdviceAdapter {
+
+  private static final Set<Type> WALLET_REQUESTS =
+      Set.of(DepositRequest.class, WithdrawRequest.class, TransferRequest.class);
+
+  private final RequestRateLimiter limiter;
+
+  public WalletRateLimitBodyAdvice(RequestRateLimiter limiter) {
+    this.limiter = limiter;
+  }
+
+  @Override
+  public boolean supports(
+      MethodParameter methodParameter,
+      Type targetType,
+      Class<? extends HttpMessageConverter<?>> converterType) {
+    return isWalletRequest(targetType);
+  }
+
+  static boolean isWalletRequest(Type type) {
+    return WALLET_REQUESTS.contains(type);
+  }
+
+  @Override
+  public Object afterBodyRead(
+      Object body,
+      HttpInputMessage inputMessage,
+      MethodParameter parameter,
+      Type targetType,
+      Class<? extends HttpMessageConverter<?>> converterType) {
+    Long walletId =
+        switch (body) {
+          case DepositRequest deposit -> deposit.walletId();
+          case WithdrawRequest withdraw -> withdraw.walletId();
+          case TransferRequest transfer -> transfer.sourceWalletId();
+          default -> null;
+        };
+    // A missing id fails validation right after this; the customer is charged either way.
+    limiter.acquire(walletId, Operation.WRITE);
+    return body;
+  }
+}
@@ -0,0 +1,180 @@
+package com.wallet.service.replica;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Stands in for database replication when both databases are local H2 instances. On start it
+ * recreates the primary's schema in the replica, without foreign keys, and links every primary
+ * table into the replica; each refresh then replaces the replica's rows with the primary's in one
+ * replica transaction, so readers never see a half-copied table.
+ *
+ * <p>A refresh reads the primary's commit position before copying anything. Every write with that
+ * position or lower has already committed, so the copy contains it and the tracker can hand the
+ * position to readers once the copy commits.
+ */
+public class H2ReplicationStandIn implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(H2ReplicationStandIn.class);
+
+  private static final String LINK_SCHEMA = "PRIMARY_LINK";
+
+  private final DataSource primary;
+  private final DataSource replica;
+  private final String primaryUrl;
+  private final String primaryUsername;
+  private final String primaryPassword;
+  private final ReplicationTracker tracker;
+  private final Duration interval;
+
+  private final List<String> tables = new ArrayList<>();
+  private volatile boolean running;
+  private Thread refresher;
+
+  public H2ReplicationStandIn(
+      DataSource primary,
+      DataSource replica,
+      String primaryUrl,
+      String primaryUsername,
+      String primaryPassword,
+      ReplicationTracker tracker,
+      Duration interval) {
+    this.primary = primary;
+    this.replica = replica;
+    this.primaryUrl = primaryUrl;
+    this.primaryUsername = primaryUsername;
+    this.primaryPassword = primaryPassword;
+    this.tracker = tracker;
+    this.interval = interval;
+  }
+
+  @Override
+  public void start() {
+    try {
+      copySchema();
+      refresh();
+    } catch (SQLException e) {
+      throw new IllegalStateException("Could not set up the replica", e);
+    }
+    running = true;
+    refresher = Thread.ofPlatform().name("replica-refresh").daemon(true).start(this::refreshLoop);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (refresher != null) {
+      refresher.interrupt();
+      try {
+        refresher.join(interval.toMillis() + 1000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /** Copies the primary into the replica now. */
+  public void refresh() throws SQLException {
+    long position = tracker.primaryPosition();
+    try (Connection connection = replica.getConnection()) {
+      connection.setAutoCommit(false);
+      try (Statement statement = connection.createStatement()) {
+        for (String table : tables) {
+          statement.addBatch("DELETE FROM PUBLIC." + table);
+          statement.addBatch(
+              "INSERT INTO PUBLIC." + table + " SELECT * FROM " + LINK_SCHEMA + "." + table);
+        }
+        statement.executeBatch();
+        connection.commit();
+      } catch (SQLException e) {
+        connection.rollback();
+        throw e;
+      }
+    }
+    tracker.replicated(position);
+  }
+
+  private void refreshLoop() {
+    while (running) {
+      try {
+        Thread.sleep(interval);
+        refresh();
+      } catch (InterruptedException e) {
+        return;
+      } catch (SQLException e) {
+        // Readers fall back to the primary once the replica is older than the allowed lag.
+        log.warn("Replica refresh failed", e);
+      }
+    }
+  }
+
+  private void copySchema() throws SQLException {
+    List<String> ddl = new ArrayList<>();
+    try (Connection connection = primary.getConnection();
+        Statement statement = connection.createStatement()) {
+      try (ResultSet script = statement.executeQuery("SCRIPT NODATA")) {
+        while (script.next()) {
+          ddl.add(script.getString(1));
+        }
+      }
+      try (ResultSet names =
+          statement.executeQuery(
+              "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES"
+                  + " WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'")) {
+        while (names.next()) {
+          tables.add(quote(names.getString(1)));
+        }
+      }
+    }
+    try (Connection connection = replica.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("DROP ALL OBJECTS");
+      for (String sql : ddl) {
+        // Tables are refreshed one after another, so the replica cannot enforce foreign keys.
+        if (sql.startsWith("--") || sql.startsWith("CREATE USER") || sql.contains("FOREIGN KEY")) {
+          continue;
+        }
+        statement.execute(sql);
+      }
+      statement.execute("CREATE SCHEMA " + LINK_SCHEMA);
+      for (String table : tables) {
+        statement.execute(
+            "CREATE LINKED TABLE "
+                + LINK_SCHEMA
+                + "."
+                + table
+                + "('', "
+                + literal(primaryUrl)
+                + ", "
+                + literal(primaryUsername)
+                + ", "
+                + literal(primaryPassword)
+                + ", 'PUBLIC', "
+                + literal(table.substring(1, table.length() - 1))
+                + ") READONLY");
+      }
+    }
+  }
+
+  private static String quote(String identifier) {
+    return '"' + identifier.replace("\"", "\"\"") + '"';
+  }
+
+  private static String literal(String value) {
+    return "'" + (value == null ? "" : value.replace("'", "''")) + "'";
+  }
+}
@@ -0,0 +1,17 @@
+package com.wallet.service.replica;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only service method whose queries may be answered by the read replica. Only its
+ * read-only transactions and queries run outside a transaction are routed; a method joining a write
+ * transaction keeps using the primary, and so does any reader the replica has not caught up with.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReplicaRead {}
@@ -0,0 +1,23 @@
+package com.wallet.service.replica;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "wallet.replica", name = "enabled", havingValue = "true")
+public class ReplicaReadAspect {
+
+  @Around("@annotation(com.wallet.service.replica.ReplicaRead)")
+  public Object routeToReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+    boolean wasActive = ReplicaReadScope.enter();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      ReplicaReadScope.restore(wasActive);
+    }
+  }
+}
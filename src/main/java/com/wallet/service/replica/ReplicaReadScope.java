@@ -0,0 +1,48 @@
+package com.wallet.service.replica;
+
+/** Tracks whether the current thread is inside a {@link ReplicaRead} method, and what it read. */
+public final class ReplicaReadScope {
+
+  private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+  private ReplicaReadScope() {}
+
+  /**
+   * Whether the running {@link ReplicaRead} method has been served by the replica, whose rows may
+   * trail commits that callers have already seen.
+   */
+  public static boolean servedByReplica() {
+    Scope scope = CURRENT.get();
+    return scope != null && scope.replicaUsed;
+  }
+
+  static boolean isActive() {
+    return CURRENT.get() != null;
+  }
+
+  /** Enters the scope and returns whether it was already active, for {@link #restore}. */
+  static boolean enter() {
+    if (CURRENT.get() != null) {
+      return true;
+    }
+    CURRENT.set(new Scope());
+    return false;
+  }
+
+  static void restore(boolean wasActive) {
+    if (!wasActive) {
+      CURRENT.remove();
+    }
+  }
+
+  static void replicaUsed() {
+    Scope scope = CURRENT.get();
+    if (scope != null) {
+      scope.replicaUsed = true;
+    }
+  }
+
+  private static final class Scope {
+    private boolean replicaUsed;
+  }
+}
@@ -0,0 +1,91 @@
+package com.wallet.service.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Picks the primary or the replica each time a physical connection is taken. It must sit behind a
+ * {@code LazyConnectionDataSourceProxy}, so the connection is only taken at the first statement,
+ * once the transaction's read-only flag is known.
+ *
+ * <p>Inside a {@link ReplicaRead} method, read-only transactions and statements run outside any
+ * transaction, such as repository query methods, go to the replica when {@link ReplicationTracker}
+ * says the reader may use it; everything else goes to the primary. Write transactions report their
+ * commit to the tracker.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  enum Target {
+    PRIMARY,
+    REPLICA
+  }
+
+  private final ReplicationTracker tracker;
+  // Bound for the rest of a write transaction once its commit is being tracked.
+  private final Object trackedKey = new Object();
+  private final Counter replicaReads;
+  private final Counter primaryReads;
+
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      DataSource replica,
+      ReplicationTracker tracker,
+      MeterRegistry meterRegistry) {
+    this.tracker = tracker;
+    this.replicaReads = readCounter(meterRegistry, "replica");
+    this.primaryReads = readCounter(meterRegistry, "primary");
+    setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    boolean readOnly =
+        !TransactionSynchronizationManager.isActualTransactionActive()
+            || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    if (readOnly && ReplicaReadScope.isActive()) {
+      if (tracker.replicaCanServe()) {
+        replicaReads.increment();
+        ReplicaReadScope.replicaUsed();
+        return Target.REPLICA;
+      }
+      primaryReads.increment();
+    } else if (!readOnly) {
+      trackCommit();
+    }
+    return Target.PRIMARY;
+  }
+
+  private void trackCommit() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()
+        || TransactionSynchronizationManager.hasResource(trackedKey)) {
+      return;
+    }
+    TransactionSynchronizationManager.bindResource(trackedKey, Boolean.TRUE);
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            tracker.committed();
+          }
+
+          @Override
+          public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(trackedKey);
+          }
+        });
+  }
+
+  private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+    return Counter.builder("wallet.replica.reads")
+        .description("Connections taken by @ReplicaRead methods by the database that served them")
+        .tag("target", target)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,116 @@
+package com.wallet.service.replica;
+
+import com.wallet.security.CustomUserDetails;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Commit positions of the primary and the replica, and the position each reader must see.
+ *
+ * <p>Every committed write transaction on the primary takes the next position. The writer's
+ * customer remembers it, and the response carries it in {@value #POSITION_HEADER}; a client that
+ * sends the header back, to any node, is guaranteed to read its own writes. A read may use the
+ * replica only when the replica has reached both positions and was refreshed within {@code maxLag}.
+ * Customer entries are dropped as soon as the replica passes them.
+ */
+public class ReplicationTracker {
+
+  public static final String POSITION_HEADER = "X-Wallet-Position";
+
+  private final long maxLagNanos;
+  private final AtomicLong primaryPosition = new AtomicLong();
+  private final Map<Long, Long> customerPositions = new ConcurrentHashMap<>();
+
+  private volatile long replicaPosition = -1;
+  private volatile long refreshedAtNanos;
+
+  public ReplicationTracker(Duration maxLag, MeterRegistry meterRegistry) {
+    this.maxLagNanos = maxLag.toNanos();
+    Gauge.builder("wallet.replica.lag", this, tracker -> tracker.lag())
+        .description("Committed write transactions the replica has not applied yet")
+        .register(meterRegistry);
+  }
+
+  /** Position the next replica refresh will cover once it has copied the primary. */
+  public long primaryPosition() {
+    return primaryPosition.get();
+  }
+
+  /** Called after a write transaction committed on the primary. */
+  public long committed() {
+    long position = primaryPosition.incrementAndGet();
+    Long customerId = currentCustomerId();
+    if (customerId != null) {
+      customerPositions.merge(customerId, position, Math::max);
+    }
+    if (RequestContextHolder.getRequestAttributes()
+        instanceof ServletRequestAttributes attributes) {
+      HttpServletResponse response = attributes.getResponse();
+      if (response != null && !response.isCommitted()) {
+        response.setHeader(POSITION_HEADER, Long.toString(position));
+      }
+    }
+    return position;
+  }
+
+  /** Called once the replica holds everything committed up to {@code position}. */
+  public void replicated(long position) {
+    replicaPosition = Math.max(replicaPosition, position);
+    refreshedAtNanos = System.nanoTime();
+    customerPositions.values().removeIf(required -> required <= position);
+  }
+
+  /** Whether the current reader may be served by the replica. */
+  public boolean replicaCanServe() {
+    long replica = replicaPosition;
+    if (replica < 0 || System.nanoTime() - refreshedAtNanos > maxLagNanos) {
+      return false;
+    }
+    Long customerId = currentCustomerId();
+    if (customerId != null && customerPositions.getOrDefault(customerId, 0L) > replica) {
+      return false;
+    }
+    return requestedPosition() <= replica;
+  }
+
+  long lag() {
+    return Math.max(0, primaryPosition.get() - Math.max(replicaPosition, 0));
+  }
+
+  /** Position sent by the client; one that cannot be parsed is served by the primary. */
+  private static long requestedPosition() {
+    if (!(RequestContextHolder.getRequestAttributes()
+        instanceof ServletRequestAttributes attributes)) {
+      return 0;
+    }
+    HttpServletRequest request = attributes.getRequest();
+    String header = request.getHeader(POSITION_HEADER);
+    if (header == null || header.isBlank()) {
+      return 0;
+    }
+    try {
+      return Long.parseLong(header.trim());
+    } catch (NumberFormatException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  private static Long currentCustomerId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null
+        && authentication.getPrincipal() instanceof CustomUserDetails principal) {
+      return principal.getCustomerId();
+    }
+    return null;
+  }
+}
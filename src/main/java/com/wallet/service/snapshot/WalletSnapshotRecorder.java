@@ -0,0 +1,119 @@
+package com.wallet.service.snapshot;
+
+import com.wallet.model.WalletDailySnapshot;
+import com.wallet.model.WalletTransaction;
+import com.wallet.repository.WalletDailySnapshotRepository;
+import com.wallet.repository.WalletRepository;
+import com.wallet.service.strategy.BalanceDelta;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@link WalletDailySnapshot} rows current. Callers invoke it right after a balance change,
+ * inside the same transaction, so a statement never has to replay transactions.
+ */
+@Component
+public class WalletSnapshotRecorder {
+
+  private static final Logger log = LoggerFactory.getLogger(WalletSnapshotRecorder.class);
+
+  /** Opens a day with zero totals; a row another transaction inserted first wins. */
+  private static final String OPEN_DAY_SQL =
+      """
+      INSERT INTO wallet_daily_snapshots (
+        wallet_id, snapshot_date,
+        opening_balance, opening_usable_balance, closing_balance, closing_usable_balance,
+        deposit_approved_count, deposit_approved_amount,
+        deposit_pending_count, deposit_pending_amount,
+        deposit_denied_count, deposit_denied_amount,
+        withdraw_approved_count, withdraw_approved_amount,
+        withdraw_pending_count, withdraw_pending_amount,
+        withdraw_denied_count, withdraw_denied_amount,
+        transfer_out_approved_count, transfer_out_approved_amount,
+        transfer_out_pending_count, transfer_out_pending_amount,
+        transfer_out_denied_count, transfer_out_denied_amount,
+        transfer_in_approved_count, transfer_in_approved_amount,
+        transfer_in_pending_count, transfer_in_pending_amount,
+        transfer_in_denied_count, transfer_in_denied_amount,
+        version)
+      VALUES (?, ?, ?, ?, ?, ?,
+        0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+        0)
+      """;
+
+  private final WalletDailySnapshotRepository snapshotRepository;
+  private final WalletRepository walletRepository;
+  private final JdbcTemplate jdbcTemplate;
+
+  public WalletSnapshotRecorder(
+      WalletDailySnapshotRepository snapshotRepository,
+      WalletRepository walletRepository,
+      JdbcTemplate jdbcTemplate) {
+    this.snapshotRepository = snapshotRepository;
+    this.walletRepository = walletRepository;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Folds {@code delta} and the transactions that produced it (each in the status it just reached)
+   * into today's row of the wallet. The first change of the day opens the row from the wallet's
+   * current balances; every change then locks the row and adds to it.
+   */
+  public void record(
+      Long walletId, BalanceDelta delta, Collection<WalletTransaction> transactions) {
+    LocalDate today = LocalDate.now();
+    Optional<WalletDailySnapshot> existing = snapshotRepository.findForUpdate(walletId, today);
+    if (existing.isEmpty()) {
+      openDay(walletId, today, delta);
+      existing = snapshotRepository.findForUpdate(walletId, today);
+    }
+    WalletDailySnapshot snapshot =
+        existing.orElseThrow(
+            () -> new IllegalStateException("Snapshot row disappeared: " + walletId));
+    snapshot.setClosingBalance(snapshot.getClosingBalance().add(delta.balance().toBigDecimal()));
+    snapshot.setClosingUsableBalance(
+        snapshot.getClosingUsableBalance().add(delta.usableBalance().toBigDecimal()));
+    for (WalletTransaction transaction : transactions) {
+      snapshot
+          .totalsFor(transaction.getType())
+          .add(transaction.getStatus(), transaction.getAmount().toBigDecimal());
+    }
+    snapshotRepository.save(snapshot);
+  }
+
+  /**
+   * Inserts the day's row, opening at the wallet's balances before {@code delta}. Concurrent first
+   * changes (optimistic mode takes no wallet lock) race on the primary key; the loser's insert
+   * waits for the winner and then fails as a duplicate, which leaves its own transaction intact, so
+   * it goes on to lock and add to the winner's row. The insert bypasses the entity manager because
+   * Hibernate would mark the whole transaction for rollback on that failure.
+   */
+  private void openDay(Long walletId, LocalDate date, BalanceDelta delta) {
+    WalletRepository.Balances current =
+        walletRepository
+            .findBalancesById(walletId)
+            .orElseThrow(() -> new IllegalStateException("Wallet disappeared: " + walletId));
+    BigDecimal openingBalance = current.getBalance().minus(delta.balance()).toBigDecimal();
+    BigDecimal openingUsableBalance =
+        current.getUsableBalance().minus(delta.usableBalance()).toBigDecimal();
+    try {
+      jdbcTemplate.update(
+          OPEN_DAY_SQL,
+          walletId,
+          date,
+          openingBalance,
+          openingUsableBalance,
+          openingBalance,
+          openingUsableBalance);
+    } catch (DuplicateKeyException e) {
+      log.debug("Day {} of wallet {} was opened concurrently", date, walletId);
+    }
+  }
+}
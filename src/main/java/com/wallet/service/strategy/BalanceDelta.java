@@ -0,0 +1,35 @@
+package com.wallet.service.strategy;
+
+import com.wallet.model.Money;
+import com.wallet.model.Wallet;
+
+/**
+ * Signed change a transaction makes to a wallet's {@code balance} and {@code usableBalance}.
+ * Strategies describe their effect as a delta so it can be applied either to the loaded entity or
+ * straight in SQL.
+ */
+public record BalanceDelta(Money balance, Money usableBalance) {
+
+  public static final BalanceDelta ZERO = new BalanceDelta(Money.ZERO, Money.ZERO);
+
+  public static BalanceDelta of(Money balance, Money usableBalance) {
+    return new BalanceDelta(balance, usableBalance);
+  }
+
+  public BalanceDelta plus(BalanceDelta other) {
+    return new BalanceDelta(balance.plus(other.balance), usableBalance.plus(other.usableBalance));
+  }
+
+  public boolean isZero() {
+    return balance.isZero() && usableBalance.isZero();
+  }
+
+  public boolean reducesUsableBalance() {
+    return usableBalance.isNegative();
+  }
+
+  public void applyTo(Wallet wallet) {
+    wallet.setBalance(wallet.getBalance().plus(balance));
+    wallet.setUsableBalance(wallet.getUsableBalance().plus(usableBalance));
+  }
+}
@@ -2,7 +2,7 @@ package com.wallet.service.strategy;
 
 import com.wallet.enums.TransactionStatus;
 import com.wallet.enums.TransactionType;
-import com.wallet.model.Wallet;
+import com.wallet.model.Money;
 import com.wallet.model.WalletTransaction;
 import org.springframework.stereotype.Component;
 
@@ -16,25 +16,23 @@ public class DepositTransactionStrategy implements TransactionStrategy {
 
   @Override
   public void validate(TransactionRequestContext context) {
-    // no deposit-specific validation currently I believe that all deposits are allowed whether wallet is active or not for withdrawals/shopping
+    // no deposit-specific validation currently I believe that all deposits are allowed whether
+    // wallet is active or not for withdrawals/shopping
   }
 
   @Override
-  public void applyOnCreate(TransactionRequestContext context, TransactionStatus status) {
-    Wallet wallet = context.wallet();
-    wallet.setBalance(wallet.getBalance().add(context.amount()));
-    if (status == TransactionStatus.APPROVED) {
-      wallet.setUsableBalance(wallet.getUsableBalance().add(context.amount()));
-    }
+  public BalanceDelta deltaOnCreate(TransactionRequestContext context, TransactionStatus status) {
+    Money amount = context.amount();
+    return BalanceDelta.of(amount, status == TransactionStatus.APPROVED ? amount : Money.ZERO);
   }
 
   @Override
-  public void applyStatusChange(
-      Wallet wallet, WalletTransaction transaction, TransactionStatus newStatus) {
+  public BalanceDelta deltaOnStatusChange(
+      WalletTransaction transaction, TransactionStatus newStatus) {
+    Money amount = transaction.getAmount();
     if (newStatus == TransactionStatus.APPROVED) {
-      wallet.setUsableBalance(wallet.getUsableBalance().add(transaction.getAmount()));
-    } else {
-      wallet.setBalance(wallet.getBalance().subtract(transaction.getAmount()));
+      return BalanceDelta.of(Money.ZERO, amount);
     }
+    return BalanceDelta.of(amount.negate(), Money.ZERO);
   }
 }
@@ -11,7 +11,16 @@ public interface TransactionStrategy {
 
   void validate(TransactionRequestContext context);
 
-  void applyOnCreate(TransactionRequestContext context, TransactionStatus status);
+  BalanceDelta deltaOnCreate(TransactionRequestContext context, TransactionStatus status);
 
-  void applyStatusChange(Wallet wallet, WalletTransaction transaction, TransactionStatus newStatus);
+  BalanceDelta deltaOnStatusChange(WalletTransaction transaction, TransactionStatus newStatus);
+
+  default void applyOnCreate(TransactionRequestContext context, TransactionStatus status) {
+    deltaOnCreate(context, status).applyTo(context.wallet());
+  }
+
+  default void applyStatusChange(
+      Wallet wallet, WalletTransaction transaction, TransactionStatus newStatus) {
+    deltaOnStatusChange(transaction, newStatus).applyTo(wallet);
+  }
 }
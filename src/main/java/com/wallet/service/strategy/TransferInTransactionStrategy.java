@@ -0,0 +1,35 @@
+package com.wallet.service.strategy;
+
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.exception.InvalidTransactionStatusException;
+import com.wallet.model.Money;
+import com.wallet.model.WalletTransaction;
+import org.springframework.stereotype.Component;
+
+/** Credit leg of a wallet-to-wallet transfer; like deposits, accepted by any wallet. */
+@Component
+public class TransferInTransactionStrategy implements TransactionStrategy {
+
+  @Override
+  public TransactionType getType() {
+    return TransactionType.TRANSFER_IN;
+  }
+
+  @Override
+  public void validate(TransactionRequestContext context) {
+    // the debit leg carries all checks
+  }
+
+  @Override
+  public BalanceDelta deltaOnCreate(TransactionRequestContext context, TransactionStatus status) {
+    Money amount = context.amount();
+    return BalanceDelta.of(amount, amount);
+  }
+
+  @Override
+  public BalanceDelta deltaOnStatusChange(
+      WalletTransaction transaction, TransactionStatus newStatus) {
+    throw new InvalidTransactionStatusException("Transfers cannot change status");
+  }
+}
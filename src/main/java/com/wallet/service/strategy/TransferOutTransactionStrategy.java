@@ -0,0 +1,43 @@
+package com.wallet.service.strategy;
+
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.exception.InsufficientBalanceException;
+import com.wallet.exception.InvalidTransactionStatusException;
+import com.wallet.model.Money;
+import com.wallet.model.Wallet;
+import com.wallet.model.WalletTransaction;
+import org.springframework.stereotype.Component;
+
+/** Debit leg of a wallet-to-wallet transfer. Transfers settle immediately, so never pending. */
+@Component
+public class TransferOutTransactionStrategy implements TransactionStrategy {
+
+  @Override
+  public TransactionType getType() {
+    return TransactionType.TRANSFER_OUT;
+  }
+
+  @Override
+  public void validate(TransactionRequestContext context) {
+    Wallet wallet = context.wallet();
+    if (!wallet.isActiveForWithdraw()) {
+      throw new InvalidTransactionStatusException("Wallet not enabled for withdraw");
+    }
+    if (wallet.getUsableBalance().isLessThan(context.amount())) {
+      throw new InsufficientBalanceException();
+    }
+  }
+
+  @Override
+  public BalanceDelta deltaOnCreate(TransactionRequestContext context, TransactionStatus status) {
+    Money amount = context.amount().negate();
+    return BalanceDelta.of(amount, amount);
+  }
+
+  @Override
+  public BalanceDelta deltaOnStatusChange(
+      WalletTransaction transaction, TransactionStatus newStatus) {
+    throw new InvalidTransactionStatusException("Transfers cannot change status");
+  }
+}
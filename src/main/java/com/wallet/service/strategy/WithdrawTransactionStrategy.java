@@ -5,6 +5,7 @@ import com.wallet.enums.TransactionStatus;
 import com.wallet.enums.TransactionType;
 import com.wallet.exception.InsufficientBalanceException;
 import com.wallet.exception.InvalidTransactionStatusException;
+import com.wallet.model.Money;
 import com.wallet.model.Wallet;
 import com.wallet.model.WalletTransaction;
 import org.springframework.stereotype.Component;
@@ -26,27 +27,24 @@ public class WithdrawTransactionStrategy implements TransactionStrategy {
     if (context.oppositePartyType() == OppositePartyType.PAYMENT && !wallet.isActiveForShopping()) {
       throw new InvalidTransactionStatusException("Wallet not enabled for shopping payments");
     }
-    if (wallet.getUsableBalance().compareTo(context.amount()) < 0) {
+    if (wallet.getUsableBalance().isLessThan(context.amount())) {
       throw new InsufficientBalanceException();
     }
   }
 
   @Override
-  public void applyOnCreate(TransactionRequestContext context, TransactionStatus status) {
-    Wallet wallet = context.wallet();
-    wallet.setUsableBalance(wallet.getUsableBalance().subtract(context.amount()));
-    if (status == TransactionStatus.APPROVED) {
-      wallet.setBalance(wallet.getBalance().subtract(context.amount()));
-    }
+  public BalanceDelta deltaOnCreate(TransactionRequestContext context, TransactionStatus status) {
+    Money amount = context.amount().negate();
+    return BalanceDelta.of(status == TransactionStatus.APPROVED ? amount : Money.ZERO, amount);
   }
 
   @Override
-  public void applyStatusChange(
-      Wallet wallet, WalletTransaction transaction, TransactionStatus newStatus) {
+  public BalanceDelta deltaOnStatusChange(
+      WalletTransaction transaction, TransactionStatus newStatus) {
+    Money amount = transaction.getAmount();
     if (newStatus == TransactionStatus.APPROVED) {
-      wallet.setBalance(wallet.getBalance().subtract(transaction.getAmount()));
-    } else {
-      wallet.setUsableBalance(wallet.getUsableBalance().add(transaction.getAmount()));
+      return BalanceDelta.of(amount.negate(), Money.ZERO);
     }
+    return BalanceDelta.of(Money.ZERO, amount);
   }
 }
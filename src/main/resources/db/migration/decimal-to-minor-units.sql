@@ -0,0 +1,16 @@
+-- One-off migration for a database created while balances and amounts were DECIMAL columns (H2
+-- syntax). Run it once, with the application stopped, before starting a version that stores
+-- money as BIGINT minor units. Every supported currency has two minor units, so values are
+-- scaled by 100; the columns hold no more than two decimals, so the conversion is exact.
+--
+-- With wallet.concurrency.mode=ledger, stop the old version cleanly first: a clean stop writes every
+-- ledger record back to the database and deletes the write-ahead log. A log left behind by a
+-- crash holds DECIMAL-era records; the new version refuses to start on it (its segments carry
+-- a format version), so start the old version once to replay it, then stop it cleanly.
+
+UPDATE wallets SET balance = balance * 100, usable_balance = usable_balance * 100;
+ALTER TABLE wallets ALTER COLUMN balance SET DATA TYPE BIGINT;
+ALTER TABLE wallets ALTER COLUMN usable_balance SET DATA TYPE BIGINT;
+
+UPDATE transactions SET amount = amount * 100;
+ALTER TABLE transactions ALTER COLUMN amount SET DATA TYPE BIGINT;
@@ -0,0 +1,21 @@
+-- One-off migration for a database created while ids were IDENTITY columns (H2 syntax).
+-- Run it once, with the application stopped, before starting a version that uses pooled-lo
+-- sequences. Each sequence restarts just above the highest existing id; with pooled-lo a
+-- sequence value v reserves ids [v, v + 50), so new ids can never collide with existing rows.
+
+CREATE SEQUENCE IF NOT EXISTS customers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS wallets_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transaction_audit_logs_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE customers_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM customers);
+ALTER SEQUENCE wallets_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM wallets);
+ALTER SEQUENCE transactions_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM transactions);
+ALTER SEQUENCE transaction_audit_logs_seq
+    RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM transaction_audit_logs);
+
+-- Hibernate now always supplies the id, so the identity defaults are no longer needed.
+ALTER TABLE customers ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE wallets ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE transactions ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE transaction_audit_logs ALTER COLUMN id DROP IDENTITY;
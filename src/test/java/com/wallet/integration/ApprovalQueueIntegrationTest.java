@@ -0,0 +1,278 @@
+package com.wallet.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.UserRole;
+import com.wallet.model.Customer;
+import com.wallet.repository.CustomerRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:approvaldb;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class ApprovalQueueIntegrationTest extends IntegrationTestSupport {
+
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  @Test
+  void pendingQueueIsFilteredAndPagedOldestFirst() throws Exception {
+    String customerToken = login("10000000012", "Customer123!");
+    String employeeToken = login("10000000001", "Password123!");
+    Long walletId = createWallet(customerToken, "Queue-EUR-" + System.nanoTime(), "EUR");
+    deposit(customerToken, walletId, 1500);
+    deposit(customerToken, walletId, 2500);
+    deposit(customerToken, walletId, 3000);
+    deposit(customerToken, walletId, 100);
+
+    MvcResult first =
+        mockMvc
+            .perform(
+                get("/api/v1/transactions/pending")
+                    .param("currency", "EUR")
+                    .param("limit", "2")
+                    .header("Authorization", "Bearer " + employeeToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(2))
+            .andExpect(jsonPath("$.items[0].amount").value(1500))
+            .andExpect(jsonPath("$.items[1].amount").value(2500))
+            .andExpect(jsonPath("$.hasNext").value(true))
+            .andReturn();
+    String cursor =
+        objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+
+    mockMvc
+        .perform(
+            get("/api/v1/transactions/pending")
+                .param("currency", "EUR")
+                .param("limit", "2")
+                .param("cursor", cursor)
+                .header("Authorization", "Bearer " + employeeToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(1))
+        .andExpect(jsonPath("$.items[0].amount").value(3000))
+        .andExpect(jsonPath("$.hasNext").value(false));
+
+    mockMvc
+        .perform(
+            get("/api/v1/transactions/pending")
+                .param("currency", "EUR")
+                .param("minAmount", "2000")
+                .param("maxAmount", "2800")
+                .header("Authorization", "Bearer " + employeeToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(1))
+        .andExpect(jsonPath("$.items[0].amount").value(2500));
+
+    mockMvc
+        .perform(
+            get("/api/v1/transactions/pending")
+                .param("currency", "EUR")
+                .param("minAgeMinutes", "60")
+                .header("Authorization", "Bearer " + employeeToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(0));
+
+    mockMvc
+        .perform(
+            get("/api/v1/transactions/pending").header("Authorization", "Bearer " + customerToken))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void concurrentApproversNeverClaimTheSameTransaction() throws Exception {
+    String customerToken = login("10000000012", "Customer123!");
+    String firstApprover = login("10000000001", "Password123!");
+    String secondApprover = login(createEmployee("10000000099"), "Password123!");
+    Long walletId = createWallet(customerToken, "Queue-USD-" + System.nanoTime(), "USD");
+    for (int i = 0; i < 10; i++) {
+      deposit(customerToken, walletId, 1500 + i);
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      List<Future<List<Long>>> claims = new ArrayList<>();
+      for (String approver : List.of(firstApprover, secondApprover)) {
+        claims.add(executor.submit((Callable<List<Long>>) () -> claim(approver, 10)));
+      }
+      List<Long> first = claims.get(0).get();
+      List<Long> second = claims.get(1).get();
+      Set<Long> all = new HashSet<>(first);
+      all.addAll(second);
+      assertThat(first.size() + second.size()).isEqualTo(10);
+      assertThat(all).hasSize(10);
+    } finally {
+      executor.shutdown();
+    }
+
+    Long claimedByFirst = claim(firstApprover, 1).stream().findFirst().orElse(null);
+    if (claimedByFirst == null) {
+      // The first approver lost every race above; release one of the second's rows to it.
+      claimedByFirst = claim(secondApprover, 1).get(0);
+      mockMvc
+          .perform(
+              delete("/api/v1/transactions/{id}/claim", claimedByFirst)
+                  .header("Authorization", "Bearer " + secondApprover))
+          .andExpect(status().isNoContent());
+      claimedByFirst = claim(firstApprover, 1).get(0);
+    }
+
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/{id}", claimedByFirst)
+                .header("Authorization", "Bearer " + secondApprover)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"APPROVED\"}"))
+        .andExpect(status().isConflict());
+
+    mockMvc
+        .perform(
+            delete("/api/v1/transactions/{id}/claim", claimedByFirst)
+                .header("Authorization", "Bearer " + firstApprover))
+        .andExpect(status().isNoContent());
+
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/{id}", claimedByFirst)
+                .header("Authorization", "Bearer " + secondApprover)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"APPROVED\"}"))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void bulkStatusChangeAppliesNetEffectPerWallet() throws Exception {
+    String customerToken = login("10000000012", "Customer123!");
+    String employeeToken = login("10000000001", "Password123!");
+    Long first = createWallet(customerToken, "Queue-TRY-" + System.nanoTime(), "TRY");
+    Long second = createWallet(customerToken, "Queue-TRY-" + System.nanoTime(), "TRY");
+    Long firstDeposit = deposit(customerToken, first, 1500);
+    Long secondDeposit = deposit(customerToken, first, 2000);
+    Long thirdDeposit = deposit(customerToken, second, 1200);
+
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/status")
+                .header("Authorization", "Bearer " + employeeToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        Map.of(
+                            "transactionIds",
+                            List.of(firstDeposit, secondDeposit, thirdDeposit, firstDeposit, -1L),
+                            "status",
+                            "APPROVED",
+                            "failureMode",
+                            "PER_ITEM"))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.applied").value(3))
+        .andExpect(jsonPath("$.failed").value(2))
+        .andExpect(jsonPath("$.results[1].transaction.status").value("APPROVED"))
+        .andExpect(jsonPath("$.results[3].error").value("Duplicate transaction id"))
+        .andExpect(jsonPath("$.results[4].error").value("Transaction not found"));
+
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/{id}", first).header("Authorization", "Bearer " + customerToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.balance").value(3500))
+        .andExpect(jsonPath("$.usableBalance").value(3500));
+
+    Long pending = deposit(customerToken, second, 1800);
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/status")
+                .header("Authorization", "Bearer " + employeeToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        Map.of(
+                            "transactionIds", List.of(pending, thirdDeposit), "status", "DENIED"))))
+        .andExpect(status().isUnprocessableEntity())
+        .andExpect(jsonPath("$.results[0].outcome").value("SKIPPED"))
+        .andExpect(jsonPath("$.results[1].outcome").value("FAILED"));
+
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/{id}", second).header("Authorization", "Bearer " + customerToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.balance").value(3000))
+        .andExpect(jsonPath("$.usableBalance").value(1200));
+
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/status")
+                .header("Authorization", "Bearer " + customerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"transactionIds\":[1],\"status\":\"APPROVED\"}"))
+        .andExpect(status().isForbidden());
+  }
+
+  private List<Long> claim(String token, int limit) throws Exception {
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/v1/transactions/pending/claim")
+                    .param("currency", "USD")
+                    .param("limit", String.valueOf(limit))
+                    .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andReturn();
+    List<Long> ids = new ArrayList<>();
+    for (JsonNode row : objectMapper.readTree(result.getResponse().getContentAsString())) {
+      ids.add(row.get("id").asLong());
+    }
+    return ids;
+  }
+
+  private String createEmployee(String tckn) {
+    Customer employee = new Customer();
+    employee.setName("Second");
+    employee.setSurname("Approver");
+    employee.setTckn(tckn);
+    employee.setPassword(passwordEncoder.encode("Password123!"));
+    employee.setRole(UserRole.EMPLOYEE);
+    customerRepository.save(employee);
+    return tckn;
+  }
+
+  private Long deposit(String token, Long walletId, int amount) throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put("source", "TR123");
+    body.put("sourceType", OppositePartyType.IBAN.name());
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/v1/transactions/deposit")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(body)))
+            .andExpect(status().isOk())
+            .andReturn();
+    return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+  }
+}
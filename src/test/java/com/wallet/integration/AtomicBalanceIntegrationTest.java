@@ -0,0 +1,101 @@
+package com.wallet.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.wallet.enums.OppositePartyType;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+@SpringBootTest(
+    properties = {
+      "wallet.concurrency.mode=atomic",
+      "spring.datasource.url=jdbc:h2:mem:atomicdb;DB_CLOSE_DELAY=-1"
+    })
+@AutoConfigureMockMvc
+class AtomicBalanceIntegrationTest extends IntegrationTestSupport {
+
+  @Test
+  void concurrentWithdrawalsNeverOverdrawUsableBalance() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Atomic-" + System.nanoTime());
+    assertThat(send(token, "deposit", walletId, 500)).isEqualTo(200);
+    // Warm the wallet cache; the atomic writer bypasses the entity and must still evict it.
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/{walletId}", walletId).header("Authorization", "Bearer " + token))
+        .andExpect(jsonPath("$.usableBalance").value(500));
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<Integer>> results = new ArrayList<>();
+    try {
+      for (int i = 0; i < 12; i++) {
+        results.add(executor.submit(() -> send(token, "withdraw", walletId, 100)));
+      }
+      int accepted = 0;
+      for (Future<Integer> result : results) {
+        int status = result.get();
+        assertThat(status).isIn(202, 400);
+        if (status == 202) {
+          accepted++;
+        }
+      }
+      assertThat(accepted).isEqualTo(5);
+    } finally {
+      executor.shutdown();
+    }
+
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/{walletId}", walletId).header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.balance").value(0))
+        .andExpect(jsonPath("$.usableBalance").value(0));
+
+    // The entity is stale under the atomic writer; snapshots must still see every increment.
+    String today = LocalDate.now().toString();
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/{walletId}/statement", walletId)
+                .param("from", today)
+                .param("to", today)
+                .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.openingBalance").value(0))
+        .andExpect(jsonPath("$.closingBalance").value(0))
+        .andExpect(jsonPath("$.deposits.approvedAmount").value(500))
+        .andExpect(jsonPath("$.withdrawals.approvedCount").value(5))
+        .andExpect(jsonPath("$.withdrawals.approvedAmount").value(500));
+  }
+
+  private int send(String token, String operation, Long walletId, int amount) throws Exception {
+    boolean deposit = operation.equals("deposit");
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put(deposit ? "source" : "destination", "TR123");
+    body.put(deposit ? "sourceType" : "destinationType", OppositePartyType.IBAN.name());
+    return mockMvc
+        .perform(
+            post("/api/v1/transactions/" + operation)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+        .andReturn()
+        .getResponse()
+        .getStatus();
+  }
+}
@@ -0,0 +1,183 @@
+package com.wallet.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.wallet.enums.OppositePartyType;
+import com.wallet.model.IdempotencyRecord;
+import com.wallet.repository.IdempotencyRecordRepository;
+import com.wallet.service.idempotency.IdempotencyRecordPurger;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:idempotencydb;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class IdempotencyIntegrationTest extends IntegrationTestSupport {
+
+  @Autowired private IdempotencyRecordRepository recordRepository;
+  @Autowired private IdempotencyRecordPurger purger;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void retriedWithdrawIsAppliedOnce() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Idempotent-" + System.nanoTime());
+    assertThat(send(token, "deposit", walletId, 500, null).getResponse().getStatus())
+        .isEqualTo(200);
+    String key = UUID.randomUUID().toString();
+
+    MvcResult first = send(token, "withdraw", walletId, 200, key);
+    MvcResult retry = send(token, "withdraw", walletId, 200, key);
+
+    assertThat(first.getResponse().getStatus()).isEqualTo(202);
+    assertThat(first.getResponse().getHeader("Idempotent-Replayed")).isNull();
+    assertThat(retry.getResponse().getStatus()).isEqualTo(202);
+    assertThat(retry.getResponse().getHeader("Idempotent-Replayed")).isEqualTo("true");
+    assertThat(idOf(retry)).isEqualTo(idOf(first));
+    assertBalance(token, walletId, 300);
+
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/withdraw")
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body("withdraw", walletId, 250))))
+        .andExpect(status().isUnprocessableEntity());
+  }
+
+  @Test
+  void concurrentDuplicatesWaitForTheFirstExecution() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Idempotent-" + System.nanoTime());
+    String key = UUID.randomUUID().toString();
+    int clients = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(clients);
+    try {
+      List<Future<MvcResult>> results = new ArrayList<>();
+      for (int i = 0; i < clients; i++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return send(token, "deposit", walletId, 700, key);
+                }));
+      }
+      start.countDown();
+      Set<Long> ids = new HashSet<>();
+      for (Future<MvcResult> result : results) {
+        MvcResult response = result.get();
+        assertThat(response.getResponse().getStatus()).isEqualTo(200);
+        ids.add(idOf(response));
+      }
+      assertThat(ids).hasSize(1);
+    } finally {
+      executor.shutdown();
+    }
+
+    assertBalance(token, walletId, 700);
+    mockMvc
+        .perform(
+            get("/api/v1/transactions")
+                .param("walletId", walletId.toString())
+                .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1));
+    assertThat(recordRepository.findAll())
+        .filteredOn(record -> record.getIdempotencyKey().equals(key))
+        .hasSize(1);
+  }
+
+  @Test
+  void recordsPastTheRetentionAreRemoved() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Idempotent-" + System.nanoTime());
+    String expired = UUID.randomUUID().toString();
+    String recent = UUID.randomUUID().toString();
+    send(token, "deposit", walletId, 10, expired);
+    send(token, "deposit", walletId, 20, recent);
+    jdbcTemplate.update(
+        "UPDATE idempotency_records SET created_at = ? WHERE idempotency_key = ?",
+        Timestamp.valueOf(LocalDateTime.now().minusDays(2)),
+        expired);
+
+    assertThat(purger.purgeExpired()).isEqualTo(1);
+
+    assertThat(recordRepository.findAll())
+        .extracting(IdempotencyRecord::getIdempotencyKey)
+        .doesNotContain(expired)
+        .contains(recent);
+  }
+
+  @Test
+  void blankKeyIsRejected() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/deposit")
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", " ")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body("deposit", 1L, 10))))
+        .andExpect(status().isBadRequest())
+        .andExpect(header().doesNotExist("Idempotent-Replayed"));
+  }
+
+  private void assertBalance(String token, Long walletId, int expected) throws Exception {
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/{walletId}", walletId).header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.balance").value(expected));
+  }
+
+  private MvcResult send(String token, String operation, Long walletId, int amount, String key)
+      throws Exception {
+    var request =
+        post("/api/v1/transactions/" + operation)
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(body(operation, walletId, amount)));
+    if (key != null) {
+      request.header("Idempotency-Key", key);
+    }
+    return mockMvc.perform(request).andReturn();
+  }
+
+  private Map<String, Object> body(String operation, Long walletId, int amount) {
+    boolean deposit = operation.equals("deposit");
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put(deposit ? "source" : "destination", "TR123");
+    body.put(deposit ? "sourceType" : "destinationType", OppositePartyType.IBAN.name());
+    return body;
+  }
+
+  private Long idOf(MvcResult result) throws Exception {
+    return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+  }
+}
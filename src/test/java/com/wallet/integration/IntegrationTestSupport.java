@@ -0,0 +1,82 @@
+package com.wallet.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/** Login and wallet setup shared by the integration tests, which drive the API through MockMvc. */
+abstract class IntegrationTestSupport {
+
+  @Autowired protected MockMvc mockMvc;
+  @Autowired protected ObjectMapper objectMapper;
+
+  protected String login(String tckn, String password) throws Exception {
+    Map<String, Object> body = Map.of("tckn", tckn, "password", password);
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/v1/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(body)))
+            .andExpect(status().isOk())
+            .andReturn();
+    JsonNode node = objectMapper.readTree(result.getResponse().getContentAsString());
+    return node.get("accessToken").asText();
+  }
+
+  /** Registers a new customer and returns their access token. */
+  protected String register(String name) throws Exception {
+    String tckn = String.valueOf(20000000000L + System.nanoTime() % 1000000000L);
+    Map<String, Object> body =
+        Map.of("name", name, "surname", "Tester", "tckn", tckn, "password", "Customer123!");
+    mockMvc
+        .perform(
+            post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+        .andExpect(status().is2xxSuccessful());
+    return login(tckn, "Customer123!");
+  }
+
+  /** Creates a TRY wallet enabled for shopping and withdrawals and returns its id. */
+  protected Long createWallet(String token, String name) throws Exception {
+    return createWallet(token, name, "TRY", true, true);
+  }
+
+  protected Long createWallet(String token, String name, String currency) throws Exception {
+    return createWallet(token, name, currency, true, true);
+  }
+
+  protected Long createWallet(String token, String name, boolean shopping, boolean withdraw)
+      throws Exception {
+    return createWallet(token, name, "TRY", shopping, withdraw);
+  }
+
+  private Long createWallet(
+      String token, String name, String currency, boolean shopping, boolean withdraw)
+      throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletName", name);
+    body.put("currency", currency);
+    body.put("activeForShopping", shopping);
+    body.put("activeForWithdraw", withdraw);
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/v1/wallets")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(body)))
+            .andExpect(status().isCreated())
+            .andReturn();
+    return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+  }
+}
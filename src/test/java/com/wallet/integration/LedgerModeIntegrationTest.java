@@ -0,0 +1,228 @@
+package com.wallet.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.UserRole;
+import com.wallet.model.Customer;
+import com.wallet.repository.CustomerRepository;
+import com.wallet.repository.LedgerCheckpointRepository;
+import com.wallet.service.ledger.LedgerEngine;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest(
+    properties = {
+      "wallet.concurrency.mode=ledger",
+      "wallet.ledger.shards=2",
+      "spring.datasource.url=jdbc:h2:mem:ledgerdb;DB_CLOSE_DELAY=-1"
+    })
+@AutoConfigureMockMvc
+class LedgerModeIntegrationTest extends IntegrationTestSupport {
+
+  private static final int THREADS = 8;
+  private static final int DEPOSITS_PER_THREAD = 10;
+
+  @Autowired private LedgerEngine ledgerEngine;
+  @Autowired private LedgerCheckpointRepository checkpointRepository;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  @DynamicPropertySource
+  static void walDirectory(DynamicPropertyRegistry registry) throws IOException {
+    String directory = Files.createTempDirectory("ledger-wal").toString();
+    registry.add("wallet.ledger.wal-directory", () -> directory);
+  }
+
+  @Test
+  void depositsWithdrawsAndApprovalsReachTheTables() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Ledger-" + System.nanoTime());
+
+    deposit(token, walletId, 500)
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("APPROVED"));
+    withdraw(token, walletId, 200).andExpect(status().isAccepted());
+    withdraw(token, walletId, 900).andExpect(status().isBadRequest());
+    MvcResult pending =
+        deposit(token, walletId, 2000)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("PENDING"))
+            .andReturn();
+    long pendingId =
+        objectMapper.readTree(pending.getResponse().getContentAsString()).get("id").asLong();
+
+    String employeeToken = login("10000000001", "Password123!");
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/{transactionId}", pendingId)
+                .header("Authorization", "Bearer " + employeeToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "APPROVED"))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("APPROVED"));
+
+    ledgerEngine.snapshot();
+
+    getWallet(token, walletId)
+        .andExpect(jsonPath("$.balance").value(2300))
+        .andExpect(jsonPath("$.usableBalance").value(2300));
+    mockMvc
+        .perform(
+            get("/api/v1/transactions/{transactionId}", pendingId)
+                .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("APPROVED"));
+    mockMvc
+        .perform(
+            get("/api/v1/transactions")
+                .param("walletId", walletId.toString())
+                .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(3));
+    assertThat(checkpointRepository.count()).isPositive();
+  }
+
+  @Test
+  void concurrentDepositsOnHotWalletAllSucceed() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Hot-" + System.nanoTime());
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int i = 0; i < THREADS * DEPOSITS_PER_THREAD; i++) {
+        results.add(
+            executor.submit(
+                () -> deposit(token, walletId, 5).andReturn().getResponse().getStatus()));
+      }
+      for (Future<Integer> result : results) {
+        assertThat(result.get()).isEqualTo(200);
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    ledgerEngine.snapshot();
+    getWallet(token, walletId)
+        .andExpect(jsonPath("$.balance").value(THREADS * DEPOSITS_PER_THREAD * 5))
+        .andExpect(jsonPath("$.usableBalance").value(THREADS * DEPOSITS_PER_THREAD * 5));
+  }
+
+  @Test
+  void claimedPendingTransactionCannotBeSettledByAnotherApprover() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Claimed-" + System.nanoTime());
+    MvcResult pending = deposit(token, walletId, 2345).andExpect(status().isOk()).andReturn();
+    long pendingId =
+        objectMapper.readTree(pending.getResponse().getContentAsString()).get("id").asLong();
+    ledgerEngine.snapshot();
+
+    String claimer = login("10000000001", "Password123!");
+    String other = login(createEmployee("10000000088"), "Password123!");
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/pending/claim")
+                .param("minAmount", "2345")
+                .param("maxAmount", "2345")
+                .header("Authorization", "Bearer " + claimer))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(pendingId));
+
+    changeStatus(other, pendingId, "APPROVED").andExpect(status().isConflict());
+    changeStatus(claimer, pendingId, "DENIED")
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("DENIED"));
+  }
+
+  @Test
+  void transfersAreRejected() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long source = createWallet(token, "From-" + System.nanoTime());
+    Long target = createWallet(token, "To-" + System.nanoTime());
+
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/transfer")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        Map.of("sourceWalletId", source, "targetWalletId", target, "amount", 1))))
+        .andExpect(status().isBadRequest());
+  }
+
+  private ResultActions changeStatus(String token, long transactionId, String status)
+      throws Exception {
+    return mockMvc.perform(
+        post("/api/v1/transactions/{transactionId}", transactionId)
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(Map.of("status", status))));
+  }
+
+  private String createEmployee(String tckn) {
+    Customer employee = new Customer();
+    employee.setName("Second");
+    employee.setSurname("Approver");
+    employee.setTckn(tckn);
+    employee.setPassword(passwordEncoder.encode("Password123!"));
+    employee.setRole(UserRole.EMPLOYEE);
+    customerRepository.save(employee);
+    return tckn;
+  }
+
+  private ResultActions getWallet(String token, Long walletId) throws Exception {
+    return mockMvc
+        .perform(
+            get("/api/v1/wallets/{walletId}", walletId).header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk());
+  }
+
+  private ResultActions deposit(String token, Long walletId, int amount) throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put("source", "TR123");
+    body.put("sourceType", OppositePartyType.IBAN.name());
+    return mockMvc.perform(
+        post("/api/v1/transactions/deposit")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(body)));
+  }
+
+  private ResultActions withdraw(String token, Long walletId, int amount) throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put("destination", "TR123");
+    body.put("destinationType", OppositePartyType.IBAN.name());
+    return mockMvc.perform(
+        post("/api/v1/transactions/withdraw")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(body)));
+  }
+}
@@ -0,0 +1,77 @@
+package com.wallet.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.wallet.enums.OppositePartyType;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metricsdb;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsIntegrationTest extends IntegrationTestSupport {
+
+  @Test
+  void prometheusEndpointExposesTransactionAndPoolMetrics() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Metrics-" + System.nanoTime());
+    assertThat(send(token, "deposit", walletId, 300)).isEqualTo(200);
+    assertThat(send(token, "deposit", walletId, 1500)).isEqualTo(200);
+    assertThat(send(token, "withdraw", walletId, 5000)).isEqualTo(400);
+
+    mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    mockMvc.perform(get("/actuator/prometheus")).andExpect(status().is4xxClientError());
+    mockMvc
+        .perform(get("/actuator/prometheus").header("Authorization", "Bearer " + token))
+        .andExpect(status().isForbidden());
+
+    String scrape =
+        mockMvc
+            .perform(
+                get("/actuator/prometheus")
+                    .header("Authorization", "Bearer " + login("10000000001", "Password123!")))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    assertThat(scrape)
+        .contains(
+            "wallet_transaction_latency_seconds_count{operation=\"deposit\",outcome=\"approved\",} 1.0")
+        .contains(
+            "wallet_transaction_latency_seconds_count{operation=\"deposit\",outcome=\"pending\",} 1.0")
+        .contains("outcome=\"insufficient_balance\"")
+        .contains(
+            "wallet_transaction_latency_seconds{operation=\"deposit\",outcome=\"approved\",quantile=\"0.99\",}")
+        .contains("wallet_transaction_latency_seconds_bucket{operation=\"withdraw\"")
+        .contains(
+            "wallet_transaction_amount_total{currency=\"TRY\",status=\"approved\",type=\"deposit\",}")
+        .contains("hikaricp_connections_active{pool=\"wallet\",}");
+  }
+
+  private int send(String token, String operation, Long walletId, int amount) throws Exception {
+    boolean deposit = operation.equals("deposit");
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put(deposit ? "source" : "destination", "TR123");
+    body.put(deposit ? "sourceType" : "destinationType", OppositePartyType.IBAN.name());
+    return mockMvc
+        .perform(
+            post("/api/v1/transactions/" + operation)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+        .andReturn()
+        .getResponse()
+        .getStatus();
+  }
+}
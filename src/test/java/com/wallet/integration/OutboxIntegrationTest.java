@@ -0,0 +1,204 @@
+package com.wallet.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.wallet.dto.response.WalletEvent;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.WalletEventType;
+import com.wallet.service.outbox.OutboxEventSink;
+import com.wallet.service.outbox.OutboxRelay;
+import com.wallet.service.outbox.SseOutboxSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+/** Runs the relay by hand, so each test decides when the outbox is published and to which sinks. */
+@SpringBootTest(
+    properties = {
+      "wallet.outbox.relay-enabled=false",
+      "spring.datasource.url=jdbc:h2:mem:outboxdb;DB_CLOSE_DELAY=-1"
+    })
+@AutoConfigureMockMvc
+class OutboxIntegrationTest extends IntegrationTestSupport {
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private SseOutboxSink sseOutboxSink;
+
+  @Test
+  void committedChangesArePublishedInOrderPerWallet() throws Exception {
+    drainOutbox();
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Outbox-" + System.nanoTime());
+    deposit(token, walletId, 250).andExpect(status().isOk());
+    Long pendingId = id(deposit(token, walletId, 2000).andExpect(status().isOk()));
+    approve(login("10000000001", "Password123!"), pendingId);
+    withdraw(token, walletId, 100_000).andExpect(status().isBadRequest());
+
+    List<WalletEvent> received = new ArrayList<>();
+    OutboxRelay relay = relay(List.of(received::addAll));
+    relay.publishPending();
+
+    List<WalletEvent> walletEvents =
+        received.stream().filter(event -> event.walletId().equals(walletId)).toList();
+    assertThat(walletEvents)
+        .extracting(WalletEvent::type)
+        .containsExactly(
+            WalletEventType.TRANSACTION_CREATED,
+            WalletEventType.TRANSACTION_CREATED,
+            WalletEventType.TRANSACTION_STATUS_CHANGED);
+    assertThat(walletEvents)
+        .extracting(event -> event.transaction().status())
+        .containsExactly(
+            TransactionStatus.APPROVED, TransactionStatus.PENDING, TransactionStatus.APPROVED);
+    assertThat(walletEvents.get(2).transaction().id()).isEqualTo(pendingId);
+    assertThat(walletEvents).extracting(WalletEvent::id).isSorted();
+    assertThat(relay.publishPending()).isZero();
+  }
+
+  @Test
+  void batchIsDeliveredAgainAfterASinkFails() throws Exception {
+    drainOutbox();
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Retry-" + System.nanoTime());
+    deposit(token, walletId, 40).andExpect(status().isOk());
+
+    AtomicBoolean failNext = new AtomicBoolean(true);
+    List<WalletEvent> delivered = new ArrayList<>();
+    OutboxEventSink flaky =
+        events -> {
+          delivered.addAll(events);
+          if (failNext.getAndSet(false)) {
+            throw new IllegalStateException("sink down");
+          }
+        };
+    OutboxRelay relay = relay(List.of(flaky));
+
+    assertThrows(IllegalStateException.class, relay::publishPending);
+    assertThat(relay.publishPending()).isEqualTo(1);
+
+    assertThat(delivered).hasSize(2);
+    assertThat(delivered.get(1).id()).isEqualTo(delivered.get(0).id());
+    assertThat(relay.publishPending()).isZero();
+  }
+
+  @Test
+  void streamClientReceivesItsWalletsEvents() throws Exception {
+    drainOutbox();
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Stream-" + System.nanoTime());
+    Long otherWalletId = createWallet(token, "Quiet-" + System.nanoTime());
+    MvcResult stream =
+        mockMvc
+            .perform(
+                get("/api/v1/events/stream")
+                    .param("walletId", walletId.toString())
+                    .header("Authorization", "Bearer " + login("10000000001", "Password123!")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    deposit(token, otherWalletId, 10).andExpect(status().isOk());
+    Long depositId = id(deposit(token, walletId, 15).andExpect(status().isOk()));
+    relay(List.of(sseOutboxSink)).publishPending();
+
+    // Events reach the client on its sender thread, after publish returns.
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!stream.getResponse().getContentAsString().contains("\"id\":" + depositId)
+        && System.nanoTime() < deadline) {
+      Thread.sleep(20);
+    }
+    String body = stream.getResponse().getContentAsString();
+    assertThat(body).contains("event:TRANSACTION_CREATED");
+    assertThat(body).contains("\"id\":" + depositId);
+    assertThat(body.split("event:")).hasSize(2);
+  }
+
+  @Test
+  void customersCannotOpenTheStream() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/v1/events/stream")
+                .header("Authorization", "Bearer " + login("10000000012", "Customer123!")))
+        .andExpect(status().isForbidden());
+  }
+
+  private OutboxRelay relay(List<OutboxEventSink> sinks) {
+    return new OutboxRelay(
+        jdbcTemplate,
+        objectMapper,
+        new SimpleMeterRegistry(),
+        sinks,
+        500,
+        50,
+        Duration.ofDays(7),
+        Thread.ofPlatform().factory());
+  }
+
+  private void drainOutbox() {
+    OutboxRelay relay = relay(List.of(events -> {}));
+    while (relay.publishPending() > 0) {
+      // keep going until every earlier event is stamped
+    }
+  }
+
+  private Long id(ResultActions result) throws Exception {
+    return objectMapper
+        .readTree(result.andReturn().getResponse().getContentAsString())
+        .get("id")
+        .asLong();
+  }
+
+  private ResultActions deposit(String token, Long walletId, int amount) throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put("source", "TR123");
+    body.put("sourceType", OppositePartyType.IBAN.name());
+    return mockMvc.perform(
+        post("/api/v1/transactions/deposit")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(body)));
+  }
+
+  private ResultActions withdraw(String token, Long walletId, int amount) throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put("destination", "TR123");
+    body.put("destinationType", OppositePartyType.IBAN.name());
+    return mockMvc.perform(
+        post("/api/v1/transactions/withdraw")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(body)));
+  }
+
+  private void approve(String token, Long transactionId) throws Exception {
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/{transactionId}", transactionId)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("status", "APPROVED"))))
+        .andExpect(status().isOk());
+  }
+}
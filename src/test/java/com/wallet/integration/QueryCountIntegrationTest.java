@@ -0,0 +1,115 @@
+package com.wallet.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.wallet.enums.OppositePartyType;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.Map;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+/** Pins the number of SQL statements behind the read endpoints so lazy loads cannot creep back. */
+@SpringBootTest(
+    properties = {
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "wallet.cache.enabled=false",
+      "spring.datasource.url=jdbc:h2:mem:querycountdb;DB_CLOSE_DELAY=-1"
+    })
+@AutoConfigureMockMvc
+class QueryCountIntegrationTest extends IntegrationTestSupport {
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setup() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void employeeListsEveryWalletWithOneQuery() throws Exception {
+    String customerToken = login("10000000012", "Customer123!");
+    for (int i = 0; i < 25; i++) {
+      createWallet(customerToken, "Bulk-" + i + "-" + System.nanoTime());
+    }
+    String employeeToken = login("10000000001", "Password123!");
+
+    long statements =
+        statementsFor(get("/api/v1/wallets").header("Authorization", "Bearer " + employeeToken));
+
+    assertThat(statements).isEqualTo(1);
+  }
+
+  @Test
+  void transactionHistoryTakesOneQueryPlusTheAccessCheck() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "History-" + System.nanoTime());
+    Long transactionId = null;
+    for (int i = 0; i < 10; i++) {
+      transactionId = deposit(token, walletId, 10 + i);
+    }
+
+    assertThat(
+            statementsFor(
+                get("/api/v1/transactions")
+                    .param("walletId", walletId.toString())
+                    .header("Authorization", "Bearer " + token)))
+        .isEqualTo(2);
+    assertThat(
+            statementsFor(
+                get("/api/v1/transactions/page")
+                    .param("walletId", walletId.toString())
+                    .param("limit", "5")
+                    .header("Authorization", "Bearer " + token)))
+        .isEqualTo(2);
+    assertThat(
+            statementsFor(
+                get("/api/v1/transactions/{transactionId}", transactionId)
+                    .header("Authorization", "Bearer " + token)))
+        .isEqualTo(2);
+    assertThat(
+            statementsFor(
+                get("/api/v1/wallets/{walletId}", walletId)
+                    .header("Authorization", "Bearer " + token)))
+        .isEqualTo(1);
+  }
+
+  private long statementsFor(RequestBuilder request) throws Exception {
+    statistics.clear();
+    mockMvc.perform(request).andExpect(status().isOk());
+    return statistics.getPrepareStatementCount();
+  }
+
+  private Long deposit(String token, Long walletId, int amount) throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put("source", "TR123");
+    body.put("sourceType", OppositePartyType.IBAN.name());
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/v1/transactions/deposit")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(body)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("APPROVED"))
+            .andReturn();
+    return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+  }
+}
@@ -0,0 +1,94 @@
+package com.wallet.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.wallet.enums.OppositePartyType;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest(
+    properties = {
+      "wallet.rate-limit.enabled=true",
+      "wallet.rate-limit.wallet.write.capacity=2",
+      "wallet.rate-limit.wallet.write.refill-per-second=0.01",
+      "spring.datasource.url=jdbc:h2:mem:ratelimitdb;DB_CLOSE_DELAY=-1"
+    })
+@AutoConfigureMockMvc
+class RateLimitIntegrationTest extends IntegrationTestSupport {
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Test
+  void busyWalletIsRejectedWithRetryAfterWhileOthersProceed() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long busy = createWallet(token, "Busy-" + System.nanoTime());
+    Long quiet = createWallet(token, "Quiet-" + System.nanoTime());
+    double rejectedBefore = walletWriteRejections();
+
+    deposit(token, busy, 10).andExpect(status().isOk());
+    deposit(token, busy, 10).andExpect(status().isOk());
+    deposit(token, busy, 10)
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string("Retry-After", "100"))
+        .andExpect(jsonPath("$.message").exists());
+
+    mockMvc
+        .perform(
+            get("/api/v1/transactions")
+                .param("walletId", busy.toString())
+                .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2));
+    deposit(token, quiet, 10).andExpect(status().isOk());
+
+    assertThat(walletWriteRejections() - rejectedBefore).isEqualTo(1);
+  }
+
+  @Test
+  void anotherCustomerCannotDrainTheOwnersWalletBucket() throws Exception {
+    String owner = login("10000000012", "Customer123!");
+    Long walletId = createWallet(owner, "Owned-" + System.nanoTime());
+    String intruder = register("Intruder");
+
+    deposit(intruder, walletId, 10).andExpect(status().isForbidden());
+    deposit(intruder, walletId, 10).andExpect(status().isForbidden());
+    deposit(intruder, walletId, 10).andExpect(status().isTooManyRequests());
+
+    deposit(owner, walletId, 10).andExpect(status().isOk());
+    deposit(owner, walletId, 10).andExpect(status().isOk());
+  }
+
+  private double walletWriteRejections() {
+    return meterRegistry
+        .get("wallet.rate.limit.rejections")
+        .tag("scope", "wallet")
+        .tag("operation", "write")
+        .counter()
+        .count();
+  }
+
+  private ResultActions deposit(String token, Long walletId, int amount) throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put("source", "TR123");
+    body.put("sourceType", OppositePartyType.IBAN.name());
+    return mockMvc.perform(
+        post("/api/v1/transactions/deposit")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(body)));
+  }
+}
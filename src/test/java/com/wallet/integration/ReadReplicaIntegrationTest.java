@@ -0,0 +1,107 @@
+package com.wallet.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.wallet.enums.OppositePartyType;
+import com.wallet.service.replica.H2ReplicationStandIn;
+import com.wallet.service.replica.ReplicationTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:replicaprimarydb;DB_CLOSE_DELAY=-1",
+      "wallet.replica.enabled=true",
+      "wallet.replica.url=jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1",
+      // The tests refresh the replica themselves.
+      "wallet.replica.replication-interval=1h"
+    })
+@AutoConfigureMockMvc
+class ReadReplicaIntegrationTest extends IntegrationTestSupport {
+
+  @Autowired private H2ReplicationStandIn standIn;
+  @Autowired private MeterRegistry meterRegistry;
+
+  private String customerToken;
+  private String employeeToken;
+
+  @BeforeEach
+  void setup() throws Exception {
+    customerToken = login("10000000012", "Customer123!");
+    employeeToken = login("10000000001", "Password123!");
+  }
+
+  @Test
+  void writerReadsItsOwnDepositWhileOthersSeeTheReplica() throws Exception {
+    Long walletId = createWallet(customerToken, "Replica-" + System.nanoTime());
+    deposit(customerToken, walletId, 100).andExpect(status().isOk());
+    standIn.refresh();
+    double replicaReads = replicaReads();
+
+    String position =
+        deposit(customerToken, walletId, 50)
+            .andExpect(status().isOk())
+            .andExpect(header().exists(ReplicationTracker.POSITION_HEADER))
+            .andReturn()
+            .getResponse()
+            .getHeader(ReplicationTracker.POSITION_HEADER);
+
+    getWallet(employeeToken, walletId, null).andExpect(jsonPath("$.balance").value(100));
+    assertThat(replicaReads()).isGreaterThan(replicaReads);
+    getWallet(customerToken, walletId, null).andExpect(jsonPath("$.balance").value(150));
+    getWallet(employeeToken, walletId, position).andExpect(jsonPath("$.balance").value(150));
+
+    standIn.refresh();
+    getWallet(employeeToken, walletId, null).andExpect(jsonPath("$.balance").value(150));
+  }
+
+  @Test
+  void newWalletIsListedForItsOwnerBeforeTheReplicaHasIt() throws Exception {
+    standIn.refresh();
+    Long walletId = createWallet(customerToken, "Fresh-" + System.nanoTime());
+
+    mockMvc
+        .perform(get("/api/v1/wallets").header("Authorization", "Bearer " + customerToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[?(@.id == %d)]", walletId).exists());
+  }
+
+  private double replicaReads() {
+    return meterRegistry.get("wallet.replica.reads").tag("target", "replica").counter().count();
+  }
+
+  private ResultActions getWallet(String token, Long walletId, String position) throws Exception {
+    var request =
+        get("/api/v1/wallets/{walletId}", walletId).header("Authorization", "Bearer " + token);
+    if (position != null) {
+      request.header(ReplicationTracker.POSITION_HEADER, position);
+    }
+    return mockMvc.perform(request).andExpect(status().isOk());
+  }
+
+  private ResultActions deposit(String token, Long walletId, int amount) throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put("source", "TR123");
+    body.put("sourceType", OppositePartyType.IBAN.name());
+    return mockMvc.perform(
+        post("/api/v1/transactions/deposit")
+            .header("Authorization", "Bearer " + token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(body)));
+  }
+}
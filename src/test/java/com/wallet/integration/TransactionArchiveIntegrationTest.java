@@ -0,0 +1,187 @@
+package com.wallet.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.repository.ArchiveSegmentRepository;
+import com.wallet.service.archive.TransactionArchive;
+import com.wallet.service.archive.TransactionArchiver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:archivedb;DB_CLOSE_DELAY=-1",
+      "wallet.archive.enabled=true",
+      "wallet.archive.horizon=30d",
+      // The test runs the job itself.
+      "wallet.archive.interval=1h"
+    })
+@AutoConfigureMockMvc
+class TransactionArchiveIntegrationTest extends IntegrationTestSupport {
+
+  private static Path archiveDirectory;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionArchiver archiver;
+  @Autowired private ArchiveSegmentRepository segmentRepository;
+
+  @DynamicPropertySource
+  static void archiveDirectory(DynamicPropertyRegistry registry) throws IOException {
+    archiveDirectory = Files.createTempDirectory("transaction-archive");
+    registry.add("wallet.archive.directory", archiveDirectory::toString);
+  }
+
+  @Test
+  void oldFinalizedHistoryMovesToMonthlyFilesAndReadsStayComplete() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Archive-" + System.nanoTime());
+    long first = deposit(token, walletId, 100);
+    long second = deposit(token, walletId, 200);
+    long third = deposit(token, walletId, 300);
+    long pending = deposit(token, walletId, 2000);
+    backdate(first, 14);
+    backdate(second, 14);
+    backdate(pending, 14);
+    backdate(third, 13);
+    List<Long> before = history(token, walletId);
+    // Another instance reading the same directory, without the job. Its timer never fires here,
+    // so it has to notice the new files on a miss.
+    TransactionArchive reader =
+        new TransactionArchive(
+            archiveDirectory,
+            segmentRepository,
+            4,
+            Duration.ofHours(1),
+            Duration.ofDays(30),
+            new SimpleMeterRegistry());
+    assertThat(reader.findById(first)).isEmpty();
+    assertThat(reader.merge(walletId, List.of(), null, 10)).isEmpty();
+
+    assertThat(archiver.archive()).isGreaterThanOrEqualTo(6);
+
+    assertThat(
+            jdbcTemplate.queryForList(
+                "SELECT id FROM transactions WHERE wallet_id = ?", Long.class, walletId))
+        .containsExactly(pending);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction_audit_logs WHERE transaction_id IN (?, ?, ?)",
+                Integer.class,
+                first,
+                second,
+                third))
+        .isZero();
+    try (Stream<Path> months = Files.list(archiveDirectory.resolve("transactions"))) {
+      assertThat(months).hasSize(2);
+    }
+    assertThat(history(token, walletId)).isEqualTo(before);
+    assertThat(reader.merge(walletId, List.of(), null, 10))
+        .extracting(TransactionResponse::id)
+        .containsExactly(third, second, first);
+    assertThat(reader.findById(first))
+        .hasValueSatisfying(row -> assertThat(row.id()).isEqualTo(first));
+
+    mockMvc
+        .perform(
+            get("/api/v1/transactions/{transactionId}", first)
+                .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.amount").value(100))
+        .andExpect(jsonPath("$.status").value("APPROVED"));
+
+    long fresh = deposit(token, walletId, 50);
+    List<Long> paged = new ArrayList<>();
+    String cursor = null;
+    do {
+      var request =
+          get("/api/v1/transactions/page")
+              .param("walletId", walletId.toString())
+              .param("limit", "2")
+              .header("Authorization", "Bearer " + token);
+      if (cursor != null) {
+        request.param("cursor", cursor);
+      }
+      JsonNode page = read(mockMvc.perform(request).andExpect(status().isOk()).andReturn());
+      page.get("items").forEach(item -> paged.add(item.get("id").asLong()));
+      cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+    } while (cursor != null);
+    List<Long> expected = new ArrayList<>(List.of(fresh));
+    expected.addAll(before);
+    assertThat(paged).isEqualTo(expected);
+    assertThat(history(token, walletId)).isEqualTo(expected);
+
+    assertThat(archiver.archive()).isZero();
+  }
+
+  private void backdate(long transactionId, int months) {
+    jdbcTemplate.update(
+        "UPDATE transactions SET created_at = DATEADD('MONTH', ?, created_at) WHERE id = ?",
+        -months,
+        transactionId);
+    jdbcTemplate.update(
+        "UPDATE transaction_audit_logs SET created_at = DATEADD('MONTH', ?, created_at)"
+            + " WHERE transaction_id = ?",
+        -months,
+        transactionId);
+  }
+
+  private List<Long> history(String token, Long walletId) throws Exception {
+    MvcResult result =
+        mockMvc
+            .perform(
+                get("/api/v1/transactions")
+                    .param("walletId", walletId.toString())
+                    .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andReturn();
+    List<Long> ids = new ArrayList<>();
+    read(result).forEach(item -> ids.add(item.get("id").asLong()));
+    return ids;
+  }
+
+  private long deposit(String token, Long walletId, int amount) throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put("source", "TR123");
+    body.put("sourceType", OppositePartyType.IBAN.name());
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/v1/transactions/deposit")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(body)))
+            .andExpect(status().isOk())
+            .andReturn();
+    return read(result).get("id").asLong();
+  }
+
+  private JsonNode read(MvcResult result) throws Exception {
+    return objectMapper.readTree(result.getResponse().getContentAsString());
+  }
+}
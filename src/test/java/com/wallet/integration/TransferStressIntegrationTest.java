@@ -0,0 +1,178 @@
+package com.wallet.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wallet.enums.OppositePartyType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(
+    properties = {
+      "wallet.concurrency.mode=pessimistic",
+      "spring.datasource.url=jdbc:h2:mem:transferdb;DB_CLOSE_DELAY=-1"
+    })
+@AutoConfigureMockMvc
+class TransferStressIntegrationTest extends IntegrationTestSupport {
+
+  private static final int THREADS = 8;
+  private static final int ROUNDS = 20;
+
+  @Test
+  void opposingTransfersNeitherDeadlockNorLoseMoney() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    long[] wallets = new long[3];
+    for (int i = 0; i < wallets.length; i++) {
+      wallets[i] = createWallet(token, "Transfer-" + i + "-" + System.nanoTime());
+      deposit(token, wallets[i], 1000);
+    }
+
+    // Every ordered pair runs the same number of times, so each wallet should end where it started.
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int round = 0; round < ROUNDS; round++) {
+        for (long source : wallets) {
+          for (long target : wallets) {
+            if (source != target) {
+              results.add(executor.submit(() -> transfer(token, source, target, 10)));
+            }
+          }
+        }
+      }
+      for (Future<Integer> result : results) {
+        assertThat(result.get()).isEqualTo(200);
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    for (long walletId : wallets) {
+      mockMvc
+          .perform(
+              get("/api/v1/wallets/{walletId}", walletId)
+                  .header("Authorization", "Bearer " + token))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.balance").value(1000))
+          .andExpect(jsonPath("$.usableBalance").value(1000));
+    }
+  }
+
+  @Test
+  void transferCreatesLinkedDebitAndCreditRows() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long source = createWallet(token, "Source-" + System.nanoTime());
+    Long target = createWallet(token, "Target-" + System.nanoTime());
+    deposit(token, source, 500);
+
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/v1/transactions/transfer")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(transferBody(source, target, 200)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.debit.type").value("TRANSFER_OUT"))
+            .andExpect(jsonPath("$.debit.walletId").value(source))
+            .andExpect(jsonPath("$.debit.linkedTransactionId").isNumber())
+            .andExpect(jsonPath("$.credit.type").value("TRANSFER_IN"))
+            .andExpect(jsonPath("$.credit.walletId").value(target))
+            .andReturn();
+    JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+    long debitId = body.get("debit").get("id").asLong();
+    long creditId = body.get("credit").get("id").asLong();
+    assertThat(body.get("debit").get("linkedTransactionId").asLong()).isEqualTo(creditId);
+
+    mockMvc
+        .perform(
+            get("/api/v1/transactions")
+                .param("walletId", target.toString())
+                .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(creditId))
+        .andExpect(jsonPath("$[0].linkedTransactionId").value(debitId))
+        .andExpect(jsonPath("$[0].oppositePartyType").value("WALLET"))
+        .andExpect(jsonPath("$[0].oppositeParty").value(String.valueOf(source)));
+
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/transfer")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(transferBody(source, target, 400)))
+        .andExpect(status().isBadRequest());
+
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/{walletId}", source).header("Authorization", "Bearer " + token))
+        .andExpect(jsonPath("$.balance").value(300));
+  }
+
+  @Test
+  void transferToAnotherCustomersWalletIsRejected() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long source = createWallet(token, "Own-" + System.nanoTime());
+    deposit(token, source, 500);
+    String otherToken = register("Receiver");
+    Long foreign = createWallet(otherToken, "Foreign-" + System.nanoTime());
+
+    assertThat(transfer(token, source, foreign, 2000)).isEqualTo(403);
+
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/{walletId}", foreign)
+                .header("Authorization", "Bearer " + otherToken))
+        .andExpect(jsonPath("$.balance").value(0));
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/{walletId}", source).header("Authorization", "Bearer " + token))
+        .andExpect(jsonPath("$.balance").value(500));
+  }
+
+  private int transfer(String token, long source, long target, int amount) throws Exception {
+    return mockMvc
+        .perform(
+            post("/api/v1/transactions/transfer")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(transferBody(source, target, amount)))
+        .andReturn()
+        .getResponse()
+        .getStatus();
+  }
+
+  private String transferBody(long source, long target, int amount) throws Exception {
+    return objectMapper.writeValueAsString(
+        Map.of("sourceWalletId", source, "targetWalletId", target, "amount", amount));
+  }
+
+  private void deposit(String token, long walletId, int amount) throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put("source", "TR123");
+    body.put("sourceType", OppositePartyType.IBAN.name());
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/deposit")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+        .andExpect(status().isOk());
+  }
+}
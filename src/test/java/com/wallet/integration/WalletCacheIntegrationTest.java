@@ -0,0 +1,122 @@
+package com.wallet.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wallet.enums.OppositePartyType;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:walletcachedb;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class WalletCacheIntegrationTest extends IntegrationTestSupport {
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Test
+  void cachedWalletReflectsEveryCommittedWrite() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Cached-" + System.nanoTime());
+
+    double hitsBefore = hits("wallets");
+    getWallet(token, walletId).andExpect(jsonPath("$.balance").value(0));
+    getWallet(token, walletId).andExpect(jsonPath("$.balance").value(0));
+    assertThat(hits("wallets")).isEqualTo(hitsBefore + 1);
+
+    deposit(token, walletId, 250);
+    getWallet(token, walletId)
+        .andExpect(jsonPath("$.balance").value(250))
+        .andExpect(jsonPath("$.usableBalance").value(250));
+
+    mockMvc
+        .perform(
+            put("/api/v1/wallets/{walletId}/settings", walletId)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        Map.of("activeForShopping", false, "activeForWithdraw", true))))
+        .andExpect(status().isOk());
+    getWallet(token, walletId).andExpect(jsonPath("$.activeForShopping").value(false));
+  }
+
+  @Test
+  void cachedWalletListPicksUpNewWallets() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    int before = listWallets(token).size();
+    listWallets(token);
+
+    Long walletId = createWallet(token, "Listed-" + System.nanoTime());
+
+    JsonNode wallets = listWallets(token);
+    assertThat(wallets.size()).isEqualTo(before + 1);
+    assertThat(wallets.findValuesAsText("id")).contains(walletId.toString());
+  }
+
+  @Test
+  void cachedWalletIsStillAccessChecked() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Private-" + System.nanoTime());
+    getWallet(token, walletId);
+
+    String otherToken = register("Other" + System.nanoTime());
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/{walletId}", walletId)
+                .header("Authorization", "Bearer " + otherToken))
+        .andExpect(status().isForbidden());
+  }
+
+  private double hits(String cache) {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", cache)
+        .tag("result", "hit")
+        .functionCounter()
+        .count();
+  }
+
+  private ResultActions getWallet(String token, Long walletId) throws Exception {
+    return mockMvc
+        .perform(
+            get("/api/v1/wallets/{walletId}", walletId).header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk());
+  }
+
+  private JsonNode listWallets(String token) throws Exception {
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/v1/wallets").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andReturn();
+    return objectMapper.readTree(result.getResponse().getContentAsString());
+  }
+
+  private void deposit(String token, Long walletId, int amount) throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put("source", "TR123");
+    body.put("sourceType", OppositePartyType.IBAN.name());
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/deposit")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+        .andExpect(status().isOk());
+  }
+}
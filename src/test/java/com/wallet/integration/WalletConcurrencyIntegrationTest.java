@@ -0,0 +1,165 @@
+package com.wallet.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.wallet.enums.OppositePartyType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+@SpringBootTest(
+    properties = {
+      "wallet.concurrency.mode=striped",
+      // Few stripes, so ascending wallet ids wrap around the stripe order.
+      "wallet.concurrency.stripes=4",
+      "wallet.concurrency.lock-timeout-ms=2000",
+      "spring.datasource.url=jdbc:h2:mem:concurrencydb;DB_CLOSE_DELAY=-1"
+    })
+@AutoConfigureMockMvc
+class WalletConcurrencyIntegrationTest extends IntegrationTestSupport {
+
+  private static final int THREADS = 8;
+  private static final int DEPOSITS_PER_THREAD = 10;
+
+  @Test
+  void concurrentDepositsOnHotWalletAllSucceed() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Hot-" + System.nanoTime());
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int i = 0; i < THREADS * DEPOSITS_PER_THREAD; i++) {
+        results.add(executor.submit(() -> deposit(token, walletId)));
+      }
+      for (Future<Integer> result : results) {
+        assertThat(result.get()).isEqualTo(200);
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/{walletId}", walletId).header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.balance").value(THREADS * DEPOSITS_PER_THREAD * 5))
+        .andExpect(jsonPath("$.usableBalance").value(THREADS * DEPOSITS_PER_THREAD * 5));
+  }
+
+  @Test
+  void overlappingBulkRequestsAndTransfersDoNotDeadlock() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    List<Long> wallets = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      Long walletId = createWallet(token, "Striped-" + i + "-" + System.nanoTime());
+      for (int j = 0; j < 10; j++) {
+        assertThat(deposit(token, walletId)).isEqualTo(200);
+      }
+      wallets.add(walletId);
+    }
+
+    // Transfers cancel out per wallet; each bulk request adds 1 to every wallet.
+    int bulkRequests = 0;
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int round = 0; round < 5; round++) {
+        for (Long source : wallets) {
+          for (Long target : wallets) {
+            if (!source.equals(target)) {
+              results.add(executor.submit(() -> transfer(token, source, target)));
+            }
+          }
+          results.add(executor.submit(() -> bulkDeposit(token, wallets)));
+          results.add(executor.submit(() -> bulkDeposit(token, wallets.reversed())));
+          bulkRequests += 2;
+        }
+      }
+      for (Future<Integer> result : results) {
+        assertThat(result.get()).isEqualTo(200);
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    for (Long walletId : wallets) {
+      mockMvc
+          .perform(
+              get("/api/v1/wallets/{walletId}", walletId)
+                  .header("Authorization", "Bearer " + token))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.balance").value(50 + bulkRequests));
+    }
+  }
+
+  private int transfer(String token, Long source, Long target) throws Exception {
+    return mockMvc
+        .perform(
+            post("/api/v1/transactions/transfer")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        Map.of("sourceWalletId", source, "targetWalletId", target, "amount", 1))))
+        .andReturn()
+        .getResponse()
+        .getStatus();
+  }
+
+  private int bulkDeposit(String token, List<Long> wallets) throws Exception {
+    List<Map<String, Object>> items = new ArrayList<>();
+    for (Long walletId : wallets) {
+      items.add(
+          Map.of(
+              "type",
+              "DEPOSIT",
+              "walletId",
+              walletId,
+              "amount",
+              1,
+              "oppositeParty",
+              "TR123",
+              "oppositePartyType",
+              OppositePartyType.IBAN.name()));
+    }
+    return mockMvc
+        .perform(
+            post("/api/v1/transactions/bulk")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("items", items))))
+        .andReturn()
+        .getResponse()
+        .getStatus();
+  }
+
+  private int deposit(String token, Long walletId) throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", 5);
+    body.put("source", "TR123");
+    body.put("sourceType", OppositePartyType.IBAN.name());
+    return mockMvc
+        .perform(
+            post("/api/v1/transactions/deposit")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+        .andReturn()
+        .getResponse()
+        .getStatus();
+  }
+}
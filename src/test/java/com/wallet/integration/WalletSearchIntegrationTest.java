@@ -0,0 +1,207 @@
+package com.wallet.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wallet.enums.OppositePartyType;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(
+    properties = {
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "spring.datasource.url=jdbc:h2:mem:walletsearchdb;DB_CLOSE_DELAY=-1"
+    })
+@AutoConfigureMockMvc
+class WalletSearchIntegrationTest extends IntegrationTestSupport {
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void searchFiltersSortsAndPagesWithoutCounting() throws Exception {
+    String customerToken = register("Search" + System.nanoTime());
+    Long customerId = null;
+    for (int balance : new int[] {100, 400, 250, 50}) {
+      JsonNode wallet = createWallet(customerToken, "USD", true);
+      customerId = wallet.get("customerId").asLong();
+      deposit(customerToken, wallet.get("id").asLong(), balance);
+    }
+    createWallet(customerToken, "EUR", true);
+    createWallet(customerToken, "USD", false);
+    String employeeToken = login("10000000001", "Password123!");
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    statistics.clear();
+    JsonNode first = searchUsd(employeeToken, customerId, null, false);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(balances(first)).containsExactly(400, 250);
+    assertThat(first.get("hasNext").asBoolean()).isTrue();
+    assertThat(first.get("totalElements").isNull()).isTrue();
+
+    JsonNode second = searchUsd(employeeToken, customerId, first.get("nextCursor").asText(), false);
+    assertThat(balances(second)).containsExactly(100);
+    assertThat(second.get("hasNext").asBoolean()).isFalse();
+    assertThat(second.get("nextCursor").isNull()).isTrue();
+
+    statistics.clear();
+    JsonNode counted = searchUsd(employeeToken, customerId, null, true);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(counted.get("totalElements").asLong()).isEqualTo(3);
+  }
+
+  @Test
+  void cursorsWalkEverySortWithoutSkippingTies() throws Exception {
+    String customerToken = register("Ties" + System.nanoTime());
+    List<Long> ids = new ArrayList<>();
+    Long customerId = null;
+    for (int balance : new int[] {30, 10, 30, 20, 30}) {
+      JsonNode wallet = createWallet(customerToken, "TRY", true);
+      customerId = wallet.get("customerId").asLong();
+      ids.add(wallet.get("id").asLong());
+      deposit(customerToken, wallet.get("id").asLong(), balance);
+    }
+    String employeeToken = login("10000000001", "Password123!");
+
+    for (String sort :
+        List.of("CREATED_AT_DESC", "CREATED_AT_ASC", "BALANCE_DESC", "BALANCE_ASC", "ID_ASC")) {
+      List<Long> walked = new ArrayList<>();
+      String cursor = null;
+      do {
+        var request =
+            get("/api/v1/wallets/search")
+                .param("customerId", customerId.toString())
+                .param("sort", sort)
+                .param("size", "2")
+                .header("Authorization", "Bearer " + employeeToken);
+        if (cursor != null) {
+          request.param("cursor", cursor);
+        }
+        JsonNode page =
+            objectMapper.readTree(
+                mockMvc
+                    .perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString());
+        page.get("items").forEach(item -> walked.add(item.get("id").asLong()));
+        cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+      } while (cursor != null);
+      assertThat(walked).as(sort).containsExactlyInAnyOrderElementsOf(ids);
+    }
+  }
+
+  @Test
+  void cursorOfAnotherSortIsRejected() throws Exception {
+    String token = login("10000000001", "Password123!");
+    JsonNode page =
+        objectMapper.readTree(
+            mockMvc
+                .perform(
+                    get("/api/v1/wallets/search")
+                        .param("sort", "ID_ASC")
+                        .param("size", "1")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/search")
+                .param("sort", "BALANCE_DESC")
+                .param("cursor", page.get("nextCursor").asText())
+                .header("Authorization", "Bearer " + token))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void searchIsForEmployeesOnly() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    mockMvc
+        .perform(get("/api/v1/wallets/search").header("Authorization", "Bearer " + token))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void unknownSortIsRejected() throws Exception {
+    String token = login("10000000001", "Password123!");
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/search")
+                .param("sort", "NAME")
+                .header("Authorization", "Bearer " + token))
+        .andExpect(status().isBadRequest());
+  }
+
+  private static List<Integer> balances(JsonNode page) {
+    return page.get("items").findValues("balance").stream().map(JsonNode::asInt).toList();
+  }
+
+  private JsonNode searchUsd(String token, Long customerId, String cursor, boolean includeTotal)
+      throws Exception {
+    var request =
+        get("/api/v1/wallets/search")
+            .param("customerId", customerId.toString())
+            .param("currency", "USD")
+            .param("minBalance", "60")
+            .param("activeForShopping", "true")
+            .param("sort", "BALANCE_DESC")
+            .param("size", "2")
+            .param("includeTotal", String.valueOf(includeTotal))
+            .header("Authorization", "Bearer " + token);
+    if (cursor != null) {
+      request.param("cursor", cursor);
+    }
+    MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+    return objectMapper.readTree(result.getResponse().getContentAsString());
+  }
+
+  private void deposit(String token, Long walletId, int amount) throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", walletId);
+    body.put("amount", amount);
+    body.put("source", "TR123");
+    body.put("sourceType", OppositePartyType.IBAN.name());
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/deposit")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+        .andExpect(status().isOk());
+  }
+
+  private JsonNode createWallet(String token, String currency, boolean activeForShopping)
+      throws Exception {
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletName", "Search-" + System.nanoTime());
+    body.put("currency", currency);
+    body.put("activeForShopping", activeForShopping);
+    body.put("activeForWithdraw", true);
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/v1/wallets")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(body)))
+            .andExpect(status().isCreated())
+            .andReturn();
+    return objectMapper.readTree(result.getResponse().getContentAsString());
+  }
+}
@@ -0,0 +1,96 @@
+package com.wallet.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.wallet.enums.OppositePartyType;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:statementdb;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class WalletStatementIntegrationTest extends IntegrationTestSupport {
+
+  private static final Long SEEDED_WALLET_ID = 1L;
+
+  @Test
+  void statementReflectsTodaysActivityFromSnapshots() throws Exception {
+    String customerToken = login("10000000012", "Customer123!");
+    String employeeToken = login("10000000001", "Password123!");
+    send(customerToken, "deposit", 200);
+    Long pendingId = send(customerToken, "deposit", 1500);
+    send(customerToken, "withdraw", 300);
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/{id}", pendingId)
+                .header("Authorization", "Bearer " + employeeToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"APPROVED\"}"))
+        .andExpect(status().isOk());
+
+    LocalDate today = LocalDate.now();
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/{id}/statement", SEEDED_WALLET_ID)
+                .param("from", today.minusDays(7).toString())
+                .param("to", today.toString())
+                .header("Authorization", "Bearer " + customerToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.openingBalance").value(5000))
+        .andExpect(jsonPath("$.openingUsableBalance").value(5000))
+        .andExpect(jsonPath("$.closingBalance").value(6400))
+        .andExpect(jsonPath("$.closingUsableBalance").value(6400))
+        .andExpect(jsonPath("$.deposits.approvedCount").value(2))
+        .andExpect(jsonPath("$.deposits.approvedAmount").value(1700))
+        .andExpect(jsonPath("$.deposits.pendingCount").value(1))
+        .andExpect(jsonPath("$.withdrawals.approvedAmount").value(300))
+        .andExpect(jsonPath("$.days.length()").value(1))
+        .andExpect(jsonPath("$.days[0].date").value(today.toString()));
+
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/{id}/statement", SEEDED_WALLET_ID)
+                .param("from", today.minusDays(7).toString())
+                .param("to", today.minusDays(1).toString())
+                .header("Authorization", "Bearer " + customerToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.openingBalance").value(5000))
+        .andExpect(jsonPath("$.closingBalance").value(5000))
+        .andExpect(jsonPath("$.days.length()").value(0));
+
+    mockMvc
+        .perform(
+            get("/api/v1/wallets/{id}/statement", SEEDED_WALLET_ID)
+                .param("from", today.toString())
+                .param("to", today.minusDays(1).toString())
+                .header("Authorization", "Bearer " + customerToken))
+        .andExpect(status().isBadRequest());
+  }
+
+  private Long send(String token, String operation, int amount) throws Exception {
+    boolean deposit = operation.equals("deposit");
+    Map<String, Object> body = new HashMap<>();
+    body.put("walletId", SEEDED_WALLET_ID);
+    body.put("amount", amount);
+    body.put(deposit ? "source" : "destination", "TR123");
+    body.put(deposit ? "sourceType" : "destinationType", OppositePartyType.IBAN.name());
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/v1/transactions/" + operation)
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(body)))
+            .andExpect(status().is2xxSuccessful())
+            .andReturn();
+    return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+  }
+}
@@ -1,13 +1,14 @@
 package com.wallet.integration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wallet.enums.OppositePartyType;
 import com.wallet.enums.TransactionAuditAction;
 import com.wallet.enums.TransactionStatus;
@@ -23,15 +24,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
-import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 @SpringBootTest
 @AutoConfigureMockMvc
-class WalletTransactionIntegrationTest {
+class WalletTransactionIntegrationTest extends IntegrationTestSupport {
 
-  @Autowired private MockMvc mockMvc;
-  @Autowired private ObjectMapper objectMapper;
   @Autowired private TransactionAuditLogRepository auditLogRepository;
 
   @BeforeEach
@@ -101,40 +99,116 @@ class WalletTransactionIntegrationTest {
     assertAuditLog(transactionId, TransactionAuditAction.STATUS_CHANGED, 2);
   }
 
-  private String login(String tckn, String password) throws Exception {
-    Map<String, Object> body = Map.of("tckn", tckn, "password", password);
-    // TODO: when refresh token endpoints ship, expand this helper to cover refresh flow too.
-    MvcResult result =
+  @Test
+  void historyPagesByCursorAndStreamsAsNdjson() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "History-" + System.nanoTime(), true, true);
+    for (int i = 1; i <= 3; i++) {
+      deposit(token, walletId, BigDecimal.valueOf(10L * i), TransactionStatus.APPROVED);
+    }
+
+    MvcResult firstPage =
         mockMvc
             .perform(
-                post("/api/v1/auth/login")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .content(objectMapper.writeValueAsString(body)))
+                get("/api/v1/transactions/page")
+                    .param("walletId", walletId.toString())
+                    .param("limit", "2")
+                    .header("Authorization", "Bearer " + token))
             .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(2))
+            .andExpect(jsonPath("$.items[0].amount").value(30))
+            .andExpect(jsonPath("$.hasNext").value(true))
             .andReturn();
-    JsonNode node = objectMapper.readTree(result.getResponse().getContentAsString());
-    return node.get("accessToken").asText();
+    String cursor =
+        objectMapper
+            .readTree(firstPage.getResponse().getContentAsString())
+            .get("nextCursor")
+            .asText();
+
+    mockMvc
+        .perform(
+            get("/api/v1/transactions/page")
+                .param("walletId", walletId.toString())
+                .param("limit", "2")
+                .param("cursor", cursor)
+                .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(1))
+        .andExpect(jsonPath("$.items[0].amount").value(10))
+        .andExpect(jsonPath("$.hasNext").value(false));
+
+    MvcResult streamed =
+        mockMvc
+            .perform(
+                get("/api/v1/transactions/stream")
+                    .param("walletId", walletId.toString())
+                    .header("Authorization", "Bearer " + token))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    String body =
+        mockMvc
+            .perform(asyncDispatch(streamed))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    assertThat(body.lines()).hasSize(3);
   }
 
-  private Long createWallet(String token, String name, boolean shopping, boolean withdraw)
-      throws Exception {
-    Map<String, Object> body = new HashMap<>();
-    body.put("walletName", name);
-    body.put("currency", "TRY");
-    body.put("activeForShopping", shopping);
-    body.put("activeForWithdraw", withdraw);
+  @Test
+  void bulkAppliesItemsPerWalletAndRollsBackAllOrNothing() throws Exception {
+    String token = login("10000000012", "Customer123!");
+    Long walletId = createWallet(token, "Bulk-" + System.nanoTime(), true, true);
 
+    List<Map<String, Object>> items =
+        List.of(
+            bulkItem("DEPOSIT", walletId, 300),
+            bulkItem("WITHDRAW", walletId, 1000),
+            bulkItem("WITHDRAW", walletId, 100));
     MvcResult result =
         mockMvc
             .perform(
-                post("/api/v1/wallets")
+                post("/api/v1/transactions/bulk")
                     .header("Authorization", "Bearer " + token)
                     .contentType(MediaType.APPLICATION_JSON)
-                    .content(objectMapper.writeValueAsString(body)))
-            .andExpect(status().isCreated())
+                    .content(
+                        objectMapper.writeValueAsString(
+                            Map.of("items", items, "failureMode", "PER_ITEM"))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.applied").value(2))
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.results[1].outcome").value("FAILED"))
+            .andExpect(jsonPath("$.results[1].error").value("Insufficient usable balance"))
             .andReturn();
-    JsonNode node = objectMapper.readTree(result.getResponse().getContentAsString());
-    return node.get("id").asLong();
+    assertWalletBalances(token, walletId, 200, 200);
+    JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+    assertAuditLog(
+        body.at("/results/0/transaction/id").asLong(), TransactionAuditAction.DEPOSIT_CREATED, 1);
+
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/bulk")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("items", items))))
+        .andExpect(status().isUnprocessableEntity())
+        .andExpect(jsonPath("$.applied").value(0))
+        .andExpect(jsonPath("$.results[0].outcome").value("SKIPPED"));
+    assertWalletBalances(token, walletId, 200, 200);
+  }
+
+  private Map<String, Object> bulkItem(String type, Long walletId, int amount) {
+    return Map.of(
+        "type",
+        type,
+        "walletId",
+        walletId,
+        "amount",
+        amount,
+        "oppositeParty",
+        "TR123",
+        "oppositePartyType",
+        OppositePartyType.IBAN.name());
   }
 
   private Long deposit(
@@ -0,0 +1,69 @@
+package com.wallet.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.wallet.enums.Currency;
+import com.wallet.exception.InvalidAmountException;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+  @Test
+  void convertsDecimalsExactly() {
+    assertThat(Money.of(new BigDecimal("1500.25")).minorUnits()).isEqualTo(150025);
+    assertThat(Money.of(new BigDecimal("7.5")).minorUnits()).isEqualTo(750);
+    assertThat(Money.of(new BigDecimal("12.300"), Currency.TRY))
+        .isEqualTo(Money.of(new BigDecimal("12.3")));
+    assertThat(Money.of(42).toBigDecimal()).isEqualTo(new BigDecimal("42.00"));
+    assertThat(Money.ofMinorUnits(-5).toString()).isEqualTo("-0.05");
+  }
+
+  @Test
+  void rejectsAmountsFinerThanTheMinorUnit() {
+    assertThatThrownBy(() -> Money.of(new BigDecimal("10.005"), Currency.USD))
+        .isInstanceOf(InvalidAmountException.class)
+        .hasMessageContaining("USD");
+    assertThatThrownBy(() -> Money.of(new BigDecimal("0.001")))
+        .isInstanceOf(InvalidAmountException.class);
+  }
+
+  @Test
+  void failsInsteadOfOverflowing() {
+    Money max = Money.ofMinorUnits(Long.MAX_VALUE);
+    Money min = Money.ofMinorUnits(Long.MIN_VALUE);
+
+    assertThatThrownBy(() -> max.plus(Money.ofMinorUnits(1)))
+        .isInstanceOf(InvalidAmountException.class);
+    assertThatThrownBy(() -> min.minus(Money.ofMinorUnits(1)))
+        .isInstanceOf(InvalidAmountException.class);
+    assertThatThrownBy(min::negate).isInstanceOf(InvalidAmountException.class);
+    assertThatThrownBy(() -> Money.of(Long.MAX_VALUE / 10))
+        .isInstanceOf(InvalidAmountException.class);
+    assertThatThrownBy(() -> Money.of(new BigDecimal("1e20")))
+        .isInstanceOf(InvalidAmountException.class);
+  }
+
+  @Test
+  void comparesAndCombines() {
+    Money a = Money.of(new BigDecimal("10.50"));
+    Money b = Money.of(new BigDecimal("0.75"));
+
+    assertThat(a.plus(b)).isEqualTo(Money.of(new BigDecimal("11.25")));
+    assertThat(b.minus(a).isNegative()).isTrue();
+    assertThat(b.isLessThan(a)).isTrue();
+    assertThat(a.isGreaterThan(b)).isTrue();
+    assertThat(a.minus(a)).isSameAs(Money.ZERO);
+    assertThat(a.compareTo(b)).isPositive();
+  }
+
+  @Test
+  void converterStoresMinorUnits() {
+    MoneyConverter converter = new MoneyConverter();
+
+    assertThat(converter.convertToDatabaseColumn(Money.of(new BigDecimal("3.14")))).isEqualTo(314L);
+    assertThat(converter.convertToEntityAttribute(314L)).isEqualTo(Money.ofMinorUnits(314));
+    assertThat(converter.convertToDatabaseColumn(null)).isNull();
+  }
+}
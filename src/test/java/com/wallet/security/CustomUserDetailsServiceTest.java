@@ -0,0 +1,98 @@
+package com.wallet.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.wallet.enums.UserRole;
+import com.wallet.model.Customer;
+import com.wallet.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+  @Mock private CustomerRepository customerRepository;
+
+  private PrincipalCache principalCache;
+  private CustomUserDetailsService userDetailsService;
+  private Customer customer;
+
+  @BeforeEach
+  void setup() {
+    principalCache = new PrincipalCache(new PrincipalCacheProperties(), new SimpleMeterRegistry());
+    userDetailsService = new CustomUserDetailsService(customerRepository, principalCache);
+    customer = new Customer();
+    customer.setId(4L);
+    customer.setTckn("10000000012");
+    customer.setPassword("hash");
+    customer.setRole(UserRole.CUSTOMER);
+  }
+
+  @Test
+  void repeatedLookupsAreServedFromCache() {
+    when(customerRepository.findByTckn("10000000012")).thenReturn(Optional.of(customer));
+
+    userDetailsService.loadUserByUsername("10000000012");
+    CustomUserDetails details =
+        (CustomUserDetails) userDetailsService.loadUserByUsername("10000000012");
+
+    assertThat(details.getCustomerId()).isEqualTo(4L);
+    verify(customerRepository, times(1)).findByTckn("10000000012");
+  }
+
+  @Test
+  void invalidationReloadsChangedRole() {
+    when(customerRepository.findByTckn("10000000012")).thenReturn(Optional.of(customer));
+    userDetailsService.loadUserByUsername("10000000012");
+
+    customer.setRole(UserRole.EMPLOYEE);
+    new PrincipalCacheInvalidationListener(principalCache).onChange(customer);
+    CustomUserDetails details =
+        (CustomUserDetails) userDetailsService.loadUserByUsername("10000000012");
+
+    assertThat(details.getRole()).isEqualTo(UserRole.EMPLOYEE);
+    verify(customerRepository, times(2)).findByTckn("10000000012");
+  }
+
+  @Test
+  void loadThatOverlapsAnInvalidationIsNotCached() {
+    CustomUserDetails stale = new CustomUserDetails(customer);
+    CustomUserDetails loaded =
+        principalCache.get(
+            "10000000012",
+            tckn -> {
+              // The customer's change commits while this request is still reading the old row.
+              principalCache.invalidate(tckn);
+              return stale;
+            });
+    customer.setRole(UserRole.EMPLOYEE);
+    CustomUserDetails fresh = new CustomUserDetails(customer);
+
+    assertThat(loaded).isSameAs(stale);
+    assertThat(principalCache.get("10000000012", tckn -> fresh)).isSameAs(fresh);
+    assertThat(principalCache.get("10000000012", tckn -> stale)).isSameAs(fresh);
+  }
+
+  @Test
+  void unknownCustomersAreNotCached() {
+    when(customerRepository.findByTckn("99999999999")).thenReturn(Optional.empty());
+
+    assertThrows(
+        UsernameNotFoundException.class,
+        () -> userDetailsService.loadUserByUsername("99999999999"));
+    assertThrows(
+        UsernameNotFoundException.class,
+        () -> userDetailsService.loadUserByUsername("99999999999"));
+    verify(customerRepository, times(2)).findByTckn("99999999999");
+  }
+}
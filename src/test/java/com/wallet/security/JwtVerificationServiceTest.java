@@ -0,0 +1,82 @@
+package com.wallet.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.wallet.enums.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class JwtVerificationServiceTest {
+
+  private JwtProperties properties;
+  private JwtTokenProvider tokenProvider;
+  private String token;
+
+  @BeforeEach
+  void setup() {
+    properties = new JwtProperties();
+    properties.setIssuer("wallet-app");
+    properties.setAccessTokenValidityMs(60_000);
+    properties.setRefreshTokenValidityMs(120_000);
+    properties.setSecret("0123456789abcdef0123456789abcdef0123456789abcdef");
+    tokenProvider = spy(new JwtTokenProvider(properties));
+    token =
+        tokenProvider.generateAccessToken(
+            new UsernamePasswordAuthenticationToken(
+                "10000000001", null, List.of(new SimpleGrantedAuthority("EMPLOYEE"))));
+  }
+
+  @Test
+  void verifyReturnsSubjectAndRole() {
+    JwtVerificationService service = service(100);
+
+    Optional<VerifiedToken> verified = service.verify(token);
+
+    assertThat(verified).isPresent();
+    assertThat(verified.get().subject()).isEqualTo("10000000001");
+    assertThat(verified.get().role()).isEqualTo(UserRole.EMPLOYEE);
+  }
+
+  @Test
+  void verifyRejectsTamperedSignature() {
+    JwtVerificationService service = service(100);
+    String tampered = token.substring(0, token.length() - 2) + "xx";
+
+    assertThat(service.verify(tampered)).isEmpty();
+    assertThat(service.verify("not-a-jwt")).isEmpty();
+  }
+
+  @Test
+  void hotTokensAreParsedOnlyOnce() {
+    JwtVerificationService service = service(100);
+
+    service.verify(token);
+    service.verify(token);
+    service.verify(token);
+
+    verify(tokenProvider, times(1)).parseClaims(token);
+  }
+
+  @Test
+  void zeroCacheSizeVerifiesEveryCall() {
+    JwtVerificationService service = service(0);
+
+    service.verify(token);
+    service.verify(token);
+
+    verify(tokenProvider, times(2)).parseClaims(token);
+  }
+
+  private JwtVerificationService service(long cacheSize) {
+    properties.setVerificationCacheSize(cacheSize);
+    return new JwtVerificationService(tokenProvider, properties, new SimpleMeterRegistry());
+  }
+}
@@ -0,0 +1,106 @@
+package com.wallet.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.wallet.dto.response.WalletStatementResponse;
+import com.wallet.enums.Currency;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.exception.InvalidStatementRangeException;
+import com.wallet.model.Money;
+import com.wallet.model.Wallet;
+import com.wallet.model.WalletDailySnapshot;
+import com.wallet.repository.WalletDailySnapshotRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StatementServiceTest {
+
+  private static final LocalDate FROM = LocalDate.of(2026, 3, 1);
+  private static final LocalDate TO = LocalDate.of(2026, 3, 31);
+
+  @Mock private WalletService walletService;
+  @Mock private WalletDailySnapshotRepository snapshotRepository;
+
+  @InjectMocks private StatementService statementService;
+
+  @Test
+  void opensWithPreviousClosingAndSumsDaysInRange() {
+    when(walletService.requireWalletAccess(1L)).thenReturn(wallet());
+    WalletDailySnapshot first = snapshot(LocalDate.of(2026, 3, 4), 300, 400);
+    first.getDeposits().add(TransactionStatus.APPROVED, BigDecimal.valueOf(100));
+    WalletDailySnapshot second = snapshot(LocalDate.of(2026, 3, 9), 400, 350);
+    second.getDeposits().add(TransactionStatus.APPROVED, BigDecimal.valueOf(20));
+    second.getWithdrawals().add(TransactionStatus.APPROVED, BigDecimal.valueOf(70));
+    when(snapshotRepository.findByWalletIdAndSnapshotDateBetweenOrderBySnapshotDate(1L, FROM, TO))
+        .thenReturn(List.of(first, second));
+    when(snapshotRepository.findFirstByWalletIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(
+            1L, FROM))
+        .thenReturn(Optional.of(snapshot(LocalDate.of(2026, 2, 20), 250, 300)));
+
+    WalletStatementResponse statement = statementService.statement(1L, FROM, TO);
+
+    assertThat(statement.openingBalance()).isEqualByComparingTo("300");
+    assertThat(statement.closingBalance()).isEqualByComparingTo("350");
+    assertThat(statement.deposits().approvedCount()).isEqualTo(2);
+    assertThat(statement.deposits().approvedAmount()).isEqualByComparingTo("120");
+    assertThat(statement.withdrawals().approvedAmount()).isEqualByComparingTo("70");
+    assertThat(statement.days()).hasSize(2);
+  }
+
+  @Test
+  void idleRangeBeforeFirstActivityUsesNextOpening() {
+    when(walletService.requireWalletAccess(1L)).thenReturn(wallet());
+    when(snapshotRepository.findByWalletIdAndSnapshotDateBetweenOrderBySnapshotDate(1L, FROM, TO))
+        .thenReturn(List.of());
+    when(snapshotRepository.findFirstByWalletIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(
+            1L, FROM))
+        .thenReturn(Optional.empty());
+    when(snapshotRepository.findFirstByWalletIdAndSnapshotDateGreaterThanOrderBySnapshotDate(
+            1L, TO))
+        .thenReturn(Optional.of(snapshot(LocalDate.of(2026, 4, 2), 80, 90)));
+
+    WalletStatementResponse statement = statementService.statement(1L, FROM, TO);
+
+    assertThat(statement.openingBalance()).isEqualByComparingTo("80");
+    assertThat(statement.closingBalance()).isEqualByComparingTo("80");
+    assertThat(statement.days()).isEmpty();
+  }
+
+  @Test
+  void rejectsInvertedRange() {
+    assertThrows(
+        InvalidStatementRangeException.class, () -> statementService.statement(1L, TO, FROM));
+    verifyNoInteractions(snapshotRepository);
+  }
+
+  private static Wallet wallet() {
+    Wallet wallet = new Wallet();
+    wallet.setId(1L);
+    wallet.setCurrency(Currency.TRY);
+    wallet.setBalance(Money.of(999));
+    wallet.setUsableBalance(Money.of(999));
+    return wallet;
+  }
+
+  private static WalletDailySnapshot snapshot(LocalDate date, int opening, int closing) {
+    WalletDailySnapshot snapshot = new WalletDailySnapshot();
+    snapshot.setWalletId(1L);
+    snapshot.setSnapshotDate(date);
+    snapshot.setOpeningBalance(BigDecimal.valueOf(opening));
+    snapshot.setOpeningUsableBalance(BigDecimal.valueOf(opening));
+    snapshot.setClosingBalance(BigDecimal.valueOf(closing));
+    snapshot.setClosingUsableBalance(BigDecimal.valueOf(closing));
+    return snapshot;
+  }
+}
@@ -3,26 +3,55 @@ package com.wallet.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.wallet.config.BulkTransactionProperties;
+import com.wallet.config.BulkTransactionProperties.FailureMode;
 import com.wallet.dto.request.ApproveTransactionRequest;
+import com.wallet.dto.request.BulkStatusChangeRequest;
+import com.wallet.dto.request.BulkTransactionItem;
+import com.wallet.dto.request.BulkTransactionRequest;
 import com.wallet.dto.request.DepositRequest;
+import com.wallet.dto.request.TransferRequest;
 import com.wallet.dto.request.WithdrawRequest;
+import com.wallet.dto.response.BulkTransactionItemResult;
+import com.wallet.dto.response.BulkTransactionItemResult.Outcome;
+import com.wallet.dto.response.BulkTransactionResponse;
 import com.wallet.dto.response.TransactionResponse;
+import com.wallet.dto.response.TransferResponse;
+import com.wallet.enums.Currency;
 import com.wallet.enums.OppositePartyType;
 import com.wallet.enums.TransactionStatus;
 import com.wallet.enums.TransactionType;
+import com.wallet.enums.WalletEventType;
+import com.wallet.exception.BulkTransactionRejectedException;
 import com.wallet.exception.InsufficientBalanceException;
 import com.wallet.exception.InvalidTransactionStatusException;
+import com.wallet.exception.InvalidTransferException;
+import com.wallet.exception.UnauthorizedOperationException;
 import com.wallet.model.Customer;
+import com.wallet.model.Money;
 import com.wallet.model.Wallet;
 import com.wallet.model.WalletTransaction;
 import com.wallet.repository.WalletRepository;
 import com.wallet.repository.WalletTransactionRepository;
+import com.wallet.service.concurrency.EntityWalletBalanceWriter;
+import com.wallet.service.concurrency.OptimisticWalletLockManager;
+import com.wallet.service.metrics.TransactionMetrics;
+import com.wallet.service.outbox.OutboxRecorder;
+import com.wallet.service.snapshot.WalletSnapshotRecorder;
 import com.wallet.service.strategy.DepositTransactionStrategy;
 import com.wallet.service.strategy.TransactionStrategy;
+import com.wallet.service.strategy.TransferInTransactionStrategy;
+import com.wallet.service.strategy.TransferOutTransactionStrategy;
 import com.wallet.service.strategy.WithdrawTransactionStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
@@ -39,6 +68,10 @@ class TransactionServiceTest {
   @Mock private WalletRepository walletRepository;
   @Mock private WalletTransactionRepository transactionRepository;
   @Mock private CurrentCustomerService currentCustomerService;
+  @Mock private WalletSnapshotRecorder snapshotRecorder;
+  @Mock private OutboxRecorder outboxRecorder;
+
+  private final OptimisticWalletLockManager lockManager = spy(new OptimisticWalletLockManager());
 
   private TransactionService transactionService;
 
@@ -50,17 +83,29 @@ class TransactionServiceTest {
     Customer customer = new Customer();
     customer.setId(10L);
     wallet.setCustomer(customer);
-    wallet.setBalance(BigDecimal.valueOf(1000));
-    wallet.setUsableBalance(BigDecimal.valueOf(1000));
+    wallet.setBalance(Money.of(1000));
+    wallet.setUsableBalance(Money.of(1000));
     wallet.setActiveForWithdraw(true);
+    wallet.setCurrency(Currency.TRY);
     List<TransactionStrategy> strategies =
-        List.of(new DepositTransactionStrategy(), new WithdrawTransactionStrategy());
+        List.of(
+            new DepositTransactionStrategy(),
+            new WithdrawTransactionStrategy(),
+            new TransferOutTransactionStrategy(),
+            new TransferInTransactionStrategy());
     transactionService =
         new TransactionService(
             walletService,
-            walletRepository,
+            new EntityWalletBalanceWriter(walletRepository),
             transactionRepository,
             currentCustomerService,
+            lockManager,
+            new BulkTransactionProperties(),
+            snapshotRecorder,
+            new TransactionMetrics(new SimpleMeterRegistry()),
+            outboxRecorder,
+            Optional.empty(),
+            Optional.empty(),
             strategies);
   }
 
@@ -71,7 +116,7 @@ class TransactionServiceTest {
     WalletTransaction persisted = new WalletTransaction();
     persisted.setId(5L);
     persisted.setWallet(wallet);
-    persisted.setAmount(request.amount());
+    persisted.setAmount(Money.of(request.amount()));
     persisted.setType(TransactionType.DEPOSIT);
     persisted.setStatus(TransactionStatus.APPROVED);
 
@@ -81,9 +126,22 @@ class TransactionServiceTest {
     TransactionResponse response = transactionService.deposit(request);
 
     assertThat(response.status()).isEqualTo(TransactionStatus.APPROVED);
-    assertThat(wallet.getBalance()).isEqualByComparingTo("1500");
-    assertThat(wallet.getUsableBalance()).isEqualByComparingTo("1500");
+    assertThat(wallet.getBalance()).isEqualTo(Money.of(1500));
+    assertThat(wallet.getUsableBalance()).isEqualTo(Money.of(1500));
     verify(walletRepository).save(wallet);
+    verify(outboxRecorder).record(WalletEventType.TRANSACTION_CREATED, List.of(persisted));
+  }
+
+  @Test
+  void depositChecksAccessBeforeLockingTheWallet() {
+    DepositRequest request =
+        new DepositRequest(1L, BigDecimal.valueOf(500), "TR12", OppositePartyType.IBAN);
+    doThrow(new UnauthorizedOperationException("Not your wallet"))
+        .when(walletService)
+        .requireReadAccess(1L);
+
+    assertThrows(UnauthorizedOperationException.class, () -> transactionService.deposit(request));
+    verify(lockManager, never()).lock(any());
   }
 
   @Test
@@ -98,7 +156,7 @@ class TransactionServiceTest {
 
   @Test
   void withdrawThrowsWhenInsufficientUsableBalance() {
-    wallet.setUsableBalance(BigDecimal.ZERO);
+    wallet.setUsableBalance(Money.ZERO);
     WithdrawRequest request =
         new WithdrawRequest(1L, BigDecimal.valueOf(100), "TRxx", OppositePartyType.IBAN);
     when(walletService.requireWalletAccess(1L)).thenReturn(wallet);
@@ -120,9 +178,10 @@ class TransactionServiceTest {
     WalletTransaction pending = new WalletTransaction();
     pending.setId(99L);
     pending.setWallet(wallet);
-    pending.setAmount(BigDecimal.valueOf(2000));
+    pending.setAmount(Money.of(2000));
     pending.setType(TransactionType.DEPOSIT);
     pending.setStatus(TransactionStatus.PENDING);
+    when(transactionRepository.findWalletIdById(99L)).thenReturn(Optional.of(1L));
     when(transactionRepository.findById(99L)).thenReturn(Optional.of(pending));
     when(transactionRepository.save(pending)).thenReturn(pending);
     Customer employee = new Customer();
@@ -134,19 +193,21 @@ class TransactionServiceTest {
             99L, new ApproveTransactionRequest(TransactionStatus.APPROVED));
 
     assertThat(response.status()).isEqualTo(TransactionStatus.APPROVED);
-    assertThat(wallet.getUsableBalance()).isEqualByComparingTo("3000");
+    assertThat(wallet.getUsableBalance()).isEqualTo(Money.of(3000));
     verify(walletRepository).save(wallet);
+    verify(outboxRecorder).record(WalletEventType.TRANSACTION_STATUS_CHANGED, List.of(pending));
   }
 
   @Test
   void denyPendingDepositRollsBackBalance() {
-    wallet.setBalance(BigDecimal.valueOf(3000));
+    wallet.setBalance(Money.of(3000));
     WalletTransaction pending = new WalletTransaction();
     pending.setId(77L);
     pending.setWallet(wallet);
-    pending.setAmount(BigDecimal.valueOf(2000));
+    pending.setAmount(Money.of(2000));
     pending.setType(TransactionType.DEPOSIT);
     pending.setStatus(TransactionStatus.PENDING);
+    when(transactionRepository.findWalletIdById(77L)).thenReturn(Optional.of(1L));
     when(transactionRepository.findById(77L)).thenReturn(Optional.of(pending));
     when(transactionRepository.save(pending)).thenReturn(pending);
     Customer employee = new Customer();
@@ -158,19 +219,20 @@ class TransactionServiceTest {
             77L, new ApproveTransactionRequest(TransactionStatus.DENIED));
 
     assertThat(response.status()).isEqualTo(TransactionStatus.DENIED);
-    assertThat(wallet.getBalance()).isEqualByComparingTo("1000");
+    assertThat(wallet.getBalance()).isEqualTo(Money.of(1000));
     verify(walletRepository).save(wallet);
   }
 
   @Test
   void denyPendingWithdrawRestoresUsableBalance() {
-    wallet.setUsableBalance(BigDecimal.valueOf(300));
+    wallet.setUsableBalance(Money.of(300));
     WalletTransaction pending = new WalletTransaction();
     pending.setId(88L);
     pending.setWallet(wallet);
-    pending.setAmount(BigDecimal.valueOf(200));
+    pending.setAmount(Money.of(200));
     pending.setType(TransactionType.WITHDRAW);
     pending.setStatus(TransactionStatus.PENDING);
+    when(transactionRepository.findWalletIdById(88L)).thenReturn(Optional.of(1L));
     when(transactionRepository.findById(88L)).thenReturn(Optional.of(pending));
     when(transactionRepository.save(pending)).thenReturn(pending);
     Customer employee = new Customer();
@@ -182,7 +244,195 @@ class TransactionServiceTest {
             88L, new ApproveTransactionRequest(TransactionStatus.DENIED));
 
     assertThat(response.status()).isEqualTo(TransactionStatus.DENIED);
-    assertThat(wallet.getUsableBalance()).isEqualByComparingTo("500");
+    assertThat(wallet.getUsableBalance()).isEqualTo(Money.of(500));
     verify(walletRepository).save(wallet);
   }
+
+  @Test
+  void bulkPerItemAppliesValidItemsAndReportsFailures() {
+    wallet.setId(1L);
+    when(walletService.requireWalletAccess(1L)).thenReturn(wallet);
+
+    BulkTransactionResponse response =
+        transactionService.applyBulk(
+            new BulkTransactionRequest(
+                List.of(
+                    bulkItem(TransactionType.DEPOSIT, 1L, 100),
+                    bulkItem(TransactionType.WITHDRAW, 1L, 5000),
+                    bulkItem(TransactionType.WITHDRAW, 1L, 200)),
+                FailureMode.PER_ITEM));
+
+    assertThat(response.results())
+        .extracting(BulkTransactionItemResult::outcome)
+        .containsExactly(Outcome.APPLIED, Outcome.FAILED, Outcome.APPLIED);
+    assertThat(wallet.getBalance()).isEqualTo(Money.of(900));
+    assertThat(wallet.getUsableBalance()).isEqualTo(Money.of(900));
+    verify(walletRepository, times(1)).save(wallet);
+    verify(transactionRepository).saveAll(argThat(rows -> ((List<?>) rows).size() == 2));
+  }
+
+  @Test
+  void bulkPerWalletSkipsEveryItemOfAFailingWallet() {
+    wallet.setId(1L);
+    Wallet other = new Wallet();
+    other.setId(2L);
+    other.setCustomer(wallet.getCustomer());
+    other.setCurrency(Currency.TRY);
+    other.setBalance(Money.ZERO);
+    other.setUsableBalance(Money.ZERO);
+    when(walletService.requireWalletAccess(1L)).thenReturn(wallet);
+    when(walletService.requireWalletAccess(2L)).thenReturn(other);
+
+    BulkTransactionResponse response =
+        transactionService.applyBulk(
+            new BulkTransactionRequest(
+                List.of(
+                    bulkItem(TransactionType.DEPOSIT, 1L, 100),
+                    bulkItem(TransactionType.WITHDRAW, 1L, 5000),
+                    bulkItem(TransactionType.DEPOSIT, 2L, 50)),
+                FailureMode.PER_WALLET));
+
+    assertThat(response.results())
+        .extracting(BulkTransactionItemResult::outcome)
+        .containsExactly(Outcome.SKIPPED, Outcome.FAILED, Outcome.APPLIED);
+    assertThat(wallet.getBalance()).isEqualTo(Money.of(1000));
+    assertThat(other.getBalance()).isEqualTo(Money.of(50));
+  }
+
+  @Test
+  void bulkAllOrNothingRejectsWholeRequest() {
+    wallet.setId(1L);
+    when(walletService.requireWalletAccess(1L)).thenReturn(wallet);
+
+    BulkTransactionRejectedException rejected =
+        assertThrows(
+            BulkTransactionRejectedException.class,
+            () ->
+                transactionService.applyBulk(
+                    new BulkTransactionRequest(
+                        List.of(
+                            bulkItem(TransactionType.DEPOSIT, 1L, 100),
+                            bulkItem(TransactionType.WITHDRAW, 1L, 5000)),
+                        null)));
+
+    assertThat(rejected.getResponse().results())
+        .extracting(BulkTransactionItemResult::outcome)
+        .containsExactly(Outcome.SKIPPED, Outcome.FAILED);
+    verify(transactionRepository, never()).saveAll(any());
+  }
+
+  @Test
+  void bulkApproveWritesEachWalletOnceWithNetDelta() {
+    wallet.setId(1L);
+    wallet.setBalance(Money.of(4000));
+    Customer employee = new Customer();
+    employee.setId(1L);
+    WalletTransaction deposit = pendingTransaction(70L, TransactionType.DEPOSIT, 3000);
+    WalletTransaction withdraw = pendingTransaction(71L, TransactionType.WITHDRAW, 400);
+    wallet.setUsableBalance(Money.of(600));
+    when(currentCustomerService.getCurrentCustomer()).thenReturn(employee);
+    when(transactionRepository.findWalletIdsByIdIn(List.of(70L, 71L))).thenReturn(List.of(1L));
+    when(transactionRepository.findAllWithWalletByIdIn(List.of(70L, 71L)))
+        .thenReturn(List.of(deposit, withdraw));
+
+    BulkTransactionResponse response =
+        transactionService.approveOrDenyBulk(
+            new BulkStatusChangeRequest(List.of(70L, 71L), TransactionStatus.APPROVED, null));
+
+    assertThat(response.applied()).isEqualTo(2);
+    assertThat(wallet.getBalance()).isEqualTo(Money.of(3600));
+    assertThat(wallet.getUsableBalance()).isEqualTo(Money.of(3600));
+    assertThat(deposit.getStatus()).isEqualTo(TransactionStatus.APPROVED);
+    assertThat(withdraw.getProcessedBy()).isEqualTo(1L);
+    verify(walletRepository, times(1)).save(wallet);
+    verify(transactionRepository).saveAll(List.of(deposit, withdraw));
+  }
+
+  @Test
+  void transferDebitsSourceCreditsTargetAndLinksTheRows() {
+    wallet.setId(1L);
+    Wallet target = new Wallet();
+    target.setId(2L);
+    target.setCurrency(Currency.TRY);
+    target.setCustomer(wallet.getCustomer());
+    target.setBalance(Money.ZERO);
+    target.setUsableBalance(Money.ZERO);
+    when(walletService.requireWalletAccess(1L)).thenReturn(wallet);
+    when(walletService.requireWalletAccess(2L)).thenReturn(target);
+    when(transactionRepository.save(any()))
+        .thenAnswer(
+            invocation -> {
+              WalletTransaction row = invocation.getArgument(0);
+              row.setId(row.getType() == TransactionType.TRANSFER_OUT ? 40L : 41L);
+              return row;
+            });
+
+    TransferResponse response =
+        transactionService.transfer(new TransferRequest(1L, 2L, BigDecimal.valueOf(300)));
+
+    assertThat(response.debit().type()).isEqualTo(TransactionType.TRANSFER_OUT);
+    assertThat(response.credit().type()).isEqualTo(TransactionType.TRANSFER_IN);
+    assertThat(wallet.getBalance()).isEqualTo(Money.of(700));
+    assertThat(wallet.getUsableBalance()).isEqualTo(Money.of(700));
+    assertThat(target.getBalance()).isEqualTo(Money.of(300));
+    assertThat(target.getUsableBalance()).isEqualTo(Money.of(300));
+    verify(transactionRepository)
+        .save(argThat(row -> row.getId() == 41L && row.getLinkedTransactionId() == 40L));
+    verify(transactionRepository)
+        .save(argThat(row -> row.getId() == 40L && row.getLinkedTransactionId() == 41L));
+  }
+
+  @Test
+  void transferRejectsInsufficientUsableBalanceBeforeWriting() {
+    wallet.setId(1L);
+    Wallet target = new Wallet();
+    target.setId(2L);
+    target.setCurrency(Currency.TRY);
+    when(walletService.requireWalletAccess(1L)).thenReturn(wallet);
+    when(walletService.requireWalletAccess(2L)).thenReturn(target);
+
+    assertThrows(
+        InsufficientBalanceException.class,
+        () -> transactionService.transfer(new TransferRequest(1L, 2L, BigDecimal.valueOf(5000))));
+    verify(transactionRepository, never()).save(any());
+    verify(walletRepository, never()).save(any());
+  }
+
+  @Test
+  void transferRejectsWalletsOfDifferentCurrencies() {
+    wallet.setId(1L);
+    Wallet target = new Wallet();
+    target.setId(2L);
+    target.setCurrency(Currency.USD);
+    when(walletService.requireWalletAccess(1L)).thenReturn(wallet);
+    when(walletService.requireWalletAccess(2L)).thenReturn(target);
+
+    assertThrows(
+        InvalidTransferException.class,
+        () -> transactionService.transfer(new TransferRequest(1L, 2L, BigDecimal.TEN)));
+    verify(transactionRepository, never()).save(any());
+  }
+
+  @Test
+  void transferRejectsTheSameWalletAsTarget() {
+    assertThrows(
+        InvalidTransferException.class,
+        () -> transactionService.transfer(new TransferRequest(1L, 1L, BigDecimal.TEN)));
+    verify(walletService, never()).requireWalletAccess(any());
+  }
+
+  private WalletTransaction pendingTransaction(Long id, TransactionType type, int amount) {
+    WalletTransaction transaction = new WalletTransaction();
+    transaction.setId(id);
+    transaction.setWallet(wallet);
+    transaction.setAmount(Money.of(amount));
+    transaction.setType(type);
+    transaction.setStatus(TransactionStatus.PENDING);
+    return transaction;
+  }
+
+  private static BulkTransactionItem bulkItem(TransactionType type, Long walletId, int amount) {
+    return new BulkTransactionItem(
+        type, walletId, BigDecimal.valueOf(amount), "TR12", OppositePartyType.IBAN);
+  }
 }
@@ -3,20 +3,33 @@ package com.wallet.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.wallet.dto.request.WalletCreateRequest;
+import com.wallet.dto.request.WalletSearchFilter;
 import com.wallet.dto.request.WalletSettingsRequest;
+import com.wallet.dto.response.PageResponse;
 import com.wallet.dto.response.WalletResponse;
 import com.wallet.enums.Currency;
 import com.wallet.enums.UserRole;
+import com.wallet.enums.WalletSearchSort;
+import com.wallet.exception.InvalidCursorException;
 import com.wallet.exception.WalletNotFoundException;
 import com.wallet.model.Customer;
+import com.wallet.model.Money;
 import com.wallet.model.Wallet;
 import com.wallet.repository.WalletRepository;
+import com.wallet.repository.WalletSearchRepository.Match;
+import com.wallet.repository.WalletSearchRepository.Position;
+import com.wallet.repository.WalletView;
+import com.wallet.service.cache.WalletCache;
+import com.wallet.service.pagination.WalletSearchCursor;
 import com.wallet.service.policy.WalletAccessPolicy;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +46,7 @@ class WalletServiceTest {
   @Mock private CurrentCustomerService currentCustomerService;
   @Mock private WalletAccessPolicy walletAccessPolicy;
   @Mock private CustomerService customerService;
+  @Mock private WalletCache walletCache;
 
   @InjectMocks private WalletService walletService;
 
@@ -55,8 +69,8 @@ class WalletServiceTest {
     wallet.setCurrency(Currency.TRY);
     wallet.setActiveForShopping(true);
     wallet.setActiveForWithdraw(true);
-    wallet.setBalance(BigDecimal.ZERO);
-    wallet.setUsableBalance(BigDecimal.ZERO);
+    wallet.setBalance(Money.ZERO);
+    wallet.setUsableBalance(Money.ZERO);
   }
 
   @Test
@@ -121,12 +135,113 @@ class WalletServiceTest {
     employee.setRole(UserRole.EMPLOYEE);
     when(currentCustomerService.getCurrentCustomer()).thenReturn(employee);
     when(walletAccessPolicy.canViewAll(employee)).thenReturn(true);
-    when(walletRepository.findAll()).thenReturn(List.of(wallet));
+    when(walletRepository.findAllViews()).thenReturn(List.of(view(4L)));
 
     List<WalletResponse> responses = walletService.listWallets(Optional.empty(), Optional.empty());
 
     assertThat(responses).hasSize(1);
-    verify(walletRepository).findAll();
+    verify(walletRepository).findAllViews();
+  }
+
+  @Test
+  void getWalletServesCachedViewAfterAccessCheck() {
+    WalletResponse cached =
+        new WalletResponse(
+            1L, 10L, "Daily", Currency.TRY, true, true, BigDecimal.TEN, BigDecimal.TEN);
+    when(currentCustomerService.getCurrentCustomer()).thenReturn(customer);
+    when(walletCache.get(1L)).thenReturn(Optional.of(cached));
+
+    assertThat(walletService.getWallet(1L)).isSameAs(cached);
+    verify(walletAccessPolicy).ensureCanAccess(customer, 10L);
+    verify(walletRepository, never()).findById(any());
+  }
+
+  @Test
+  void getWalletCachesWhatItLoads() {
+    when(currentCustomerService.getCurrentCustomer()).thenReturn(customer);
+    when(walletRepository.findViewById(1L)).thenReturn(Optional.of(view(4L)));
+
+    WalletResponse response = walletService.getWallet(1L);
+
+    verify(walletCache).put(response, 4L);
+    verify(walletAccessPolicy).ensureCanAccess(customer, 10L);
+  }
+
+  @Test
+  void listWalletsFiltersCachedListByCurrency() {
+    when(currentCustomerService.getCurrentCustomer()).thenReturn(customer);
+    when(walletCache.walletIdsOf(10L)).thenReturn(Optional.of(List.of(1L, 2L)));
+    when(walletCache.get(1L))
+        .thenReturn(
+            Optional.of(
+                new WalletResponse(
+                    1L, 10L, "Daily", Currency.TRY, true, true, BigDecimal.ONE, BigDecimal.ONE)));
+    when(walletCache.get(2L))
+        .thenReturn(
+            Optional.of(
+                new WalletResponse(
+                    2L, 10L, "Trips", Currency.EUR, true, true, BigDecimal.ONE, BigDecimal.ONE)));
+
+    List<WalletResponse> responses =
+        walletService.listWallets(Optional.empty(), Optional.of(Currency.EUR));
+
+    assertThat(responses).extracting(WalletResponse::id).containsExactly(2L);
+    verify(walletRepository, never()).findViewsByCustomerId(any());
+  }
+
+  @Test
+  void searchWithoutTotalReadsOneExtraRowAndCapsThePageSize() {
+    WalletSearchFilter filter =
+        new WalletSearchFilter(null, Currency.TRY, BigDecimal.TEN, null, true, null, null);
+    Position after = new Position(null, Money.of(70), 9L);
+    String cursor = new WalletSearchCursor(WalletSearchSort.BALANCE_DESC, after).encode();
+    List<Match> rows = new ArrayList<>();
+    for (int i = 0; i < 501; i++) {
+      rows.add(new Match(view(4L), LocalDateTime.of(2026, 1, 1, 0, 0)));
+    }
+    when(walletRepository.search(filter, WalletSearchSort.BALANCE_DESC, after, 501))
+        .thenReturn(rows);
+
+    PageResponse<WalletResponse> page =
+        walletService.searchWallets(filter, WalletSearchSort.BALANCE_DESC, cursor, 10_000, false);
+
+    assertThat(page.items()).hasSize(500);
+    assertThat(page.hasNext()).isTrue();
+    assertThat(WalletSearchCursor.decode(page.nextCursor(), WalletSearchSort.BALANCE_DESC))
+        .isEqualTo(
+            new WalletSearchCursor(
+                WalletSearchSort.BALANCE_DESC, new Position(null, Money.ZERO, 1L)));
+    assertThat(page.totalElements()).isNull();
+    verify(walletRepository, never()).countMatches(any());
+    verify(walletCache, never()).put(any(), any());
+  }
+
+  @Test
+  void searchWithTotalCountsTheMatches() {
+    WalletSearchFilter filter = new WalletSearchFilter(null, null, null, null, null, null, null);
+    when(walletRepository.search(filter, WalletSearchSort.ID_ASC, null, 2))
+        .thenReturn(List.of(new Match(view(4L), LocalDateTime.of(2026, 1, 1, 0, 0))));
+    when(walletRepository.countMatches(filter)).thenReturn(1L);
+
+    PageResponse<WalletResponse> page =
+        walletService.searchWallets(filter, WalletSearchSort.ID_ASC, null, 1, true);
+
+    assertThat(page.totalElements()).isEqualTo(1);
+    assertThat(page.hasNext()).isFalse();
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  void searchRejectsACursorIssuedForAnotherSort() {
+    String cursor =
+        new WalletSearchCursor(WalletSearchSort.ID_ASC, new Position(null, null, 9L)).encode();
+    WalletSearchFilter filter = new WalletSearchFilter(null, null, null, null, null, null, null);
+
+    assertThrows(
+        InvalidCursorException.class,
+        () ->
+            walletService.searchWallets(
+                filter, WalletSearchSort.CREATED_AT_DESC, cursor, 10, false));
   }
 
   @Test
@@ -149,4 +264,9 @@ class WalletServiceTest {
     assertThat(response.activeForWithdraw()).isTrue();
     verify(walletRepository).save(wallet);
   }
+
+  private static WalletView view(Long version) {
+    return new WalletView(
+        1L, 10L, "Daily", Currency.TRY, true, true, Money.ZERO, Money.ZERO, version);
+  }
 }
@@ -0,0 +1,99 @@
+package com.wallet.service.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionAuditAction;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.model.Money;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ArchiveFileTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 31, 23, 59, 58, 123_456_789);
+
+  @TempDir Path directory;
+
+  @Test
+  void transactionsRoundTripSortedByIdWithTheirNulls() throws IOException {
+    List<TransactionResponse> rows = new ArrayList<>();
+    for (long id = 300; id > 100; id--) {
+      rows.add(transaction(id));
+    }
+    Path file = directory.resolve("transactions/2024-01/101-300.wca");
+
+    ArchiveFile.Header written = ArchiveFile.writeTransactions(file, rows);
+
+    List<TransactionResponse> read = ArchiveFile.readTransactions(file);
+    assertThat(read).containsExactlyElementsOf(rows.reversed());
+    ArchiveFile.Header header = ArchiveFile.readHeader(file);
+    assertThat(header.rowCount()).isEqualTo(200);
+    assertThat(header.minId()).isEqualTo(101);
+    assertThat(header.maxId()).isEqualTo(300);
+    assertThat(header.minCreatedAt()).isEqualTo(START.plusSeconds(101));
+    assertThat(header.maxCreatedAt()).isEqualTo(START.plusSeconds(300));
+    assertThat(header.walletIds()).containsExactly(0, 1, 2);
+    assertThat(header.containsWallet(2)).isTrue();
+    assertThat(header.containsWallet(3)).isFalse();
+    assertThat(written.walletIds()).isEqualTo(header.walletIds());
+    // Repeated values leave the compressed columns far smaller than the rows' text.
+    assertThat(Files.size(file)).isLessThan(rows.toString().length() / 10);
+  }
+
+  @Test
+  void auditLogsRoundTrip() throws IOException {
+    List<ArchivedAuditLog> rows =
+        List.of(
+            new ArchivedAuditLog(
+                7, 101, TransactionAuditAction.DEPOSIT_CREATED, 3L, "amount=10", START),
+            new ArchivedAuditLog(
+                8, 101, TransactionAuditAction.STATUS_CHANGED, null, "status=APPROVED", START));
+    Path file = directory.resolve("audit.wca");
+
+    ArchiveFile.writeAuditLogs(file, rows);
+
+    assertThat(ArchiveFile.readAuditLogs(file)).containsExactlyElementsOf(rows);
+    assertThatThrownBy(() -> ArchiveFile.readTransactions(file))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("AUDIT_LOGS");
+  }
+
+  @Test
+  void leavesNoTemporaryFileBehind() throws IOException {
+    Path file = directory.resolve("transactions/2024-01/1-1.wca");
+
+    ArchiveFile.writeTransactions(file, List.of(transaction(1)));
+
+    try (Stream<Path> files = Files.list(file.getParent())) {
+      assertThat(files).containsExactly(file);
+    }
+  }
+
+  private static TransactionResponse transaction(long id) {
+    boolean settled = id % 3 != 0;
+    return new TransactionResponse(
+        id,
+        id % 3,
+        id % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAW,
+        settled ? TransactionStatus.APPROVED : TransactionStatus.DENIED,
+        Money.of(new BigDecimal("1500.25")).plus(Money.ofMinorUnits(id)).toBigDecimal(),
+        OppositePartyType.IBAN,
+        "TR33000610051978645784132" + id % 4,
+        START.plusSeconds(id),
+        settled ? START.plusSeconds(id + 60) : null,
+        settled ? 3L : null,
+        id % 5 == 0 ? id + 1 : null);
+  }
+}
@@ -0,0 +1,243 @@
+package com.wallet.service.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.wallet.enums.TransactionAuditAction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@ExtendWith(MockitoExtension.class)
+class BatchingAuditLogWriterTest {
+
+  @Mock private JdbcTemplate jdbcTemplate;
+  @TempDir Path tempDir;
+
+  private ObjectMapper objectMapper;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setup() {
+    objectMapper =
+        new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void queuedEntriesAreInsertedInBatchesAndDrainedOnStop() {
+    BatchingAuditLogWriter writer = writer(null);
+    writer.start();
+    for (long i = 1; i <= 5; i++) {
+      writer.write(entry(i));
+    }
+    writer.stop();
+
+    ArgumentCaptor<Collection<AuditEntry>> batches = ArgumentCaptor.forClass(Collection.class);
+    verify(jdbcTemplate, atLeastOnce())
+        .batchUpdate(
+            anyString(),
+            batches.capture(),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+    assertThat(batches.getAllValues().stream().mapToInt(Collection::size).sum()).isEqualTo(5);
+    assertThat(writer.queueDepth()).isZero();
+    assertThat(meterRegistry.get("wallet.audit.flush.latency").timer().count()).isPositive();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void entriesWrittenInATransactionAreQueuedOnlyAfterItCommits() {
+    BatchingAuditLogWriter writer = writer(null);
+    writer.start();
+
+    completeTransaction(writer, entry(1L), false);
+    completeTransaction(writer, entry(2L), true);
+    writer.stop();
+
+    ArgumentCaptor<Collection<AuditEntry>> batches = ArgumentCaptor.forClass(Collection.class);
+    verify(jdbcTemplate)
+        .batchUpdate(
+            anyString(),
+            batches.capture(),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+    assertThat(List.copyOf(batches.getValue()))
+        .extracting(AuditEntry::transactionId)
+        .containsExactly(2L);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void failedBatchesAreSpilledAndReplayedOnNextStart() throws Exception {
+    Path spillFile = tempDir.resolve("audit-spill.ndjson");
+    doThrow(new DataAccessResourceFailureException("db down"))
+        .when(jdbcTemplate)
+        .batchUpdate(
+            anyString(),
+            anyCollection(),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+    BatchingAuditLogWriter writer = writer(spillFile);
+    writer.start();
+    writer.write(entry(1L));
+    writer.write(entry(2L));
+    writer.stop();
+
+    assertThat(Files.readAllLines(spillFile)).hasSize(2);
+
+    reset(jdbcTemplate);
+    BatchingAuditLogWriter restarted = writer(spillFile);
+    restarted.start();
+    restarted.stop();
+
+    ArgumentCaptor<Collection<AuditEntry>> replayed = ArgumentCaptor.forClass(Collection.class);
+    verify(jdbcTemplate)
+        .batchUpdate(
+            anyString(),
+            replayed.capture(),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+    assertThat(List.copyOf(replayed.getValue()))
+        .extracting(AuditEntry::transactionId)
+        .containsExactly(1L, 2L);
+    assertThat(spillFile).doesNotExist();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void workerKeepsRunningWhenAFailedBatchCannotBeSpilled() {
+    Path unwritable = tempDir.resolve("missing").resolve("audit-spill.ndjson");
+    when(jdbcTemplate.batchUpdate(
+            anyString(),
+            anyCollection(),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class)))
+        .thenThrow(new DataAccessResourceFailureException("db down"))
+        .thenReturn(new int[0][]);
+    BatchingAuditLogWriter writer = writer(unwritable);
+    writer.start();
+    writer.write(entry(1L));
+    verify(jdbcTemplate, timeout(5000))
+        .batchUpdate(
+            anyString(),
+            anyCollection(),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+
+    writer.write(entry(2L));
+    writer.stop();
+
+    verify(jdbcTemplate, times(2))
+        .batchUpdate(
+            anyString(),
+            anyCollection(),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+    assertThat(writer.queueDepth()).isZero();
+    assertThat(meterRegistry.get("wallet.audit.flush.failures").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void replayCutsInsertedBatchesFromTheSpillFile() throws Exception {
+    Path spillFile = tempDir.resolve("audit-spill.ndjson");
+    List<String> lines = new ArrayList<>();
+    for (long i = 1; i <= 5; i++) {
+      lines.add(objectMapper.writeValueAsString(entry(i)));
+    }
+    Files.write(spillFile, lines);
+    when(jdbcTemplate.batchUpdate(
+            anyString(),
+            anyCollection(),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class)))
+        .thenReturn(new int[0][])
+        .thenThrow(new DataAccessResourceFailureException("db down"));
+
+    BatchingAuditLogWriter writer = writer(spillFile);
+    writer.start();
+    writer.stop();
+
+    assertThat(Files.readAllLines(spillFile))
+        .map(line -> objectMapper.readValue(line, AuditEntry.class).transactionId())
+        .containsExactly(4L, 5L);
+  }
+
+  /** Writes {@code entry} inside a transaction that then commits or rolls back. */
+  private void completeTransaction(
+      BatchingAuditLogWriter writer, AuditEntry entry, boolean committed) {
+    TransactionSynchronizationManager.initSynchronization();
+    List<TransactionSynchronization> synchronizations;
+    try {
+      writer.write(entry);
+      assertThat(writer.queueDepth()).isZero();
+      synchronizations = TransactionSynchronizationManager.getSynchronizations();
+      if (committed) {
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+      }
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    TransactionSynchronizationUtils.invokeAfterCompletion(
+        synchronizations,
+        committed
+            ? TransactionSynchronization.STATUS_COMMITTED
+            : TransactionSynchronization.STATUS_ROLLED_BACK);
+  }
+
+  private BatchingAuditLogWriter writer(Path spillFile) {
+    return new BatchingAuditLogWriter(
+        jdbcTemplate,
+        objectMapper,
+        meterRegistry,
+        100,
+        3,
+        20,
+        10,
+        spillFile,
+        Thread.ofPlatform().daemon(true).factory());
+  }
+
+  private AuditEntry entry(Long transactionId) {
+    return new AuditEntry(
+        transactionId,
+        TransactionAuditAction.DEPOSIT_CREATED,
+        7L,
+        "amount=10",
+        LocalDateTime.of(2024, 1, 1, 12, 0));
+  }
+}
@@ -0,0 +1,33 @@
+package com.wallet.service.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class PooledLoIdAllocatorTest {
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void eachSequenceValueReservesAWholeBlock() {
+    when(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR audit_seq", Long.class))
+        .thenReturn(51L, 101L);
+    PooledLoIdAllocator allocator = new PooledLoIdAllocator(jdbcTemplate, "audit_seq", 50);
+
+    long[] ids = LongStream.range(0, 51).map(i -> allocator.nextId()).toArray();
+
+    assertThat(ids[0]).isEqualTo(51);
+    assertThat(ids[49]).isEqualTo(100);
+    assertThat(ids[50]).isEqualTo(101);
+    verify(jdbcTemplate, times(2)).queryForObject("SELECT NEXT VALUE FOR audit_seq", Long.class);
+  }
+}
@@ -0,0 +1,68 @@
+package com.wallet.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.wallet.config.WalletCacheProperties;
+import com.wallet.dto.response.WalletResponse;
+import com.wallet.enums.Currency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class WalletCacheTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final WalletCache cache = new WalletCache(new WalletCacheProperties(), registry);
+
+  @Test
+  void readerThatLoadedBeforeACommitCannotCacheTheOldRow() {
+    WalletResponse loadedBeforeCommit = wallet(100);
+
+    cache.evictAfterCommit(1L, 6L);
+    cache.put(loadedBeforeCommit, 5L);
+
+    assertThat(cache.get(1L)).isEmpty();
+    assertThat(registry.counter("wallet.cache.stale.rejected").count()).isEqualTo(1);
+
+    WalletResponse current = wallet(150);
+    cache.put(current, 6L);
+    assertThat(cache.get(1L)).contains(current);
+  }
+
+  @Test
+  void evictionKeepsAnEntryAlreadyAtTheCommittedVersion() {
+    WalletResponse current = wallet(150);
+    cache.put(current, 6L);
+
+    cache.evictAfterCommit(1L, 6L);
+    assertThat(cache.get(1L)).contains(current);
+
+    cache.evictAfterCommit(1L, 7L);
+    assertThat(cache.get(1L)).isEmpty();
+  }
+
+  @Test
+  void walletListLoadedBeforeANewWalletIsNotCached() {
+    long generation = cache.listGeneration();
+
+    cache.evictWalletIdsAfterCommit(10L);
+    cache.putWalletIds(10L, List.of(1L), generation);
+    assertThat(cache.walletIdsOf(10L)).isEmpty();
+
+    cache.putWalletIds(10L, List.of(1L, 2L), cache.listGeneration());
+    assertThat(cache.walletIdsOf(10L)).contains(List.of(1L, 2L));
+  }
+
+  private static WalletResponse wallet(int balance) {
+    return new WalletResponse(
+        1L,
+        10L,
+        "Daily",
+        Currency.TRY,
+        true,
+        true,
+        BigDecimal.valueOf(balance),
+        BigDecimal.valueOf(balance));
+  }
+}
@@ -0,0 +1,62 @@
+package com.wallet.service.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.wallet.exception.InsufficientBalanceException;
+import com.wallet.model.Money;
+import com.wallet.model.Wallet;
+import com.wallet.repository.WalletRepository;
+import com.wallet.service.cache.WalletCache;
+import com.wallet.service.strategy.BalanceDelta;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AtomicWalletBalanceWriterTest {
+
+  @Mock private WalletRepository walletRepository;
+  @Mock private WalletCache walletCache;
+
+  private AtomicWalletBalanceWriter writer;
+  private Wallet wallet;
+
+  @BeforeEach
+  void setup() {
+    writer = new AtomicWalletBalanceWriter(walletRepository, walletCache);
+    wallet = new Wallet();
+    wallet.setId(3L);
+    wallet.setBalance(Money.of(100));
+    wallet.setUsableBalance(Money.of(100));
+  }
+
+  @Test
+  void applyIssuesConditionalUpdateWithoutTouchingEntity() {
+    BalanceDelta delta = BalanceDelta.of(Money.of(-40), Money.of(-40));
+    when(walletRepository.applyBalanceDelta(eq(3L), eq(-4000L), eq(-4000L), any())).thenReturn(1);
+    when(walletRepository.findVersionById(3L)).thenReturn(Optional.of(8L));
+
+    writer.apply(wallet, delta);
+
+    verify(walletRepository).applyBalanceDelta(eq(3L), eq(-4000L), eq(-4000L), any());
+    assertThat(wallet.getUsableBalance()).isEqualTo(Money.of(100));
+    verify(walletCache).evictAfterCommit(3L, 8L);
+  }
+
+  @Test
+  void applyRejectsWithdrawWhenGuardMatchesNoRow() {
+    BalanceDelta delta = BalanceDelta.of(Money.ZERO, Money.of(-500));
+    when(walletRepository.applyBalanceDelta(eq(3L), anyLong(), anyLong(), any())).thenReturn(0);
+
+    assertThrows(InsufficientBalanceException.class, () -> writer.apply(wallet, delta));
+  }
+}
@@ -0,0 +1,36 @@
+package com.wallet.service.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.wallet.exception.WalletNotFoundException;
+import com.wallet.model.Wallet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PessimisticWalletLockManagerTest {
+
+  private final EntityManager entityManager = mock(EntityManager.class);
+  private final PessimisticWalletLockManager lockManager =
+      new PessimisticWalletLockManager(entityManager, 750);
+
+  @Test
+  void locksTheRowWithTheConfiguredTimeout() {
+    Map<String, Object> hints = Map.of(PessimisticWalletLockManager.LOCK_TIMEOUT_HINT, 750L);
+    when(entityManager.find(Wallet.class, 7L, LockModeType.PESSIMISTIC_WRITE, hints))
+        .thenReturn(new Wallet());
+
+    lockManager.lock(7L);
+
+    verify(entityManager).find(Wallet.class, 7L, LockModeType.PESSIMISTIC_WRITE, hints);
+  }
+
+  @Test
+  void missingWalletIsReported() {
+    assertThrows(WalletNotFoundException.class, () -> lockManager.lock(8L));
+  }
+}
@@ -0,0 +1,103 @@
+package com.wallet.service.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.wallet.exception.WalletLockTimeoutException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class StripedWalletLockManagerTest {
+
+  private StripedWalletLockManager lockManager;
+
+  @BeforeEach
+  void setup() {
+    lockManager = new StripedWalletLockManager(16, 50);
+    TransactionSynchronizationManager.initSynchronization();
+  }
+
+  @AfterEach
+  void cleanup() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void lockRequiresActiveTransaction() {
+    TransactionSynchronizationManager.clearSynchronization();
+    assertThrows(IllegalStateException.class, () -> lockManager.lock(1L));
+  }
+
+  @Test
+  void lockIsHeldUntilTransactionCompletes() {
+    lockManager.lock(1L);
+
+    assertThat(tryLockFromOtherThread(1L)).isFalse();
+
+    completeTransaction();
+
+    assertThat(tryLockFromOtherThread(1L)).isTrue();
+  }
+
+  @Test
+  void lockTimesOutWhenAnotherThreadHoldsTheStripe() {
+    lockManager.stripeFor(7L).lock();
+    try {
+      CompletableFuture<Throwable> failure =
+          CompletableFuture.supplyAsync(
+              () -> {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                  lockManager.lock(7L);
+                  return null;
+                } catch (WalletLockTimeoutException e) {
+                  return e;
+                } finally {
+                  TransactionSynchronizationManager.clearSynchronization();
+                }
+              });
+      assertThat(failure.join()).isInstanceOf(WalletLockTimeoutException.class);
+    } finally {
+      lockManager.stripeFor(7L).unlock();
+    }
+  }
+
+  @Test
+  void lockAllTakesEachSharedStripeOnce() {
+    // 1 and 17 share a stripe; a reentrant double acquire would leak a hold past completion.
+    lockManager.lockAll(List.of(17L, 2L, 1L));
+
+    assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(2);
+    assertThat(tryLockFromOtherThread(2L)).isFalse();
+
+    completeTransaction();
+
+    assertThat(tryLockFromOtherThread(1L)).isTrue();
+    assertThat(tryLockFromOtherThread(2L)).isTrue();
+  }
+
+  private boolean tryLockFromOtherThread(Long walletId) {
+    return CompletableFuture.supplyAsync(
+            () -> {
+              boolean acquired = lockManager.stripeFor(walletId).tryLock();
+              if (acquired) {
+                lockManager.stripeFor(walletId).unlock();
+              }
+              return acquired;
+            })
+        .join();
+  }
+
+  private void completeTransaction() {
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    TransactionSynchronizationManager.clearSynchronization();
+  }
+}
@@ -0,0 +1,105 @@
+package com.wallet.service.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.wallet.config.IdempotencyProperties;
+import com.wallet.dto.request.DepositRequest;
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.exception.IdempotencyKeyReusedException;
+import com.wallet.repository.IdempotencyRecordRepository;
+import com.wallet.service.CurrentCustomerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+  @Mock private IdempotencyRecordRepository recordRepository;
+  @Mock private CurrentCustomerService currentCustomerService;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private IdempotencyService idempotencyService;
+
+  @BeforeEach
+  void setup() {
+    when(currentCustomerService.findCurrentCustomerId()).thenReturn(Optional.of(2L));
+    idempotencyService =
+        new IdempotencyService(
+            recordRepository,
+            currentCustomerService,
+            transactionManager,
+            new ObjectMapper().registerModule(new JavaTimeModule()),
+            new IdempotencyProperties(),
+            new SimpleMeterRegistry());
+  }
+
+  @Test
+  void retryIsAnsweredFromCacheWithoutRunningTheAction() {
+    when(recordRepository.findByCustomerIdAndIdempotencyKey(2L, "k1")).thenReturn(Optional.empty());
+    AtomicInteger executions = new AtomicInteger();
+    DepositRequest request = deposit(100);
+
+    IdempotentResult first =
+        idempotencyService.execute(
+            "k1", TransactionType.DEPOSIT, request, () -> response(executions.incrementAndGet()));
+    IdempotentResult retry =
+        idempotencyService.execute(
+            "k1", TransactionType.DEPOSIT, request, () -> response(executions.incrementAndGet()));
+
+    assertThat(first.replayed()).isFalse();
+    assertThat(retry.replayed()).isTrue();
+    assertThat(retry.response()).isEqualTo(first.response());
+    assertThat(executions).hasValue(1);
+    verify(recordRepository, times(1)).findByCustomerIdAndIdempotencyKey(2L, "k1");
+    verify(recordRepository).saveAndFlush(any());
+  }
+
+  @Test
+  void sameKeyWithDifferentBodyIsRejected() {
+    when(recordRepository.findByCustomerIdAndIdempotencyKey(2L, "k2")).thenReturn(Optional.empty());
+    idempotencyService.execute("k2", TransactionType.DEPOSIT, deposit(100), () -> response(1));
+
+    assertThrows(
+        IdempotencyKeyReusedException.class,
+        () ->
+            idempotencyService.execute(
+                "k2", TransactionType.DEPOSIT, deposit(200), () -> response(2)));
+  }
+
+  private static DepositRequest deposit(int amount) {
+    return new DepositRequest(1L, BigDecimal.valueOf(amount), "TR12", OppositePartyType.IBAN);
+  }
+
+  private static TransactionResponse response(long id) {
+    return new TransactionResponse(
+        id,
+        1L,
+        TransactionType.DEPOSIT,
+        TransactionStatus.APPROVED,
+        BigDecimal.TEN,
+        OppositePartyType.IBAN,
+        "TR12",
+        null,
+        null,
+        null,
+        null);
+  }
+}
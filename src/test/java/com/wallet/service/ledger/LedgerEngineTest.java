@@ -0,0 +1,256 @@
+package com.wallet.service.ledger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.wallet.config.LedgerProperties;
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.dto.response.WalletResponse;
+import com.wallet.enums.Currency;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.exception.InsufficientBalanceException;
+import com.wallet.exception.InvalidTransactionStatusException;
+import com.wallet.exception.WalletLockTimeoutException;
+import com.wallet.model.Money;
+import com.wallet.repository.WalletRepository;
+import com.wallet.repository.WalletTransactionRepository;
+import com.wallet.repository.WalletView;
+import com.wallet.service.strategy.BalanceDelta;
+import com.wallet.service.strategy.DepositTransactionStrategy;
+import com.wallet.service.strategy.WithdrawTransactionStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LedgerEngineTest {
+
+  private static final long WALLET_ID = 7L;
+
+  @TempDir Path walDirectory;
+
+  private final WalletRepository walletRepository = mock(WalletRepository.class);
+  private final WalletTransactionRepository transactionRepository =
+      mock(WalletTransactionRepository.class);
+  private final LedgerSnapshotWriter snapshotWriter = mock(LedgerSnapshotWriter.class);
+  private final List<List<LedgerRecord>> written = new ArrayList<>();
+  private final AtomicLong ids = new AtomicLong(500);
+
+  private LedgerEngine engine;
+
+  @BeforeEach
+  void setup() {
+    when(walletRepository.findViewById(WALLET_ID)).thenReturn(Optional.of(walletView()));
+    // The engine reuses its backlog list, so keep a copy of each write.
+    doAnswer(invocation -> written.add(List.copyOf(invocation.getArgument(1))))
+        .when(snapshotWriter)
+        .write(anyInt(), any());
+  }
+
+  @AfterEach
+  void stop() {
+    if (engine != null) {
+      engine.stop();
+    }
+  }
+
+  @Test
+  void appliesStrategiesAndLogsEveryChangeBeforeTheSnapshot() {
+    start();
+
+    TransactionResponse deposit = deposit(50);
+    assertThatThrownBy(() -> withdraw(500)).isInstanceOf(InsufficientBalanceException.class);
+    withdraw(120);
+
+    assertThat(deposit.status()).isEqualTo(TransactionStatus.APPROVED);
+    assertThat(deposit.processedBy()).isEqualTo(3L);
+    assertThat(WriteAheadLog.read(walDirectory, 0))
+        .extracting(LedgerRecord::balanceAfter)
+        .containsExactly(Money.of(150), Money.of(30));
+
+    engine.snapshot();
+
+    assertThat(written).hasSize(1);
+    assertThat(written.get(0))
+        .extracting(LedgerRecord::lsn, LedgerRecord::usableBalanceAfter)
+        .containsExactly(tuple(1L, Money.of(150)), tuple(2L, Money.of(30)));
+  }
+
+  @Test
+  void settlesPendingTransactionsWithoutTheDatabase() {
+    start();
+
+    TransactionResponse pending = deposit(2000);
+    TransactionResponse approved =
+        engine.changeStatus(pending.id(), TransactionStatus.APPROVED, 42L);
+
+    assertThat(pending.status()).isEqualTo(TransactionStatus.PENDING);
+    assertThat(approved.status()).isEqualTo(TransactionStatus.APPROVED);
+    assertThat(approved.processedBy()).isEqualTo(42L);
+    verify(transactionRepository, never()).findWalletIdById(anyLong());
+    assertThatThrownBy(() -> engine.changeStatus(pending.id(), TransactionStatus.DENIED, 42L))
+        .isInstanceOf(InvalidTransactionStatusException.class);
+
+    engine.snapshot();
+    List<LedgerRecord> records = written.get(0);
+    assertThat(records.get(1).balanceAfter()).isEqualTo(Money.of(2100));
+    assertThat(records.get(1).usableBalanceAfter()).isEqualTo(Money.of(2100));
+  }
+
+  @Test
+  void replaysRecordsAfterTheCheckpointBeforeTakingCommands() throws Exception {
+    WriteAheadLog wal = new WriteAheadLog(walDirectory, 0, 1 << 20);
+    for (long lsn = 1; lsn <= 3; lsn++) {
+      wal.append(logged(lsn));
+    }
+    wal.close();
+    when(snapshotWriter.checkpoint(0)).thenReturn(1L);
+
+    start();
+
+    assertThat(written).hasSize(1);
+    assertThat(written.get(0)).extracting(LedgerRecord::lsn).containsExactly(2L, 3L);
+    try (Stream<Path> files = Files.list(walDirectory)) {
+      assertThat(files).isEmpty();
+    }
+
+    deposit(10);
+    engine.snapshot();
+    assertThat(written.get(1)).extracting(LedgerRecord::lsn).containsExactly(4L);
+  }
+
+  @Test
+  void timedOutCommandIsWithdrawnUnlessTheShardAlreadyTookIt() throws Exception {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    // The shard loads the wallet on its first command; hold it there.
+    when(walletRepository.findViewById(WALLET_ID))
+        .thenAnswer(
+            invocation -> {
+              loading.countDown();
+              release.await();
+              return Optional.of(walletView());
+            });
+    start(200);
+
+    CompletableFuture<TransactionResponse> taken = CompletableFuture.supplyAsync(() -> deposit(50));
+    assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThatThrownBy(() -> deposit(20)).isInstanceOf(WalletLockTimeoutException.class);
+    release.countDown();
+
+    // The first deposit outlived its timeout too, but the shard had it, so its caller got the
+    // result.
+    assertThat(taken.get(5, TimeUnit.SECONDS).status()).isEqualTo(TransactionStatus.APPROVED);
+    engine.snapshot();
+    assertThat(written).hasSize(1);
+    assertThat(written.get(0))
+        .extracting(LedgerRecord::balanceAfter)
+        .containsExactly(Money.of(150));
+    assertThat(deposit(5).status()).isEqualTo(TransactionStatus.APPROVED);
+  }
+
+  private void start() {
+    start(new LedgerProperties().getCommandTimeoutMs());
+  }
+
+  private void start(long commandTimeoutMs) {
+    LedgerProperties properties = new LedgerProperties();
+    properties.setCommandTimeoutMs(commandTimeoutMs);
+    properties.setShards(1);
+    properties.setWalDirectory(walDirectory.toString());
+    properties.setSnapshotIntervalMs(60_000);
+    engine =
+        new LedgerEngine(
+            properties,
+            List.of(new DepositTransactionStrategy(), new WithdrawTransactionStrategy()),
+            walletRepository,
+            transactionRepository,
+            snapshotWriter,
+            ids::incrementAndGet,
+            new SimpleMeterRegistry());
+    engine.start();
+  }
+
+  private TransactionResponse deposit(int amount) {
+    return engine.create(
+        wallet(),
+        TransactionType.DEPOSIT,
+        Money.of(amount),
+        OppositePartyType.IBAN,
+        "TR123",
+        false,
+        amount > 1000 ? TransactionStatus.PENDING : TransactionStatus.APPROVED);
+  }
+
+  private TransactionResponse withdraw(int amount) {
+    return engine.create(
+        wallet(),
+        TransactionType.WITHDRAW,
+        Money.of(amount),
+        OppositePartyType.IBAN,
+        "TR123",
+        false,
+        TransactionStatus.APPROVED);
+  }
+
+  private static WalletView walletView() {
+    return new WalletView(
+        WALLET_ID, 3L, "Daily", Currency.TRY, true, true, Money.of(100), Money.of(100), 0L);
+  }
+
+  private static WalletResponse wallet() {
+    return new WalletResponse(
+        WALLET_ID,
+        3L,
+        "Daily",
+        Currency.TRY,
+        true,
+        true,
+        BigDecimal.valueOf(100),
+        BigDecimal.valueOf(100));
+  }
+
+  private static LedgerRecord logged(long lsn) {
+    return new LedgerRecord(
+        lsn,
+        true,
+        lsn,
+        WALLET_ID,
+        Currency.TRY,
+        TransactionType.DEPOSIT,
+        TransactionStatus.APPROVED,
+        Money.of(10),
+        OppositePartyType.IBAN,
+        "TR123",
+        LocalDateTime.now(),
+        LocalDateTime.now(),
+        3L,
+        BalanceDelta.of(Money.of(10), Money.of(10)),
+        Money.of(100 + 10 * lsn),
+        Money.of(100 + 10 * lsn));
+  }
+}
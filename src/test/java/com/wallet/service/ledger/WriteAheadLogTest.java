@@ -0,0 +1,133 @@
+package com.wallet.service.ledger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.wallet.enums.Currency;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.model.Money;
+import com.wallet.service.strategy.BalanceDelta;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WriteAheadLogTest {
+
+  private static final int SEGMENT_BYTES = 4096;
+
+  @TempDir Path directory;
+
+  @Test
+  void readsBackEveryRecordAcrossSegments() {
+    WriteAheadLog wal = new WriteAheadLog(directory, 0, SEGMENT_BYTES);
+    for (long lsn = 1; lsn <= 100; lsn++) {
+      wal.append(record(lsn));
+    }
+    wal.close();
+
+    assertThat(segments()).hasSizeGreaterThan(1);
+    List<LedgerRecord> records = WriteAheadLog.read(directory, 0);
+    assertThat(records).extracting(LedgerRecord::lsn).containsExactlyElementsOf(lsns(1, 100));
+    assertThat(records.get(41)).isEqualTo(record(42));
+    assertThat(WriteAheadLog.read(directory, 1)).isEmpty();
+  }
+
+  @Test
+  void stopsAtATornRecord() throws Exception {
+    WriteAheadLog wal = new WriteAheadLog(directory, 0, SEGMENT_BYTES);
+    wal.append(record(1));
+    wal.append(record(2));
+    wal.close();
+
+    try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+      // Corrupt the last byte of the second record's payload, past the 8-byte segment header.
+      file.seek(8);
+      int firstLength = file.readInt();
+      long secondStart = 16L + firstLength;
+      file.seek(secondStart);
+      int secondLength = file.readInt();
+      file.seek(secondStart + 8 + secondLength - 1);
+      file.write(0x7f);
+    }
+
+    assertThat(WriteAheadLog.read(directory, 0)).extracting(LedgerRecord::lsn).containsExactly(1L);
+  }
+
+  @Test
+  void refusesSegmentsOfAnotherFormatVersion() throws Exception {
+    WriteAheadLog wal = new WriteAheadLog(directory, 0, SEGMENT_BYTES);
+    wal.append(record(1));
+    wal.close();
+
+    try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+      file.seek(4);
+      file.writeInt(WriteAheadLog.FORMAT_VERSION + 1);
+    }
+
+    assertThatThrownBy(() -> WriteAheadLog.read(directory, 0))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("format version 2");
+  }
+
+  @Test
+  void deletesOnlySegmentsThatAreFullyCheckpointed() {
+    WriteAheadLog wal = new WriteAheadLog(directory, 0, SEGMENT_BYTES);
+    for (long lsn = 1; lsn <= 100; lsn++) {
+      wal.append(record(lsn));
+    }
+    wal.sync();
+    int before = segments().size();
+
+    wal.deleteThrough(50);
+
+    assertThat(segments()).hasSizeLessThan(before);
+    List<LedgerRecord> remaining = WriteAheadLog.read(directory, 0);
+    assertThat(remaining.get(0).lsn()).isBetween(2L, 51L);
+    assertThat(remaining.get(remaining.size() - 1).lsn()).isEqualTo(100);
+
+    wal.deleteThrough(100);
+    assertThat(segments()).hasSize(1);
+    wal.close();
+  }
+
+  private List<Path> segments() {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.sorted().toList();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static List<Long> lsns(long from, long to) {
+    return Stream.iterate(from, lsn -> lsn <= to, lsn -> lsn + 1).toList();
+  }
+
+  private static LedgerRecord record(long lsn) {
+    LocalDateTime time = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6000);
+    return new LedgerRecord(
+        lsn,
+        lsn % 2 == 1,
+        1000 + lsn,
+        7,
+        Currency.TRY,
+        TransactionType.DEPOSIT,
+        lsn % 2 == 1 ? TransactionStatus.PENDING : TransactionStatus.APPROVED,
+        Money.of(new BigDecimal("1500.25")),
+        OppositePartyType.IBAN,
+        "TR330006100519786457841326",
+        time,
+        lsn % 2 == 1 ? null : time,
+        lsn % 2 == 1 ? null : 3L,
+        BalanceDelta.of(Money.of(new BigDecimal("1500.25")), Money.ZERO),
+        Money.of(lsn * 100),
+        Money.ofMinorUnits(lsn * 50));
+  }
+}
@@ -0,0 +1,95 @@
+package com.wallet.service.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.wallet.enums.Currency;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.exception.InsufficientBalanceException;
+import com.wallet.exception.InvalidTransactionStatusException;
+import com.wallet.exception.WalletLockTimeoutException;
+import com.wallet.model.Money;
+import com.wallet.model.Wallet;
+import com.wallet.model.WalletTransaction;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class TransactionMetricsTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final TransactionMetrics metrics = new TransactionMetrics(registry);
+
+  @AfterEach
+  void cleanup() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void latencyIsTaggedByOperationAndOutcome() {
+    metrics.stop(metrics.start(), "deposit", "pending");
+
+    Timer timer =
+        registry
+            .get(TransactionMetrics.LATENCY)
+            .tag("operation", "deposit")
+            .tag("outcome", "pending")
+            .timer();
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.takeSnapshot().percentileValues()).hasSize(3);
+  }
+
+  @Test
+  void failuresMapToBoundedOutcomes() {
+    assertThat(TransactionMetrics.outcomeOf(new InsufficientBalanceException()))
+        .isEqualTo("insufficient_balance");
+    assertThat(
+            TransactionMetrics.outcomeOf(
+                new ObjectOptimisticLockingFailureException(Wallet.class, 1L)))
+        .isEqualTo("optimistic_lock_failure");
+    assertThat(TransactionMetrics.outcomeOf(new WalletLockTimeoutException(1L)))
+        .isEqualTo("lock_timeout");
+    assertThat(TransactionMetrics.outcomeOf(new InvalidTransactionStatusException("no")))
+        .isEqualTo("rejected");
+    assertThat(TransactionMetrics.outcomeOf(new IllegalStateException())).isEqualTo("error");
+  }
+
+  @Test
+  void amountsAreCountedOnlyAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    metrics.recordAmounts(List.of(transaction(TransactionStatus.APPROVED, 250)));
+    assertThat(registry.find(TransactionMetrics.AMOUNT).counter().count()).isZero();
+
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+
+    assertThat(
+            registry
+                .get(TransactionMetrics.AMOUNT)
+                .tag("type", "deposit")
+                .tag("status", "approved")
+                .tag("currency", "TRY")
+                .counter()
+                .count())
+        .isEqualTo(250);
+  }
+
+  private static WalletTransaction transaction(TransactionStatus status, int amount) {
+    Wallet wallet = new Wallet();
+    wallet.setCurrency(Currency.TRY);
+    WalletTransaction transaction = new WalletTransaction();
+    transaction.setWallet(wallet);
+    transaction.setType(TransactionType.DEPOSIT);
+    transaction.setStatus(status);
+    transaction.setAmount(Money.of(amount));
+    return transaction;
+  }
+}
@@ -0,0 +1,61 @@
+package com.wallet.service.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.dto.response.WalletEvent;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.enums.WalletEventType;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NdjsonFileOutboxSinkTest {
+
+  @TempDir Path tempDir;
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  @Test
+  void appendsOneLinePerEventAcrossBatches() throws Exception {
+    Path file = tempDir.resolve("events.ndjson");
+    NdjsonFileOutboxSink sink = new NdjsonFileOutboxSink(file, objectMapper);
+
+    sink.publish(List.of(event(1L), event(2L)));
+    sink.publish(List.of(event(3L)));
+
+    List<String> lines = Files.readAllLines(file);
+    assertThat(lines).hasSize(3);
+    assertThat(lines)
+        .extracting(line -> objectMapper.readValue(line, WalletEvent.class).id())
+        .containsExactly(1L, 2L, 3L);
+  }
+
+  private static WalletEvent event(Long id) {
+    LocalDateTime now = LocalDateTime.now();
+    return new WalletEvent(
+        id,
+        WalletEventType.TRANSACTION_CREATED,
+        5L,
+        now,
+        new TransactionResponse(
+            id,
+            5L,
+            TransactionType.DEPOSIT,
+            TransactionStatus.APPROVED,
+            BigDecimal.TEN,
+            OppositePartyType.IBAN,
+            "TR1",
+            now,
+            now,
+            1L,
+            null));
+  }
+}
@@ -0,0 +1,103 @@
+package com.wallet.service.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.config.OutboxProperties;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.enums.WalletEventType;
+import com.wallet.model.Money;
+import com.wallet.model.OutboxEvent;
+import com.wallet.model.Wallet;
+import com.wallet.model.WalletTransaction;
+import com.wallet.repository.OutboxEventRepository;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRecorderTest {
+
+  @Mock private OutboxEventRepository outboxEventRepository;
+  @Captor private ArgumentCaptor<List<OutboxEvent>> events;
+
+  @AfterEach
+  void clearSynchronization() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void writesOnceTheTransactionIsAboutToCommit() {
+    OutboxRecorder recorder = recorder();
+    TransactionSynchronizationManager.initSynchronization();
+    WalletTransaction transaction = transaction();
+
+    recorder.record(WalletEventType.TRANSACTION_CREATED, List.of(transaction));
+    recorder.record(WalletEventType.TRANSACTION_STATUS_CHANGED, List.of(transaction));
+    verify(outboxEventRepository, never()).saveAll(anyList());
+
+    // Ids assigned at flush time are visible to the payload written before commit.
+    transaction.setId(42L);
+    List<TransactionSynchronization> synchronizations =
+        TransactionSynchronizationManager.getSynchronizations();
+    assertThat(synchronizations).hasSize(1);
+    synchronizations.get(0).beforeCommit(false);
+    synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+    verify(outboxEventRepository).saveAll(events.capture());
+    assertThat(events.getValue())
+        .extracting(OutboxEvent::getEventType)
+        .containsExactly(
+            WalletEventType.TRANSACTION_CREATED, WalletEventType.TRANSACTION_STATUS_CHANGED);
+    OutboxEvent first = events.getValue().get(0);
+    assertThat(first.getWalletId()).isEqualTo(7L);
+    assertThat(first.getTransactionId()).isEqualTo(42L);
+    assertThat(first.getPayload()).contains("\"id\":42").contains("\"status\":\"APPROVED\"");
+    assertThat(TransactionSynchronizationManager.hasResource(recorder)).isFalse();
+  }
+
+  @Test
+  void disabledOutboxWritesNothing() {
+    OutboxProperties properties = new OutboxProperties();
+    properties.setEnabled(false);
+    OutboxRecorder recorder =
+        new OutboxRecorder(
+            outboxEventRepository, new ObjectMapper().findAndRegisterModules(), properties);
+
+    recorder.record(WalletEventType.TRANSACTION_CREATED, List.of(transaction()));
+
+    verify(outboxEventRepository, never()).saveAll(anyList());
+  }
+
+  private OutboxRecorder recorder() {
+    return new OutboxRecorder(
+        outboxEventRepository, new ObjectMapper().findAndRegisterModules(), new OutboxProperties());
+  }
+
+  private static WalletTransaction transaction() {
+    Wallet wallet = new Wallet();
+    wallet.setId(7L);
+    WalletTransaction transaction = new WalletTransaction();
+    transaction.setWallet(wallet);
+    transaction.setType(TransactionType.DEPOSIT);
+    transaction.setStatus(TransactionStatus.APPROVED);
+    transaction.setAmount(Money.of(10));
+    transaction.setOppositePartyType(OppositePartyType.IBAN);
+    transaction.setOppositeParty("TR1");
+    return transaction;
+  }
+}
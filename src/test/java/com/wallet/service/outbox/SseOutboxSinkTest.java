@@ -0,0 +1,111 @@
+package com.wallet.service.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.wallet.config.OutboxProperties;
+import com.wallet.dto.response.TransactionResponse;
+import com.wallet.dto.response.WalletEvent;
+import com.wallet.enums.OppositePartyType;
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.enums.WalletEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class SseOutboxSinkTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private SseOutboxSink sink;
+
+  @BeforeEach
+  void setup() {
+    OutboxProperties properties = new OutboxProperties();
+    properties.setSseBuffer(2);
+    sink = new SseOutboxSink(properties, meterRegistry);
+  }
+
+  @AfterEach
+  void shutdown() {
+    sink.shutdown();
+  }
+
+  @Test
+  void stalledClientIsDisconnectedWithoutHoldingUpOthers() throws Exception {
+    CountDownLatch stalled = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    sink.subscribe(
+        new SseEmitter() {
+          @Override
+          public void send(SseEventBuilder builder) throws IOException {
+            stalled.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        },
+        null);
+    AtomicInteger delivered = new AtomicInteger();
+    sink.subscribe(
+        new SseEmitter() {
+          @Override
+          public void send(SseEventBuilder builder) {
+            delivered.incrementAndGet();
+          }
+        },
+        null);
+
+    sink.publish(List.of(event(1L)));
+    assertThat(stalled.await(5, TimeUnit.SECONDS)).isTrue();
+    awaitDelivered(delivered, 1);
+    sink.publish(List.of(event(2L), event(3L)));
+    awaitDelivered(delivered, 3);
+    sink.publish(List.of(event(4L)));
+    awaitDelivered(delivered, 4);
+
+    assertThat(meterRegistry.get("wallet.outbox.sse.overflows").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("wallet.outbox.sse.subscribers").gauge().value()).isEqualTo(1);
+    release.countDown();
+  }
+
+  private static void awaitDelivered(AtomicInteger delivered, int expected)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (delivered.get() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(delivered).hasValue(expected);
+  }
+
+  private static WalletEvent event(Long id) {
+    LocalDateTime now = LocalDateTime.now();
+    return new WalletEvent(
+        id,
+        WalletEventType.TRANSACTION_CREATED,
+        5L,
+        now,
+        new TransactionResponse(
+            id,
+            5L,
+            TransactionType.DEPOSIT,
+            TransactionStatus.APPROVED,
+            BigDecimal.TEN,
+            OppositePartyType.IBAN,
+            "TR1",
+            now,
+            now,
+            1L,
+            null));
+  }
+}
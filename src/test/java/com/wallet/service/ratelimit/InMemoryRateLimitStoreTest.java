@@ -0,0 +1,99 @@
+package com.wallet.service.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class InMemoryRateLimitStoreTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+  private final InMemoryRateLimitStore store =
+      new InMemoryRateLimitStore(1000, Duration.ofMinutes(1), clock::get);
+
+  @Test
+  void grantsTheBurstThenAsksToWaitForTheNextToken() {
+    BucketLimit limit = BucketLimit.of(3, 10);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(store.tryConsume("wallet:write:1", limit)).isZero();
+    }
+    assertThat(store.tryConsume("wallet:write:1", limit)).isEqualTo(SECOND / 10);
+    assertThat(store.tryConsume("wallet:write:2", limit)).isZero();
+
+    clock.addAndGet(SECOND / 20);
+    assertThat(store.tryConsume("wallet:write:1", limit)).isEqualTo(SECOND / 20);
+    clock.addAndGet(SECOND / 20);
+    assertThat(store.tryConsume("wallet:write:1", limit)).isZero();
+    assertThat(store.tryConsume("wallet:write:1", limit)).isPositive();
+  }
+
+  @Test
+  void refillsNoFurtherThanCapacity() {
+    BucketLimit limit = BucketLimit.of(2, 1);
+    store.tryConsume("customer:read:1", limit);
+    store.tryConsume("customer:read:1", limit);
+
+    clock.addAndGet(60 * SECOND);
+
+    assertThat(store.tryConsume("customer:read:1", limit)).isZero();
+    assertThat(store.tryConsume("customer:read:1", limit)).isZero();
+    assertThat(store.tryConsume("customer:read:1", limit)).isEqualTo(SECOND);
+  }
+
+  @Test
+  void releaseReturnsATokenButNeverOverfills() {
+    BucketLimit limit = BucketLimit.of(2, 1);
+    store.tryConsume("customer:write:1", limit);
+    store.tryConsume("customer:write:1", limit);
+    assertThat(store.tryConsume("customer:write:1", limit)).isPositive();
+
+    store.release("customer:write:1", limit);
+    assertThat(store.tryConsume("customer:write:1", limit)).isZero();
+
+    store.release("customer:write:1", limit);
+    store.release("customer:write:1", limit);
+    store.release("customer:write:1", limit);
+    assertThat(store.tryConsume("customer:write:1", limit)).isZero();
+    assertThat(store.tryConsume("customer:write:1", limit)).isZero();
+    assertThat(store.tryConsume("customer:write:1", limit)).isPositive();
+  }
+
+  @Test
+  void concurrentCallersNeverTakeMoreThanTheBucketHolds() throws Exception {
+    BucketLimit limit = BucketLimit.of(100, 1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int thread = 0; thread < 8; thread++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  int granted = 0;
+                  for (int i = 0; i < 50; i++) {
+                    if (store.tryConsume("wallet:write:7", limit) == 0) {
+                      granted++;
+                    }
+                  }
+                  return granted;
+                }));
+      }
+      int granted = 0;
+      for (Future<Integer> result : results) {
+        granted += result.get();
+      }
+      assertThat(granted).isEqualTo(100);
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
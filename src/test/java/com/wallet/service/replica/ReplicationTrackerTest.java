@@ -0,0 +1,110 @@
+package com.wallet.service.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.wallet.enums.UserRole;
+import com.wallet.model.Customer;
+import com.wallet.security.CustomUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class ReplicationTrackerTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ReplicationTracker tracker =
+      new ReplicationTracker(Duration.ofMinutes(1), meterRegistry);
+
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+
+  @BeforeEach
+  void setup() {
+    request = new MockHttpServletRequest();
+    response = new MockHttpServletResponse();
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+  }
+
+  @AfterEach
+  void clear() {
+    RequestContextHolder.resetRequestAttributes();
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void replicaIsUnusableUntilItReportsProgress() {
+    assertThat(tracker.replicaCanServe()).isFalse();
+
+    tracker.replicated(tracker.primaryPosition());
+
+    assertThat(tracker.replicaCanServe()).isTrue();
+  }
+
+  @Test
+  void writerReadsFromThePrimaryUntilTheReplicaPassesItsCommit() {
+    tracker.replicated(0);
+    authenticate(4L);
+
+    long position = tracker.committed();
+
+    assertThat(response.getHeader(ReplicationTracker.POSITION_HEADER)).isEqualTo("1");
+    assertThat(tracker.replicaCanServe()).isFalse();
+    authenticate(5L);
+    assertThat(tracker.replicaCanServe()).isTrue();
+    assertThat(meterRegistry.get("wallet.replica.lag").gauge().value()).isEqualTo(1);
+
+    tracker.replicated(position);
+    authenticate(4L);
+    assertThat(tracker.replicaCanServe()).isTrue();
+    assertThat(meterRegistry.get("wallet.replica.lag").gauge().value()).isZero();
+  }
+
+  @Test
+  void positionHeaderFromTheClientIsHonoured() {
+    tracker.committed();
+    tracker.committed();
+    tracker.replicated(1);
+
+    request.addHeader(ReplicationTracker.POSITION_HEADER, "2");
+    assertThat(tracker.replicaCanServe()).isFalse();
+
+    request = new MockHttpServletRequest();
+    request.addHeader(ReplicationTracker.POSITION_HEADER, "not-a-position");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    assertThat(tracker.replicaCanServe()).isFalse();
+
+    tracker.replicated(2);
+    request = new MockHttpServletRequest();
+    request.addHeader(ReplicationTracker.POSITION_HEADER, "2");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    assertThat(tracker.replicaCanServe()).isTrue();
+  }
+
+  @Test
+  void staleReplicaIsSkipped() throws InterruptedException {
+    ReplicationTracker strict =
+        new ReplicationTracker(Duration.ofMillis(1), new SimpleMeterRegistry());
+    strict.replicated(0);
+    Thread.sleep(5);
+
+    assertThat(strict.replicaCanServe()).isFalse();
+  }
+
+  private static void authenticate(Long customerId) {
+    Customer customer = new Customer();
+    customer.setId(customerId);
+    customer.setRole(UserRole.CUSTOMER);
+    CustomUserDetails principal = new CustomUserDetails(customer);
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+  }
+}
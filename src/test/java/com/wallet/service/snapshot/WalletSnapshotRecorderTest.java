@@ -0,0 +1,105 @@
+package com.wallet.service.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.wallet.enums.TransactionStatus;
+import com.wallet.enums.TransactionType;
+import com.wallet.model.Money;
+import com.wallet.model.WalletDailySnapshot;
+import com.wallet.model.WalletTransaction;
+import com.wallet.repository.WalletDailySnapshotRepository;
+import com.wallet.repository.WalletRepository;
+import com.wallet.service.strategy.BalanceDelta;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class WalletSnapshotRecorderTest {
+
+  private static final BalanceDelta DEPOSIT_OF_50 = BalanceDelta.of(Money.of(50), Money.of(50));
+
+  @Mock private WalletDailySnapshotRepository snapshotRepository;
+  @Mock private WalletRepository walletRepository;
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @InjectMocks private WalletSnapshotRecorder recorder;
+
+  @Test
+  void laterChangesAddToTheLockedRow() {
+    WalletDailySnapshot today = snapshot(100);
+    when(snapshotRepository.findForUpdate(1L, LocalDate.now())).thenReturn(Optional.of(today));
+
+    recorder.record(1L, DEPOSIT_OF_50, List.of(deposit()));
+
+    assertThat(today.getClosingBalance()).isEqualByComparingTo("150");
+    assertThat(today.getDeposits().getApprovedCount()).isEqualTo(1);
+    verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    verify(snapshotRepository).save(today);
+  }
+
+  @Test
+  void firstChangeThatLosesTheRaceToOpenTheDayAddsToTheWinnersRow() {
+    WalletDailySnapshot opened = snapshot(120);
+    when(snapshotRepository.findForUpdate(1L, LocalDate.now()))
+        .thenReturn(Optional.empty())
+        .thenReturn(Optional.of(opened));
+    when(walletRepository.findBalancesById(1L))
+        .thenReturn(Optional.of(balances(Money.of(170), Money.of(170))));
+    when(jdbcTemplate.update(anyString(), any(Object[].class)))
+        .thenThrow(new DuplicateKeyException("wallet_daily_snapshots primary key"));
+
+    recorder.record(1L, DEPOSIT_OF_50, List.of(deposit()));
+
+    assertThat(opened.getOpeningBalance()).isEqualByComparingTo("100");
+    assertThat(opened.getClosingBalance()).isEqualByComparingTo("170");
+    assertThat(opened.getDeposits().getApprovedAmount()).isEqualByComparingTo("50");
+    verify(snapshotRepository).save(opened);
+  }
+
+  private WalletDailySnapshot snapshot(int closingBalance) {
+    WalletDailySnapshot snapshot = new WalletDailySnapshot();
+    snapshot.setWalletId(1L);
+    snapshot.setSnapshotDate(LocalDate.now());
+    snapshot.setOpeningBalance(BigDecimal.valueOf(100));
+    snapshot.setOpeningUsableBalance(BigDecimal.valueOf(100));
+    snapshot.setClosingBalance(BigDecimal.valueOf(closingBalance));
+    snapshot.setClosingUsableBalance(BigDecimal.valueOf(closingBalance));
+    return snapshot;
+  }
+
+  private WalletTransaction deposit() {
+    WalletTransaction transaction = new WalletTransaction();
+    transaction.setType(TransactionType.DEPOSIT);
+    transaction.setStatus(TransactionStatus.APPROVED);
+    transaction.setAmount(Money.of(50));
+    return transaction;
+  }
+
+  private WalletRepository.Balances balances(Money balance, Money usableBalance) {
+    return new WalletRepository.Balances() {
+      @Override
+      public Money getBalance() {
+        return balance;
+      }
+
+      @Override
+      public Money getUsableBalance() {
+        return usableBalance;
+      }
+    };
+  }
+}
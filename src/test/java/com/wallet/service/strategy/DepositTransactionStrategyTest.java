@@ -6,9 +6,9 @@ import com.wallet.enums.OppositePartyType;
 import com.wallet.enums.TransactionStatus;
 import com.wallet.enums.TransactionType;
 import com.wallet.model.Customer;
+import com.wallet.model.Money;
 import com.wallet.model.Wallet;
 import com.wallet.model.WalletTransaction;
-import java.math.BigDecimal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -25,48 +25,48 @@ class DepositTransactionStrategyTest {
     Customer customer = new Customer();
     customer.setId(1L);
     wallet.setCustomer(customer);
-    wallet.setBalance(BigDecimal.valueOf(1000));
-    wallet.setUsableBalance(BigDecimal.valueOf(800));
+    wallet.setBalance(Money.of(1000));
+    wallet.setUsableBalance(Money.of(800));
     context =
         new TransactionRequestContext(
-            wallet, BigDecimal.valueOf(200), OppositePartyType.IBAN, "TR123", false);
+            wallet, Money.of(200), OppositePartyType.IBAN, "TR123", false);
   }
 
   @Test
   void applyOnCreateApprovesDeposit() {
     strategy.applyOnCreate(context, TransactionStatus.APPROVED);
-    assertThat(wallet.getBalance()).isEqualByComparingTo("1200");
-    assertThat(wallet.getUsableBalance()).isEqualByComparingTo("1000");
+    assertThat(wallet.getBalance()).isEqualTo(Money.of(1200));
+    assertThat(wallet.getUsableBalance()).isEqualTo(Money.of(1000));
   }
 
   @Test
   void applyOnCreatePendingDeposit() {
     strategy.applyOnCreate(context, TransactionStatus.PENDING);
-    assertThat(wallet.getBalance()).isEqualByComparingTo("1200");
-    assertThat(wallet.getUsableBalance()).isEqualByComparingTo("800");
+    assertThat(wallet.getBalance()).isEqualTo(Money.of(1200));
+    assertThat(wallet.getUsableBalance()).isEqualTo(Money.of(800));
   }
 
   @Test
   void applyStatusChangeOnApprovalAddsToUsable() {
     WalletTransaction tx = new WalletTransaction();
     tx.setWallet(wallet);
-    tx.setAmount(BigDecimal.valueOf(500));
+    tx.setAmount(Money.of(500));
     tx.setType(TransactionType.DEPOSIT);
 
     strategy.applyStatusChange(wallet, tx, TransactionStatus.APPROVED);
 
-    assertThat(wallet.getUsableBalance()).isEqualByComparingTo("1300");
+    assertThat(wallet.getUsableBalance()).isEqualTo(Money.of(1300));
   }
 
   @Test
   void applyStatusChangeOnDenialRollsBackBalance() {
     WalletTransaction tx = new WalletTransaction();
     tx.setWallet(wallet);
-    tx.setAmount(BigDecimal.valueOf(500));
+    tx.setAmount(Money.of(500));
     tx.setType(TransactionType.DEPOSIT);
 
     strategy.applyStatusChange(wallet, tx, TransactionStatus.DENIED);
 
-    assertThat(wallet.getBalance()).isEqualByComparingTo("500");
+    assertThat(wallet.getBalance()).isEqualTo(Money.of(500));
   }
 }
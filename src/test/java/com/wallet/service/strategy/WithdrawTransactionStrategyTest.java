@@ -9,9 +9,9 @@ import com.wallet.enums.TransactionType;
 import com.wallet.exception.InsufficientBalanceException;
 import com.wallet.exception.InvalidTransactionStatusException;
 import com.wallet.model.Customer;
+import com.wallet.model.Money;
 import com.wallet.model.Wallet;
 import com.wallet.model.WalletTransaction;
-import java.math.BigDecimal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -27,8 +27,8 @@ class WithdrawTransactionStrategyTest {
     Customer customer = new Customer();
     customer.setId(1L);
     wallet.setCustomer(customer);
-    wallet.setBalance(BigDecimal.valueOf(1000));
-    wallet.setUsableBalance(BigDecimal.valueOf(800));
+    wallet.setBalance(Money.of(1000));
+    wallet.setUsableBalance(Money.of(800));
     wallet.setActiveForWithdraw(true);
     wallet.setActiveForShopping(true);
   }
@@ -37,7 +37,7 @@ class WithdrawTransactionStrategyTest {
   void validateRejectsInactiveWithdraw() {
     wallet.setActiveForWithdraw(false);
     TransactionRequestContext context =
-        new TransactionRequestContext(wallet, BigDecimal.TEN, OppositePartyType.IBAN, "TR", false);
+        new TransactionRequestContext(wallet, Money.of(10), OppositePartyType.IBAN, "TR", false);
     assertThrows(InvalidTransactionStatusException.class, () -> strategy.validate(context));
   }
 
@@ -45,61 +45,57 @@ class WithdrawTransactionStrategyTest {
   void validateRejectsShoppingWhenDisabled() {
     wallet.setActiveForShopping(false);
     TransactionRequestContext context =
-        new TransactionRequestContext(
-            wallet, BigDecimal.TEN, OppositePartyType.PAYMENT, "PAY", true);
+        new TransactionRequestContext(wallet, Money.of(10), OppositePartyType.PAYMENT, "PAY", true);
     assertThrows(InvalidTransactionStatusException.class, () -> strategy.validate(context));
   }
 
   @Test
   void validateRejectsInsufficientUsableBalance() {
     TransactionRequestContext context =
-        new TransactionRequestContext(
-            wallet, BigDecimal.valueOf(900), OppositePartyType.IBAN, "TR", false);
+        new TransactionRequestContext(wallet, Money.of(900), OppositePartyType.IBAN, "TR", false);
     assertThrows(InsufficientBalanceException.class, () -> strategy.validate(context));
   }
 
   @Test
   void applyOnCreateAdjustsBalances() {
     TransactionRequestContext context =
-        new TransactionRequestContext(
-            wallet, BigDecimal.valueOf(100), OppositePartyType.IBAN, "TR", false);
+        new TransactionRequestContext(wallet, Money.of(100), OppositePartyType.IBAN, "TR", false);
     strategy.applyOnCreate(context, TransactionStatus.PENDING);
-    assertThat(wallet.getUsableBalance()).isEqualByComparingTo("700");
-    assertThat(wallet.getBalance()).isEqualByComparingTo("1000");
+    assertThat(wallet.getUsableBalance()).isEqualTo(Money.of(700));
+    assertThat(wallet.getBalance()).isEqualTo(Money.of(1000));
   }
 
   @Test
   void applyOnCreateApprovedWithdrawUpdatesBalance() {
     TransactionRequestContext context =
-        new TransactionRequestContext(
-            wallet, BigDecimal.valueOf(100), OppositePartyType.IBAN, "TR", false);
+        new TransactionRequestContext(wallet, Money.of(100), OppositePartyType.IBAN, "TR", false);
     strategy.applyOnCreate(context, TransactionStatus.APPROVED);
-    assertThat(wallet.getUsableBalance()).isEqualByComparingTo("700");
-    assertThat(wallet.getBalance()).isEqualByComparingTo("900");
+    assertThat(wallet.getUsableBalance()).isEqualTo(Money.of(700));
+    assertThat(wallet.getBalance()).isEqualTo(Money.of(900));
   }
 
   @Test
   void applyStatusChangeOnApprovalSubtractsBalance() {
     WalletTransaction tx = new WalletTransaction();
     tx.setWallet(wallet);
-    tx.setAmount(BigDecimal.valueOf(200));
+    tx.setAmount(Money.of(200));
     tx.setType(TransactionType.WITHDRAW);
 
     strategy.applyStatusChange(wallet, tx, TransactionStatus.APPROVED);
 
-    assertThat(wallet.getBalance()).isEqualByComparingTo("800");
+    assertThat(wallet.getBalance()).isEqualTo(Money.of(800));
   }
 
   @Test
   void applyStatusChangeOnDenialRestoresUsableBalance() {
-    wallet.setUsableBalance(BigDecimal.valueOf(300));
+    wallet.setUsableBalance(Money.of(300));
     WalletTransaction tx = new WalletTransaction();
     tx.setWallet(wallet);
-    tx.setAmount(BigDecimal.valueOf(200));
+    tx.setAmount(Money.of(200));
     tx.setType(TransactionType.WITHDRAW);
 
     strategy.applyStatusChange(wallet, tx, TransactionStatus.DENIED);
 
-    assertThat(wallet.getUsableBalance()).isEqualByComparingTo("500");
+    assertThat(wallet.getUsableBalance()).isEqualTo(Money.of(500));
   }
 }